@@ -0,0 +1,193 @@
+/**
+ * Copyright 2025- Mark C. Slee, Heron Arts LLC
+ *
+ * This file is part of the LX Studio software library. By using
+ * LX, you agree to the terms of the LX Studio Software License
+ * and Distribution Agreement, available at: http://lx.studio/license
+ *
+ * Please note that the LX license is not open-source. The license
+ * allows for free, non-commercial use.
+ *
+ * HERON ARTS MAKES NO WARRANTY, EXPRESS, IMPLIED, STATUTORY, OR
+ * OTHERWISE, AND SPECIFICALLY DISCLAIMS ANY WARRANTY OF
+ * MERCHANTABILITY, NON-INFRINGEMENT, OR FITNESS FOR A PARTICULAR
+ * PURPOSE, WITH RESPECT TO THE SOFTWARE.
+ *
+ * @author Mark C. Slee <mark@heronarts.com>
+ */
+
+package apotheneum;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import heronarts.lx.color.LXColor;
+
+/**
+ * Compares FastMath against java.lang.Math and LXColor over one frame's worth
+ * of Apotheneum pixels. Each benchmark evaluates one function per pixel, and
+ * the frame benchmarks run a representative polar-coordinate shader.
+ *
+ *   mvn -Pjmh compile exec:exec -Djmh.args=FastMathBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FastMathBenchmark {
+
+  // Every pixel on the cube and cylinder, exterior and interior
+  public static final int FRAME_PIXELS =
+    2 * (4 * Apotheneum.GRID_WIDTH * Apotheneum.GRID_HEIGHT + Apotheneum.RING_LENGTH * Apotheneum.CYLINDER_HEIGHT);
+
+  private final float[] x = new float[FRAME_PIXELS];
+  private final float[] y = new float[FRAME_PIXELS];
+  private final float[] phase = new float[FRAME_PIXELS];
+  private final float[] hue = new float[FRAME_PIXELS];
+  private final int[] colors = new int[FRAME_PIXELS];
+
+  @Setup
+  public void setup() {
+    final Random random = new Random(0);
+    for (int i = 0; i < FRAME_PIXELS; ++i) {
+      this.x[i] = random.nextFloat() - .5f;
+      this.y[i] = random.nextFloat() - .5f;
+      this.phase[i] = random.nextFloat() * 200f - 100f;
+      this.hue[i] = random.nextFloat() * 360f;
+    }
+
+    // Inputs that round onto the end of a lookup table
+    this.x[0] = Math.nextDown(.5f);
+    this.phase[0] = Math.nextDown(-10f);
+    this.hue[0] = Math.nextDown(0f);
+    this.hue[1] = Math.nextDown(360f);
+  }
+
+  @Benchmark
+  public float sinMath() {
+    float sum = 0;
+    for (int i = 0; i < FRAME_PIXELS; ++i) {
+      sum += (float) Math.sin(this.phase[i]);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public float sinFast() {
+    float sum = 0;
+    for (int i = 0; i < FRAME_PIXELS; ++i) {
+      sum += FastMath.sin(this.phase[i]);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public float atan2Math() {
+    float sum = 0;
+    for (int i = 0; i < FRAME_PIXELS; ++i) {
+      sum += (float) Math.atan2(this.y[i], this.x[i]);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public float atan2Fast() {
+    float sum = 0;
+    for (int i = 0; i < FRAME_PIXELS; ++i) {
+      sum += FastMath.atan2(this.y[i], this.x[i]);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public float powMath() {
+    float sum = 0;
+    for (int i = 0; i < FRAME_PIXELS; ++i) {
+      sum += (float) Math.pow(this.x[i] + .5f, 2.2f);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public float powFast() {
+    float sum = 0;
+    for (int i = 0; i < FRAME_PIXELS; ++i) {
+      sum += FastMath.pow(this.x[i] + .5f, 2.2f);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public float expMath() {
+    float sum = 0;
+    for (int i = 0; i < FRAME_PIXELS; ++i) {
+      sum += (float) Math.exp(this.phase[i] * .1f);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public float expFast() {
+    float sum = 0;
+    for (int i = 0; i < FRAME_PIXELS; ++i) {
+      sum += FastMath.exp(this.phase[i] * .1f);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public int[] hsbLXColor() {
+    for (int i = 0; i < FRAME_PIXELS; ++i) {
+      this.colors[i] = LXColor.hsb(this.hue[i], 80f, 60f);
+    }
+    return this.colors;
+  }
+
+  @Benchmark
+  public int[] hsbFast() {
+    for (int i = 0; i < FRAME_PIXELS; ++i) {
+      this.colors[i] = FastMath.hsb(this.hue[i], 80f, 60f);
+    }
+    return this.colors;
+  }
+
+  @Benchmark
+  public int[] frameMath() {
+    for (int i = 0; i < FRAME_PIXELS; ++i) {
+      final float x = this.x[i], y = this.y[i];
+      final float r = (float) Math.sqrt(x*x + y*y);
+      final float theta = (float) Math.atan2(y, x);
+      final float wave = (float) Math.sin(theta * 5 + r * 12 + this.phase[i]);
+      final float b = (float) Math.pow(.5f + .5f * wave, 1.8f);
+      this.colors[i] = LXColor.hsb(theta * 57.29578f + 180f, 70f, 100f * b);
+    }
+    return this.colors;
+  }
+
+  @Benchmark
+  public int[] frameFast() {
+    for (int i = 0; i < FRAME_PIXELS; ++i) {
+      final float x = this.x[i], y = this.y[i];
+      final float r = (float) Math.sqrt(x*x + y*y);
+      final float theta = FastMath.atan2(y, x);
+      final float wave = FastMath.sin(theta * 5 + r * 12 + this.phase[i]);
+      final float b = FastMath.pow(.5f + .5f * wave, 1.8f);
+      this.colors[i] = FastMath.hsb(theta * 57.29578f + 180f, 70f, 100f * b);
+    }
+    return this.colors;
+  }
+
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright 2025- Mark C. Slee, Heron Arts LLC
+ *
+ * This file is part of the LX Studio software library. By using
+ * LX, you agree to the terms of the LX Studio Software License
+ * and Distribution Agreement, available at: http://lx.studio/license
+ *
+ * Please note that the LX license is not open-source. The license
+ * allows for free, non-commercial use.
+ *
+ * HERON ARTS MAKES NO WARRANTY, EXPRESS, IMPLIED, STATUTORY, OR
+ * OTHERWISE, AND SPECIFICALLY DISCLAIMS ANY WARRANTY OF
+ * MERCHANTABILITY, NON-INFRINGEMENT, OR FITNESS FOR A PARTICULAR
+ * PURPOSE, WITH RESPECT TO THE SOFTWARE.
+ *
+ * @author Mark C. Slee <mark@heronarts.com>
+ */
+
+package apotheneum;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import heronarts.lx.LX;
+import heronarts.lx.structure.JsonFixture;
+
+/**
+ * An LX instance with no GLX or UI, whose model is the Apotheneum fixture
+ * loaded from the packaged resources. The fixture files are copied into a
+ * temporary media folder so that LX resolves them the same way it does from
+ * ~/Chromatik/Fixtures when the package is installed.
+ */
+public class HeadlessApotheneum {
+
+  private static final String[] FIXTURES = {
+    "Apotheneum.lxf",
+    "Apotheneum-CubeFace.lxf",
+    "Person.lxf"
+  };
+
+  public final LX lx;
+
+  private final Path mediaPath;
+
+  public HeadlessApotheneum() throws IOException {
+    this.mediaPath = Files.createTempDirectory("apotheneum-headless");
+    final Path fixtures = this.mediaPath.resolve("Fixtures").resolve("Apotheneum");
+    Files.createDirectories(fixtures);
+    for (String fixture : FIXTURES) {
+      try (InputStream in = HeadlessApotheneum.class.getResourceAsStream("/fixtures/" + fixture)) {
+        if (in == null) {
+          throw new IOException("Missing packaged fixture: " + fixture);
+        }
+        Files.copy(in, fixtures.resolve(fixture), StandardCopyOption.REPLACE_EXISTING);
+      }
+    }
+
+    final LX.Flags flags = new LX.Flags();
+    flags.mediaPath = this.mediaPath.toString();
+    this.lx = new LX(flags);
+    this.lx.structure.addFixture(new JsonFixture(this.lx, "Apotheneum/Apotheneum"));
+
+    Apotheneum.initialize(this.lx);
+    if (!Apotheneum.exists) {
+      throw new IllegalStateException("Headless model did not produce an Apotheneum, " + this.lx.getModel().size + " points loaded");
+    }
+  }
+
+  public void dispose() {
+    this.lx.dispose();
+    try (Stream<Path> paths = Files.walk(this.mediaPath)) {
+      paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    } catch (IOException iox) {
+      LX.error(iox, "Failed to clean up headless media folder: " + this.mediaPath);
+    }
+  }
+
+}
@@ -0,0 +1,197 @@
+/**
+ * Copyright 2025- Mark C. Slee, Heron Arts LLC
+ *
+ * This file is part of the LX Studio software library. By using
+ * LX, you agree to the terms of the LX Studio Software License
+ * and Distribution Agreement, available at: http://lx.studio/license
+ *
+ * Please note that the LX license is not open-source. The license
+ * allows for free, non-commercial use.
+ *
+ * HERON ARTS MAKES NO WARRANTY, EXPRESS, IMPLIED, STATUTORY, OR
+ * OTHERWISE, AND SPECIFICALLY DISCLAIMS ANY WARRANTY OF
+ * MERCHANTABILITY, NON-INFRINGEMENT, OR FITNESS FOR A PARTICULAR
+ * PURPOSE, WITH RESPECT TO THE SOFTWARE.
+ *
+ * @author Mark C. Slee <mark@heronarts.com>
+ */
+
+package apotheneum;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import heronarts.lx.effect.LXEffect;
+import heronarts.lx.mixer.LXChannel;
+import heronarts.lx.pattern.LXPattern;
+
+/**
+ * Measures the per-frame cost of every ApotheneumPattern and ApotheneumEffect
+ * on the packaged Apotheneum model. Sample-time mode reports the mean and
+ * percentiles (including p0.99) of the frame time, and the GC profiler
+ * reports gc.alloc.rate.norm, the bytes allocated per frame.
+ *
+ *   mvn -Pjmh compile exec:exec -Djmh.main=apotheneum.PatternBenchmark
+ *
+ * Any standard JMH options can be passed in jmh.args, e.g. -Djmh.args="-p
+ * device=apotheneum.mcslee.Raindrops" to benchmark a single device.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatternBenchmark {
+
+  private static final double FRAME_MS = 1000. / 60.;
+
+  /**
+   * Fully qualified class name of the pattern or effect to benchmark. The
+   * main method replaces this default with every device found on the classpath.
+   */
+  @Param({ "apotheneum.examples.StripePattern" })
+  public String device;
+
+  private HeadlessApotheneum headless;
+  private LXChannel channel;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    this.headless = new HeadlessApotheneum();
+    final Class<?> cls = Class.forName(this.device);
+    final Object instance = cls.getConstructor(heronarts.lx.LX.class).newInstance(this.headless.lx);
+    if (instance instanceof LXPattern pattern) {
+      this.channel = this.headless.lx.engine.mixer.addChannel(new LXPattern[] { pattern });
+    } else if (instance instanceof LXEffect effect) {
+      this.channel = this.headless.lx.engine.mixer.addChannel();
+      this.channel.addEffect(effect);
+      effect.enabled.setValue(true);
+    } else {
+      throw new IllegalArgumentException("Not a pattern or effect: " + this.device);
+    }
+    this.channel.enabled.setValue(true);
+    this.channel.fader.setValue(1);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    this.headless.dispose();
+  }
+
+  @Benchmark
+  public void frame() {
+    this.channel.loop(FRAME_MS);
+  }
+
+  private static boolean isDevice(Class<?> cls) {
+    final int modifiers = cls.getModifiers();
+    if (!Modifier.isPublic(modifiers) || Modifier.isAbstract(modifiers)) {
+      return false;
+    }
+    if (!ApotheneumPattern.class.isAssignableFrom(cls) && !ApotheneumEffect.class.isAssignableFrom(cls)) {
+      return false;
+    }
+    try {
+      cls.getConstructor(heronarts.lx.LX.class);
+      return true;
+    } catch (NoSuchMethodException nsmx) {
+      return false;
+    }
+  }
+
+  private static void addClass(List<String> devices, String resource) {
+    if (!resource.startsWith("apotheneum/") || !resource.endsWith(".class") || resource.contains("$")) {
+      return;
+    }
+    final String name = resource.substring(0, resource.length() - ".class".length()).replace('/', '.');
+    try {
+      if (isDevice(Class.forName(name, false, PatternBenchmark.class.getClassLoader()))) {
+        devices.add(name);
+      }
+    } catch (Throwable x) {
+      // Classes that can't be loaded headlessly are skipped
+    }
+  }
+
+  private static void scanDirectory(List<String> devices, File root, File dir) {
+    final File[] files = dir.listFiles();
+    if (files == null) {
+      return;
+    }
+    for (File file : files) {
+      if (file.isDirectory()) {
+        scanDirectory(devices, root, file);
+      } else {
+        addClass(devices, root.toPath().relativize(file.toPath()).toString().replace(File.separatorChar, '/'));
+      }
+    }
+  }
+
+  /**
+   * Finds every concrete ApotheneumPattern and ApotheneumEffect on the
+   * classpath that has a public LX constructor
+   *
+   * @return Sorted list of class names
+   */
+  public static List<String> findDevices() throws IOException {
+    final List<String> devices = new ArrayList<>();
+    for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+      final File file = new File(entry);
+      if (file.isDirectory()) {
+        scanDirectory(devices, file, file);
+      } else if (file.getName().endsWith(".jar")) {
+        try (JarFile jar = new JarFile(file)) {
+          final Enumeration<JarEntry> entries = jar.entries();
+          while (entries.hasMoreElements()) {
+            addClass(devices, entries.nextElement().getName());
+          }
+        }
+      }
+    }
+    devices.sort(null);
+    return devices;
+  }
+
+  public static void main(String[] args) throws IOException, RunnerException, CommandLineOptionException {
+    final CommandLineOptions cli = new CommandLineOptions(args);
+    final OptionsBuilder options = new OptionsBuilder();
+    options.parent(cli);
+    options.include(PatternBenchmark.class.getName());
+    if (!cli.getParameter("device").hasValue()) {
+      options.param("device", findDevices().toArray(new String[0]));
+    }
+    if (cli.getProfilers().isEmpty()) {
+      options.addProfiler(GCProfiler.class);
+    }
+    new Runner(options.build()).run();
+  }
+
+}
@@ -18,8 +18,6 @@
 
 package apotheneum;
 
-import java.io.IOException;
-import java.net.InetAddress;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -27,8 +25,6 @@ import java.util.List;
 import heronarts.lx.LX;
 import heronarts.lx.model.LXModel;
 import heronarts.lx.model.LXPoint;
-import heronarts.lx.osc.LXOscEngine;
-import heronarts.lx.osc.OscMessage;
 import heronarts.lx.utils.LXUtils;
 
 public class Apotheneum {
@@ -70,8 +66,128 @@ public class Apotheneum {
     public static final int EXTERIOR = 0;
     public static final int INTERIOR = 1;
 
+    private int[] columnMajor;
+    private int[] rowMajor;
+    private int[] available;
+    private boolean[] doorMask;
+    private int[] doorRanges;
+
     public abstract LXModel[] columns();
 
+    /**
+     * Whether a column passes over a doorway, in which case its bottom
+     * DOOR_HEIGHT pixels are not physically present
+     *
+     * @param columnIndex Column index
+     * @return Whether the column is above a door
+     */
+    protected abstract boolean isDoorColumn(int columnIndex);
+
+    protected void buildIndices() {
+      final LXModel[] columns = columns();
+      final int width = columns.length;
+      final int height = columns[0].points.length;
+      this.columnMajor = new int[width * height];
+      this.rowMajor = new int[width * height];
+      for (int x = 0; x < width; ++x) {
+        final LXPoint[] points = columns[x].points;
+        for (int y = 0; y < height; ++y) {
+          this.columnMajor[x * height + y] = points[y].index;
+          this.rowMajor[y * width + x] = points[y].index;
+        }
+      }
+      buildDoors(width, height);
+    }
+
+    private void buildDoors(int width, int height) {
+      this.available = new int[width];
+      this.doorMask = new boolean[width * height];
+
+      // Door pixels as [start, length] runs of colors indices
+      int[] ranges = new int[2 * width];
+      int numRanges = 0;
+      for (int x = 0; x < width; ++x) {
+        final boolean door = isDoorColumn(x);
+        this.available[x] = door ? height - DOOR_HEIGHT : height;
+        for (int y = this.available[x]; y < height; ++y) {
+          this.doorMask[y * width + x] = true;
+          final int index = this.columnMajor[x * height + y];
+          if ((numRanges > 0) && (ranges[2*numRanges - 2] + ranges[2*numRanges - 1] == index)) {
+            ++ranges[2*numRanges - 1];
+          } else {
+            if (2*numRanges == ranges.length) {
+              ranges = Arrays.copyOf(ranges, 2 * ranges.length);
+            }
+            ranges[2*numRanges] = index;
+            ranges[2*numRanges + 1] = 1;
+            ++numRanges;
+          }
+        }
+      }
+      this.doorRanges = Arrays.copyOf(ranges, 2*numRanges);
+    }
+
+    /**
+     * Colors index of every pixel in the orientation, ordered column by column,
+     * such that pixel (x, y) is at columnMajor()[x * height() + y]
+     *
+     * @return Column-major index table
+     */
+    public int[] columnMajor() {
+      return this.columnMajor;
+    }
+
+    /**
+     * Colors index of every pixel in the orientation, ordered ring by ring,
+     * such that pixel (x, y) is at rowMajor()[y * width() + x]
+     *
+     * @return Row-major index table
+     */
+    public int[] rowMajor() {
+      return this.rowMajor;
+    }
+
+    /**
+     * Whether pixel (x, y) is a virtual pixel in a doorway
+     *
+     * @param x Column index
+     * @param y Ring index
+     * @return True if the pixel is in a doorway, false if it is physical or out of range
+     */
+    public boolean isDoor(int x, int y) {
+      final int width = this.available.length;
+      if (x < 0 || x >= width || y < 0) {
+        return false;
+      }
+      final int i = y * width + x;
+      return (i < this.doorMask.length) && this.doorMask[i];
+    }
+
+    /**
+     * Colors indices of all doorway pixels, as contiguous runs stored in
+     * pairs such that run i covers doorRanges()[2*i] inclusive up to
+     * doorRanges()[2*i] + doorRanges()[2*i+1] exclusive
+     *
+     * @return Door pixel runs
+     */
+    public int[] doorRanges() {
+      return this.doorRanges;
+    }
+
+    /**
+     * Number of physically present pixels from the top of a column
+     *
+     * @param columnIndex Column index
+     * @return Height of the column excluding any doorway
+     */
+    public int available(int columnIndex) {
+      return this.available[columnIndex % this.available.length];
+    }
+
+    public int index(int x, int y) {
+      return this.rowMajor[y * width() + x];
+    }
+
     public LXPoint point(int x, int y) {
       return column(x).points[y];
     }
@@ -82,8 +198,6 @@ public class Apotheneum {
 
     public abstract Ring[] rings();
 
-    public abstract int available(int columnIndex);
-
     public Ring ring(int index) {
       return rings()[index];
     }
@@ -101,12 +215,15 @@ public class Apotheneum {
 
     public final int index;
     public final LXPoint[] points;
+    public final int[] indices;
 
     private Ring(int index, LXModel[] columns) {
       this.index = index;
       this.points = new LXPoint[columns.length];
+      this.indices = new int[columns.length];
       int i = 0;
       for (LXModel column : columns) {
+        this.indices[i] = column.points[index].index;
         this.points[i++] = column.points[index];
       }
     }
@@ -157,6 +274,8 @@ public class Apotheneum {
           this.right.model.size +
           this.back.model.size +
           this.left.model.size;
+
+        buildIndices();
       }
 
       @Override
@@ -170,11 +289,8 @@ public class Apotheneum {
       }
 
       @Override
-      public int available(int columnIndex) {
-        if (LXUtils.inRange(columnIndex % GRID_WIDTH, DOOR_START_COLUMN, DOOR_START_COLUMN + DOOR_WIDTH - 1)) {
-          return GRID_HEIGHT - DOOR_HEIGHT;
-        }
-        return GRID_HEIGHT;
+      protected boolean isDoorColumn(int columnIndex) {
+        return LXUtils.inRange(columnIndex % GRID_WIDTH, DOOR_START_COLUMN, DOOR_START_COLUMN + DOOR_WIDTH - 1);
       }
 
     }
@@ -184,6 +300,16 @@ public class Apotheneum {
       public final LXModel[] columns;
       public final Row[] rows;
 
+      /**
+       * Colors index of pixel (x, y) at columnMajor[x * GRID_HEIGHT + y]
+       */
+      public final int[] columnMajor;
+
+      /**
+       * Colors index of pixel (x, y) at rowMajor[y * GRID_WIDTH + x]
+       */
+      public final int[] rowMajor;
+
       private Face(LXModel face) {
         this.model = face;
         this.columns = face.children;
@@ -201,6 +327,15 @@ public class Apotheneum {
         for (int i = 0; i < this.rows.length; ++i) {
           this.rows[i] = new Row(i, this.columns);
         }
+
+        this.columnMajor = new int[GRID_WIDTH * GRID_HEIGHT];
+        this.rowMajor = new int[GRID_WIDTH * GRID_HEIGHT];
+        for (int x = 0; x < GRID_WIDTH; ++x) {
+          for (int y = 0; y < GRID_HEIGHT; ++y) {
+            this.columnMajor[x * GRID_HEIGHT + y] = this.columns[x].points[y].index;
+            this.rowMajor[y * GRID_WIDTH + x] = this.columns[x].points[y].index;
+          }
+        }
       }
 
     }
@@ -209,12 +344,15 @@ public class Apotheneum {
 
       public final int index;
       public final LXPoint[] points;
+      public final int[] indices;
 
       private Row(int index, LXModel[] columns) {
         this.index = index;
         this.points = new LXPoint[columns.length];
+        this.indices = new int[columns.length];
         int i = 0;
         for (LXModel column : columns) {
+          this.indices[i] = column.points[index].index;
           this.points[i++] = column.points[index];
         }
       }
@@ -278,6 +416,8 @@ public class Apotheneum {
           this.rings[i] = new Ring(i, this.columns);
         }
         this.size = this.columns.length * this.columns[0].size;
+
+        buildIndices();
       }
 
       @Override
@@ -291,11 +431,8 @@ public class Apotheneum {
       }
 
       @Override
-      public int available(int columnIndex) {
-        if (LXUtils.inRange(columnIndex % 30, 10, 10 + DOOR_WIDTH - 1)) {
-          return CYLINDER_HEIGHT - DOOR_HEIGHT;
-        }
-        return CYLINDER_HEIGHT;
+      protected boolean isDoorColumn(int columnIndex) {
+        return LXUtils.inRange(columnIndex % 30, DOOR_START_COLUMN, DOOR_START_COLUMN + DOOR_WIDTH - 1);
       }
     }
 
@@ -368,23 +505,64 @@ public class Apotheneum {
     }
   }
 
-  private static LXOscEngine.Transmitter oscTransmitter = null;
+  // Messages beyond this many waiting to be sent are dropped
+  private static final int OSC_QUEUE_CAPACITY = 256;
 
-  public static void osc2Ableton(OscMessage message) {
-    if ((oscTransmitter == null) && (lx != null)) {
-      try {
-        oscTransmitter = lx.engine.osc.transmitter(InetAddress.getLoopbackAddress(), 5050);
-      } catch (Exception x) {
-        LX.error(x, "Apotheneum couldn't create local OSC transmitter: " + x.getMessage());
-      }
+  // Ableton listens on the local machine
+  private static final OscSender.Shared oscSender = new OscSender.Shared(null, 5050, OSC_QUEUE_CAPACITY);
+
+  /**
+   * Registers a device that sends messages to Ableton. Devices call this when
+   * created and releaseOscSender() when disposed, the sender thread is
+   * stopped once none remain.
+   */
+  public static void acquireOscSender() {
+    oscSender.acquire(lx);
+  }
+
+  /**
+   * Unregisters a device that sends messages to Ableton, stopping the sender
+   * thread if it was the last one
+   */
+  public static void releaseOscSender() {
+    oscSender.release();
+  }
+
+  /**
+   * Queues an event to Ableton on the local machine, sent from a background
+   * thread. Only devices that have called acquireOscSender() may send.
+   *
+   * @param address OSC address
+   */
+  public static void osc2Ableton(String address) {
+    final OscSender sender = oscSender.get();
+    if (sender != null) {
+      sender.send(address);
     }
-    if (oscTransmitter != null) {
-      try {
-        oscTransmitter.send(message);
-      } catch (IOException iox) {
-        LX.error(iox, "Failed to send OSC message to Ableton: " + iox.getMessage());
-      }
+  }
+
+  /**
+   * Queues an event with a value to Ableton on the local machine, sent from a
+   * background thread. Only devices that have called acquireOscSender() may
+   * send.
+   *
+   * @param address OSC address
+   * @param value Argument
+   */
+  public static void osc2Ableton(String address, int value) {
+    final OscSender sender = oscSender.get();
+    if (sender != null) {
+      sender.send(address, value);
     }
   }
 
+  /**
+   * Sender for messages to Ableton, exposing queue depth and drop counts
+   *
+   * @return Sender, or null if none is running
+   */
+  public static OscSender getOscSender() {
+    return oscSender.get();
+  }
+
 }
@@ -18,6 +18,8 @@
 
 package apotheneum;
 
+import com.google.gson.JsonObject;
+
 import heronarts.lx.LX;
 import heronarts.lx.color.LXColor;
 import heronarts.lx.effect.LXEffect;
@@ -25,9 +27,19 @@ import heronarts.lx.model.LXModel;
 
 public abstract class ApotheneumEffect extends LXEffect {
 
+  /**
+   * Frame time and allocation metrics, recorded when DeviceMetrics.enabled is set
+   */
+  public final DeviceMetrics metrics;
+
   protected ApotheneumEffect(LX lx) {
     super(lx);
     Apotheneum.initialize(lx);
+    this.metrics = new DeviceMetrics(lx, this);
+    addParameter(DeviceMetrics.PATH_FRAME_MS, this.metrics.frameTime);
+    addParameter(DeviceMetrics.PATH_FRAME_MS_AVERAGE, this.metrics.frameTimeAverage);
+    addParameter(DeviceMetrics.PATH_ALLOCATED_KB, this.metrics.allocated);
+    addParameter(DeviceMetrics.PATH_ALLOCATED_KB_AVERAGE, this.metrics.allocatedAverage);
   }
 
   protected abstract void render(double deltaMs, double enabledAmount);
@@ -35,12 +47,20 @@ public abstract class ApotheneumEffect extends LXEffect {
   @Override
   protected void run(double deltaMs, double enabledAmount) {
     if (Apotheneum.exists) {
+      this.metrics.begin();
       render(deltaMs, enabledAmount);
+      this.metrics.end();
     } else {
       setColors(LXColor.BLACK);
     }
   }
 
+  @Override
+  public void save(LX lx, JsonObject obj) {
+    super.save(lx, obj);
+    DeviceMetrics.removeSaved(obj);
+  }
+
   private void assertExists() {
     if (!Apotheneum.exists) {
       throw new IllegalStateException("Should not call ApothenumPattern utilities when no Apotheneum model loaded");
@@ -70,6 +70,9 @@ public class ApotheneumLauncherPlugin implements LXPlugin, LXOscListener {
           log("Launching Ableton project: " + liveProject);
           launchScript(home, "OpenLiveProject.scpt", liveProject);
         }).start();
+      } else if (message.matches(DeviceMetrics.OSC_PREFIX + "/enabled")) {
+        DeviceMetrics.setEnabled(this.lx, message.getBoolean());
+        log("Pattern metrics " + (DeviceMetrics.isEnabled() ? "enabled" : "disabled"));
       } else if (message.matches("/apotheneum/quitLive")) {
         final String home = System.getProperty("user.home");
         new Thread(() -> {
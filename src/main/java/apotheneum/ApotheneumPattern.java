@@ -18,6 +18,8 @@
 
 package apotheneum;
 
+import com.google.gson.JsonObject;
+
 import heronarts.lx.LX;
 import heronarts.lx.color.LXColor;
 import heronarts.lx.model.LXModel;
@@ -25,20 +27,91 @@ import heronarts.lx.pattern.LXPattern;
 
 public abstract class ApotheneumPattern extends LXPattern {
 
+  /**
+   * Which cube faces render identical content, determining how many faces
+   * are actually rendered by renderCubeFaces
+   */
+  public enum FaceSymmetry {
+    /**
+     * One face is rendered and copied to all eight cube faces
+     */
+    ALL_FACES,
+
+    /**
+     * Each exterior face is rendered, the interior is a copy of the exterior
+     */
+    COPY_EXTERIOR,
+
+    /**
+     * One exterior and one interior face are rendered, each copied to the
+     * other faces of its orientation. Used when the interior is a variation
+     * of the exterior, e.g. phase-shifted or inverted.
+     */
+    PER_ORIENTATION,
+
+    /**
+     * Every face is rendered
+     */
+    PER_FACE;
+  }
+
+  /**
+   * Renders the content of a single cube face
+   */
+  @FunctionalInterface
+  public interface FaceRenderer {
+    /**
+     * Renders a face into a buffer, which is then copied to the face and any
+     * faces that share its content
+     *
+     * @param face Face being rendered
+     * @param isInterior Whether the face is on the cube interior
+     * @param buffer Face colors, pixel (x, y) at buffer[x * GRID_HEIGHT + y]
+     */
+    public void renderFace(Apotheneum.Cube.Face face, boolean isInterior, int[] buffer);
+  }
+
+  /**
+   * Frame time and allocation metrics, recorded when DeviceMetrics.enabled is set
+   */
+  public final DeviceMetrics metrics;
+
+  /**
+   * Parameter values read once at the start of each frame, for use in inner
+   * loops instead of reading the parameters directly
+   */
+  protected final ParameterSnapshot snapshot = new ParameterSnapshot();
+
+  private int[] faceBuffer = null;
+
   protected ApotheneumPattern(LX lx) {
     super(lx);
     Apotheneum.initialize(lx);
+    this.metrics = new DeviceMetrics(lx, this);
+    addParameter(DeviceMetrics.PATH_FRAME_MS, this.metrics.frameTime);
+    addParameter(DeviceMetrics.PATH_FRAME_MS_AVERAGE, this.metrics.frameTimeAverage);
+    addParameter(DeviceMetrics.PATH_ALLOCATED_KB, this.metrics.allocated);
+    addParameter(DeviceMetrics.PATH_ALLOCATED_KB_AVERAGE, this.metrics.allocatedAverage);
   }
 
   @Override
   protected final void run(double deltaMs) {
     if (Apotheneum.exists) {
+      this.metrics.begin();
+      this.snapshot.update();
       render(deltaMs);
+      this.metrics.end();
     } else {
       setColors(LXColor.BLACK);
     }
   }
 
+  @Override
+  public void save(LX lx, JsonObject obj) {
+    super.save(lx, obj);
+    DeviceMetrics.removeSaved(obj);
+  }
+
   private void assertExists() {
     if (!Apotheneum.exists) {
       throw new IllegalStateException("Should not call ApothenumPattern utilities when no Apotheneum model loaded");
@@ -131,6 +204,89 @@ public abstract class ApotheneumPattern extends LXPattern {
     }
   }
 
+  /**
+   * Renders a per-pixel shader across every Apotheneum surface, in parallel
+   * tiles when TileRenderer.parallel is enabled. Any parameter values the
+   * shader needs should be read into fields beforehand, not inside the shader.
+   *
+   * @param shader Per-pixel shader
+   */
+  protected void renderTiles(TileRenderer.Shader shader) {
+    renderTiles(shader, TileRenderer.ALL);
+  }
+
+  /**
+   * Renders a per-pixel shader across a subset of the Apotheneum surfaces
+   *
+   * @param shader Per-pixel shader
+   * @param surfaces Bitmask of TileRenderer surfaces to render
+   */
+  protected void renderTiles(TileRenderer.Shader shader, int surfaces) {
+    assertExists();
+    TileRenderer.render(this.colors, shader, surfaces);
+  }
+
+  /**
+   * Renders the cube faces, rendering only as many faces as the symmetry
+   * requires and filling in the rest with bulk copies
+   *
+   * @param symmetry Which faces render identical content
+   * @param renderer Face renderer
+   */
+  protected void renderCubeFaces(FaceSymmetry symmetry, FaceRenderer renderer) {
+    assertExists();
+    if (this.faceBuffer == null) {
+      this.faceBuffer = new int[Apotheneum.GRID_WIDTH * Apotheneum.GRID_HEIGHT];
+    }
+    final Apotheneum.Cube cube = Apotheneum.cube;
+    switch (symmetry) {
+      case ALL_FACES -> {
+        renderer.renderFace(cube.exterior.front, false, this.faceBuffer);
+        copyFaceBuffer(cube.exterior);
+        copyFaceBuffer(cube.interior);
+      }
+      case COPY_EXTERIOR -> {
+        for (Apotheneum.Cube.Face face : cube.exterior.faces) {
+          renderer.renderFace(face, false, this.faceBuffer);
+          copyFaceBuffer(face);
+        }
+        copyCubeExterior();
+      }
+      case PER_ORIENTATION -> {
+        renderer.renderFace(cube.exterior.front, false, this.faceBuffer);
+        copyFaceBuffer(cube.exterior);
+        if (cube.interior != null) {
+          renderer.renderFace(cube.interior.front, true, this.faceBuffer);
+          copyFaceBuffer(cube.interior);
+        }
+      }
+      case PER_FACE -> {
+        for (Apotheneum.Cube.Face face : cube.exterior.faces) {
+          renderer.renderFace(face, false, this.faceBuffer);
+          copyFaceBuffer(face);
+        }
+        if (cube.interior != null) {
+          for (Apotheneum.Cube.Face face : cube.interior.faces) {
+            renderer.renderFace(face, true, this.faceBuffer);
+            copyFaceBuffer(face);
+          }
+        }
+      }
+    }
+  }
+
+  private void copyFaceBuffer(Apotheneum.Cube.Orientation orientation) {
+    if (orientation != null) {
+      for (Apotheneum.Cube.Face face : orientation.faces) {
+        copyFaceBuffer(face);
+      }
+    }
+  }
+
+  private void copyFaceBuffer(Apotheneum.Cube.Face face) {
+    System.arraycopy(this.faceBuffer, 0, this.colors, face.model.points[0].index, face.model.size);
+  }
+
   protected abstract void render(double deltaMs);
 
 }
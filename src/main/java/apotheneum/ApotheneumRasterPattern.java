@@ -22,12 +22,13 @@ import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
 
 import heronarts.glx.ui.UI2dComponent;
 import heronarts.glx.ui.UI2dContainer;
 import heronarts.glx.ui.component.UIButton;
 import heronarts.lx.LX;
-import heronarts.lx.model.LXPoint;
 import heronarts.lx.parameter.BooleanParameter;
 import heronarts.lx.studio.LXStudio.UI;
 import heronarts.lx.studio.ui.device.UIDevice;
@@ -38,8 +39,16 @@ public abstract class ApotheneumRasterPattern extends ApotheneumPattern {
   protected static final int RASTER_HEIGHT = Apotheneum.GRID_HEIGHT;
 
   private final BufferedImage raster;
+
+  // Null when the pattern renders with the software rasterizer
   private final Graphics2D graphics;
-  private final int[] pixels = new int[RASTER_WIDTH * RASTER_HEIGHT];
+
+  // Null when the pattern renders with Java2D
+  private final Rasterizer rasterizer;
+
+  // Backing store of the raster, row-major, so that pixel (x, y) is at
+  // [y * RASTER_WIDTH + x] in the same order as Face.rowMajor
+  private final int[] pixels;
 
   public final BooleanParameter exteriorFront =
     new BooleanParameter("ExtFront", true)
@@ -74,10 +83,29 @@ public abstract class ApotheneumRasterPattern extends ApotheneumPattern {
     .setDescription("Render to interior left");
 
   protected ApotheneumRasterPattern(LX lx) {
+    this(lx, false);
+  }
+
+  /**
+   * Creates a raster pattern with a choice of drawing backend. Patterns that
+   * render with the software rasterizer extend ApotheneumSoftwareRasterPattern
+   * rather than using this directly.
+   *
+   * @param lx LX instance
+   * @param software Whether to render with the software rasterizer instead of Java2D
+   */
+  ApotheneumRasterPattern(LX lx, boolean software) {
     super(lx);
-    this.raster = new BufferedImage(50, 45, BufferedImage.TYPE_INT_ARGB);
-    this.graphics = this.raster.createGraphics();
-    this.graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    this.raster = new BufferedImage(RASTER_WIDTH, RASTER_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+    this.pixels = ((DataBufferInt) this.raster.getRaster().getDataBuffer()).getData();
+    if (software) {
+      this.graphics = null;
+      this.rasterizer = new Rasterizer(this.pixels, RASTER_WIDTH, RASTER_HEIGHT);
+    } else {
+      this.graphics = this.raster.createGraphics();
+      this.graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+      this.rasterizer = null;
+    }
     addParameter("exteriorFront", this.exteriorFront);
     addParameter("exteriorRight", this.exteriorRight);
     addParameter("exteriorBack", this.exteriorBack);
@@ -89,10 +117,9 @@ public abstract class ApotheneumRasterPattern extends ApotheneumPattern {
   }
 
   protected void writeFace(Apotheneum.Cube.Face face) {
-    int i = 0;
-    for (LXPoint p : face.model.points) {
-      colors[p.index] = this.pixels[(i / RASTER_HEIGHT) + RASTER_WIDTH * (i % RASTER_HEIGHT)];
-      ++i;
+    final int[] rowMajor = face.rowMajor;
+    for (int i = 0; i < rowMajor.length; ++i) {
+      colors[rowMajor[i]] = this.pixels[i];
     }
   }
 
@@ -102,18 +129,43 @@ public abstract class ApotheneumRasterPattern extends ApotheneumPattern {
     }
   }
 
+  /**
+   * Writes the raster to a face if it is enabled. Only the first face written
+   * is transposed from the raster, the rest are block copies of that face.
+   *
+   * @param write Whether the face is enabled
+   * @param face Face to write
+   * @param written First face already written this frame, or null
+   * @return First face written this frame, or null if none yet
+   */
+  private Apotheneum.Cube.Face writeFace(BooleanParameter write, Apotheneum.Cube.Face face, Apotheneum.Cube.Face written) {
+    if (!write.isOn() || (face == null)) {
+      return written;
+    }
+    if (written == null) {
+      writeFace(face);
+      return face;
+    }
+    copy(written, face);
+    return written;
+  }
+
   @Override
   protected final void render(double deltaMs) {
     render(deltaMs, this.graphics);
-    this.raster.getRGB(0, 0, RASTER_WIDTH, RASTER_HEIGHT, this.pixels, 0, RASTER_WIDTH);
-    writeFace(this.exteriorFront, Apotheneum.cube.exterior.front);
-    writeFace(this.exteriorRight, Apotheneum.cube.exterior.right);
-    writeFace(this.exteriorBack, Apotheneum.cube.exterior.back);
-    writeFace(this.exteriorLeft, Apotheneum.cube.exterior.left);
-    writeFace(this.interiorFront, Apotheneum.cube.interior.front);
-    writeFace(this.interiorRight, Apotheneum.cube.interior.right);
-    writeFace(this.interiorBack, Apotheneum.cube.interior.back);
-    writeFace(this.interiorLeft, Apotheneum.cube.interior.left);
+    final Apotheneum.Cube.Orientation exterior = Apotheneum.cube.exterior;
+    Apotheneum.Cube.Face written = null;
+    written = writeFace(this.exteriorFront, exterior.front, written);
+    written = writeFace(this.exteriorRight, exterior.right, written);
+    written = writeFace(this.exteriorBack, exterior.back, written);
+    written = writeFace(this.exteriorLeft, exterior.left, written);
+    final Apotheneum.Cube.Orientation interior = Apotheneum.cube.interior;
+    if (interior != null) {
+      written = writeFace(this.interiorFront, interior.front, written);
+      written = writeFace(this.interiorRight, interior.right, written);
+      written = writeFace(this.interiorBack, interior.back, written);
+      writeFace(this.interiorLeft, interior.left, written);
+    }
   }
 
   protected void clear() {
@@ -121,8 +173,11 @@ public abstract class ApotheneumRasterPattern extends ApotheneumPattern {
   }
 
   protected void clear(Color color) {
-    this.graphics.setBackground(color);
-    this.graphics.clearRect(0, 0, RASTER_WIDTH, RASTER_HEIGHT);
+    Arrays.fill(this.pixels, color.getRGB());
+  }
+
+  Rasterizer getRasterizer() {
+    return this.rasterizer;
   }
 
   protected abstract void render(double deltaMs, Graphics2D graphics);
@@ -130,7 +185,9 @@ public abstract class ApotheneumRasterPattern extends ApotheneumPattern {
   @Override
   public void dispose() {
     super.dispose();
-    this.graphics.dispose();
+    if (this.graphics != null) {
+      this.graphics.dispose();
+    }
   }
 
   protected UI2dComponent buildFaceControls(UI ui, UIDevice uiDevice, float size) {
@@ -0,0 +1,45 @@
+/**
+ * Copyright 2025- Mark C. Slee, Heron Arts LLC
+ *
+ * This file is part of the LX Studio software library. By using
+ * LX, you agree to the terms of the LX Studio Software License
+ * and Distribution Agreement, available at: http://lx.studio/license
+ *
+ * Please note that the LX license is not open-source. The license
+ * allows for free, non-commercial use.
+ *
+ * HERON ARTS MAKES NO WARRANTY, EXPRESS, IMPLIED, STATUTORY, OR
+ * OTHERWISE, AND SPECIFICALLY DISCLAIMS ANY WARRANTY OF
+ * MERCHANTABILITY, NON-INFRINGEMENT, OR FITNESS FOR A PARTICULAR
+ * PURPOSE, WITH RESPECT TO THE SOFTWARE.
+ *
+ * @author Mark C. Slee <mark@heronarts.com>
+ */
+
+package apotheneum;
+
+import java.awt.Graphics2D;
+
+import heronarts.lx.LX;
+
+/**
+ * Raster pattern that draws with the software Rasterizer instead of Java2D.
+ * No Graphics2D is created, subclasses implement render(double, Rasterizer).
+ */
+public abstract class ApotheneumSoftwareRasterPattern extends ApotheneumRasterPattern {
+
+  protected ApotheneumSoftwareRasterPattern(LX lx) {
+    super(lx, true);
+  }
+
+  @Override
+  protected final void render(double deltaMs, Graphics2D graphics) {
+    render(deltaMs, getRasterizer());
+  }
+
+  /**
+   * Renders a frame into the raster with the software rasterizer
+   */
+  protected abstract void render(double deltaMs, Rasterizer rasterizer);
+
+}
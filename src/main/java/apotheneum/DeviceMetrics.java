@@ -0,0 +1,249 @@
+/**
+ * Copyright 2025- Mark C. Slee, Heron Arts LLC
+ *
+ * This file is part of the LX Studio software library. By using
+ * LX, you agree to the terms of the LX Studio Software License
+ * and Distribution Agreement, available at: http://lx.studio/license
+ *
+ * Please note that the LX license is not open-source. The license
+ * allows for free, non-commercial use.
+ *
+ * HERON ARTS MAKES NO WARRANTY, EXPRESS, IMPLIED, STATUTORY, OR
+ * OTHERWISE, AND SPECIFICALLY DISCLAIMS ANY WARRANTY OF
+ * MERCHANTABILITY, NON-INFRINGEMENT, OR FITNESS FOR A PARTICULAR
+ * PURPOSE, WITH RESPECT TO THE SOFTWARE.
+ *
+ * @author Mark C. Slee <mark@heronarts.com>
+ */
+
+package apotheneum;
+
+import java.lang.management.ManagementFactory;
+
+import com.google.gson.JsonObject;
+
+import heronarts.lx.LX;
+import heronarts.lx.LXComponent;
+import heronarts.lx.parameter.BoundedParameter;
+
+/**
+ * Frame time and allocation measurements for a single pattern or effect.
+ * Recording is off by default and costs one volatile read per frame. When on,
+ * values are shown on read-only device parameters and periodically sent over
+ * OSC under /apotheneum/metrics, from a background sender.
+ *
+ * The read-only parameters can't be mapped or modulated, and are removed
+ * when the device is saved, so they never end up in project files.
+ *
+ * Allocations are counted on the engine thread only, so work that a device
+ * hands to TileRenderer workers is timed but its allocations are not.
+ */
+public class DeviceMetrics {
+
+  public static final String OSC_PREFIX = "/apotheneum/metrics";
+
+  // Device parameter paths, removed again when the device is saved
+  static final String PATH_FRAME_MS = "metricsFrameMs";
+  static final String PATH_FRAME_MS_AVERAGE = "metricsFrameMsAverage";
+  static final String PATH_ALLOCATED_KB = "metricsAllocatedKB";
+  static final String PATH_ALLOCATED_KB_AVERAGE = "metricsAllocatedKBAverage";
+
+  // Destination for metrics over OSC, the LX default OSC output port
+  private static final OscSender.Shared sender = new OscSender.Shared(
+    System.getProperty("apotheneum.metrics.host"),
+    Integer.getInteger("apotheneum.metrics.port", 3131),
+    1024
+  );
+
+  // Whether this class currently holds the sender
+  private static boolean senderAcquired = false;
+
+  private static volatile boolean enabled = Boolean.getBoolean("apotheneum.metrics");
+
+  // Weight of the newest frame in the running averages
+  private static final double SMOOTHING = .05;
+
+  private static final long PUBLISH_INTERVAL_NANOS = 500_000_000L;
+
+  private static final com.sun.management.ThreadMXBean threadBean;
+
+  static {
+    com.sun.management.ThreadMXBean bean = null;
+    try {
+      if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean sunBean) {
+        if (sunBean.isThreadAllocatedMemorySupported()) {
+          sunBean.setThreadAllocatedMemoryEnabled(true);
+          bean = sunBean;
+        }
+      }
+    } catch (Throwable x) {
+      LX.error(x, "Apotheneum metrics cannot measure thread allocation: " + x.getMessage());
+    }
+    threadBean = bean;
+  }
+
+  private final LXComponent device;
+
+  private double frameMs = 0;
+  private double frameMsAverage = 0;
+  private double allocatedBytes = 0;
+  private double allocatedBytesAverage = 0;
+
+  private boolean recording = false;
+  private boolean hasAverage = false;
+  private long startNanos;
+  private long startBytes;
+  private long lastPublishNanos = 0;
+
+  public final BoundedParameter frameTime =
+    new BoundedParameter("Frame", 0, 0, 50)
+    .setUnits(BoundedParameter.Units.MILLISECONDS)
+    .setDescription("Read-only, duration of the most recently measured frame");
+
+  public final BoundedParameter frameTimeAverage =
+    new BoundedParameter("Avg Frame", 0, 0, 50)
+    .setUnits(BoundedParameter.Units.MILLISECONDS)
+    .setDescription("Read-only, running average of the frame duration");
+
+  public final BoundedParameter allocated =
+    new BoundedParameter("Alloc KB", 0, 0, 1024)
+    .setDescription("Read-only, kilobytes allocated by the most recently measured frame");
+
+  public final BoundedParameter allocatedAverage =
+    new BoundedParameter("Avg Alloc KB", 0, 0, 1024)
+    .setDescription("Read-only, running average of kilobytes allocated per frame");
+
+  DeviceMetrics(LX lx, LXComponent device) {
+    this.device = device;
+    this.frameTime.setMappable(false);
+    this.frameTimeAverage.setMappable(false);
+    this.allocated.setMappable(false);
+    this.allocatedAverage.setMappable(false);
+    if (enabled) {
+      setEnabled(lx, true);
+    }
+  }
+
+  /**
+   * Whether metrics are being recorded. Defaults off unless the system
+   * property apotheneum.metrics is set.
+   */
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Turns metrics recording on or off for all devices. The OSC sender for
+   * metrics only runs while recording is on.
+   *
+   * @param lx LX instance
+   * @param enabled Whether to record metrics
+   */
+  public static synchronized void setEnabled(LX lx, boolean enabled) {
+    DeviceMetrics.enabled = enabled;
+    if (enabled != senderAcquired) {
+      senderAcquired = enabled;
+      if (enabled) {
+        sender.acquire(lx);
+      } else {
+        sender.release();
+      }
+    }
+  }
+
+  /**
+   * Removes the read-only parameters from a saved device
+   *
+   * @param obj Object the device was saved into
+   */
+  static void removeSaved(JsonObject obj) {
+    final JsonObject parameters = obj.getAsJsonObject(LXComponent.KEY_PARAMETERS);
+    if (parameters != null) {
+      parameters.remove(PATH_FRAME_MS);
+      parameters.remove(PATH_FRAME_MS_AVERAGE);
+      parameters.remove(PATH_ALLOCATED_KB);
+      parameters.remove(PATH_ALLOCATED_KB_AVERAGE);
+    }
+  }
+
+  /**
+   * Marks the start of a frame, if recording is enabled
+   */
+  void begin() {
+    this.recording = enabled;
+    if (this.recording) {
+      this.startBytes = (threadBean != null) ? threadBean.getCurrentThreadAllocatedBytes() : 0;
+      this.startNanos = System.nanoTime();
+    }
+  }
+
+  /**
+   * Marks the end of a frame begun by begin()
+   */
+  void end() {
+    if (!this.recording) {
+      return;
+    }
+    this.recording = false;
+    final long now = System.nanoTime();
+    this.frameMs = (now - this.startNanos) / 1_000_000.;
+    this.allocatedBytes = (threadBean != null) ? threadBean.getCurrentThreadAllocatedBytes() - this.startBytes : 0;
+    if (this.hasAverage) {
+      this.frameMsAverage += SMOOTHING * (this.frameMs - this.frameMsAverage);
+      this.allocatedBytesAverage += SMOOTHING * (this.allocatedBytes - this.allocatedBytesAverage);
+    } else {
+      this.hasAverage = true;
+      this.frameMsAverage = this.frameMs;
+      this.allocatedBytesAverage = this.allocatedBytes;
+    }
+    if (now - this.lastPublishNanos >= PUBLISH_INTERVAL_NANOS) {
+      this.lastPublishNanos = now;
+      publish();
+    }
+  }
+
+  /**
+   * Duration of the most recently recorded frame, in milliseconds
+   */
+  public double getFrameMs() {
+    return this.frameMs;
+  }
+
+  /**
+   * Running average of the frame duration, in milliseconds
+   */
+  public double getFrameMsAverage() {
+    return this.frameMsAverage;
+  }
+
+  /**
+   * Bytes allocated on the engine thread during the most recently recorded frame
+   */
+  public double getAllocatedBytes() {
+    return this.allocatedBytes;
+  }
+
+  /**
+   * Running average of bytes allocated per frame on the engine thread
+   */
+  public double getAllocatedBytesAverage() {
+    return this.allocatedBytesAverage;
+  }
+
+  private void publish() {
+    this.frameTime.setValue(this.frameMs);
+    this.frameTimeAverage.setValue(this.frameMsAverage);
+    this.allocated.setValue(this.allocatedBytes / 1024);
+    this.allocatedAverage.setValue(this.allocatedBytesAverage / 1024);
+
+    final OscSender sender = DeviceMetrics.sender.get();
+    if (sender != null) {
+      final String path = OSC_PREFIX + this.device.getCanonicalPath();
+      sender.send(path + "/frameMs", (float) this.frameMs);
+      sender.send(path + "/frameMsAverage", (float) this.frameMsAverage);
+      sender.send(path + "/allocatedBytes", (float) this.allocatedBytes);
+      sender.send(path + "/allocatedBytesAverage", (float) this.allocatedBytesAverage);
+    }
+  }
+
+}
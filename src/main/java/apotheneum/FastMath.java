@@ -0,0 +1,261 @@
+/**
+ * Copyright 2025- Mark C. Slee, Heron Arts LLC
+ *
+ * This file is part of the LX Studio software library. By using
+ * LX, you agree to the terms of the LX Studio Software License
+ * and Distribution Agreement, available at: http://lx.studio/license
+ *
+ * Please note that the LX license is not open-source. The license
+ * allows for free, non-commercial use.
+ *
+ * HERON ARTS MAKES NO WARRANTY, EXPRESS, IMPLIED, STATUTORY, OR
+ * OTHERWISE, AND SPECIFICALLY DISCLAIMS ANY WARRANTY OF
+ * MERCHANTABILITY, NON-INFRINGEMENT, OR FITNESS FOR A PARTICULAR
+ * PURPOSE, WITH RESPECT TO THE SOFTWARE.
+ *
+ * @author Mark C. Slee <mark@heronarts.com>
+ */
+
+package apotheneum;
+
+/**
+ * Single-precision approximations of the transcendental functions that
+ * per-pixel pattern code leans on, built from small interpolated tables and
+ * polynomials. Error bounds are stated per method and are well below what is
+ * visible after quantizing to 8-bit color.
+ */
+public class FastMath {
+
+  public static final float PI = (float) Math.PI;
+  public static final float HALF_PI = (float) (Math.PI / 2);
+  public static final float TWO_PI = (float) (Math.PI * 2);
+
+  private static final float LOG2_E = (float) (1 / Math.log(2));
+
+  // Sine table over one full period, with a guard entry for interpolation
+  private static final int SIN_BITS = 12;
+  private static final int SIN_SIZE = 1 << SIN_BITS;
+  private static final int SIN_MASK = SIN_SIZE - 1;
+  private static final double SIN_SCALE = SIN_SIZE / (Math.PI * 2);
+  private static final float[] SIN = new float[SIN_SIZE + 1];
+
+  // 2^f for f in [0, 1], and log2(1 + m) for m in [0, 1]
+  private static final int EXP_BITS = 10;
+  private static final int EXP_SIZE = 1 << EXP_BITS;
+  private static final float[] EXP2 = new float[EXP_SIZE + 1];
+  private static final float[] LOG2 = new float[EXP_SIZE + 1];
+  private static final float MANTISSA_SCALE = EXP_SIZE / (float) (1 << 23);
+
+  // Fully saturated, full brightness RGB for each whole degree of hue
+  private static final int HUE_SIZE = 360;
+  private static final float[] HUE_R = new float[HUE_SIZE + 1];
+  private static final float[] HUE_G = new float[HUE_SIZE + 1];
+  private static final float[] HUE_B = new float[HUE_SIZE + 1];
+
+  static {
+    for (int i = 0; i <= SIN_SIZE; ++i) {
+      SIN[i] = (float) Math.sin(i * Math.PI * 2 / SIN_SIZE);
+    }
+    for (int i = 0; i <= EXP_SIZE; ++i) {
+      EXP2[i] = (float) Math.pow(2, i / (double) EXP_SIZE);
+      LOG2[i] = (float) (Math.log1p(i / (double) EXP_SIZE) / Math.log(2));
+    }
+    for (int i = 0; i <= HUE_SIZE; ++i) {
+      HUE_R[i] = hueChannel(i, 0);
+      HUE_G[i] = hueChannel(i, 240);
+      HUE_B[i] = hueChannel(i, 120);
+    }
+  }
+
+  private static float hueChannel(int h, int offset) {
+    final float sector = ((h + offset) % 360) / 60f;
+    return Math.max(0, Math.min(1, Math.abs(sector - 3) - 1));
+  }
+
+  // Floors that avoid the round-trip through Math.floor
+  private static int floor(float x) {
+    final int i = (int) x;
+    return (x < i) ? i - 1 : i;
+  }
+
+  private static int floor(double x) {
+    final int i = (int) x;
+    return (x < i) ? i - 1 : i;
+  }
+
+  /**
+   * Sine by linear interpolation of a 4096-entry table. Absolute error is
+   * below 4e-7 for |x| up to 1e6. The argument is reduced in double precision
+   * so that long-running time phases stay accurate.
+   *
+   * @param x Angle in radians
+   * @return Approximate sine of x
+   */
+  public static float sin(float x) {
+    final double t = x * SIN_SCALE;
+    int i = floor(t);
+    final float f = (float) (t - i);
+    i &= SIN_MASK;
+    return SIN[i] + (SIN[i+1] - SIN[i]) * f;
+  }
+
+  /**
+   * Cosine by linear interpolation of the sine table, same error as sin()
+   *
+   * @param x Angle in radians
+   * @return Approximate cosine of x
+   */
+  public static float cos(float x) {
+    final double t = x * SIN_SCALE + (SIN_SIZE >> 2);
+    int i = floor(t);
+    final float f = (float) (t - i);
+    i &= SIN_MASK;
+    return SIN[i] + (SIN[i+1] - SIN[i]) * f;
+  }
+
+  /**
+   * Four-quadrant arctangent using the Abramowitz and Stegun 4.4.49
+   * polynomial on [0, 1]. Absolute error is below 1.2e-5 radians for all
+   * finite inputs. Returns 0 for (0, 0).
+   *
+   * @param y Y coordinate
+   * @param x X coordinate
+   * @return Approximate angle of (x, y) in radians, in [-PI, PI]
+   */
+  public static float atan2(float y, float x) {
+    final float ax = Math.abs(x);
+    final float ay = Math.abs(y);
+    final float max = Math.max(ax, ay);
+    if (max == 0) {
+      return 0;
+    }
+    final float a = Math.min(ax, ay) / max;
+    final float s = a * a;
+    float r = a * (0.9998660f + s * (-0.3302995f + s * (0.1801410f + s * (-0.0851330f + s * 0.0208351f))));
+    if (ay > ax) {
+      r = HALF_PI - r;
+    }
+    if (x < 0) {
+      r = PI - r;
+    }
+    return (y < 0) ? -r : r;
+  }
+
+  /**
+   * Base-2 exponential from an interpolated table of the fractional part.
+   * Relative error is below 3e-7. Results below 2^-126 flush to zero.
+   *
+   * @param x Exponent
+   * @return Approximate 2^x
+   */
+  public static float exp2(float x) {
+    if (x != x) {
+      return Float.NaN;
+    }
+    if (x < -126) {
+      return 0;
+    }
+    if (x >= 128) {
+      return Float.POSITIVE_INFINITY;
+    }
+    final int e = floor(x);
+    final float t = (x - e) * EXP_SIZE;
+    // x just below an integer can round x - e up to 1, use the last interval
+    final int i = Math.min((int) t, EXP_SIZE - 1);
+    final float m = EXP2[i] + (EXP2[i+1] - EXP2[i]) * (t - i);
+    return m * Float.intBitsToFloat((e + 127) << 23);
+  }
+
+  /**
+   * Natural exponential, via exp2(). Relative error is below
+   * 3e-7 + 1e-7 * |x|, the second term coming from rounding x * log2(e).
+   *
+   * @param x Exponent
+   * @return Approximate e^x
+   */
+  public static float exp(float x) {
+    return exp2(x * LOG2_E);
+  }
+
+  /**
+   * Base-2 logarithm from the float exponent plus an interpolated mantissa
+   * table. Absolute error is below 2e-7 + 1.2e-7 * |log2(x)| for positive
+   * normal inputs, the second term being float rounding of the result.
+   *
+   * @param x Value
+   * @return Approximate log2(x), -Infinity for 0, NaN for negative values
+   */
+  public static float log2(float x) {
+    if (!(x > 0) || (x == Float.POSITIVE_INFINITY)) {
+      return (x == 0) ? Float.NEGATIVE_INFINITY : (x > 0) ? x : Float.NaN;
+    }
+    final int bits = Float.floatToRawIntBits(x);
+    final int exponent = bits >>> 23;
+    if (exponent == 0) {
+      // Subnormal, never hit by pattern code
+      return (float) (Math.log(x) * LOG2_E);
+    }
+    final float t = (bits & 0x7fffff) * MANTISSA_SCALE;
+    final int i = (int) t;
+    return (exponent - 127) + LOG2[i] + (LOG2[i+1] - LOG2[i]) * (t - i);
+  }
+
+  /**
+   * Power function computed as 2^(b * log2(a)). For a > 0 the relative error
+   * is below 5e-7 * max(1, |b * log2(a)|) + 2e-7 * |b|. Negative bases fall
+   * back to Math.pow.
+   *
+   * @param a Base
+   * @param b Exponent
+   * @return Approximate a^b
+   */
+  public static float pow(float a, float b) {
+    if (b == 0) {
+      return 1;
+    }
+    if (a > 0) {
+      return exp2(b * log2(a));
+    }
+    if (a == 0) {
+      return (b > 0) ? 0 : Float.POSITIVE_INFINITY;
+    }
+    return (float) Math.pow(a, b);
+  }
+
+  /**
+   * HSB to RGB conversion with the same argument conventions as
+   * LXColor.hsb(). The hue wheel is looked up from a per-degree table, which
+   * is exact since each channel is piecewise linear between multiples of 60
+   * degrees. Channels agree with LXColor.hsb() to within one 8-bit level.
+   *
+   * @param h Hue in degrees, wrapped into [0, 360)
+   * @param s Saturation from 0-100
+   * @param b Brightness from 0-100
+   * @return Opaque ARGB color
+   */
+  public static int hsb(float h, float s, float b) {
+    h = h % 360;
+    if (h < 0) {
+      h += 360;
+      // A hue just below 0 rounds up to 360
+      if (h >= 360) {
+        h = 0;
+      }
+    }
+    s = (s <= 0) ? 0 : (s >= 100) ? 1 : s * .01f;
+    b = (b <= 0) ? 0 : (b >= 100) ? 255 : b * 2.55f;
+    final int i = (int) h;
+    final float f = h - i;
+    final float floor = b * (1 - s);
+    final float range = b * s;
+    final float r = HUE_R[i] + (HUE_R[i+1] - HUE_R[i]) * f;
+    final float g = HUE_G[i] + (HUE_G[i+1] - HUE_G[i]) * f;
+    final float bl = HUE_B[i] + (HUE_B[i+1] - HUE_B[i]) * f;
+    return
+      0xff000000 |
+      ((int) (floor + range * r + .5f) << 16) |
+      ((int) (floor + range * g + .5f) << 8) |
+      (int) (floor + range * bl + .5f);
+  }
+
+}
@@ -0,0 +1,397 @@
+/**
+ * Copyright 2025- Mark C. Slee, Heron Arts LLC
+ *
+ * This file is part of the LX Studio software library. By using
+ * LX, you agree to the terms of the LX Studio Software License
+ * and Distribution Agreement, available at: http://lx.studio/license
+ *
+ * Please note that the LX license is not open-source. The license
+ * allows for free, non-commercial use.
+ *
+ * HERON ARTS MAKES NO WARRANTY, EXPRESS, IMPLIED, STATUTORY, OR
+ * OTHERWISE, AND SPECIFICALLY DISCLAIMS ANY WARRANTY OF
+ * MERCHANTABILITY, NON-INFRINGEMENT, OR FITNESS FOR A PARTICULAR
+ * PURPOSE, WITH RESPECT TO THE SOFTWARE.
+ *
+ * @author Mark C. Slee <mark@heronarts.com>
+ */
+
+package apotheneum;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import heronarts.lx.LX;
+import heronarts.lx.LXLoopTask;
+import heronarts.lx.osc.LXOscEngine;
+
+/**
+ * Sends OSC messages from a dedicated thread so that socket writes never
+ * happen on the engine thread. Sending copies the address and argument into
+ * a lock-free bounded queue, which any number of threads may write to. Once
+ * per engine frame, flush() wakes the sender thread, which sends everything
+ * that was queued as one OSC bundle.
+ *
+ * Messages are never merged or reordered. Anything sent to a full queue is
+ * dropped and counted.
+ */
+public class OscSender {
+
+  // Largest datagram built when bundling queued messages
+  private static final int MAX_PACKET_SIZE = 1024;
+
+  private static final byte[] BUNDLE = { '#', 'b', 'u', 'n', 'd', 'l', 'e', 0 };
+
+  // Bundle tag, time tag and the size of the first element
+  private static final int BUNDLE_HEADER_SIZE = BUNDLE.length + 8 + 4;
+
+  private static final byte TYPE_NONE = 0;
+  private static final byte TYPE_INT = 1;
+  private static final byte TYPE_FLOAT = 2;
+
+  private final LXOscEngine.Transmitter transmitter;
+  private final int capacity;
+
+  // Bounded multi-producer, single-consumer queue. Each slot has a sequence
+  // number: a slot at position p may be written when its sequence is p, and
+  // read when it is p + 1. The reader then sets it to p + capacity, freeing
+  // the slot for the next lap around the ring.
+  private final AtomicLongArray sequence;
+  private final AtomicLong tail = new AtomicLong(0);
+
+  // Only written by the sender thread, volatile for getQueueDepth()
+  private volatile long head = 0;
+
+  private final String[] address;
+  private final byte[] type;
+  private final int[] intValue;
+  private final float[] floatValue;
+
+  private final AtomicLong sent = new AtomicLong(0);
+  private final AtomicLong dropped = new AtomicLong(0);
+
+  private volatile boolean running = true;
+  private final Thread thread;
+
+  public OscSender(LXOscEngine.Transmitter transmitter, int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("OscSender capacity must be positive: " + capacity);
+    }
+    this.transmitter = transmitter;
+    this.capacity = capacity;
+    this.sequence = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; ++i) {
+      this.sequence.set(i, i);
+    }
+    this.address = new String[capacity];
+    this.type = new byte[capacity];
+    this.intValue = new int[capacity];
+    this.floatValue = new float[capacity];
+    this.thread = new Thread(this::run, "Apotheneum-OSC-Sender");
+    this.thread.setDaemon(true);
+    this.thread.start();
+  }
+
+  /**
+   * Queues a message with no arguments, safe to call from any thread
+   *
+   * @param address OSC address, ASCII
+   * @return false if the message was dropped because the queue is full
+   */
+  public boolean send(String address) {
+    return enqueue(address, TYPE_NONE, 0, 0);
+  }
+
+  /**
+   * Queues a message with an integer argument, safe to call from any thread
+   *
+   * @param address OSC address, ASCII
+   * @param value Argument
+   * @return false if the message was dropped because the queue is full
+   */
+  public boolean send(String address, int value) {
+    return enqueue(address, TYPE_INT, value, 0);
+  }
+
+  /**
+   * Queues a message with a float argument, safe to call from any thread
+   *
+   * @param address OSC address, ASCII
+   * @param value Argument
+   * @return false if the message was dropped because the queue is full
+   */
+  public boolean send(String address, float value) {
+    return enqueue(address, TYPE_FLOAT, 0, value);
+  }
+
+  private boolean enqueue(String address, byte type, int intValue, float floatValue) {
+    if (!this.running) {
+      return false;
+    }
+    long position = this.tail.get();
+    int index;
+    while (true) {
+      index = (int) (position % this.capacity);
+      final long available = this.sequence.get(index) - position;
+      if (available == 0) {
+        if (this.tail.compareAndSet(position, position + 1)) {
+          break;
+        }
+        position = this.tail.get();
+      } else if (available < 0) {
+        // The reader hasn't freed this slot yet, queue is full
+        this.dropped.incrementAndGet();
+        return false;
+      } else {
+        // Another writer claimed this position first
+        position = this.tail.get();
+      }
+    }
+    this.address[index] = address;
+    this.type[index] = type;
+    this.intValue[index] = intValue;
+    this.floatValue[index] = floatValue;
+    this.sequence.set(index, position + 1);
+    return true;
+  }
+
+  /**
+   * Wakes the sender thread to send everything queued so far. Called once
+   * per engine frame, so messages sent during a frame go out together.
+   */
+  public void flush() {
+    LockSupport.unpark(this.thread);
+  }
+
+  /**
+   * Number of messages waiting to be sent
+   */
+  public int getQueueDepth() {
+    return (int) Math.max(0, Math.min(this.capacity, this.tail.get() - this.head));
+  }
+
+  /**
+   * Total number of messages sent
+   */
+  public long getSentCount() {
+    return this.sent.get();
+  }
+
+  /**
+   * Total number of messages dropped because the queue was full
+   */
+  public long getDroppedCount() {
+    return this.dropped.get();
+  }
+
+  /**
+   * Stops the sender thread and closes the transmitter. Messages still
+   * waiting are discarded.
+   */
+  public void dispose() {
+    this.running = false;
+    LockSupport.unpark(this.thread);
+  }
+
+  private void run() {
+    final ByteBuffer packet = ByteBuffer.allocate(MAX_PACKET_SIZE);
+    final ByteBuffer message = ByteBuffer.allocate(MAX_PACKET_SIZE - BUNDLE_HEADER_SIZE);
+    // Whether message holds an encoded message that didn't fit the last packet
+    boolean carried = false;
+    while (this.running) {
+      LockSupport.park(this);
+      while (this.running) {
+        packet.clear();
+        int count = 0;
+        int firstLength = 0;
+        while (true) {
+          if (!carried) {
+            if (!poll(message)) {
+              break;
+            }
+            carried = true;
+          }
+          final int length = message.position();
+          // Header of the bundle plus this element must fit, otherwise this
+          // message is carried over to the next packet
+          final int needed = (count == 0) ? BUNDLE_HEADER_SIZE + length : 4 + length;
+          if (packet.position() + needed > MAX_PACKET_SIZE) {
+            break;
+          }
+          if (count == 0) {
+            packet.put(BUNDLE).putLong(1);
+            firstLength = length;
+          }
+          packet.putInt(length).put(message.array(), 0, length);
+          carried = false;
+          ++count;
+        }
+        if (count == 0) {
+          break;
+        }
+        try {
+          if (count == 1) {
+            // A lone message is sent as is, without the bundle wrapper
+            System.arraycopy(packet.array(), BUNDLE_HEADER_SIZE, packet.array(), 0, firstLength);
+            this.transmitter.send(packet.array(), firstLength);
+          } else {
+            this.transmitter.send(packet.array(), packet.position());
+          }
+          this.sent.addAndGet(count);
+        } catch (IOException iox) {
+          LX.error(iox, "Failed to send OSC messages: " + iox.getMessage());
+        }
+      }
+    }
+    this.transmitter.dispose();
+  }
+
+  // Takes the oldest queued message and encodes it into the buffer, false if
+  // the queue is empty. Messages too long to ever be sent are skipped.
+  private boolean poll(ByteBuffer buffer) {
+    while (true) {
+      final int index = (int) (this.head % this.capacity);
+      if (this.sequence.get(index) != this.head + 1) {
+        return false;
+      }
+      final String address = this.address[index];
+      final byte type = this.type[index];
+      final int intValue = this.intValue[index];
+      final float floatValue = this.floatValue[index];
+      this.address[index] = null;
+      this.sequence.set(index, this.head + this.capacity);
+      ++this.head;
+
+      buffer.clear();
+      if (encode(buffer, address, type, intValue, floatValue)) {
+        return true;
+      }
+      this.dropped.incrementAndGet();
+      LX.error("OSC message too long to send: " + address);
+    }
+  }
+
+  // Writes the OSC encoding of a message, false if it doesn't fit
+  private static boolean encode(ByteBuffer buffer, String address, byte type, int intValue, float floatValue) {
+    final int typeTagLength = (type == TYPE_NONE) ? 1 : 2;
+    final int argumentLength = (type == TYPE_NONE) ? 0 : 4;
+    if (padded(address.length()) + padded(typeTagLength) + argumentLength > buffer.remaining()) {
+      return false;
+    }
+    for (int i = 0; i < address.length(); ++i) {
+      buffer.put((byte) address.charAt(i));
+    }
+    pad(buffer, address.length());
+    buffer.put((byte) ',');
+    switch (type) {
+      case TYPE_INT -> buffer.put((byte) 'i');
+      case TYPE_FLOAT -> buffer.put((byte) 'f');
+    }
+    pad(buffer, typeTagLength);
+    switch (type) {
+      case TYPE_INT -> buffer.putInt(intValue);
+      case TYPE_FLOAT -> buffer.putFloat(floatValue);
+    }
+    return true;
+  }
+
+  // OSC strings are null-terminated and padded to a multiple of 4 bytes
+  private static int padded(int length) {
+    return (length + 4) & ~3;
+  }
+
+  private static void pad(ByteBuffer buffer, int length) {
+    for (int i = length; i < padded(length); ++i) {
+      buffer.put((byte) 0);
+    }
+  }
+
+  /**
+   * Sender shared by every device that sends to one destination. Devices
+   * call acquire() when created and release() when disposed. The sender is
+   * created by the first acquire(), flushed once per engine frame, and
+   * stopped when the last device releases it.
+   *
+   * Render code reads the sender with get(), which takes no lock and never
+   * creates anything.
+   */
+  public static class Shared {
+
+    private final String host;
+    private final int port;
+    private final int capacity;
+
+    private volatile OscSender sender = null;
+    private int users = 0;
+    private LX lx = null;
+
+    private final LXLoopTask flushTask = deltaMs -> {
+      final OscSender sender = this.sender;
+      if (sender != null) {
+        sender.flush();
+      }
+    };
+
+    /**
+     * @param host Destination host, or null for the loopback address
+     * @param port Destination port
+     * @param capacity Messages beyond this many waiting to be sent are dropped
+     */
+    public Shared(String host, int port, int capacity) {
+      this.host = host;
+      this.port = port;
+      this.capacity = capacity;
+    }
+
+    /**
+     * Registers a user of the sender, creating it if not yet running
+     *
+     * @param lx LX instance
+     */
+    public synchronized void acquire(LX lx) {
+      ++this.users;
+      if (this.sender == null) {
+        try {
+          final InetAddress address = (this.host == null) ? InetAddress.getLoopbackAddress() : InetAddress.getByName(this.host);
+          this.sender = new OscSender(lx.engine.osc.transmitter(address, this.port), this.capacity);
+          this.lx = lx;
+          // Loop tasks may only be changed on the engine thread
+          lx.engine.addTask(() -> lx.engine.addLoopTask(this.flushTask));
+        } catch (Exception x) {
+          LX.error(x, "Apotheneum couldn't create OSC transmitter on port " + this.port + ": " + x.getMessage());
+        }
+      }
+    }
+
+    /**
+     * Unregisters a user of the sender, stopping it if none remain
+     */
+    public synchronized void release() {
+      if (--this.users <= 0) {
+        this.users = 0;
+        if (this.sender != null) {
+          this.sender.dispose();
+          this.sender = null;
+          final LX lx = this.lx;
+          lx.engine.addTask(() -> lx.engine.removeLoopTask(this.flushTask));
+          this.lx = null;
+        }
+      }
+    }
+
+    /**
+     * Current sender, safe to call from render code
+     *
+     * @return Sender, or null if none is running
+     */
+    public OscSender get() {
+      return this.sender;
+    }
+
+  }
+
+}
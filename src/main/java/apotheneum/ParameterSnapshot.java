@@ -0,0 +1,87 @@
+/**
+ * Copyright 2025- Mark C. Slee, Heron Arts LLC
+ *
+ * This file is part of the LX Studio software library. By using
+ * LX, you agree to the terms of the LX Studio Software License
+ * and Distribution Agreement, available at: http://lx.studio/license
+ *
+ * Please note that the LX license is not open-source. The license
+ * allows for free, non-commercial use.
+ *
+ * HERON ARTS MAKES NO WARRANTY, EXPRESS, IMPLIED, STATUTORY, OR
+ * OTHERWISE, AND SPECIFICALLY DISCLAIMS ANY WARRANTY OF
+ * MERCHANTABILITY, NON-INFRINGEMENT, OR FITNESS FOR A PARTICULAR
+ * PURPOSE, WITH RESPECT TO THE SOFTWARE.
+ *
+ * @author Mark C. Slee <mark@heronarts.com>
+ */
+
+package apotheneum;
+
+import java.util.Arrays;
+
+import heronarts.lx.parameter.LXParameter;
+
+/**
+ * Values of a set of parameters, read once per frame into a primitive array.
+ * Modulated parameters evaluate their modulation every time they are read,
+ * reading the snapshot instead keeps that out of per-point and per-particle
+ * loops.
+ *
+ * A parameter is added by asking for its slot, typically in the constructor
+ * after the parameter is registered. Slots never change once assigned.
+ */
+public class ParameterSnapshot {
+
+  private LXParameter[] parameters = new LXParameter[0];
+  private double[] values = new double[0];
+  private int size = 0;
+
+  /**
+   * Slot holding a parameter's value, adding it to the snapshot if needed
+   *
+   * @param parameter Parameter
+   * @return Slot to read the value from
+   */
+  public int slot(LXParameter parameter) {
+    for (int i = 0; i < this.size; ++i) {
+      if (this.parameters[i] == parameter) {
+        return i;
+      }
+    }
+    if (this.size == this.parameters.length) {
+      final int capacity = Math.max(8, 2 * this.size);
+      this.parameters = Arrays.copyOf(this.parameters, capacity);
+      this.values = Arrays.copyOf(this.values, capacity);
+    }
+    this.parameters[this.size] = parameter;
+    this.values[this.size] = parameter.getValue();
+    return this.size++;
+  }
+
+  /**
+   * Reads the current value of every parameter in the snapshot
+   */
+  public void update() {
+    for (int i = 0; i < this.size; ++i) {
+      this.values[i] = this.parameters[i].getValue();
+    }
+  }
+
+  public double get(int slot) {
+    return this.values[slot];
+  }
+
+  public float getf(int slot) {
+    return (float) this.values[slot];
+  }
+
+  public int geti(int slot) {
+    return (int) this.values[slot];
+  }
+
+  public boolean isOn(int slot) {
+    return this.values[slot] != 0;
+  }
+
+}
@@ -0,0 +1,173 @@
+/**
+ * Copyright 2025- Mark C. Slee, Heron Arts LLC
+ *
+ * This file is part of the LX Studio software library. By using
+ * LX, you agree to the terms of the LX Studio Software License
+ * and Distribution Agreement, available at: http://lx.studio/license
+ *
+ * Please note that the LX license is not open-source. The license
+ * allows for free, non-commercial use.
+ *
+ * HERON ARTS MAKES NO WARRANTY, EXPRESS, IMPLIED, STATUTORY, OR
+ * OTHERWISE, AND SPECIFICALLY DISCLAIMS ANY WARRANTY OF
+ * MERCHANTABILITY, NON-INFRINGEMENT, OR FITNESS FOR A PARTICULAR
+ * PURPOSE, WITH RESPECT TO THE SOFTWARE.
+ *
+ * @author Mark C. Slee <mark@heronarts.com>
+ */
+
+package apotheneum;
+
+/**
+ * Fixed-capacity particle storage laid out as parallel primitive arrays, so
+ * that spawning, updating and removing particles never allocates. Live
+ * particles are always packed into indices [0, size()), the free list is the
+ * tail [size(), capacity), and removal swaps the last live particle into the
+ * vacated slot.
+ *
+ * Because removal reorders particles, loops that remove should run from the
+ * last index down to 0, which visits every particle exactly once.
+ *
+ * Patterns that need more per-particle state subclass this, allocate their
+ * own arrays of length capacity and override move() to copy them. Time units
+ * for age and lifespan are up to the pattern.
+ */
+public class ParticleSystem {
+
+  public final int capacity;
+
+  public final float[] x;
+  public final float[] y;
+  public final float[] vx;
+  public final float[] vy;
+  public final float[] age;
+  public final float[] lifespan;
+
+  private int size = 0;
+
+  public ParticleSystem(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("ParticleSystem capacity must be positive: " + capacity);
+    }
+    this.capacity = capacity;
+    this.x = new float[capacity];
+    this.y = new float[capacity];
+    this.vx = new float[capacity];
+    this.vy = new float[capacity];
+    this.age = new float[capacity];
+    this.lifespan = new float[capacity];
+  }
+
+  public int size() {
+    return this.size;
+  }
+
+  public boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  public boolean isFull() {
+    return this.size == this.capacity;
+  }
+
+  /**
+   * Takes a slot from the free list. Position, velocity and age are zeroed,
+   * the lifespan is infinite; subclass state is left for the caller to set.
+   *
+   * @return Index of the new particle, or -1 if at capacity
+   */
+  public int spawn() {
+    if (this.size == this.capacity) {
+      return -1;
+    }
+    final int index = this.size++;
+    this.x[index] = 0;
+    this.y[index] = 0;
+    this.vx[index] = 0;
+    this.vy[index] = 0;
+    this.age[index] = 0;
+    this.lifespan[index] = Float.POSITIVE_INFINITY;
+    return index;
+  }
+
+  /**
+   * Removes a particle by moving the last live particle into its slot
+   *
+   * @param index Index of particle to remove
+   */
+  public void remove(int index) {
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException("ParticleSystem index " + index + " out of bounds for size " + this.size);
+    }
+    final int last = --this.size;
+    if (index != last) {
+      move(last, index);
+    }
+  }
+
+  /**
+   * Removes all particles, keeping storage for reuse
+   */
+  public void clear() {
+    this.size = 0;
+  }
+
+  /**
+   * Advances every particle by its velocity and ages it
+   *
+   * @param dt Elapsed time, in the units of velocity and age
+   */
+  public void integrate(float dt) {
+    for (int i = 0; i < this.size; ++i) {
+      this.x[i] += this.vx[i] * dt;
+      this.y[i] += this.vy[i] * dt;
+      this.age[i] += dt;
+    }
+  }
+
+  /**
+   * Ages every particle without moving it
+   *
+   * @param dt Elapsed time, in the units of age
+   */
+  public void advanceAge(float dt) {
+    for (int i = 0; i < this.size; ++i) {
+      this.age[i] += dt;
+    }
+  }
+
+  /**
+   * Whether a particle has outlived its lifespan
+   */
+  public boolean isExpired(int index) {
+    return this.age[index] > this.lifespan[index];
+  }
+
+  /**
+   * Removes every particle that has outlived its lifespan
+   */
+  public void removeExpired() {
+    for (int i = this.size - 1; i >= 0; --i) {
+      if (isExpired(i)) {
+        remove(i);
+      }
+    }
+  }
+
+  /**
+   * Copies all state of one particle into another slot. Subclasses with
+   * their own arrays must override this and call super.
+   *
+   * @param from Source index
+   * @param to Destination index
+   */
+  protected void move(int from, int to) {
+    this.x[to] = this.x[from];
+    this.y[to] = this.y[from];
+    this.vx[to] = this.vx[from];
+    this.vy[to] = this.vy[from];
+    this.age[to] = this.age[from];
+    this.lifespan[to] = this.lifespan[from];
+  }
+
+}
@@ -0,0 +1,305 @@
+/**
+ * Copyright 2025- Mark C. Slee, Heron Arts LLC
+ *
+ * This file is part of the LX Studio software library. By using
+ * LX, you agree to the terms of the LX Studio Software License
+ * and Distribution Agreement, available at: http://lx.studio/license
+ *
+ * Please note that the LX license is not open-source. The license
+ * allows for free, non-commercial use.
+ *
+ * HERON ARTS MAKES NO WARRANTY, EXPRESS, IMPLIED, STATUTORY, OR
+ * OTHERWISE, AND SPECIFICALLY DISCLAIMS ANY WARRANTY OF
+ * MERCHANTABILITY, NON-INFRINGEMENT, OR FITNESS FOR A PARTICULAR
+ * PURPOSE, WITH RESPECT TO THE SOFTWARE.
+ *
+ * @author Mark C. Slee <mark@heronarts.com>
+ */
+
+package apotheneum;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import heronarts.lx.LX;
+import heronarts.lx.model.LXModel;
+import heronarts.lx.model.LXPoint;
+import heronarts.lx.utils.LXUtils;
+
+/**
+ * Uniform voxel grid over the normalized xn/yn/zn coordinates of a model,
+ * for nearest-point and radius queries without scanning every point. Grids
+ * are shared per model instance and discarded whenever the LX model changes.
+ */
+public class PointGrid {
+
+  /**
+   * Receives the points found by a radius query
+   */
+  public interface Visitor {
+    /**
+     * Invoked once per point within the query radius
+     *
+     * @param index Index of the point in the colors array
+     * @param distanceSq Squared normalized distance from the query position
+     */
+    public void visit(int index, float distanceSq);
+  }
+
+  private static final int MAX_RESOLUTION = 64;
+
+  private static final Map<LXModel, PointGrid> grids = new IdentityHashMap<>();
+  private static LX lx = null;
+
+  private static final LX.Listener modelListener = new LX.Listener() {
+    @Override
+    public void modelChanged(LX lx, LXModel model) {
+      synchronized (grids) {
+        grids.clear();
+      }
+    }
+  };
+
+  /**
+   * Returns the shared grid for the given model, building it on first use
+   *
+   * @param lx LX instance
+   * @param model Model to index
+   * @return Point grid for the model
+   */
+  public static PointGrid get(LX lx, LXModel model) {
+    synchronized (grids) {
+      if (PointGrid.lx != lx) {
+        if (PointGrid.lx != null) {
+          PointGrid.lx.removeListener(modelListener);
+        }
+        PointGrid.lx = lx;
+        lx.addListener(modelListener);
+        grids.clear();
+      }
+      PointGrid grid = grids.get(model);
+      if (grid == null) {
+        grid = new PointGrid(model);
+        grids.put(model, grid);
+      }
+      return grid;
+    }
+  }
+
+  public final LXModel model;
+
+  public final int resolution;
+
+  // Cell c holds entries [cellStart[c], cellStart[c+1])
+  private final int[] cellStart;
+
+  // Chebyshev distance, in cells, from each cell to the nearest non-empty cell
+  private final int[] firstShell;
+
+  // Point data sorted by cell, stored flat for locality
+  private final int[] index;
+  private final float[] x;
+  private final float[] y;
+  private final float[] z;
+
+  private PointGrid(LXModel model) {
+    this.model = model;
+    final int size = model.points.length;
+    this.resolution = LXUtils.constrain((int) Math.ceil(Math.cbrt(size / 2.)), 1, MAX_RESOLUTION);
+
+    final int numCells = this.resolution * this.resolution * this.resolution;
+    this.cellStart = new int[numCells + 1];
+    this.index = new int[size];
+    this.x = new float[size];
+    this.y = new float[size];
+    this.z = new float[size];
+
+    // Counting sort of the points into their cells
+    final int[] pointCell = new int[size];
+    int i = 0;
+    for (LXPoint p : model.points) {
+      final int cell = cell(cell(p.xn), cell(p.yn), cell(p.zn));
+      pointCell[i++] = cell;
+      ++this.cellStart[cell + 1];
+    }
+    for (int c = 0; c < numCells; ++c) {
+      this.cellStart[c + 1] += this.cellStart[c];
+    }
+    final int[] fill = new int[numCells];
+    i = 0;
+    for (LXPoint p : model.points) {
+      final int cell = pointCell[i++];
+      final int dst = this.cellStart[cell] + fill[cell]++;
+      this.index[dst] = p.index;
+      this.x[dst] = p.xn;
+      this.y[dst] = p.yn;
+      this.z[dst] = p.zn;
+    }
+
+    // Breadth-first distance transform over the 26-neighborhood so that
+    // nearest queries can skip straight past empty shells
+    this.firstShell = new int[numCells];
+    Arrays.fill(this.firstShell, -1);
+    final int[] queue = new int[numCells];
+    int head = 0, tail = 0;
+    for (int c = 0; c < numCells; ++c) {
+      if (this.cellStart[c + 1] > this.cellStart[c]) {
+        this.firstShell[c] = 0;
+        queue[tail++] = c;
+      }
+    }
+    final int res = this.resolution;
+    while (head < tail) {
+      final int c = queue[head++];
+      final int cx = c % res, cy = (c / res) % res, cz = c / (res * res);
+      for (int dz = -1; dz <= 1; ++dz) {
+        for (int dy = -1; dy <= 1; ++dy) {
+          for (int dx = -1; dx <= 1; ++dx) {
+            final int nx = cx + dx, ny = cy + dy, nz = cz + dz;
+            if ((nx >= 0) && (nx < res) && (ny >= 0) && (ny < res) && (nz >= 0) && (nz < res)) {
+              final int n = cell(nx, ny, nz);
+              if (this.firstShell[n] < 0) {
+                this.firstShell[n] = this.firstShell[c] + 1;
+                queue[tail++] = n;
+              }
+            }
+          }
+        }
+      }
+    }
+  }
+
+  private int cell(float n) {
+    return LXUtils.constrain((int) (n * this.resolution), 0, this.resolution - 1);
+  }
+
+  private int cell(int cx, int cy, int cz) {
+    return (cz * this.resolution + cy) * this.resolution + cx;
+  }
+
+  /**
+   * Finds the point closest to the given normalized position
+   *
+   * @param x Normalized x
+   * @param y Normalized y
+   * @param z Normalized z
+   * @return Index of the nearest point in the colors array, or -1 if the model is empty
+   */
+  public int nearest(float x, float y, float z) {
+    return nearest(x, y, z, Float.POSITIVE_INFINITY);
+  }
+
+  /**
+   * Finds the point closest to the given normalized position, within a maximum
+   * distance. Grids are shared and never modified once built, so queries may
+   * run concurrently from any thread.
+   *
+   * @param x Normalized x
+   * @param y Normalized y
+   * @param z Normalized z
+   * @param maxDistance Maximum normalized distance to search
+   * @return Index of the nearest point in the colors array, or -1 if none is in range
+   */
+  public int nearest(float x, float y, float z, float maxDistance) {
+    int nearestIndex = -1;
+    float nearestDistanceSq = maxDistance * maxDistance;
+    if (this.index.length == 0) {
+      return -1;
+    }
+
+    final int res = this.resolution;
+    final int cx = cell(x), cy = cell(y), cz = cell(z);
+
+    // Search outwards in cubic shells of cells around the query cell. Once
+    // shell r has been searched, anything unsearched lies beyond the walls of
+    // that block of cells, so we can stop as soon as the best match is closer
+    // than the nearest wall. Shells nearer than the first occupied one are
+    // skipped entirely.
+    final float cellSize = 1f / res;
+    final int maxShell = Math.max(Math.max(Math.max(cx, res - 1 - cx), Math.max(cy, res - 1 - cy)), Math.max(cz, res - 1 - cz));
+    for (int r = Math.max(0, this.firstShell[cell(cx, cy, cz)]); r <= maxShell; ++r) {
+      final int x0 = Math.max(0, cx - r), x1 = Math.min(res - 1, cx + r);
+      final int y0 = Math.max(0, cy - r), y1 = Math.min(res - 1, cy + r);
+      final int z0 = Math.max(0, cz - r), z1 = Math.min(res - 1, cz + r);
+      for (int iz = z0; iz <= z1; ++iz) {
+        final boolean zEdge = (iz == cz - r) || (iz == cz + r);
+        for (int iy = y0; iy <= y1; ++iy) {
+          // Rows on a face of the shell are searched in full, interior rows
+          // only have their two end cells on the shell
+          final boolean fullRow = zEdge || (iy == cy - r) || (iy == cy + r);
+          final int step = fullRow ? 1 : 2 * r;
+          for (int ix = fullRow ? x0 : cx - r; ix <= x1; ix += step) {
+            if (ix < 0) {
+              continue;
+            }
+            final int cell = cell(ix, iy, iz);
+            for (int i = this.cellStart[cell], end = this.cellStart[cell + 1]; i < end; ++i) {
+              final float dx = this.x[i] - x;
+              final float dy = this.y[i] - y;
+              final float dz = this.z[i] - z;
+              final float distanceSq = dx*dx + dy*dy + dz*dz;
+              if (distanceSq < nearestDistanceSq) {
+                nearestDistanceSq = distanceSq;
+                nearestIndex = this.index[i];
+              }
+            }
+          }
+        }
+      }
+      final float bound = Math.min(Math.min(
+        clearance(x, cx, r, cellSize),
+        clearance(y, cy, r, cellSize)),
+        clearance(z, cz, r, cellSize)
+      );
+      if (nearestDistanceSq <= bound * bound) {
+        break;
+      }
+    }
+    return nearestIndex;
+  }
+
+  // Distance from a query coordinate to the nearest unsearched cell along one
+  // axis, after searching r shells around cell c
+  private float clearance(float n, int c, int r, float cellSize) {
+    final float lo = (c - r > 0) ? n - (c - r) * cellSize : Float.POSITIVE_INFINITY;
+    final float hi = (c + r < this.resolution - 1) ? (c + r + 1) * cellSize - n : Float.POSITIVE_INFINITY;
+    return Math.min(lo, hi);
+  }
+
+  /**
+   * Visits every point within a radius of the given normalized position
+   *
+   * @param x Normalized x
+   * @param y Normalized y
+   * @param z Normalized z
+   * @param radius Normalized radius
+   * @param visitor Visitor invoked for each point in range
+   */
+  public void radius(float x, float y, float z, float radius, Visitor visitor) {
+    if (this.index.length == 0) {
+      return;
+    }
+    final float radiusSq = radius * radius;
+    final int x0 = cell(x - radius), x1 = cell(x + radius);
+    final int y0 = cell(y - radius), y1 = cell(y + radius);
+    final int z0 = cell(z - radius), z1 = cell(z + radius);
+    for (int iz = z0; iz <= z1; ++iz) {
+      for (int iy = y0; iy <= y1; ++iy) {
+        // Cells along x are adjacent, so the whole row is one contiguous run
+        final int start = this.cellStart[cell(x0, iy, iz)];
+        final int end = this.cellStart[cell(x1, iy, iz) + 1];
+        for (int i = start; i < end; ++i) {
+          final float dx = this.x[i] - x;
+          final float dy = this.y[i] - y;
+          final float dz = this.z[i] - z;
+          final float distanceSq = dx*dx + dy*dy + dz*dz;
+          if (distanceSq <= radiusSq) {
+            visitor.visit(this.index[i], distanceSq);
+          }
+        }
+      }
+    }
+  }
+
+}
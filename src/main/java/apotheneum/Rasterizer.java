@@ -0,0 +1,425 @@
+/**
+ * Copyright 2025- Mark C. Slee, Heron Arts LLC
+ *
+ * This file is part of the LX Studio software library. By using
+ * LX, you agree to the terms of the LX Studio Software License
+ * and Distribution Agreement, available at: http://lx.studio/license
+ *
+ * Please note that the LX license is not open-source. The license
+ * allows for free, non-commercial use.
+ *
+ * HERON ARTS MAKES NO WARRANTY, EXPRESS, IMPLIED, STATUTORY, OR
+ * OTHERWISE, AND SPECIFICALLY DISCLAIMS ANY WARRANTY OF
+ * MERCHANTABILITY, NON-INFRINGEMENT, OR FITNESS FOR A PARTICULAR
+ * PURPOSE, WITH RESPECT TO THE SOFTWARE.
+ *
+ * @author Mark C. Slee <mark@heronarts.com>
+ */
+
+package apotheneum;
+
+import java.util.Arrays;
+
+/**
+ * Lightweight anti-aliased rasterizer that draws straight into a row-major
+ * ARGB framebuffer. Drawing state follows Graphics2D (a current color, stroke
+ * width and composite) but nothing is allocated per call and there is no
+ * locking, which makes it far cheaper than Java2D on small canvases.
+ *
+ * Coordinates are in pixels with pixel (x, y) centered at (x + .5, y + .5),
+ * the same convention as Graphics2D. Coverage is computed from the distance
+ * of each pixel center to the shape edge, giving a one pixel soft edge. Lines
+ * are always drawn with round caps.
+ */
+public class Rasterizer {
+
+  public enum Blend {
+    /**
+     * Source-over alpha compositing, the Graphics2D default
+     */
+    ALPHA,
+
+    /**
+     * Source color scaled by alpha and added to the destination
+     */
+    ADD
+  }
+
+  public final int width;
+  public final int height;
+
+  private final int[] pixels;
+
+  // Scratch for drawPolyline, per-pixel coverage of the stroke so far and the
+  // pixels it has touched. Coverage is reset to zero after each polyline.
+  private final double[] strokeCoverage;
+  private final int[] strokeTouched;
+
+  private int red = 255, green = 255, blue = 255, alpha = 255;
+  private float strokeWidth = 1;
+  private Blend blend = Blend.ALPHA;
+
+  /**
+   * Creates a rasterizer over an existing framebuffer
+   *
+   * @param pixels Row-major ARGB pixels, pixel (x, y) at [y * width + x]
+   * @param width Framebuffer width
+   * @param height Framebuffer height
+   */
+  public Rasterizer(int[] pixels, int width, int height) {
+    if (pixels.length < width * height) {
+      throw new IllegalArgumentException("Rasterizer framebuffer too small for " + width + "x" + height + ": " + pixels.length);
+    }
+    this.pixels = pixels;
+    this.width = width;
+    this.height = height;
+    this.strokeCoverage = new double[width * height];
+    this.strokeTouched = new int[width * height];
+  }
+
+  public Rasterizer setColor(int argb) {
+    this.alpha = (argb >>> 24) & 0xff;
+    this.red = (argb >>> 16) & 0xff;
+    this.green = (argb >>> 8) & 0xff;
+    this.blue = argb & 0xff;
+    return this;
+  }
+
+  /**
+   * Sets the color from normalized components, same as new Color(r, g, b, a)
+   * but without allocating
+   */
+  public Rasterizer setColor(float r, float g, float b, float a) {
+    this.red = toByte(r);
+    this.green = toByte(g);
+    this.blue = toByte(b);
+    this.alpha = toByte(a);
+    return this;
+  }
+
+  public Rasterizer setStrokeWidth(float strokeWidth) {
+    this.strokeWidth = strokeWidth;
+    return this;
+  }
+
+  public Rasterizer setBlend(Blend blend) {
+    this.blend = blend;
+    return this;
+  }
+
+  /**
+   * Packs normalized components into an ARGB color, same as
+   * new Color(r, g, b, a).getRGB() but without allocating
+   */
+  public static int argb(float r, float g, float b, float a) {
+    return (toByte(a) << 24) | (toByte(r) << 16) | (toByte(g) << 8) | toByte(b);
+  }
+
+  private static int toByte(float value) {
+    return (int) (Math.max(0, Math.min(1, value)) * 255 + .5f);
+  }
+
+  /**
+   * Fills the whole framebuffer with a color, ignoring the blend mode
+   */
+  public void clear(int argb) {
+    Arrays.fill(this.pixels, 0, this.width * this.height, argb);
+  }
+
+  /**
+   * Draws a line segment at the current stroke width
+   */
+  public void drawLine(double x1, double y1, double x2, double y2) {
+    if (this.alpha == 0) {
+      return;
+    }
+    final double radius = strokeRadius();
+    final double coverageScale = strokeCoverageScale();
+    final double extent = radius + .5;
+    final int xMin = Math.max(0, (int) Math.floor(Math.min(x1, x2) - extent));
+    final int xMax = Math.min(this.width - 1, (int) Math.floor(Math.max(x1, x2) + extent));
+    final int yMin = Math.max(0, (int) Math.floor(Math.min(y1, y2) - extent));
+    final int yMax = Math.min(this.height - 1, (int) Math.floor(Math.max(y1, y2) + extent));
+    final double outerSq = extent * extent;
+    final double innerSq = (radius > .5) ? (radius - .5) * (radius - .5) : -1;
+    final double dx = x2 - x1;
+    final double dy = y2 - y1;
+    final double lengthSq = dx*dx + dy*dy;
+    final double invLengthSq = (lengthSq > 0) ? 1 / lengthSq : 0;
+    for (int y = yMin; y <= yMax; ++y) {
+      final double py = y + .5 - y1;
+      for (int x = xMin; x <= xMax; ++x) {
+        final double px = x + .5 - x1;
+        double t = (px*dx + py*dy) * invLengthSq;
+        t = (t < 0) ? 0 : (t > 1) ? 1 : t;
+        final double ex = px - t*dx;
+        final double ey = py - t*dy;
+        final double distSq = ex*ex + ey*ey;
+        if (distSq < outerSq) {
+          blend(y * this.width + x, coverage(distSq, innerSq, extent) * coverageScale);
+        }
+      }
+    }
+  }
+
+  /**
+   * Draws a connected series of line segments as one stroke, so that joins
+   * are not composited twice
+   *
+   * @param xs X coordinates
+   * @param ys Y coordinates
+   * @param numPoints Number of points to use from the arrays
+   */
+  public void drawPolyline(double[] xs, double[] ys, int numPoints) {
+    if (this.alpha == 0 || numPoints <= 0) {
+      return;
+    }
+    if (numPoints == 1) {
+      drawLine(xs[0], ys[0], xs[0], ys[0]);
+      return;
+    }
+    final double radius = strokeRadius();
+    final double coverageScale = strokeCoverageScale();
+    final double extent = radius + .5;
+    final double outerSq = extent * extent;
+    final double innerSq = (radius > .5) ? (radius - .5) * (radius - .5) : -1;
+
+    // Each segment only visits pixels within its own padded bounds, keeping
+    // the highest coverage per pixel, then every touched pixel is blended once
+    final double[] strokeCoverage = this.strokeCoverage;
+    final int[] strokeTouched = this.strokeTouched;
+    int numTouched = 0;
+    for (int i = 1; i < numPoints; ++i) {
+      final double x1 = xs[i-1], y1 = ys[i-1];
+      final double x2 = xs[i], y2 = ys[i];
+      final int xMin = Math.max(0, (int) Math.floor(Math.min(x1, x2) - extent));
+      final int xMax = Math.min(this.width - 1, (int) Math.floor(Math.max(x1, x2) + extent));
+      final int yMin = Math.max(0, (int) Math.floor(Math.min(y1, y2) - extent));
+      final int yMax = Math.min(this.height - 1, (int) Math.floor(Math.max(y1, y2) + extent));
+      for (int y = yMin; y <= yMax; ++y) {
+        final double py = y + .5;
+        for (int x = xMin; x <= xMax; ++x) {
+          final double distSq = segmentDistanceSq(x + .5, py, x1, y1, x2, y2);
+          if (distSq < outerSq) {
+            final double coverage = coverage(distSq, innerSq, extent) * coverageScale;
+            final int index = y * this.width + x;
+            if (coverage > strokeCoverage[index]) {
+              if (strokeCoverage[index] == 0) {
+                strokeTouched[numTouched++] = index;
+              }
+              strokeCoverage[index] = coverage;
+            }
+          }
+        }
+      }
+    }
+    for (int i = 0; i < numTouched; ++i) {
+      final int index = strokeTouched[i];
+      blend(index, strokeCoverage[index]);
+      strokeCoverage[index] = 0;
+    }
+  }
+
+  /**
+   * Draws the outline of a circle at the current stroke width
+   */
+  public void drawCircle(double cx, double cy, double r) {
+    if (this.alpha == 0) {
+      return;
+    }
+    final double radius = strokeRadius();
+    final double coverageScale = strokeCoverageScale();
+    final double extent = r + radius + 1;
+    final int xMin = Math.max(0, (int) Math.floor(cx - extent));
+    final int xMax = Math.min(this.width - 1, (int) Math.ceil(cx + extent));
+    final int yMin = Math.max(0, (int) Math.floor(cy - extent));
+    final int yMax = Math.min(this.height - 1, (int) Math.ceil(cy + extent));
+    for (int y = yMin; y <= yMax; ++y) {
+      final double dy = y + .5 - cy;
+      for (int x = xMin; x <= xMax; ++x) {
+        final double dx = x + .5 - cx;
+        final double coverage = radius + .5 - Math.abs(Math.sqrt(dx*dx + dy*dy) - r);
+        if (coverage > 0) {
+          blend(y * this.width + x, Math.min(1, coverage) * coverageScale);
+        }
+      }
+    }
+  }
+
+  /**
+   * Fills a circle
+   */
+  public void fillCircle(double cx, double cy, double r) {
+    if (this.alpha == 0 || r <= 0) {
+      return;
+    }
+    final double extent = r + .5;
+    final int xMin = Math.max(0, (int) Math.floor(cx - extent));
+    final int xMax = Math.min(this.width - 1, (int) Math.floor(cx + extent));
+    final int yMin = Math.max(0, (int) Math.floor(cy - extent));
+    final int yMax = Math.min(this.height - 1, (int) Math.floor(cy + extent));
+    final double outerSq = extent * extent;
+    final double innerSq = (r > .5) ? (r - .5) * (r - .5) : -1;
+    for (int y = yMin; y <= yMax; ++y) {
+      final double dy = y + .5 - cy;
+      for (int x = xMin; x <= xMax; ++x) {
+        final double dx = x + .5 - cx;
+        final double distSq = dx*dx + dy*dy;
+        if (distSq < outerSq) {
+          blend(y * this.width + x, coverage(distSq, innerSq, extent));
+        }
+      }
+    }
+  }
+
+  /**
+   * Fills a closed polygon using the even-odd rule
+   *
+   * @param xs X coordinates
+   * @param ys Y coordinates
+   * @param numPoints Number of vertices to use from the arrays
+   */
+  public void fillPolygon(double[] xs, double[] ys, int numPoints) {
+    if (this.alpha == 0 || numPoints < 3) {
+      return;
+    }
+    double minX = xs[0], maxX = xs[0], minY = ys[0], maxY = ys[0];
+    for (int i = 1; i < numPoints; ++i) {
+      minX = Math.min(minX, xs[i]);
+      maxX = Math.max(maxX, xs[i]);
+      minY = Math.min(minY, ys[i]);
+      maxY = Math.max(maxY, ys[i]);
+    }
+    final int xMin = Math.max(0, (int) Math.floor(minX - 1));
+    final int xMax = Math.min(this.width - 1, (int) Math.ceil(maxX + 1));
+    final int yMin = Math.max(0, (int) Math.floor(minY - 1));
+    final int yMax = Math.min(this.height - 1, (int) Math.ceil(maxY + 1));
+    for (int y = yMin; y <= yMax; ++y) {
+      final double py = y + .5;
+      for (int x = xMin; x <= xMax; ++x) {
+        final double px = x + .5;
+        boolean inside = false;
+        double distSq = Double.MAX_VALUE;
+        for (int i = 0, j = numPoints - 1; i < numPoints; j = i++) {
+          final double xi = xs[i], yi = ys[i], xj = xs[j], yj = ys[j];
+          if ((yi > py) != (yj > py) && (px < (xj - xi) * (py - yi) / (yj - yi) + xi)) {
+            inside = !inside;
+          }
+          distSq = Math.min(distSq, segmentDistanceSq(px, py, xi, yi, xj, yj));
+        }
+        final double edge = Math.sqrt(distSq);
+        final double coverage = inside ? (.5 + edge) : (.5 - edge);
+        if (coverage > 0) {
+          blend(y * this.width + x, Math.min(1, coverage));
+        }
+      }
+    }
+  }
+
+  /**
+   * Fills a region with the current color, using a coverage mask to set the
+   * opacity of each pixel
+   *
+   * @param mask Coverage from 0 to 1 per pixel, laid out like the framebuffer
+   * @param scale Multiplier applied to the mask, coverage above 1 is clamped
+   * @param x0 Left edge of region, inclusive
+   * @param y0 Top edge of region, inclusive
+   * @param x1 Right edge of region, exclusive
+   * @param y1 Bottom edge of region, exclusive
+   */
+  public void fillMask(float[] mask, float scale, int x0, int y0, int x1, int y1) {
+    if (this.alpha == 0 || scale <= 0) {
+      return;
+    }
+    x0 = Math.max(0, x0);
+    y0 = Math.max(0, y0);
+    x1 = Math.min(this.width, x1);
+    y1 = Math.min(this.height, y1);
+    for (int y = y0; y < y1; ++y) {
+      int index = y * this.width + x0;
+      for (int x = x0; x < x1; ++x, ++index) {
+        final float coverage = mask[index] * scale;
+        if (coverage > 0) {
+          blend(index, (coverage > 1) ? 1 : coverage);
+        }
+      }
+    }
+  }
+
+  // Strokes thinner than a pixel are drawn one pixel wide at reduced opacity,
+  // approximating the coverage Java2D produces for hairlines
+  private double strokeRadius() {
+    return Math.max(.5, .5 * this.strokeWidth);
+  }
+
+  private double strokeCoverageScale() {
+    return Math.max(0, Math.min(1, this.strokeWidth));
+  }
+
+  // Coverage of a pixel whose center is sqrt(distSq) from the shape center
+  // line, for a shape extending extent - .5 pixels from it. Pixels entirely
+  // inside skip the square root.
+  private static double coverage(double distSq, double innerSq, double extent) {
+    if (distSq <= innerSq) {
+      return 1;
+    }
+    final double coverage = extent - Math.sqrt(distSq);
+    return (coverage > 1) ? 1 : coverage;
+  }
+
+  private static double segmentDistanceSq(double px, double py, double x1, double y1, double x2, double y2) {
+    final double dx = x2 - x1;
+    final double dy = y2 - y1;
+    final double lengthSq = dx*dx + dy*dy;
+    px -= x1;
+    py -= y1;
+    if (lengthSq > 0) {
+      double t = (px*dx + py*dy) / lengthSq;
+      t = (t < 0) ? 0 : (t > 1) ? 1 : t;
+      px -= t*dx;
+      py -= t*dy;
+    }
+    return px*px + py*py;
+  }
+
+  private void blend(int index, double coverage) {
+    final int a = (int) (this.alpha * coverage + .5);
+    if (a <= 0) {
+      return;
+    }
+    final int dst = this.pixels[index];
+    final int dstA = (dst >>> 24) & 0xff;
+    final int dstR = (dst >>> 16) & 0xff;
+    final int dstG = (dst >>> 8) & 0xff;
+    final int dstB = dst & 0xff;
+
+    switch (this.blend) {
+    case ADD -> {
+      final int outA = Math.min(255, dstA + a);
+      final int outR = Math.min(255, dstR + (this.red * a + 127) / 255);
+      final int outG = Math.min(255, dstG + (this.green * a + 127) / 255);
+      final int outB = Math.min(255, dstB + (this.blue * a + 127) / 255);
+      this.pixels[index] = (outA << 24) | (outR << 16) | (outG << 8) | outB;
+    }
+    default -> {
+      if (dstA == 255) {
+        // Opaque destination, the common case, stays opaque
+        final int inv = 255 - a;
+        final int outR = (this.red * a + dstR * inv + 127) / 255;
+        final int outG = (this.green * a + dstG * inv + 127) / 255;
+        final int outB = (this.blue * a + dstB * inv + 127) / 255;
+        this.pixels[index] = 0xff000000 | (outR << 16) | (outG << 8) | outB;
+        return;
+      }
+      // Non-premultiplied source-over, matching TYPE_INT_ARGB in Java2D
+      final int dstWeight = dstA * (255 - a) / 255;
+      final int outA = a + dstWeight;
+      final int outR = (this.red * a + dstR * dstWeight) / outA;
+      final int outG = (this.green * a + dstG * dstWeight) / outA;
+      final int outB = (this.blue * a + dstB * dstWeight) / outA;
+      this.pixels[index] = (outA << 24) | (outR << 16) | (outG << 8) | outB;
+    }
+    }
+  }
+
+}
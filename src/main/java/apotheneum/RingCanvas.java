@@ -0,0 +1,246 @@
+/**
+ * Copyright 2025- Mark C. Slee, Heron Arts LLC
+ *
+ * This file is part of the LX Studio software library. By using
+ * LX, you agree to the terms of the LX Studio Software License
+ * and Distribution Agreement, available at: http://lx.studio/license
+ *
+ * Please note that the LX license is not open-source. The license
+ * allows for free, non-commercial use.
+ *
+ * HERON ARTS MAKES NO WARRANTY, EXPRESS, IMPLIED, STATUTORY, OR
+ * OTHERWISE, AND SPECIFICALLY DISCLAIMS ANY WARRANTY OF
+ * MERCHANTABILITY, NON-INFRINGEMENT, OR FITNESS FOR A PARTICULAR
+ * PURPOSE, WITH RESPECT TO THE SOFTWARE.
+ *
+ * @author Mark C. Slee <mark@heronarts.com>
+ */
+
+package apotheneum;
+
+import java.util.Arrays;
+
+/**
+ * Offscreen ARGB canvas covering the full ring of the cube or cylinder, with
+ * pixel (x, y) stored row-major at pixels[y * width + x]. The x coordinate
+ * wraps around the ring and pixels above or below the ring are clipped.
+ *
+ * Patterns draw into the canvas and then blit it onto one or more
+ * orientations, instead of resolving ring and point indices for every pixel
+ * they write. A canvas persists between frames, so trails can be made by
+ * decaying it rather than the whole colors array.
+ */
+public class RingCanvas {
+
+  public enum Shape {
+    CUBE(Apotheneum.Cube.Ring.LENGTH, Apotheneum.GRID_HEIGHT),
+    CYLINDER(Apotheneum.Cylinder.Ring.LENGTH, Apotheneum.CYLINDER_HEIGHT);
+
+    public final int width;
+    public final int height;
+
+    private Shape(int width, int height) {
+      this.width = width;
+      this.height = height;
+    }
+
+    public Apotheneum.Component component() {
+      return (this == CUBE) ? Apotheneum.cube : Apotheneum.cylinder;
+    }
+  }
+
+  public final Shape shape;
+  public final int width;
+  public final int height;
+  public final int[] pixels;
+
+  private int[] scratch = null;
+
+  public RingCanvas(Shape shape) {
+    this.shape = shape;
+    this.width = shape.width;
+    this.height = shape.height;
+    this.pixels = new int[this.width * this.height];
+  }
+
+  /**
+   * Index of a pixel in the canvas
+   *
+   * @param x Position around the ring, wrapped
+   * @param y Ring index
+   * @return Index into pixels, or -1 if y is off the canvas
+   */
+  public int index(int x, int y) {
+    if (y < 0 || y >= this.height) {
+      return -1;
+    }
+    if (x < 0 || x >= this.width) {
+      x = ((x % this.width) + this.width) % this.width;
+    }
+    return y * this.width + x;
+  }
+
+  public RingCanvas clear() {
+    return clear(0);
+  }
+
+  public RingCanvas clear(int color) {
+    Arrays.fill(this.pixels, color);
+    return this;
+  }
+
+  /**
+   * Replaces a pixel
+   */
+  public void set(int x, int y, int color) {
+    final int i = index(x, y);
+    if (i >= 0) {
+      this.pixels[i] = color;
+    }
+  }
+
+  /**
+   * Adds to a pixel, each channel saturating at full
+   */
+  public void add(int x, int y, int color) {
+    final int i = index(x, y);
+    if (i >= 0) {
+      final int c = this.pixels[i];
+      final int r = Math.min(255, ((c >>> 16) & 0xff) + ((color >>> 16) & 0xff));
+      final int g = Math.min(255, ((c >>> 8) & 0xff) + ((color >>> 8) & 0xff));
+      final int b = Math.min(255, (c & 0xff) + (color & 0xff));
+      this.pixels[i] = 0xff000000 | (r << 16) | (g << 8) | b;
+    }
+  }
+
+  /**
+   * Keeps the brighter of the pixel and color in each channel
+   */
+  public void lightest(int x, int y, int color) {
+    final int i = index(x, y);
+    if (i >= 0) {
+      final int c = this.pixels[i];
+      final int r = Math.max((c >>> 16) & 0xff, (color >>> 16) & 0xff);
+      final int g = Math.max((c >>> 8) & 0xff, (color >>> 8) & 0xff);
+      final int b = Math.max(c & 0xff, color & 0xff);
+      this.pixels[i] = 0xff000000 | (r << 16) | (g << 8) | b;
+    }
+  }
+
+  /**
+   * Scales every pixel's channels, keeping its alpha. Cleared pixels are
+   * skipped.
+   *
+   * @param amount Scale factor from 0 to 1
+   */
+  public void decay(float amount) {
+    if (amount >= 1) {
+      return;
+    }
+    if (amount <= 0) {
+      for (int i = 0; i < this.pixels.length; ++i) {
+        this.pixels[i] &= 0xff000000;
+      }
+      return;
+    }
+    final int scale = (int) (amount * 256);
+    for (int i = 0; i < this.pixels.length; ++i) {
+      final int c = this.pixels[i];
+      if ((c & 0xffffff) != 0) {
+        final int r = (((c >>> 16) & 0xff) * scale) >>> 8;
+        final int g = (((c >>> 8) & 0xff) * scale) >>> 8;
+        final int b = ((c & 0xff) * scale) >>> 8;
+        this.pixels[i] = (c & 0xff000000) | (r << 16) | (g << 8) | b;
+      }
+    }
+  }
+
+  /**
+   * Blends every pixel towards the average of its 3x3 neighborhood, wrapping
+   * around the ring and clamping at the top and bottom
+   *
+   * @param amount Blend amount from 0 to 1
+   */
+  public void blur(float amount) {
+    if (amount <= 0) {
+      return;
+    }
+    if (this.scratch == null) {
+      this.scratch = new int[this.pixels.length];
+    }
+    final int w = this.width;
+    final int h = this.height;
+    final int[] src = this.pixels;
+    final int[] sum = this.scratch;
+
+    // Horizontal pass, channel sums of up to 3 * 255 packed 10 bits apart
+    for (int y = 0; y < h; ++y) {
+      final int row = y * w;
+      for (int x = 0; x < w; ++x) {
+        final int l = src[row + ((x == 0) ? w - 1 : x - 1)];
+        final int c = src[row + x];
+        final int r = src[row + ((x == w - 1) ? 0 : x + 1)];
+        sum[row + x] =
+          ((((l >>> 16) & 0xff) + ((c >>> 16) & 0xff) + ((r >>> 16) & 0xff)) << 20) |
+          ((((l >>> 8) & 0xff) + ((c >>> 8) & 0xff) + ((r >>> 8) & 0xff)) << 10) |
+          ((l & 0xff) + (c & 0xff) + (r & 0xff));
+      }
+    }
+
+    // Vertical pass and blend
+    final int weight = (int) (Math.min(1, amount) * 256);
+    for (int y = 0; y < h; ++y) {
+      final int row = y * w;
+      final int up = (y > 0) ? row - w : row;
+      final int down = (y < h - 1) ? row + w : row;
+      for (int x = 0; x < w; ++x) {
+        final int a = sum[up + x];
+        final int b = sum[row + x];
+        final int d = sum[down + x];
+        final int br = (((a >>> 20) & 0x3ff) + ((b >>> 20) & 0x3ff) + ((d >>> 20) & 0x3ff)) / 9;
+        final int bg = (((a >>> 10) & 0x3ff) + ((b >>> 10) & 0x3ff) + ((d >>> 10) & 0x3ff)) / 9;
+        final int bb = ((a & 0x3ff) + (b & 0x3ff) + (d & 0x3ff)) / 9;
+        final int c = src[row + x];
+        final int cr = (c >>> 16) & 0xff;
+        final int cg = (c >>> 8) & 0xff;
+        final int cb = c & 0xff;
+        final int nr = cr + (((br - cr) * weight) >> 8);
+        final int ng = cg + (((bg - cg) * weight) >> 8);
+        final int nb = cb + (((bb - cb) * weight) >> 8);
+        final int rgb = (nr << 16) | (ng << 8) | nb;
+        src[row + x] = (rgb == 0) ? (c & 0xff000000) : (0xff000000 | rgb);
+      }
+    }
+  }
+
+  /**
+   * Copies the canvas onto an orientation of the matching shape
+   *
+   * @param colors Colors array to write into
+   * @param orientation Orientation to write, may be null for a missing interior
+   */
+  public void blit(int[] colors, Apotheneum.Orientation orientation) {
+    if (orientation == null) {
+      return;
+    }
+    final int[] rowMajor = orientation.rowMajor();
+    if (rowMajor.length != this.pixels.length) {
+      throw new IllegalArgumentException("RingCanvas of " + this.width + "x" + this.height + " does not match orientation of " + orientation.width() + "x" + orientation.height());
+    }
+    for (int i = 0; i < rowMajor.length; ++i) {
+      colors[rowMajor[i]] = this.pixels[i];
+    }
+  }
+
+  /**
+   * Copies the canvas onto both the exterior and interior of its shape
+   *
+   * @param colors Colors array to write into
+   */
+  public void blit(int[] colors) {
+    final Apotheneum.Component component = this.shape.component();
+    for (Apotheneum.Orientation orientation : component.orientations()) {
+      blit(colors, orientation);
+    }
+  }
+}
@@ -0,0 +1,430 @@
+/**
+ * Copyright 2025- Mark C. Slee, Heron Arts LLC
+ *
+ * This file is part of the LX Studio software library. By using
+ * LX, you agree to the terms of the LX Studio Software License
+ * and Distribution Agreement, available at: http://lx.studio/license
+ *
+ * Please note that the LX license is not open-source. The license
+ * allows for free, non-commercial use.
+ *
+ * HERON ARTS MAKES NO WARRANTY, EXPRESS, IMPLIED, STATUTORY, OR
+ * OTHERWISE, AND SPECIFICALLY DISCLAIMS ANY WARRANTY OF
+ * MERCHANTABILITY, NON-INFRINGEMENT, OR FITNESS FOR A PARTICULAR
+ * PURPOSE, WITH RESPECT TO THE SOFTWARE.
+ *
+ * @author Mark C. Slee <mark@heronarts.com>
+ */
+
+package apotheneum;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+
+import heronarts.lx.LX;
+
+/**
+ * Shared cache of decoded images. Files and classpath resources are decoded
+ * on a background thread into packed ARGB int arrays, one per frame for
+ * animated GIFs, so that patterns never block the engine thread on image IO
+ * and can sample textures without allocating.
+ *
+ * Requests for the same file are deduplicated across all pattern instances.
+ * Completed textures are kept in least-recently-requested order up to a
+ * fixed memory budget. Evicting a texture only drops the cache's reference,
+ * patterns that already hold it may keep using it.
+ */
+public class TextureCache {
+
+  // Memory budget for decoded pixels held by the cache
+  private static final long MAX_BYTES = 256L << 20;
+
+  // GIF frames with no delay set are shown for this long
+  private static final int DEFAULT_FRAME_MS = 100;
+
+  private static final String RESOURCE_PREFIX = "resource:";
+
+  /**
+   * A decoded image, with one or more frames of packed ARGB pixels in
+   * row-major order from the top-left corner
+   */
+  public static class Texture {
+
+    public final int width;
+    public final int height;
+
+    /**
+     * Total duration of all frames, in milliseconds
+     */
+    public final int durationMs;
+
+    private final int[][] frames;
+    private final int[] frameEndMs;
+
+    private Texture(int width, int height, int[][] frames, int[] frameMs) {
+      this.width = width;
+      this.height = height;
+      this.frames = frames;
+      this.frameEndMs = new int[frames.length];
+      int total = 0;
+      for (int i = 0; i < frames.length; ++i) {
+        total += frameMs[i];
+        this.frameEndMs[i] = total;
+      }
+      this.durationMs = total;
+    }
+
+    public int numFrames() {
+      return this.frames.length;
+    }
+
+    public float getAspectRatio() {
+      return this.width / (float) this.height;
+    }
+
+    /**
+     * Pixels of a frame. The array is shared and must not be modified.
+     *
+     * @param frame Frame index
+     * @return Packed ARGB pixels, width * height in row-major order
+     */
+    public int[] getFrame(int frame) {
+      return this.frames[frame];
+    }
+
+    /**
+     * Which frame to show at a point in a looping animation
+     *
+     * @param timeMs Time since the animation started, in milliseconds
+     * @return Frame index
+     */
+    public int frameAt(double timeMs) {
+      if (this.frames.length == 1 || this.durationMs <= 0) {
+        return 0;
+      }
+      final double t = timeMs % this.durationMs;
+      for (int i = 0; i < this.frameEndMs.length; ++i) {
+        if (t < this.frameEndMs[i]) {
+          return i;
+        }
+      }
+      return this.frames.length - 1;
+    }
+
+    /**
+     * Samples the pixel containing a normalized coordinate, clamped to the
+     * image bounds
+     *
+     * @param frame Frame index
+     * @param u Horizontal position, 0 is the left edge and 1 the right
+     * @param v Vertical position, 0 is the top edge and 1 the bottom
+     * @return Packed ARGB color
+     */
+    public int getNearest(int frame, float u, float v) {
+      int x = (int) (u * this.width);
+      int y = (int) (v * this.height);
+      x = (x < 0) ? 0 : (x >= this.width) ? this.width - 1 : x;
+      y = (y < 0) ? 0 : (y >= this.height) ? this.height - 1 : y;
+      return this.frames[frame][y * this.width + x];
+    }
+
+    /**
+     * Samples a normalized coordinate with bilinear interpolation between
+     * pixel centers, clamped to the image bounds
+     *
+     * @param frame Frame index
+     * @param u Horizontal position, 0 is the left edge and 1 the right
+     * @param v Vertical position, 0 is the top edge and 1 the bottom
+     * @return Packed ARGB color
+     */
+    public int getBilinear(int frame, float u, float v) {
+      final int[] pixels = this.frames[frame];
+      float fx = u * this.width - .5f;
+      float fy = v * this.height - .5f;
+      fx = (fx < 0) ? 0 : (fx > this.width - 1) ? this.width - 1 : fx;
+      fy = (fy < 0) ? 0 : (fy > this.height - 1) ? this.height - 1 : fy;
+      final int x0 = (int) fx;
+      final int y0 = (int) fy;
+      final int x1 = (x0 < this.width - 1) ? x0 + 1 : x0;
+      final int y1 = (y0 < this.height - 1) ? y0 + 1 : y0;
+      final int ax = (int) ((fx - x0) * 256);
+      final int ay = (int) ((fy - y0) * 256);
+      final int top = lerp(pixels[y0 * this.width + x0], pixels[y0 * this.width + x1], ax);
+      final int bottom = lerp(pixels[y1 * this.width + x0], pixels[y1 * this.width + x1], ax);
+      return lerp(top, bottom, ay);
+    }
+
+    private static int lerp(int c0, int c1, int amount) {
+      final int inv = 256 - amount;
+      final int a = (((c0 >>> 24) * inv + (c1 >>> 24) * amount) >> 8);
+      final int r = ((((c0 >> 16) & 0xff) * inv + ((c1 >> 16) & 0xff) * amount) >> 8);
+      final int g = ((((c0 >> 8) & 0xff) * inv + ((c1 >> 8) & 0xff) * amount) >> 8);
+      final int b = (((c0 & 0xff) * inv + (c1 & 0xff) * amount) >> 8);
+      return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    private long bytes() {
+      return 4L * this.width * this.height * this.frames.length;
+    }
+  }
+
+  /**
+   * A pending or completed load. Patterns keep hold of the request and poll
+   * it from the engine thread until it is done.
+   */
+  public static class Request {
+
+    public final String path;
+
+    private volatile boolean done = false;
+    private volatile Texture texture = null;
+
+    private Request(String path) {
+      this.path = path;
+    }
+
+    /**
+     * Whether loading has finished, successfully or not
+     */
+    public boolean isDone() {
+      return this.done;
+    }
+
+    /**
+     * The decoded texture, or null if still loading or loading failed
+     */
+    public Texture getTexture() {
+      return this.texture;
+    }
+  }
+
+  private static final Map<String, Request> cache = new LinkedHashMap<>(16, .75f, true);
+  private static long cachedBytes = 0;
+  private static ExecutorService loader = null;
+
+  /**
+   * Requests a texture from an image file on disk
+   *
+   * @param path Path to the image file, relative paths resolve against the working directory
+   * @return Request for the texture, shared with any other requests for the same file
+   */
+  public static Request load(String path) {
+    return request(Paths.get(path).toAbsolutePath().normalize().toString());
+  }
+
+  /**
+   * Requests a texture from an image on the classpath
+   *
+   * @param resource Absolute resource name, e.g. /images/tile.jpg
+   * @return Request for the texture, shared with any other requests for the same resource
+   */
+  public static Request loadResource(String resource) {
+    return request(RESOURCE_PREFIX + resource);
+  }
+
+  private static synchronized Request request(String key) {
+    Request request = cache.get(key);
+    if (request == null) {
+      final Request newRequest = request = new Request(key);
+      cache.put(key, newRequest);
+      loader().execute(() -> decode(newRequest));
+    }
+    return request;
+  }
+
+  private static synchronized ExecutorService loader() {
+    if (loader == null) {
+      loader = Executors.newSingleThreadExecutor(r -> {
+        final Thread thread = new Thread(r, "Apotheneum-Texture-Loader");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+      });
+    }
+    return loader;
+  }
+
+  private static void decode(Request request) {
+    Texture texture = null;
+    try (InputStream input = open(request.path)) {
+      texture = decode(input);
+      if (texture == null) {
+        LX.error("Apotheneum texture has no readable image data: " + request.path);
+      }
+    } catch (Throwable x) {
+      LX.error(x, "Apotheneum texture failed to load " + request.path + ": " + x.getMessage());
+    }
+    request.texture = texture;
+    request.done = true;
+    completed(request);
+  }
+
+  private static synchronized void completed(Request request) {
+    if (request.texture == null) {
+      // Failed loads are not cached, so that a fixed file can be retried
+      if (cache.get(request.path) == request) {
+        cache.remove(request.path);
+      }
+      return;
+    }
+    cachedBytes += request.texture.bytes();
+    final Iterator<Request> iterator = cache.values().iterator();
+    while (cachedBytes > MAX_BYTES && iterator.hasNext()) {
+      final Request eldest = iterator.next();
+      if (eldest != request && eldest.done) {
+        if (eldest.texture != null) {
+          cachedBytes -= eldest.texture.bytes();
+        }
+        iterator.remove();
+      }
+    }
+  }
+
+  private static InputStream open(String path) throws IOException {
+    if (path.startsWith(RESOURCE_PREFIX)) {
+      final String resource = path.substring(RESOURCE_PREFIX.length());
+      final InputStream input = TextureCache.class.getResourceAsStream(resource);
+      if (input == null) {
+        throw new IOException("Resource not found: " + resource);
+      }
+      return input;
+    }
+    return new FileInputStream(path);
+  }
+
+  private static Texture decode(InputStream input) throws IOException {
+    try (ImageInputStream stream = ImageIO.createImageInputStream(input)) {
+      if (stream == null) {
+        return null;
+      }
+      final Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+      if (!readers.hasNext()) {
+        return null;
+      }
+      final ImageReader reader = readers.next();
+      try {
+        reader.setInput(stream, false, false);
+        if ("gif".equalsIgnoreCase(reader.getFormatName())) {
+          return decodeGif(reader);
+        }
+        final BufferedImage image = reader.read(0);
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        final int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+        return new Texture(width, height, new int[][] { pixels }, new int[] { 0 });
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  /**
+   * Composites every GIF frame onto the logical screen, honouring frame
+   * offsets and disposal methods, so each stored frame is a complete image
+   */
+  private static Texture decodeGif(ImageReader reader) throws IOException {
+    final int numFrames = reader.getNumImages(true);
+    if (numFrames <= 0) {
+      return null;
+    }
+
+    int width = 0, height = 0;
+    final IIOMetadata streamMetadata = reader.getStreamMetadata();
+    if (streamMetadata != null) {
+      final IIOMetadataNode screen = child(
+        (IIOMetadataNode) streamMetadata.getAsTree(streamMetadata.getNativeMetadataFormatName()),
+        "LogicalScreenDescriptor"
+      );
+      if (screen != null) {
+        width = intAttribute(screen, "logicalScreenWidth", 0);
+        height = intAttribute(screen, "logicalScreenHeight", 0);
+      }
+    }
+    if (width <= 0 || height <= 0) {
+      width = reader.getWidth(0);
+      height = reader.getHeight(0);
+    }
+
+    final BufferedImage canvas = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    final Graphics2D graphics = canvas.createGraphics();
+    graphics.setComposite(AlphaComposite.SrcOver);
+
+    final int[][] frames = new int[numFrames][];
+    final int[] frameMs = new int[numFrames];
+    int[] previous = null;
+
+    try {
+      for (int i = 0; i < numFrames; ++i) {
+        final BufferedImage frame = reader.read(i);
+        final IIOMetadata metadata = reader.getImageMetadata(i);
+        final IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(metadata.getNativeMetadataFormatName());
+        final IIOMetadataNode descriptor = child(root, "ImageDescriptor");
+        final IIOMetadataNode control = child(root, "GraphicControlExtension");
+
+        final int left = intAttribute(descriptor, "imageLeftPosition", 0);
+        final int top = intAttribute(descriptor, "imageTopPosition", 0);
+        final String disposal = (control != null) ? control.getAttribute("disposalMethod") : "none";
+        final int delay = 10 * intAttribute(control, "delayTime", 0);
+        frameMs[i] = (delay > 0) ? delay : DEFAULT_FRAME_MS;
+
+        if ("restoreToPrevious".equals(disposal)) {
+          previous = canvas.getRGB(0, 0, width, height, null, 0, width);
+        }
+        graphics.drawImage(frame, left, top, null);
+        frames[i] = canvas.getRGB(0, 0, width, height, null, 0, width);
+
+        if ("restoreToBackgroundColor".equals(disposal)) {
+          graphics.setComposite(AlphaComposite.Clear);
+          graphics.fillRect(left, top, frame.getWidth(), frame.getHeight());
+          graphics.setComposite(AlphaComposite.SrcOver);
+        } else if ("restoreToPrevious".equals(disposal) && (previous != null)) {
+          canvas.setRGB(0, 0, width, height, previous, 0, width);
+        }
+      }
+    } finally {
+      graphics.dispose();
+    }
+
+    return new Texture(width, height, frames, frameMs);
+  }
+
+  private static IIOMetadataNode child(IIOMetadataNode node, String name) {
+    if (node == null) {
+      return null;
+    }
+    for (int i = 0; i < node.getLength(); ++i) {
+      if (node.item(i) instanceof IIOMetadataNode child && name.equals(child.getNodeName())) {
+        return child;
+      }
+    }
+    return null;
+  }
+
+  private static int intAttribute(IIOMetadataNode node, String name, int defaultValue) {
+    if (node == null) {
+      return defaultValue;
+    }
+    try {
+      return Integer.parseInt(node.getAttribute(name));
+    } catch (NumberFormatException nfx) {
+      return defaultValue;
+    }
+  }
+
+}
@@ -0,0 +1,323 @@
+/**
+ * Copyright 2025- Mark C. Slee, Heron Arts LLC
+ *
+ * This file is part of the LX Studio software library. By using
+ * LX, you agree to the terms of the LX Studio Software License
+ * and Distribution Agreement, available at: http://lx.studio/license
+ *
+ * Please note that the LX license is not open-source. The license
+ * allows for free, non-commercial use.
+ *
+ * HERON ARTS MAKES NO WARRANTY, EXPRESS, IMPLIED, STATUTORY, OR
+ * OTHERWISE, AND SPECIFICALLY DISCLAIMS ANY WARRANTY OF
+ * MERCHANTABILITY, NON-INFRINGEMENT, OR FITNESS FOR A PARTICULAR
+ * PURPOSE, WITH RESPECT TO THE SOFTWARE.
+ *
+ * @author Mark C. Slee <mark@heronarts.com>
+ */
+
+package apotheneum;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Evaluates a per-pixel function over the Apotheneum surfaces, split into
+ * tiles that are rendered across a shared worker pool. Every pixel is written
+ * exactly once by the shader, so output is identical whether rendering is
+ * threaded or not, provided the shader itself only reads state that was fixed
+ * before the render call.
+ */
+public class TileRenderer {
+
+  public static final int CUBE_EXTERIOR = 1 << 0;
+  public static final int CUBE_INTERIOR = 1 << 1;
+  public static final int CYLINDER_EXTERIOR = 1 << 2;
+  public static final int CYLINDER_INTERIOR = 1 << 3;
+
+  public static final int CUBE = CUBE_EXTERIOR | CUBE_INTERIOR;
+  public static final int CYLINDER = CYLINDER_EXTERIOR | CYLINDER_INTERIOR;
+  public static final int EXTERIOR = CUBE_EXTERIOR | CYLINDER_EXTERIOR;
+  public static final int INTERIOR = CUBE_INTERIOR | CYLINDER_INTERIOR;
+  public static final int ALL = CUBE | CYLINDER;
+
+  private static final int CYLINDER_TILE_WIDTH = 30;
+
+  /**
+   * Global switch to render tiles on the worker pool. When off, all tiles are
+   * rendered in sequence on the calling thread. Defaults on unless the system
+   * property apotheneum.tiles.singleThreaded is set.
+   */
+  public static volatile boolean parallel = !Boolean.getBoolean("apotheneum.tiles.singleThreaded");
+
+  /**
+   * A contiguous pixel grid, either one cube face or one cylinder orientation
+   */
+  public static class Surface {
+
+    public final boolean isCube;
+    public final boolean isInterior;
+
+    /**
+     * Cube face, or null for the cylinder
+     */
+    public final Apotheneum.Cube.Face face;
+
+    /**
+     * Index of the face within its orientation, 0 for the cylinder
+     */
+    public final int faceIndex;
+
+    public final Apotheneum.Orientation orientation;
+
+    public final int width;
+    public final int height;
+
+    private final int[] columnMajor;
+
+    private Surface(Apotheneum.Cube.Orientation orientation, int faceIndex, boolean isInterior) {
+      this.isCube = true;
+      this.isInterior = isInterior;
+      this.orientation = orientation;
+      this.face = orientation.faces[faceIndex];
+      this.faceIndex = faceIndex;
+      this.width = Apotheneum.GRID_WIDTH;
+      this.height = Apotheneum.GRID_HEIGHT;
+      this.columnMajor = this.face.columnMajor;
+    }
+
+    private Surface(Apotheneum.Cylinder.Orientation orientation, boolean isInterior) {
+      this.isCube = false;
+      this.isInterior = isInterior;
+      this.orientation = orientation;
+      this.face = null;
+      this.faceIndex = 0;
+      this.width = orientation.width();
+      this.height = orientation.height();
+      this.columnMajor = orientation.columnMajor();
+    }
+  }
+
+  /**
+   * Computes the color of a single pixel. May be called concurrently from
+   * multiple threads, and so must not modify shared state.
+   */
+  @FunctionalInterface
+  public interface Shader {
+    /**
+     * Computes a pixel color
+     *
+     * @param surface Surface being rendered
+     * @param x Column, from 0 to surface.width - 1
+     * @param y Row from the top, from 0 to surface.height - 1
+     * @return Color of the pixel
+     */
+    public int shade(Surface surface, int x, int y);
+  }
+
+  /**
+   * Processes a contiguous range of items. May be called concurrently from
+   * multiple threads on disjoint ranges.
+   */
+  @FunctionalInterface
+  public interface Range {
+    /**
+     * Processes items in the range [start, end)
+     *
+     * @param start First item, inclusive
+     * @param end Last item, exclusive
+     */
+    public void run(int start, int end);
+  }
+
+  private static class Tile {
+
+    private final Surface surface;
+    private final int x0;
+    private final int x1;
+
+    private Tile(Surface surface, int x0, int x1) {
+      this.surface = surface;
+      this.x0 = x0;
+      this.x1 = x1;
+    }
+
+    private void render(int[] colors, Shader shader) {
+      final Surface surface = this.surface;
+      final int[] columnMajor = surface.columnMajor;
+      final int height = surface.height;
+      for (int x = this.x0; x < this.x1; ++x) {
+        int i = x * height;
+        for (int y = 0; y < height; ++y) {
+          colors[columnMajor[i++]] = shader.shade(surface, x, y);
+        }
+      }
+    }
+  }
+
+  private static class Job extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Tile[] tiles;
+    private final int start;
+    private final int end;
+    private final int[] colors;
+    private final Shader shader;
+
+    private Job(Tile[] tiles, int start, int end, int[] colors, Shader shader) {
+      this.tiles = tiles;
+      this.start = start;
+      this.end = end;
+      this.colors = colors;
+      this.shader = shader;
+    }
+
+    @Override
+    protected void compute() {
+      if (this.end - this.start <= 1) {
+        if (this.end > this.start) {
+          this.tiles[this.start].render(this.colors, this.shader);
+        }
+      } else {
+        final int mid = (this.start + this.end) >>> 1;
+        invokeAll(
+          new Job(this.tiles, this.start, mid, this.colors, this.shader),
+          new Job(this.tiles, mid, this.end, this.colors, this.shader)
+        );
+      }
+    }
+  }
+
+  private static class RangeJob extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Range range;
+    private final int start;
+    private final int end;
+    private final int grain;
+
+    private RangeJob(Range range, int start, int end, int grain) {
+      this.range = range;
+      this.start = start;
+      this.end = end;
+      this.grain = grain;
+    }
+
+    @Override
+    protected void compute() {
+      if (this.end - this.start <= this.grain) {
+        this.range.run(this.start, this.end);
+      } else {
+        final int mid = (this.start + this.end) >>> 1;
+        invokeAll(
+          new RangeJob(this.range, this.start, mid, this.grain),
+          new RangeJob(this.range, mid, this.end, this.grain)
+        );
+      }
+    }
+  }
+
+  private static ForkJoinPool pool = null;
+
+  private static Apotheneum.Cube tileCube = null;
+  private static Apotheneum.Cylinder tileCylinder = null;
+  private static final Tile[][] tilesBySurfaces = new Tile[ALL + 1][];
+
+  private static synchronized ForkJoinPool pool() {
+    if (pool == null) {
+      pool = new ForkJoinPool(
+        Math.max(1, Runtime.getRuntime().availableProcessors()),
+        p -> {
+          final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+          thread.setName("Apotheneum-Tile-" + thread.getPoolIndex());
+          return thread;
+        },
+        null,
+        false
+      );
+    }
+    return pool;
+  }
+
+  private static synchronized Tile[] tiles(int surfaces) {
+    if ((tileCube != Apotheneum.cube) || (tileCylinder != Apotheneum.cylinder)) {
+      tileCube = Apotheneum.cube;
+      tileCylinder = Apotheneum.cylinder;
+      for (int i = 0; i < tilesBySurfaces.length; ++i) {
+        tilesBySurfaces[i] = null;
+      }
+    }
+    Tile[] tiles = tilesBySurfaces[surfaces];
+    if (tiles == null) {
+      final List<Tile> list = new ArrayList<>();
+      if ((surfaces & CUBE_EXTERIOR) != 0) {
+        addCubeTiles(list, tileCube.exterior, false);
+      }
+      if (((surfaces & CUBE_INTERIOR) != 0) && (tileCube.interior != null)) {
+        addCubeTiles(list, tileCube.interior, true);
+      }
+      if ((surfaces & CYLINDER_EXTERIOR) != 0) {
+        addCylinderTiles(list, tileCylinder.exterior, false);
+      }
+      if (((surfaces & CYLINDER_INTERIOR) != 0) && (tileCylinder.interior != null)) {
+        addCylinderTiles(list, tileCylinder.interior, true);
+      }
+      tiles = tilesBySurfaces[surfaces] = list.toArray(new Tile[0]);
+    }
+    return tiles;
+  }
+
+  private static void addCubeTiles(List<Tile> list, Apotheneum.Cube.Orientation orientation, boolean isInterior) {
+    for (int f = 0; f < orientation.faces.length; ++f) {
+      list.add(new Tile(new Surface(orientation, f, isInterior), 0, Apotheneum.GRID_WIDTH));
+    }
+  }
+
+  private static void addCylinderTiles(List<Tile> list, Apotheneum.Cylinder.Orientation orientation, boolean isInterior) {
+    final Surface surface = new Surface(orientation, isInterior);
+    for (int x = 0; x < surface.width; x += CYLINDER_TILE_WIDTH) {
+      list.add(new Tile(surface, x, Math.min(surface.width, x + CYLINDER_TILE_WIDTH)));
+    }
+  }
+
+  /**
+   * Renders a shader into the colors array over the given surfaces
+   *
+   * @param colors Colors array to write into
+   * @param shader Per-pixel shader
+   * @param surfaces Bitmask of surfaces to render, e.g. ALL or EXTERIOR
+   */
+  public static void render(int[] colors, Shader shader, int surfaces) {
+    final Tile[] tiles = tiles(surfaces & ALL);
+    if (parallel && (tiles.length > 1)) {
+      pool().invoke(new Job(tiles, 0, tiles.length, colors, shader));
+    } else {
+      for (Tile tile : tiles) {
+        tile.render(colors, shader);
+      }
+    }
+  }
+
+  /**
+   * Runs a range over items [0, count) on the same worker pool used for
+   * tiles, split into chunks of at least grain items. Runs on the calling
+   * thread if parallel rendering is off or the count is within one grain.
+   *
+   * @param count Number of items
+   * @param grain Minimum number of items per chunk
+   * @param range Work to run over each chunk
+   */
+  public static void forRange(int count, int grain, Range range) {
+    if (parallel && (count > grain)) {
+      pool().invoke(new RangeJob(range, 0, count, Math.max(1, grain)));
+    } else if (count > 0) {
+      range.run(0, count);
+    }
+  }
+
+}
@@ -0,0 +1,188 @@
+/**
+ * Copyright 2025- Mark C. Slee, Heron Arts LLC
+ *
+ * This file is part of the LX Studio software library. By using
+ * LX, you agree to the terms of the LX Studio Software License
+ * and Distribution Agreement, available at: http://lx.studio/license
+ *
+ * Please note that the LX license is not open-source. The license
+ * allows for free, non-commercial use.
+ *
+ * HERON ARTS MAKES NO WARRANTY, EXPRESS, IMPLIED, STATUTORY, OR
+ * OTHERWISE, AND SPECIFICALLY DISCLAIMS ANY WARRANTY OF
+ * MERCHANTABILITY, NON-INFRINGEMENT, OR FITNESS FOR A PARTICULAR
+ * PURPOSE, WITH RESPECT TO THE SOFTWARE.
+ *
+ * @author Mark C. Slee <mark@heronarts.com>
+ */
+
+package apotheneum;
+
+import java.util.function.Supplier;
+
+/**
+ * Fixed-polyphony pool of voices for trigger-driven patterns. All voices are
+ * allocated up front and recycled, a trigger takes a free voice or steals a
+ * sounding one once the polyphony limit is reached. Voices are plain state
+ * objects that the owning pattern renders itself in its render pass.
+ *
+ * Active voices are packed at the front of the pool, in no particular order.
+ * To release voices while rendering, iterate from the back:
+ *
+ * <pre>
+ * for (int i = pool.size() - 1; i &gt;= 0; --i) {
+ *   if (!pool.get(i).render(deltaMs)) {
+ *     pool.release(i);
+ *   }
+ * }
+ * </pre>
+ */
+public class VoicePool<V extends VoicePool.Voice> {
+
+  public interface Voice {
+    /**
+     * Current output level of the voice, used to pick a voice to steal
+     *
+     * @return Level, any scale consistent across the pool's voices
+     */
+    public default float level() {
+      return 1;
+    }
+  }
+
+  public enum Steal {
+    OLDEST("Oldest"),
+    QUIETEST("Quietest");
+
+    public final String label;
+
+    private Steal(String label) {
+      this.label = label;
+    }
+
+    @Override
+    public String toString() {
+      return this.label;
+    }
+  }
+
+  private final V[] voices;
+  private final long[] started;
+  private int size = 0;
+  private long counter = 0;
+
+  private int polyphony;
+  private Steal steal = Steal.OLDEST;
+
+  @SuppressWarnings("unchecked")
+  public VoicePool(int capacity, Supplier<V> factory) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("VoicePool capacity must be positive: " + capacity);
+    }
+    this.voices = (V[]) new Voice[capacity];
+    for (int i = 0; i < capacity; ++i) {
+      this.voices[i] = factory.get();
+    }
+    this.started = new long[capacity];
+    this.polyphony = capacity;
+  }
+
+  /**
+   * Sets the maximum number of simultaneously active voices. Lowering it does
+   * not cut off voices already sounding, it takes effect on the next triggers.
+   *
+   * @param polyphony Voice limit, constrained to the pool capacity
+   * @return this
+   */
+  public VoicePool<V> setPolyphony(int polyphony) {
+    this.polyphony = Math.max(1, Math.min(this.voices.length, polyphony));
+    return this;
+  }
+
+  public VoicePool<V> setSteal(Steal steal) {
+    this.steal = steal;
+    return this;
+  }
+
+  public int capacity() {
+    return this.voices.length;
+  }
+
+  /**
+   * Number of active voices
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Active voice at an index from 0 to size() - 1
+   */
+  public V get(int index) {
+    return this.voices[index];
+  }
+
+  /**
+   * Takes a voice to start. The caller must fully reinitialize it, the voice
+   * may be one that was stolen while still sounding.
+   *
+   * @return Voice, now active and counted as the newest
+   */
+  public V trigger() {
+    int index;
+    if (this.size < this.polyphony) {
+      index = this.size++;
+    } else {
+      index = (this.steal == Steal.QUIETEST) ? quietest() : oldest();
+    }
+    this.started[index] = this.counter++;
+    return this.voices[index];
+  }
+
+  /**
+   * Releases the active voice at an index. The last active voice is moved
+   * into its place.
+   *
+   * @param index Index of an active voice
+   */
+  public void release(int index) {
+    final int last = --this.size;
+    if (index != last) {
+      final V voice = this.voices[index];
+      this.voices[index] = this.voices[last];
+      this.voices[last] = voice;
+      this.started[index] = this.started[last];
+    }
+  }
+
+  /**
+   * Releases all voices
+   */
+  public void clear() {
+    this.size = 0;
+  }
+
+  private int oldest() {
+    int index = 0;
+    for (int i = 1; i < this.size; ++i) {
+      if (this.started[i] < this.started[index]) {
+        index = i;
+      }
+    }
+    return index;
+  }
+
+  private int quietest() {
+    int index = 0;
+    float level = this.voices[0].level();
+    for (int i = 1; i < this.size; ++i) {
+      final float l = this.voices[i].level();
+      if ((l < level) || ((l == level) && (this.started[i] < this.started[index]))) {
+        index = i;
+        level = l;
+      }
+    }
+    return index;
+  }
+
+}
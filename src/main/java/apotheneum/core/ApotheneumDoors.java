@@ -25,22 +25,14 @@ import heronarts.lx.LXCategory;
 import heronarts.lx.LXComponent;
 import heronarts.lx.LXComponentName;
 import heronarts.lx.color.LXColor;
-import heronarts.lx.model.LXModel;
 import heronarts.lx.parameter.BooleanParameter;
+import java.util.Arrays;
 
 @LXCategory("Apotheneum/core")
 @LXComponentName("Doors")
 @LXComponent.Description("Masks out any colors on the virtual pixels where there are Apotheneum doorways")
 public class ApotheneumDoors extends ApotheneumEffect {
 
-  private static final int DOOR_WIDTH = 10;
-
-  private static final int FACE_DOOR_START_COLUMN = 20;
-  private static final int FACE_DOOR_START_PIXEL = 34;
-
-  private static final int[] CYLINDER_DOOR_START_COLUMNS = { 10, 40, 70, 100 };
-  private static final int CYLINDER_DOOR_START_PIXEL = 32;
-
   public final BooleanParameter mute =
     new BooleanParameter("Mute Doors", true)
     .setDescription("Mutes the doors");
@@ -55,32 +47,20 @@ public class ApotheneumDoors extends ApotheneumEffect {
     if (!this.mute.isOn()) {
       return;
     }
+    muteDoors(Apotheneum.cube.exterior);
+    muteDoors(Apotheneum.cube.interior);
+    muteDoors(Apotheneum.cylinder.exterior);
+    muteDoors(Apotheneum.cylinder.interior);
+  }
 
-    for (int c = 0; c < DOOR_WIDTH; ++c) {
-
-      // Mute cube face doors
-      for (Apotheneum.Cube.Face face : Apotheneum.cube.faces) {
-        final LXModel column = face.columns[FACE_DOOR_START_COLUMN + c];
-        for (int i = FACE_DOOR_START_PIXEL; i < column.points.length; ++i) {
-          colors[column.points[i].index] = LXColor.BLACK;
-        }
-      }
-
-      // Mute cylinder doors
-      for (int cylinderColumn : CYLINDER_DOOR_START_COLUMNS) {
-        final LXModel exterior = Apotheneum.cylinder.exterior.columns[cylinderColumn + c];
-        for (int i = CYLINDER_DOOR_START_PIXEL; i < exterior.points.length; ++i) {
-          colors[exterior.points[i].index] = LXColor.BLACK;
-        }
-        if (Apotheneum.cylinder.interior != null) {
-          final LXModel interior = Apotheneum.cylinder.interior.columns[cylinderColumn + c];
-          for (int i = CYLINDER_DOOR_START_PIXEL; i < exterior.points.length; ++i) {
-            colors[interior.points[i].index] = LXColor.BLACK;
-          }
-        }
-      }
+  private void muteDoors(Apotheneum.Orientation orientation) {
+    if (orientation == null) {
+      return;
+    }
+    final int[] doorRanges = orientation.doorRanges();
+    for (int i = 0; i < doorRanges.length; i += 2) {
+      Arrays.fill(colors, doorRanges[i], doorRanges[i] + doorRanges[i+1], LXColor.BLACK);
     }
-
   }
 
 }
@@ -1,5 +1,7 @@
 package apotheneum.doved.components;
 
+import java.util.Arrays;
+
 import heronarts.lx.LXComponent;
 import heronarts.lx.osc.LXOscComponent;
 import heronarts.lx.LX;
@@ -11,8 +13,8 @@ import heronarts.lx.model.LXPoint;
 import heronarts.lx.transform.LXVector;
 import heronarts.lx.transform.LXMatrix;
 import heronarts.lx.utils.LXUtils;
-import heronarts.glx.GLXUtils;
-
+import apotheneum.TextureCache;
+import apotheneum.TileRenderer;
 import apotheneum.doved.utils.AssetPaths;
 import apotheneum.doved.utils.Kaleidoscope;
 import heronarts.lx.parameter.StringParameter;
@@ -31,9 +33,33 @@ public class DeformableImage extends Image implements LXComponent.Renamable, LXO
 
   private int index;
 
+  // Texture currently rendered, and a newly requested one that replaces it
+  // once decoded, so the previous image stays up while the next one loads
+  private TextureCache.Texture texture = null;
+  private volatile TextureCache.Request pendingTexture = null;
+  private double animationMs = 0;
+
   // Our own matrix for transformations since the parent's matrix is private
   private final LXMatrix transformMatrix = new LXMatrix();
 
+  // Minimum number of points per worker when recomputing the UV map
+  private static final int UV_GRAIN = 2048;
+
+  // Values the UV map depends on: kaleidoscope parameters, the used entries
+  // of the transform matrix, and the image mode
+  private static final int UV_KEY_SIZE = 15;
+  private final float[] uvKey = new float[UV_KEY_SIZE];
+  private final float[] uvKeyNext = new float[UV_KEY_SIZE];
+
+  // Bumped whenever the UV key changes, the UV map is stale if its version differs
+  private int uvVersion = 0;
+
+  // Normalized image coordinates per point, pairs of (xn, yn) ordered as
+  // model.points, xn is -1 for points clipped to the background
+  private float[] uv = null;
+  private LXModel uvModel = null;
+  private int uvMapVersion = -1;
+
   public DeformableImage(LX lx) {
     super(lx);
 
@@ -56,15 +82,22 @@ public class DeformableImage extends Image implements LXComponent.Renamable, LXO
       // Convert relative path to absolute path for loading, following the original
       // pattern
       String relativePath = this.fileRelativePath.getString();
+      if (relativePath == null || relativePath.isEmpty()) {
+        this.pendingTexture = null;
+        this.texture = null;
+        return;
+      }
 
       String absolutePath = AssetPaths.toAbsolutePathFromAssets(relativePath);
 
-      this.fileName.setValue(absolutePath);
+      // Decoded in the background by the shared texture cache rather than
+      // via the parent's fileName, which loads on the engine thread
+      this.pendingTexture = TextureCache.load(absolutePath);
     }
   }
 
   public void advance(double ms) {
-    this.animateGif(ms); // Use the parent's GIF animation
+    this.animationMs += ms;
   }
 
   public int getIndex() {
@@ -89,7 +122,7 @@ public class DeformableImage extends Image implements LXComponent.Renamable, LXO
     float tx = this.translateX.getValuef();
     float ty = this.translateY.getValuef();
     float tz = this.translateZ.getValuef();
-    float imageAspect = this.hasImage() ? this.getImage().getAspectRatio() : 1.0f;
+    float imageAspect = (this.texture != null) ? this.texture.getAspectRatio() : 1.0f;
     float modelAspect = model.xRange / model.yRange;
     float xAspect = imageAspect > modelAspect ? 1.0f
         : LXUtils.lerpf(1.0f, modelAspect / imageAspect, this.stretchAspect.getValuef());
@@ -109,56 +142,128 @@ public class DeformableImage extends Image implements LXComponent.Renamable, LXO
         .translate(-0.5f - tx, -0.5f + ty, -0.5f - tz);
   }
 
+  /**
+   * Update the UV key from the current parameter values, bumping the version
+   * if anything changed. Values are compared rather than relying on parameter
+   * change events so that modulation is picked up as well.
+   */
+  private void updateUVKey(ImagePattern.ImageMode imageMode) {
+    final float[] key = this.uvKeyNext;
+    final LXMatrix m = this.transformMatrix;
+    key[0] = this.kaleidoscope.params.segments.getValuef();
+    key[1] = this.kaleidoscope.params.rotateTheta.getValuef();
+    key[2] = this.kaleidoscope.params.rotatePhi.getValuef();
+    key[3] = this.kaleidoscope.params.x.getValuef();
+    key[4] = this.kaleidoscope.params.y.getValuef();
+    key[5] = this.kaleidoscope.params.z.getValuef();
+    key[6] = m.m11;
+    key[7] = m.m12;
+    key[8] = m.m13;
+    key[9] = m.m14;
+    key[10] = m.m21;
+    key[11] = m.m22;
+    key[12] = m.m23;
+    key[13] = m.m24;
+    key[14] = imageMode.ordinal();
+    if (!Arrays.equals(key, this.uvKey)) {
+      System.arraycopy(key, 0, this.uvKey, 0, UV_KEY_SIZE);
+      ++this.uvVersion;
+    }
+  }
+
+  /**
+   * Recompute the UV map for all model points, in parallel across the tile
+   * renderer's worker pool
+   */
+  private void computeUVMap(LXModel model, ImagePattern.ImageMode imageMode) {
+    final LXPoint[] points = model.points;
+    if ((this.uv == null) || (this.uv.length != 2 * points.length)) {
+      this.uv = new float[2 * points.length];
+    }
+    final float[] uv = this.uv;
+    final float[] key = this.uvKey;
+    final float segments = key[0], krtheta = key[1], krphi = key[2];
+    final float kx = key[3], ky = key[4], kz = key[5];
+    final float m11 = key[6], m12 = key[7], m13 = key[8], m14 = key[9];
+    final float m21 = key[10], m22 = key[11], m23 = key[12], m24 = key[13];
+
+    TileRenderer.forRange(points.length, UV_GRAIN, (start, end) -> {
+      final LXVector pD = new LXVector(0, 0, 0);
+      for (int i = start; i < end; ++i) {
+        final LXPoint p = points[i];
+
+        // Apply kaleidoscope deformation first - this is our key addition
+        Kaleidoscope.kaleidoscopicShift(p.xn, p.yn, p.zn, kx, ky, kz, krtheta, krphi, segments, pD);
+
+        // Apply matrix transformation for position, rotation, scale (same as parent)
+        float rawXn = pD.x * m11 + (1.0f - pD.y) * m12 + pD.z * m13 + m14;
+        float rawYn = pD.x * m21 + (1.0f - pD.y) * m22 + pD.z * m23 + m24;
+
+        // Apply the image mode coordinate function (CLAMP, CLIP, TILE, MIRROR)
+        float xn = applyImageModeCoordinate(imageMode, rawXn);
+        float yn = applyImageModeCoordinate(imageMode, rawYn);
+
+        // Mark out of bounds coordinates (for CLIP mode)
+        uv[2 * i] = (xn < 0.0f || yn < 0.0f) ? -1.0f : xn;
+        uv[2 * i + 1] = yn;
+      }
+    });
+
+    this.uvModel = model;
+    this.uvMapVersion = this.uvVersion;
+  }
+
   /**
    * Render the image with kaleidoscope deformation applied
    * This is the key method that adds kaleidoscope functionality to the base Image
-   * class
+   * class. The deformed and transformed coordinates of each point are cached
+   * and only recomputed when the kaleidoscope, transform, image mode or model
+   * change, so a static or scrolling image costs one lookup per point.
    */
   @Override
   public void render(LXModel model, int[] colors) {
     int backgroundColor = this.backgroundMode.getEnum().color;
 
-    if (!this.hasImage()) {
+    // Swap in a newly requested texture once it has finished loading
+    final TextureCache.Request pending = this.pendingTexture;
+    if (pending != null && pending.isDone()) {
+      this.texture = pending.getTexture();
+      this.animationMs = 0;
+      if (this.pendingTexture == pending) {
+        this.pendingTexture = null;
+      }
+    }
+
+    final TextureCache.Texture texture = this.texture;
+    if (texture == null) {
       // Fill with background color if no image
       for (LXPoint p : model.points) {
         colors[p.index] = backgroundColor;
       }
-    } else {
-      this.computeTransformMatrix(model);
-
-      // Get the imageMode for coordinate function
-      ImagePattern.ImageMode imageMode = this.imageMode.getEnum();
-      float scrollX = (1.0f - this.scrollX.getValuef()) % 1.0f;
-      float scrollY = (1.0f - this.scrollY.getValuef()) % 1.0f;
-      GLXUtils.Image glxImage = this.getImage();
-
-      if (glxImage != null) {
-        for (LXPoint p : model.points) {
-          // Apply kaleidoscope deformation first - this is our key addition
-          LXVector pD = this.kaleidoscope.deform(p.xn, p.yn, p.zn);
-
-          // Apply matrix transformation for position, rotation, scale (same as parent)
-          float rawXn = pD.x * this.transformMatrix.m11 + (1.0f - pD.y) * this.transformMatrix.m12
-              + pD.z * this.transformMatrix.m13 + this.transformMatrix.m14;
-          float rawYn = pD.x * this.transformMatrix.m21 + (1.0f - pD.y) * this.transformMatrix.m22
-              + pD.z * this.transformMatrix.m23 + this.transformMatrix.m24;
-
-          // Apply the image mode coordinate function (CLAMP, CLIP, TILE, MIRROR)
-          float xn = applyImageModeCoordinate(imageMode, rawXn);
-          float yn = applyImageModeCoordinate(imageMode, rawYn);
-
-          // Check if coordinates are out of bounds (for CLIP mode)
-          if (xn < 0.0f || yn < 0.0f) {
-            colors[p.index] = backgroundColor;
-          } else {
-            // Apply scroll and get the color
-            colors[p.index] = glxImage.getNormalized((xn + scrollX) % 1.0f, (yn + scrollY) % 1.0f);
-          }
-        }
+      return;
+    }
+
+    this.computeTransformMatrix(model);
+
+    // Get the imageMode for coordinate function
+    ImagePattern.ImageMode imageMode = this.imageMode.getEnum();
+    this.updateUVKey(imageMode);
+    if ((this.uvModel != model) || (this.uvMapVersion != this.uvVersion)) {
+      this.computeUVMap(model, imageMode);
+    }
+
+    float scrollX = (1.0f - this.scrollX.getValuef()) % 1.0f;
+    float scrollY = (1.0f - this.scrollY.getValuef()) % 1.0f;
+    final int frame = texture.frameAt(this.animationMs);
+    final float[] uv = this.uv;
+    final LXPoint[] points = model.points;
+    for (int i = 0; i < points.length; ++i) {
+      float xn = uv[2 * i];
+      if (xn < 0.0f) {
+        colors[points[i].index] = backgroundColor;
       } else {
-        for (LXPoint p : model.points) {
-          colors[p.index] = backgroundColor;
-        }
+        // Apply scroll and get the color
+        colors[points[i].index] = texture.getNearest(frame, (xn + scrollX) % 1.0f, (uv[2 * i + 1] + scrollY) % 1.0f);
       }
     }
   }
@@ -167,7 +272,7 @@ public class DeformableImage extends Image implements LXComponent.Renamable, LXO
    * Apply the coordinate function based on the image mode
    * This replicates the logic from ImagePattern.ImageMode enum
    */
-  private float applyImageModeCoordinate(ImagePattern.ImageMode mode, float raw) {
+  private static float applyImageModeCoordinate(ImagePattern.ImageMode mode, float raw) {
     switch (mode) {
       case CLAMP:
         return LXUtils.clampf(raw, 0.0f, 1.0f);
@@ -184,6 +289,6 @@ public class DeformableImage extends Image implements LXComponent.Renamable, LXO
     }
   }
 
-  // All other functionality (hasImage, render, position, scaling, etc.)
+  // All other functionality (position, scaling, image mode, etc.)
   // is inherited from ImagePattern.Image
 }
\ No newline at end of file
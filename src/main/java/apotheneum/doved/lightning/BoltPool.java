@@ -0,0 +1,172 @@
+package apotheneum.doved.lightning;
+
+import heronarts.lx.LX;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A small ring buffer of bolts generated ahead of time on a background
+ * thread, so that a trigger can take a finished bolt in constant time rather
+ * than running the generation algorithm on the engine thread.
+ *
+ * Bolts are generated from a source, the generator and its parameters.
+ * Setting a new source can discard the bolts made from the previous one, or
+ * keep them when the parameters have only changed slightly.
+ */
+public class BoltPool {
+
+  // Shared by all pools, bolts are generated one at a time
+  private static ExecutorService executor = null;
+
+  private static synchronized ExecutorService executor() {
+    if (executor == null) {
+      executor = Executors.newSingleThreadExecutor(r -> {
+        final Thread thread = new Thread(r, "Apotheneum-Lightning-Generator");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        return thread;
+      });
+    }
+    return executor;
+  }
+
+  private final List<LightningSegment>[] ready;
+  private int head = 0;
+  private int size = 0;
+
+  private LightningGenerator generator = null;
+  private Object params = null;
+
+  // Bumped whenever the source changes, bolts from older generations are dropped
+  private int generation = 0;
+  private boolean refilling = false;
+  private boolean disposed = false;
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  public BoltPool(int capacity) {
+    this.ready = new List[capacity];
+  }
+
+  /**
+   * Sets what new bolts are generated from, discarding any ready bolts
+   *
+   * @param generator Generation algorithm
+   * @param params Parameters object for the generator, must not be modified afterwards
+   */
+  public void setSource(LightningGenerator generator, Object params) {
+    setSource(generator, params, true);
+  }
+
+  /**
+   * Sets what new bolts are generated from. Ready bolts may be kept when the
+   * new parameters are close to the old ones, they are then handed out
+   * slightly stale while replacements are made from the new parameters.
+   * Bolts are always discarded when the generator changes.
+   *
+   * @param generator Generation algorithm
+   * @param params Parameters object for the generator, must not be modified afterwards
+   * @param discard Whether to discard ready bolts
+   */
+  public synchronized void setSource(LightningGenerator generator, Object params, boolean discard) {
+    discard = discard || (generator != this.generator);
+    this.generator = generator;
+    this.params = params;
+    if (discard) {
+      ++this.generation;
+      for (int i = 0; i < this.ready.length; ++i) {
+        this.ready[i] = null;
+      }
+      this.head = 0;
+      this.size = 0;
+    }
+    refill();
+  }
+
+  /**
+   * Takes a ready bolt, if there is one, and schedules a replacement
+   *
+   * @return Segments of the bolt, or null if none are ready
+   */
+  public synchronized List<LightningSegment> poll() {
+    if (this.size == 0) {
+      refill();
+      return null;
+    }
+    final List<LightningSegment> segments = this.ready[this.head];
+    this.ready[this.head] = null;
+    this.head = (this.head + 1) % this.ready.length;
+    --this.size;
+    refill();
+    return segments;
+  }
+
+  /**
+   * Takes a ready bolt if there is one made by the given generator
+   *
+   * @param generator Generation algorithm the bolt must come from
+   * @return Segments of the bolt, or null if none are ready
+   */
+  public synchronized List<LightningSegment> poll(LightningGenerator generator) {
+    return (generator == this.generator) ? poll() : null;
+  }
+
+  /**
+   * Stops generating and drops all ready bolts
+   */
+  public synchronized void dispose() {
+    this.disposed = true;
+    this.generator = null;
+    this.params = null;
+    ++this.generation;
+    for (int i = 0; i < this.ready.length; ++i) {
+      this.ready[i] = null;
+    }
+    this.size = 0;
+  }
+
+  private void refill() {
+    if (this.refilling || this.disposed || (this.generator == null) || (this.size == this.ready.length)) {
+      return;
+    }
+    this.refilling = true;
+    executor().execute(this::generate);
+  }
+
+  // Runs on the generator thread until the pool is full or the source changes
+  private void generate() {
+    while (true) {
+      final LightningGenerator generator;
+      final Object params;
+      final int generation;
+      synchronized (this) {
+        if (this.disposed || (this.generator == null) || (this.size == this.ready.length)) {
+          this.refilling = false;
+          return;
+        }
+        generator = this.generator;
+        params = this.params;
+        generation = this.generation;
+      }
+
+      final List<LightningSegment> segments = new ArrayList<>();
+      try {
+        generator.generateLightning(segments, params);
+      } catch (Exception x) {
+        LX.error(x, "Lightning bolt generation failed: " + x.getMessage());
+        synchronized (this) {
+          this.refilling = false;
+        }
+        return;
+      }
+
+      synchronized (this) {
+        if ((generation == this.generation) && (this.size < this.ready.length)) {
+          this.ready[(this.head + this.size) % this.ready.length] = segments;
+          ++this.size;
+        }
+      }
+    }
+  }
+}
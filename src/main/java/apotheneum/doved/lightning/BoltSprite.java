@@ -0,0 +1,107 @@
+package apotheneum.doved.lightning;
+
+import apotheneum.Rasterizer;
+import java.util.List;
+
+/**
+ * A bolt rasterized once into separate core and glow coverage layers. Each
+ * frame the layers are scaled by the fade and intensity and composited onto
+ * the raster, so the segments are only stroked again when the stroke
+ * thickness, bleeding or rendering algorithm change.
+ */
+public class BoltSprite {
+
+  public final int width;
+  public final int height;
+
+  private final int[] corePixels;
+  private final int[] glowPixels;
+  private final Rasterizer coreRasterizer;
+  private final Rasterizer glowRasterizer;
+
+  private final float[] core;
+  private final float[] glow;
+
+  // Bounds of the non-empty region, x1 and y1 exclusive
+  private int x0, y0, x1, y1;
+
+  // What the layers were rendered from
+  private List<LightningSegment> segments = null;
+  private LightningGenerator generator = null;
+  private double thicknessValue;
+  private double bleedingValue;
+
+  public BoltSprite(int width, int height) {
+    this.width = width;
+    this.height = height;
+    this.corePixels = new int[width * height];
+    this.glowPixels = new int[width * height];
+    this.coreRasterizer = new Rasterizer(this.corePixels, width, height);
+    this.glowRasterizer = new Rasterizer(this.glowPixels, width, height);
+    this.core = new float[width * height];
+    this.glow = new float[width * height];
+  }
+
+  /**
+   * Whether the layers hold these segments as rendered with these settings
+   */
+  public boolean isRendered(List<LightningSegment> segments, LightningGenerator generator, double thicknessValue, double bleedingValue) {
+    return
+      (this.segments == segments) &&
+      (this.generator == generator) &&
+      (this.thicknessValue == thicknessValue) &&
+      (this.bleedingValue == bleedingValue);
+  }
+
+  /**
+   * Rasterizes a bolt into the core and glow layers
+   */
+  public void render(List<LightningSegment> segments, LightningGenerator generator, double thicknessValue, double bleedingValue) {
+    this.segments = segments;
+    this.generator = generator;
+    this.thicknessValue = thicknessValue;
+    this.bleedingValue = bleedingValue;
+
+    // White strokes over opaque black leave the accumulated coverage in each channel
+    this.coreRasterizer.clear(0xff000000);
+    this.glowRasterizer.clear(0xff000000);
+    generator.renderLayers(this.coreRasterizer, this.glowRasterizer, segments, thicknessValue, bleedingValue);
+
+    int x0 = this.width, y0 = this.height, x1 = 0, y1 = 0;
+    for (int y = 0, i = 0; y < this.height; ++y) {
+      for (int x = 0; x < this.width; ++x, ++i) {
+        final int c = this.corePixels[i] & 0xff;
+        final int g = this.glowPixels[i] & 0xff;
+        this.core[i] = c / 255f;
+        this.glow[i] = g / 255f;
+        if ((c | g) != 0) {
+          x0 = (x < x0) ? x : x0;
+          x1 = (x >= x1) ? x + 1 : x1;
+          y0 = (y < y0) ? y : y0;
+          y1 = y + 1;
+        }
+      }
+    }
+    this.x0 = x0;
+    this.y0 = y0;
+    this.x1 = x1;
+    this.y1 = y1;
+  }
+
+  /**
+   * Composites the bolt onto a raster, glow over core, with the coverage of
+   * both layers scaled by alpha
+   *
+   * @param rasterizer Target raster
+   * @param alpha Fade and intensity multiplier
+   */
+  public void composite(Rasterizer rasterizer, double alpha) {
+    if (this.generator == null || alpha <= 0 || this.x1 <= this.x0) {
+      return;
+    }
+    rasterizer.setColor(this.generator.coreColor(alpha));
+    rasterizer.fillMask(this.core, (float) alpha, this.x0, this.y0, this.x1, this.y1);
+    rasterizer.setColor(this.generator.glowColor(alpha));
+    rasterizer.fillMask(this.glow, (float) alpha, this.x0, this.y0, this.x1, this.y1);
+  }
+}
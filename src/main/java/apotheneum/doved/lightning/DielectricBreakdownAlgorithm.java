@@ -0,0 +1,303 @@
+package apotheneum.doved.lightning;
+
+import apotheneum.Rasterizer;
+import heronarts.lx.utils.LXUtils;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Dielectric breakdown model lightning. The electric potential between the
+ * channel and the ground is solved over the raster grid, and the channel grows
+ * one cell at a time into a neighboring cell chosen with probability
+ * proportional to the potential raised to the power eta. Lower eta gives
+ * bushier strikes, higher eta straighter ones.
+ *
+ * The Laplace equation is relaxed with red-black successive over-relaxation,
+ * starting each growth step from the previous solution so only a few sweeps
+ * are needed per step.
+ */
+public class DielectricBreakdownAlgorithm implements LightningGenerator {
+
+  public static class Parameters {
+    public final double eta;
+    public final int maxSteps;
+    public final int relaxationSweeps;
+    public final double startX;
+    public final int rasterWidth;
+    public final int rasterHeight;
+
+    public Parameters(double eta, int maxSteps, int relaxationSweeps,
+        double startX, int rasterWidth, int rasterHeight) {
+      this.eta = eta;
+      this.maxSteps = maxSteps;
+      this.relaxationSweeps = relaxationSweeps;
+      this.startX = startX;
+      this.rasterWidth = rasterWidth;
+      this.rasterHeight = rasterHeight;
+    }
+  }
+
+  // Sweeps to settle the initial field around the starting cell
+  private static final int INITIAL_SWEEPS = 40;
+
+  // Neighbor offsets a channel can grow into, diagonals included
+  private static final int[] NEIGHBOR_X = { -1, 0, 1, -1, 1, -1, 0, 1 };
+  private static final int[] NEIGHBOR_Y = { -1, -1, -1, 0, 0, 1, 1, 1 };
+
+  /**
+   * Potential field and channel state for one strike. The channel is held at
+   * zero potential and the bottom row, the ground, at one. The other edges
+   * of the raster are insulating.
+   */
+  private static class Field {
+    final int width, height;
+    final double omega;
+    final double[] potential;
+    final boolean[] fixed;
+    final boolean[] channel;
+
+    // Cells adjacent to the channel, with the channel cell each grows from
+    final int[] candidates;
+    int numCandidates = 0;
+    final boolean[] isCandidate;
+    final int[] candidateParent;
+
+    // Channel cells in order of growth, with the cell each grew from
+    final int[] cells;
+    final int[] parent;
+    int numCells = 0;
+
+    private final double[] weights;
+
+    Field(int width, int height) {
+      this.width = width;
+      this.height = height;
+      final int n = width * height;
+      this.potential = new double[n];
+      this.fixed = new boolean[n];
+      this.channel = new boolean[n];
+      this.candidates = new int[n];
+      this.isCandidate = new boolean[n];
+      this.candidateParent = new int[n];
+      this.cells = new int[n];
+      this.parent = new int[n];
+      this.weights = new double[n];
+
+      // Optimal over-relaxation factor for a grid of this size
+      this.omega = 2 / (1 + Math.sin(Math.PI / Math.max(width, height)));
+
+      // Linear ramp from top to ground is the solution before the channel exists
+      for (int y = 0, i = 0; y < height; ++y) {
+        final double ramp = y / (double) (height - 1);
+        for (int x = 0; x < width; ++x, ++i) {
+          this.potential[i] = ramp;
+          this.fixed[i] = (y == height - 1);
+        }
+      }
+    }
+
+    void addChannel(int cell, int from) {
+      this.channel[cell] = true;
+      this.fixed[cell] = true;
+      this.potential[cell] = 0;
+      this.cells[this.numCells] = cell;
+      this.parent[this.numCells] = from;
+      ++this.numCells;
+
+      final int cx = cell % this.width;
+      final int cy = cell / this.width;
+      for (int k = 0; k < NEIGHBOR_X.length; ++k) {
+        final int x = cx + NEIGHBOR_X[k];
+        final int y = cy + NEIGHBOR_Y[k];
+        if (x < 0 || x >= this.width || y < 0 || y >= this.height) {
+          continue;
+        }
+        final int i = x + y * this.width;
+        if (!this.channel[i] && !this.isCandidate[i]) {
+          this.isCandidate[i] = true;
+          this.candidateParent[i] = cell;
+          this.candidates[this.numCandidates++] = i;
+        }
+      }
+    }
+
+    /**
+     * Relaxes the potential towards the solution of the Laplace equation,
+     * updating cells of one checkerboard color at a time so each half-sweep
+     * reads only the other color
+     */
+    void relax(int sweeps) {
+      final int w = this.width;
+      final int h = this.height;
+      final double[] p = this.potential;
+      for (int s = 0; s < sweeps; ++s) {
+        for (int color = 0; color < 2; ++color) {
+          for (int y = 0; y < h; ++y) {
+            final int row = y * w;
+            // Insulating edges mirror the neighbor across the boundary
+            final int up = (y > 0) ? row - w : row + w;
+            final int down = (y < h - 1) ? row + w : row - w;
+            for (int x = (y + color) & 1; x < w; x += 2) {
+              final int i = row + x;
+              if (this.fixed[i]) {
+                continue;
+              }
+              final double left = p[(x > 0) ? i - 1 : i + 1];
+              final double right = p[(x < w - 1) ? i + 1 : i - 1];
+              final double average = 0.25 * (left + right + p[up + x] + p[down + x]);
+              p[i] += this.omega * (average - p[i]);
+            }
+          }
+        }
+      }
+    }
+
+    /**
+     * Picks the candidate to grow into with probability proportional to its
+     * potential raised to eta, removing it from the candidates
+     *
+     * @return Candidate cell, or -1 if there is none with any potential
+     */
+    int pickCandidate(double eta) {
+      double total = 0;
+      for (int c = 0; c < this.numCandidates; ++c) {
+        final double phi = Math.max(0, this.potential[this.candidates[c]]);
+        final double weight = (eta == 1) ? phi : Math.pow(phi, eta);
+        this.weights[c] = weight;
+        total += weight;
+      }
+      if (total <= 0) {
+        return -1;
+      }
+      double target = Math.random() * total;
+      int pick = this.numCandidates - 1;
+      for (int c = 0; c < this.numCandidates; ++c) {
+        target -= this.weights[c];
+        if (target < 0) {
+          pick = c;
+          break;
+        }
+      }
+      final int cell = this.candidates[pick];
+      this.candidates[pick] = this.candidates[--this.numCandidates];
+      this.isCandidate[cell] = false;
+      return cell;
+    }
+  }
+
+  @Override
+  public void generateLightning(List<LightningSegment> segments, Object params) {
+    generateLightning(segments, (Parameters) params);
+  }
+
+  public static void generateLightning(List<LightningSegment> segments, Parameters params) {
+    final int width = params.rasterWidth;
+    final int height = params.rasterHeight;
+    if (width < 2 || height < 2) {
+      return;
+    }
+
+    final Field field = new Field(width, height);
+    final int startX = LXUtils.constrain((int) (params.startX * width), 0, width - 1);
+    field.addChannel(startX, -1);
+    field.relax(INITIAL_SWEEPS);
+
+    // Grow until the channel reaches the ground
+    int groundCell = -1;
+    for (int step = 0; step < params.maxSteps && groundCell < 0; ++step) {
+      final int cell = field.pickCandidate(params.eta);
+      if (cell < 0) {
+        break;
+      }
+      field.addChannel(cell, field.candidateParent[cell]);
+      if (cell / width == height - 1) {
+        groundCell = cell;
+      } else {
+        field.relax(params.relaxationSweeps);
+      }
+    }
+
+    convertChannelToSegments(field, groundCell, segments);
+  }
+
+  private static void convertChannelToSegments(Field field, int groundCell, List<LightningSegment> segments) {
+    final int width = field.width;
+    final int n = width * field.height;
+
+    // Index of each cell in growth order, and the size of the subtree it roots
+    final int[] order = new int[n];
+    Arrays.fill(order, -1);
+    for (int c = 0; c < field.numCells; ++c) {
+      order[field.cells[c]] = c;
+    }
+    final int[] subtree = new int[field.numCells];
+    for (int c = field.numCells - 1; c >= 0; --c) {
+      subtree[c] += 1;
+      if (field.parent[c] >= 0) {
+        subtree[order[field.parent[c]]] += subtree[c];
+      }
+    }
+
+    // The return stroke follows the path from the ground back to the cloud
+    final boolean[] mainChannel = new boolean[field.numCells];
+    for (int cell = groundCell; cell >= 0; ) {
+      final int c = order[cell];
+      mainChannel[c] = true;
+      cell = field.parent[c];
+    }
+
+    // Branches are brighter the more channel hangs off them
+    final double maxSubtree = Math.max(1, subtree[0]);
+    for (int c = 1; c < field.numCells; ++c) {
+      final int from = field.parent[c];
+      final int to = field.cells[c];
+      final double intensity = mainChannel[c] ? 1.0 : 0.2 + 0.5 * Math.sqrt(subtree[c] / maxSubtree);
+      segments.add(new LightningSegment(
+          from % width + 0.5, from / width + 0.5,
+          to % width + 0.5, to / width + 0.5,
+          !mainChannel[c],
+          intensity,
+          mainChannel[c] ? 0 : 1));
+    }
+  }
+
+  @Override
+  public void renderLayers(Rasterizer core, Rasterizer glow, List<LightningSegment> segments,
+      double thicknessValue, double bleedingValue) {
+    for (LightningSegment segment : segments) {
+      double segmentAlpha = segment.intensity;
+
+      // Branches thin out with the amount of channel they feed
+      float strokeWidth = (float) (thicknessValue * (segment.isBranch ? 0.3 + 0.5 * segment.intensity : 1.0));
+
+      core.setColor(1, 1, 1, (float) LXUtils.constrain(segmentAlpha, 0, 1));
+      core.setStrokeWidth(strokeWidth);
+      core.drawLine(segment.x1, segment.y1, segment.x2, segment.y2);
+
+      // Glow around the return stroke
+      if (!segment.isBranch && bleedingValue > 0) {
+        glow.setColor(1, 1, 1, (float) LXUtils.constrain(segmentAlpha * 0.3 * bleedingValue, 0, 1));
+        glow.setStrokeWidth((float) (strokeWidth * (1.0 + bleedingValue)));
+        glow.drawLine(segment.x1, segment.y1, segment.x2, segment.y2);
+      }
+    }
+  }
+
+  @Override
+  public int coreColor(double alpha) {
+    return Rasterizer.argb(
+        (float) LXUtils.constrain(0.85 + 0.15 * alpha, 0, 1), // R
+        (float) LXUtils.constrain(0.9 + 0.1 * alpha, 0, 1), // G
+        1, // B
+        1);
+  }
+
+  @Override
+  public int glowColor(double alpha) {
+    return Rasterizer.argb(
+        (float) LXUtils.constrain(0.6 + 0.4 * alpha, 0, 1),
+        (float) LXUtils.constrain(0.75 + 0.25 * alpha, 0, 1),
+        1,
+        1);
+  }
+}
@@ -1,14 +1,8 @@
 package apotheneum.doved.lightning;
 
+import apotheneum.Rasterizer;
 import heronarts.lx.utils.LXUtils;
-import java.awt.BasicStroke;
-import java.awt.Color;
-import java.awt.Graphics2D;
-import java.awt.geom.Path2D;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 public class LSystemAlgorithm implements LightningGenerator {
 
@@ -42,174 +36,218 @@ public class LSystemAlgorithm implements LightningGenerator {
   private static final char TURN_LEFT = '+';
   private static final char TURN_RIGHT = '-';
 
-  private static final Map<Character, String> L_SYSTEM_RULES = new HashMap<>();
+  // Expansion rules indexed by symbol, symbols without a rule expand to themselves
+  private static final String[] L_SYSTEM_RULES = new String[128];
   static {
-    L_SYSTEM_RULES.put(FORWARD, "F[+F][-F]F");
-    L_SYSTEM_RULES.put(TURN_LEFT, "+");
-    L_SYSTEM_RULES.put(TURN_RIGHT, "-");
-    L_SYSTEM_RULES.put(BRANCH_START, "[");
-    L_SYSTEM_RULES.put(BRANCH_END, "]");
+    L_SYSTEM_RULES[FORWARD] = "F[+F][-F]F";
   }
 
-  private static class LSystemState {
-    public double x, y, angle;
-    public int depth;
-
-    public LSystemState(double x, double y, double angle, int depth) {
-      this.x = x;
-      this.y = y;
-      this.angle = angle;
-      this.depth = depth;
+  private static final String AXIOM = "F";
+
+  // Upper bound on segments per bolt, however many iterations are expanded
+  private static final int MAX_SEGMENTS = 4096;
+
+  /**
+   * Interprets the L-system while it is being expanded, recursing into each
+   * symbol's rule rather than building the expanded string, so memory is
+   * bounded by the iteration count. When the turtle leaves the raster the
+   * rest of its branch is skipped without being expanded.
+   */
+  private static class Interpreter {
+    private final List<LightningSegment> segments;
+    private final Parameters params;
+    private final double baseAngle;
+
+    // Turtle state and the stack of states saved at each branch
+    private double x, y, angle;
+    private int depth;
+    private final double[] stackX, stackY, stackAngle;
+    private final int[] stackDepth;
+    private int stackSize = 0;
+
+    // Stack size at which the turtle left the raster, or -1 while it is drawing
+    private int deadStackSize = -1;
+    private boolean finished = false;
+
+    Interpreter(List<LightningSegment> segments, Parameters params) {
+      this.segments = segments;
+      this.params = params;
+      this.baseAngle = Math.toRadians(params.branchAngle);
+
+      // Start from specified X position, pointing downward
+      this.x = params.startX * params.rasterWidth;
+      this.y = 0;
+      this.angle = Math.PI / 2; // Point downward (90 degrees from standard orientation)
+      this.depth = 0;
+
+      // Each level of expansion nests at most one more branch per rule
+      final int maxStack = (params.iterations + 1) * maxBranchNesting();
+      this.stackX = new double[maxStack];
+      this.stackY = new double[maxStack];
+      this.stackAngle = new double[maxStack];
+      this.stackDepth = new int[maxStack];
     }
 
-    public LSystemState copy() {
-      return new LSystemState(x, y, angle, depth);
+    void run() {
+      expand(AXIOM, this.params.iterations);
     }
-  }
-
-  @Override
-  public void generateLightning(List<LightningSegment> segments, Object params) {
-    generateLightning(segments, (Parameters) params);
-  }
-  
-  public static void generateLightning(List<LightningSegment> segments, Parameters params) {
-    // Generate L-system string
-    String lSystemString = generateLSystemString(params.iterations);
-
-    // Interpret L-system string to create lightning segments
-    interpretLSystem(segments, lSystemString, params);
-  }
-
-  private static String generateLSystemString(int iterations) {
-    String current = "F"; // Start with a simple forward command
 
-    for (int i = 0; i < iterations; i++) {
-      StringBuilder next = new StringBuilder();
-
-      for (char c : current.toCharArray()) {
-        String rule = L_SYSTEM_RULES.get(c);
-        if (rule != null) {
-          next.append(rule);
-        } else {
-          next.append(c);
+    private void expand(String symbols, int level) {
+      for (int i = 0; i < symbols.length() && !this.finished; ++i) {
+        final char c = symbols.charAt(i);
+        final String rule = (level > 0 && c < L_SYSTEM_RULES.length) ? L_SYSTEM_RULES[c] : null;
+        if (rule == null) {
+          execute(c);
+        } else if (this.deadStackSize < 0) {
+          // Rules are bracket balanced, so a dead branch skips the whole expansion
+          expand(rule, level - 1);
         }
       }
-
-      current = next.toString();
     }
 
-    return current;
-  }
-
-  private static void interpretLSystem(List<LightningSegment> segments, String lSystemString, Parameters params) {
-    // Start from specified X position, pointing downward
-    double startX = params.startX * params.rasterWidth;
-    double startY = 0;
-    double startAngle = Math.PI / 2; // Point downward (90 degrees from standard orientation)
-
-    LSystemState state = new LSystemState(startX, startY, startAngle, 0);
-    List<LSystemState> stateStack = new ArrayList<>();
-
-    double baseAngle = Math.toRadians(params.branchAngle);
-
-    for (char c : lSystemString.toCharArray()) {
+    private void execute(char c) {
       switch (c) {
-        case FORWARD:
+        case FORWARD -> {
+          if (this.deadStackSize >= 0) {
+            return;
+          }
           // Move forward and draw segment
-          double length = params.segmentLength * (1 + (Math.random() - 0.5) * params.lengthVariation);
-          double newX = state.x + Math.cos(state.angle) * length;
-          double newY = state.y + Math.sin(state.angle) * length;
+          double length = this.params.segmentLength * (1 + (Math.random() - 0.5) * this.params.lengthVariation);
+          double newX = this.x + Math.cos(this.angle) * length;
+          double newY = this.y + Math.sin(this.angle) * length;
 
           // Only draw segment if both points are within bounds
-          if (newX >= 0 && newX < params.rasterWidth && newY >= 0 && newY < params.rasterHeight) {
+          if (newX >= 0 && newX < this.params.rasterWidth && newY >= 0 && newY < this.params.rasterHeight) {
             // Calculate intensity based on depth (main trunk stronger)
-            double intensity = Math.max(0.7, 1.0 - state.depth * 0.1);
-
-            segments.add(new LightningSegment(state.x, state.y, newX, newY, state.depth > 0, intensity, state.depth));
-
-            state.x = newX;
-            state.y = newY;
+            double intensity = Math.max(0.7, 1.0 - this.depth * 0.1);
+
+            this.segments.add(new LightningSegment(this.x, this.y, newX, newY, this.depth > 0, intensity, this.depth));
+            this.x = newX;
+            this.y = newY;
+            if (this.segments.size() >= MAX_SEGMENTS) {
+              this.finished = true;
+            }
           } else {
-            // If segment would go out of bounds, stop this branch
-            break;
+            // Segment would go out of bounds, stop this branch
+            this.deadStackSize = this.stackSize;
+            if (this.stackSize == 0) {
+              // The trunk itself has left, nothing more can be drawn
+              this.finished = true;
+            }
           }
-          break;
-
-        case TURN_LEFT:
-          // Turn left with some randomness
-          double leftAngle = baseAngle + (Math.random() - 0.5) * params.angleVariation * baseAngle;
-          state.angle -= leftAngle;
-          break;
-
-        case TURN_RIGHT:
-          // Turn right with some randomness
-          double rightAngle = baseAngle + (Math.random() - 0.5) * params.angleVariation * baseAngle;
-          state.angle += rightAngle;
-          break;
-
-        case BRANCH_START:
+        }
+        case TURN_LEFT -> {
+          if (this.deadStackSize < 0) {
+            // Turn left with some randomness
+            this.angle -= this.baseAngle + (Math.random() - 0.5) * this.params.angleVariation * this.baseAngle;
+          }
+        }
+        case TURN_RIGHT -> {
+          if (this.deadStackSize < 0) {
+            // Turn right with some randomness
+            this.angle += this.baseAngle + (Math.random() - 0.5) * this.params.angleVariation * this.baseAngle;
+          }
+        }
+        case BRANCH_START -> {
           // Save current state and increase depth
-          LSystemState savedState = state.copy();
-          savedState.depth++;
-          stateStack.add(savedState);
-          state.depth++;
-          break;
-
-        case BRANCH_END:
+          ++this.depth;
+          this.stackX[this.stackSize] = this.x;
+          this.stackY[this.stackSize] = this.y;
+          this.stackAngle[this.stackSize] = this.angle;
+          this.stackDepth[this.stackSize] = this.depth;
+          ++this.stackSize;
+        }
+        case BRANCH_END -> {
           // Restore previous state
-          if (!stateStack.isEmpty()) {
-            state = stateStack.remove(stateStack.size() - 1);
+          if (this.stackSize > 0) {
+            --this.stackSize;
+            this.x = this.stackX[this.stackSize];
+            this.y = this.stackY[this.stackSize];
+            this.angle = this.stackAngle[this.stackSize];
+            this.depth = this.stackDepth[this.stackSize];
+            if (this.stackSize < this.deadStackSize) {
+              this.deadStackSize = -1;
+            }
           }
-          break;
+        }
+        default -> {}
+      }
+    }
+  }
+
+  // Deepest bracket nesting within any single rule or the axiom
+  private static int maxBranchNesting() {
+    int max = nesting(AXIOM);
+    for (String rule : L_SYSTEM_RULES) {
+      if (rule != null) {
+        max = Math.max(max, nesting(rule));
+      }
+    }
+    return Math.max(1, max);
+  }
+
+  private static int nesting(String symbols) {
+    int max = 0, level = 0;
+    for (int i = 0; i < symbols.length(); ++i) {
+      final char c = symbols.charAt(i);
+      if (c == BRANCH_START) {
+        max = Math.max(max, ++level);
+      } else if (c == BRANCH_END) {
+        --level;
       }
     }
+    return max;
   }
 
   @Override
-  public void render(Graphics2D graphics, List<LightningSegment> segments, double fadeAmount,
-      double intensityValue, double thicknessValue, double bleedingValue) {
-    renderStatic(graphics, segments, fadeAmount, intensityValue, thicknessValue, bleedingValue);
+  public void generateLightning(List<LightningSegment> segments, Object params) {
+    generateLightning(segments, (Parameters) params);
   }
-  
-  public static void renderStatic(Graphics2D graphics, List<LightningSegment> segments, double fadeAmount,
-      double intensityValue, double thicknessValue, double bleedingValue) {
-    double alpha = fadeAmount * intensityValue;
 
-    for (LightningSegment segment : segments) {
-      double segmentAlpha = alpha * segment.intensity;
+  public static void generateLightning(List<LightningSegment> segments, Parameters params) {
+    new Interpreter(segments, params).run();
+  }
 
-      // Create lightning color with fade
-      Color lightningColor = new Color(
-          (float) LXUtils.constrain(0.8 + 0.2 * segmentAlpha, 0, 1), // R
-          (float) LXUtils.constrain(0.9 + 0.1 * segmentAlpha, 0, 1), // G
-          (float) LXUtils.constrain(1.0, 0, 1), // B
-          (float) LXUtils.constrain(segmentAlpha, 0, 1) // A
-      );
+  @Override
+  public void renderLayers(Rasterizer core, Rasterizer glow, List<LightningSegment> segments,
+      double thicknessValue, double bleedingValue) {
+    for (LightningSegment segment : segments) {
+      double segmentAlpha = segment.intensity;
 
-      graphics.setColor(lightningColor);
+      core.setColor(1, 1, 1, (float) LXUtils.constrain(segmentAlpha, 0, 1));
 
       // Set stroke thickness based on depth - deeper branches are thinner
       float strokeWidth = (float) (thicknessValue / (1.0 + segment.depth * 0.3));
-      graphics.setStroke(new BasicStroke(strokeWidth, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+      core.setStrokeWidth(strokeWidth);
 
       // Draw the lightning segment
-      Path2D path = new Path2D.Double();
-      path.moveTo(segment.x1, segment.y1);
-      path.lineTo(segment.x2, segment.y2);
-      graphics.draw(path);
+      core.drawLine(segment.x1, segment.y1, segment.x2, segment.y2);
 
       // Add glow effect for bright segments
       if (segmentAlpha > 0.3 && bleedingValue > 0) {
-        Color glowColor = new Color(
-            (float) LXUtils.constrain(0.6 + 0.4 * segmentAlpha, 0, 1),
-            (float) LXUtils.constrain(0.8 + 0.2 * segmentAlpha, 0, 1),
-            (float) LXUtils.constrain(1.0, 0, 1),
-            (float) LXUtils.constrain(segmentAlpha * 0.3 * bleedingValue, 0, 1));
-        graphics.setColor(glowColor);
-        graphics.setStroke(new BasicStroke((float) (strokeWidth * (1 + bleedingValue)), BasicStroke.CAP_ROUND,
-            BasicStroke.JOIN_ROUND));
-        graphics.draw(path);
+        glow.setColor(1, 1, 1, (float) LXUtils.constrain(segmentAlpha * 0.3 * bleedingValue, 0, 1));
+        glow.setStrokeWidth((float) (strokeWidth * (1 + bleedingValue)));
+        glow.drawLine(segment.x1, segment.y1, segment.x2, segment.y2);
       }
     }
   }
+
+  @Override
+  public int coreColor(double alpha) {
+    // Lightning color with fade
+    return Rasterizer.argb(
+        (float) LXUtils.constrain(0.8 + 0.2 * alpha, 0, 1), // R
+        (float) LXUtils.constrain(0.9 + 0.1 * alpha, 0, 1), // G
+        1, // B
+        1);
+  }
+
+  @Override
+  public int glowColor(double alpha) {
+    return Rasterizer.argb(
+        (float) LXUtils.constrain(0.6 + 0.4 * alpha, 0, 1),
+        (float) LXUtils.constrain(0.8 + 0.2 * alpha, 0, 1),
+        1,
+        1);
+  }
 }
\ No newline at end of file
@@ -1,10 +1,25 @@
 package apotheneum.doved.lightning;
 
-import java.awt.Graphics2D;
+import apotheneum.Rasterizer;
 import java.util.List;
 
 public interface LightningGenerator {
   void generateLightning(List<LightningSegment> segments, Object params);
-  void render(Graphics2D graphics, List<LightningSegment> segments, double fadeAmount, 
-             double intensityValue, double thicknessValue, double bleedingValue);
-}
\ No newline at end of file
+
+  /**
+   * Rasterizes segments in white at full fade and intensity, with the core
+   * strokes and the glow strokes drawn into separate layers
+   */
+  void renderLayers(Rasterizer core, Rasterizer glow, List<LightningSegment> segments,
+             double thicknessValue, double bleedingValue);
+
+  /**
+   * Color of the core strokes at a given fade and intensity
+   */
+  int coreColor(double alpha);
+
+  /**
+   * Color of the glow strokes at a given fade and intensity
+   */
+  int glowColor(double alpha);
+}
@@ -1,10 +1,7 @@
 package apotheneum.doved.lightning;
 
+import apotheneum.Rasterizer;
 import heronarts.lx.utils.LXUtils;
-import java.awt.BasicStroke;
-import java.awt.Color;
-import java.awt.Graphics2D;
-import java.awt.geom.Path2D;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -293,53 +290,48 @@ public class PhysicallyBasedAlgorithm implements LightningGenerator {
   }
 
   @Override
-  public void render(Graphics2D graphics, List<LightningSegment> segments, double fadeAmount,
-                           double intensityValue, double thicknessValue, double bleedingValue) {
-    renderStatic(graphics, segments, fadeAmount, intensityValue, thicknessValue, bleedingValue);
-  }
-  
-  public static void renderStatic(Graphics2D graphics, List<LightningSegment> segments, double fadeAmount,
-                           double intensityValue, double thicknessValue, double bleedingValue) {
-    double alpha = fadeAmount * intensityValue;
-
+  public void renderLayers(Rasterizer core, Rasterizer glow, List<LightningSegment> segments,
+                           double thicknessValue, double bleedingValue) {
     for (LightningSegment segment : segments) {
-      double segmentAlpha = alpha * segment.intensity;
-
-      // Create realistic lightning color (blue-white with slight purple tint)
-      Color lightningColor = new Color(
-          (float) LXUtils.constrain(0.9 + 0.1 * segmentAlpha, 0, 1), // R
-          (float) LXUtils.constrain(0.95 + 0.05 * segmentAlpha, 0, 1), // G  
-          (float) LXUtils.constrain(1.0, 0, 1), // B
-          (float) LXUtils.constrain(segmentAlpha, 0, 1) // A
-      );
+      double segmentAlpha = segment.intensity;
 
       // Thickness varies based on intensity (return strokes are thicker)
       float strokeWidth = (float) (thicknessValue * 
           (segment.isBranch ? 0.5 : 1.0) * 
           (0.5 + segment.intensity * 0.5));
       
-      graphics.setColor(lightningColor);
-      graphics.setStroke(new BasicStroke(strokeWidth, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+      core.setColor(1, 1, 1, (float) LXUtils.constrain(segmentAlpha, 0, 1));
+      core.setStrokeWidth(strokeWidth);
 
       // Draw the segment
-      Path2D path = new Path2D.Double();
-      path.moveTo(segment.x1, segment.y1);
-      path.lineTo(segment.x2, segment.y2);
-      graphics.draw(path);
+      core.drawLine(segment.x1, segment.y1, segment.x2, segment.y2);
 
       // Add corona glow for high-intensity segments (return strokes)
       if (segment.intensity > 0.7 && bleedingValue > 0) {
-        Color glowColor = new Color(
-            (float) LXUtils.constrain(0.7 + 0.3 * segmentAlpha, 0, 1),
-            (float) LXUtils.constrain(0.8 + 0.2 * segmentAlpha, 0, 1),
-            (float) LXUtils.constrain(1.0, 0, 1),
-            (float) LXUtils.constrain(segmentAlpha * 0.3 * bleedingValue, 0, 1));
-        
-        graphics.setColor(glowColor);
+        glow.setColor(1, 1, 1, (float) LXUtils.constrain(segmentAlpha * 0.3 * bleedingValue, 0, 1));
         float glowWidth = (float) (strokeWidth * (1.0 + bleedingValue));
-        graphics.setStroke(new BasicStroke(glowWidth, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-        graphics.draw(path);
+        glow.setStrokeWidth(glowWidth);
+        glow.drawLine(segment.x1, segment.y1, segment.x2, segment.y2);
       }
     }
   }
+
+  @Override
+  public int coreColor(double alpha) {
+    // Realistic lightning color (blue-white with slight purple tint)
+    return Rasterizer.argb(
+        (float) LXUtils.constrain(0.9 + 0.1 * alpha, 0, 1), // R
+        (float) LXUtils.constrain(0.95 + 0.05 * alpha, 0, 1), // G
+        1, // B
+        1);
+  }
+
+  @Override
+  public int glowColor(double alpha) {
+    return Rasterizer.argb(
+        (float) LXUtils.constrain(0.7 + 0.3 * alpha, 0, 1),
+        (float) LXUtils.constrain(0.8 + 0.2 * alpha, 0, 1),
+        1,
+        1);
+  }
 }
\ No newline at end of file
@@ -1,11 +1,8 @@
 package apotheneum.doved.lightning;
 
+import apotheneum.Rasterizer;
 import heronarts.lx.utils.LXUtils;
-import java.awt.BasicStroke;
-import java.awt.Color;
-import java.awt.Graphics2D;
-import java.awt.geom.Path2D;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class RRTAlgorithm implements LightningGenerator {
@@ -38,28 +35,105 @@ public class RRTAlgorithm implements LightningGenerator {
     }
   }
 
-  private static class RRTNode {
-    public final double x, y;
-    public final RRTNode parent;
-    public final double intensity;
-    public final int depth;
-    public final boolean isBranch;
-    public final List<RRTNode> children;
-
-    public RRTNode(double x, double y, RRTNode parent, double intensity, int depth, boolean isBranch) {
-      this.x = x;
-      this.y = y;
-      this.parent = parent;
-      this.intensity = intensity;
-      this.depth = depth;
-      this.isBranch = isBranch;
-      this.children = new ArrayList<>();
+  // Grid cell size for nearest node queries, in raster pixels
+  private static final double CELL_SIZE = 4;
+
+  /**
+   * Flat storage for the tree, node i stored at index i of each array, with
+   * a uniform grid over the raster for nearest node queries. Each grid cell
+   * holds a linked list of its nodes threaded through next.
+   */
+  private static class Tree {
+    final double[] x, y;
+    final int[] parent;
+    final double[] intensity;
+    final int[] depth;
+    final boolean[] isBranch;
+    int size = 0;
+
+    private final int gridWidth, gridHeight;
+    private final int[] cellHead;
+    private final int[] next;
+
+    Tree(int capacity, int rasterWidth, int rasterHeight) {
+      this.x = new double[capacity];
+      this.y = new double[capacity];
+      this.parent = new int[capacity];
+      this.intensity = new double[capacity];
+      this.depth = new int[capacity];
+      this.isBranch = new boolean[capacity];
+      this.next = new int[capacity];
+      this.gridWidth = Math.max(1, (int) Math.ceil(rasterWidth / CELL_SIZE));
+      this.gridHeight = Math.max(1, (int) Math.ceil(rasterHeight / CELL_SIZE));
+      this.cellHead = new int[this.gridWidth * this.gridHeight];
+      Arrays.fill(this.cellHead, -1);
     }
 
-    public double distanceTo(double px, double py) {
-      double dx = x - px;
-      double dy = y - py;
-      return Math.sqrt(dx * dx + dy * dy);
+    boolean isFull() {
+      return this.size == this.x.length;
+    }
+
+    int add(double x, double y, int parent, double intensity, int depth, boolean isBranch) {
+      final int i = this.size++;
+      this.x[i] = x;
+      this.y[i] = y;
+      this.parent[i] = parent;
+      this.intensity[i] = intensity;
+      this.depth[i] = depth;
+      this.isBranch[i] = isBranch;
+      final int cell = row(y) * this.gridWidth + column(x);
+      this.next[i] = this.cellHead[cell];
+      this.cellHead[cell] = i;
+      return i;
+    }
+
+    private int column(double x) {
+      final int gx = (int) (x / CELL_SIZE);
+      return (gx < 0) ? 0 : (gx >= this.gridWidth) ? this.gridWidth - 1 : gx;
+    }
+
+    private int row(double y) {
+      final int gy = (int) (y / CELL_SIZE);
+      return (gy < 0) ? 0 : (gy >= this.gridHeight) ? this.gridHeight - 1 : gy;
+    }
+
+    /**
+     * Finds the nearest node by searching rings of cells outward from the
+     * sample, stopping once no unsearched cell can hold a closer node
+     */
+    int nearest(double sampleX, double sampleY) {
+      final int cx = column(sampleX);
+      final int cy = row(sampleY);
+      final int maxRing = Math.max(Math.max(cx, this.gridWidth - 1 - cx), Math.max(cy, this.gridHeight - 1 - cy));
+      int nearest = -1;
+      double minDistanceSq = Double.POSITIVE_INFINITY;
+      for (int ring = 0; ring <= maxRing; ++ring) {
+        final int y0 = cy - ring, y1 = cy + ring;
+        for (int gy = Math.max(0, y0); gy <= Math.min(this.gridHeight - 1, y1); ++gy) {
+          // Interior rows of the ring only have cells at its left and right edges
+          final int step = (gy == y0 || gy == y1) ? 1 : Math.max(1, 2 * ring);
+          for (int gx = cx - ring; gx <= cx + ring; gx += step) {
+            if (gx < 0 || gx >= this.gridWidth) {
+              continue;
+            }
+            for (int i = this.cellHead[gy * this.gridWidth + gx]; i >= 0; i = this.next[i]) {
+              final double dx = this.x[i] - sampleX;
+              final double dy = this.y[i] - sampleY;
+              final double distanceSq = dx * dx + dy * dy;
+              if (distanceSq < minDistanceSq || (distanceSq == minDistanceSq && i < nearest)) {
+                minDistanceSq = distanceSq;
+                nearest = i;
+              }
+            }
+          }
+        }
+        // Cells in the next ring are at least this far from the sample
+        final double reach = ring * CELL_SIZE;
+        if (nearest >= 0 && minDistanceSq <= reach * reach) {
+          break;
+        }
+      }
+      return nearest;
     }
   }
 
@@ -79,13 +153,11 @@ public class RRTAlgorithm implements LightningGenerator {
       return Math.sqrt(dx * dx + dy * dy) <= radius;
     }
 
-    public double[] samplePoint() {
+    public void samplePoint(double[] sample) {
       double angle = Math.random() * 2 * Math.PI;
       double distance = Math.random() * radius;
-      return new double[] {
-          centerX + Math.cos(angle) * distance,
-          centerY + Math.sin(angle) * distance
-      };
+      sample[0] = centerX + Math.cos(angle) * distance;
+      sample[1] = centerY + Math.sin(angle) * distance;
     }
   }
 
@@ -95,12 +167,13 @@ public class RRTAlgorithm implements LightningGenerator {
   }
   
   public static void generateLightning(List<LightningSegment> segments, Parameters params) {
+    // Each iteration adds at most one node and two branches
+    Tree tree = new Tree(1 + 3 * Math.max(0, params.maxIterations), params.rasterWidth, params.rasterHeight);
+
     // Initialize tree with root at configured startX position
     double startX = params.startX * params.rasterWidth;
     double startY = 0;
-    RRTNode root = new RRTNode(startX, startY, null, 1.0, 0, false);
-    List<RRTNode> tree = new ArrayList<>();
-    tree.add(root);
+    tree.add(startX, startY, -1, 1.0, 0, false);
 
     // Define goal region at bottom
     double goalCenterX = params.rasterWidth / 2.0;
@@ -108,30 +181,28 @@ public class RRTAlgorithm implements LightningGenerator {
     GoalRegion goalRegion = new GoalRegion(goalCenterX, goalCenterY, params.goalRadius);
 
     // RRT main loop
+    double[] sample = new double[2];
     boolean goalReached = false;
     for (int iteration = 0; iteration < params.maxIterations && !goalReached; iteration++) {
       // Sample point
-      double[] samplePoint = sampleRandomPoint(params, goalRegion);
-      double sampleX = samplePoint[0];
-      double sampleY = samplePoint[1];
+      sampleRandomPoint(params, goalRegion, sample);
+      double sampleX = sample[0];
+      double sampleY = sample[1];
 
       // Find nearest node
-      RRTNode nearestNode = findNearestNode(tree, sampleX, sampleY);
+      int nearestNode = tree.nearest(sampleX, sampleY);
 
       // Extend tree towards sample
-      RRTNode newNode = extendTree(nearestNode, sampleX, sampleY, params);
-
-      if (newNode != null && isValidNode(newNode, params)) {
-        tree.add(newNode);
-        nearestNode.children.add(newNode);
+      int newNode = extendTree(tree, nearestNode, sampleX, sampleY, params);
 
+      if (newNode >= 0) {
         // Check if goal reached
-        if (goalRegion.contains(newNode.x, newNode.y)) {
+        if (goalRegion.contains(tree.x[newNode], tree.y[newNode])) {
           goalReached = true;
         }
 
         // Create additional branches with some probability
-        if (Math.random() < params.branchProbability && newNode.depth < 3) {
+        if (Math.random() < params.branchProbability && tree.depth[newNode] < 3) {
           createBranches(tree, newNode, params);
         }
       }
@@ -141,10 +212,11 @@ public class RRTAlgorithm implements LightningGenerator {
     convertTreeToSegments(tree, segments);
   }
 
-  private static double[] sampleRandomPoint(Parameters params, GoalRegion goalRegion) {
+  private static void sampleRandomPoint(Parameters params, GoalRegion goalRegion, double[] sample) {
     // With goal bias probability, sample from goal region
     if (Math.random() < params.goalBias) {
-      return goalRegion.samplePoint();
+      goalRegion.samplePoint(sample);
+      return;
     }
 
     // Otherwise sample uniformly from space with electrical field bias
@@ -166,35 +238,27 @@ public class RRTAlgorithm implements LightningGenerator {
       }
     }
 
-    return new double[] {
-        LXUtils.constrain(x, 0, params.rasterWidth - 1),
-        LXUtils.constrain(y, 0, params.rasterHeight - 1)
-    };
+    sample[0] = LXUtils.constrain(x, 0, params.rasterWidth - 1);
+    sample[1] = LXUtils.constrain(y, 0, params.rasterHeight - 1);
   }
 
-  private static RRTNode findNearestNode(List<RRTNode> tree, double sampleX, double sampleY) {
-    RRTNode nearest = tree.get(0);
-    double minDistance = nearest.distanceTo(sampleX, sampleY);
-
-    for (RRTNode node : tree) {
-      double distance = node.distanceTo(sampleX, sampleY);
-      if (distance < minDistance) {
-        minDistance = distance;
-        nearest = node;
-      }
-    }
+  /**
+   * Steps from the nearest node towards the sample, adding a node if it lands
+   * on the raster
+   *
+   * @return Index of the new node, or -1 if none was added
+   */
+  private static int extendTree(Tree tree, int nearestNode, double sampleX, double sampleY, Parameters params) {
+    final double nearestX = tree.x[nearestNode];
+    final double nearestY = tree.y[nearestNode];
 
-    return nearest;
-  }
-
-  private static RRTNode extendTree(RRTNode nearestNode, double sampleX, double sampleY, Parameters params) {
     // Calculate direction from nearest to sample
-    double dx = sampleX - nearestNode.x;
-    double dy = sampleY - nearestNode.y;
+    double dx = sampleX - nearestX;
+    double dy = sampleY - nearestY;
     double distance = Math.sqrt(dx * dx + dy * dy);
 
     if (distance < 1e-6) {
-      return null; // Too close to existing node
+      return -1; // Too close to existing node
     }
 
     // Normalize direction
@@ -202,8 +266,8 @@ public class RRTAlgorithm implements LightningGenerator {
     dy /= distance;
 
     // Move step size in that direction
-    double newX = nearestNode.x + dx * params.stepSize;
-    double newY = nearestNode.y + dy * params.stepSize;
+    double newX = nearestX + dx * params.stepSize;
+    double newY = nearestY + dy * params.stepSize;
 
     // Add jaggedness - random perpendicular displacement
     if (params.jaggedness > 0) {
@@ -215,7 +279,7 @@ public class RRTAlgorithm implements LightningGenerator {
     }
 
     // Calculate intensity based on depth and electrical field
-    double intensity = Math.max(0.7, 1.0 - nearestNode.depth * 0.05);
+    double intensity = Math.max(0.7, 1.0 - tree.depth[nearestNode] * 0.05);
 
     // Apply electrical field influence to intensity
     if (params.electricalField > 0) {
@@ -225,33 +289,40 @@ public class RRTAlgorithm implements LightningGenerator {
       intensity *= fieldInfluence;
     }
 
-    return new RRTNode(newX, newY, nearestNode, intensity, nearestNode.depth + 1, false);
+    if (!isValidNode(newX, newY, params) || tree.isFull()) {
+      return -1;
+    }
+    return tree.add(newX, newY, nearestNode, intensity, tree.depth[nearestNode] + 1, false);
   }
 
-  private static boolean isValidNode(RRTNode node, Parameters params) {
-    return node.x >= 0 && node.x < params.rasterWidth &&
-        node.y >= 0 && node.y < params.rasterHeight;
+  private static boolean isValidNode(double x, double y, Parameters params) {
+    return x >= 0 && x < params.rasterWidth &&
+        y >= 0 && y < params.rasterHeight;
   }
 
-  private static void createBranches(List<RRTNode> tree, RRTNode parentNode, Parameters params) {
+  private static void createBranches(Tree tree, int parentNode, Parameters params) {
     // Create 1-2 branches from this node
     int numBranches = Math.random() < 0.5 ? 1 : 2;
 
+    final double parentX = tree.x[parentNode];
+    final double parentY = tree.y[parentNode];
+    final int grandparent = tree.parent[parentNode];
+
     for (int i = 0; i < numBranches; i++) {
       // Create branch in a random direction, biased away from parent
       double branchAngle = Math.random() * 2 * Math.PI;
 
       // If there's a parent, bias away from it
-      if (parentNode.parent != null) {
-        double parentAngle = Math.atan2(parentNode.y - parentNode.parent.y,
-            parentNode.x - parentNode.parent.x);
+      if (grandparent >= 0) {
+        double parentAngle = Math.atan2(parentY - tree.y[grandparent],
+            parentX - tree.x[grandparent]);
         double deviation = (Math.random() - 0.5) * Math.PI * 0.8;
         branchAngle = parentAngle + Math.PI / 2 + deviation;
       }
 
       double branchLength = params.stepSize * (0.5 + Math.random() * 0.5);
-      double branchX = parentNode.x + Math.cos(branchAngle) * branchLength;
-      double branchY = parentNode.y + Math.sin(branchAngle) * branchLength;
+      double branchX = parentX + Math.cos(branchAngle) * branchLength;
+      double branchY = parentY + Math.sin(branchAngle) * branchLength;
 
       // Add some jaggedness to branch
       if (params.jaggedness > 0) {
@@ -260,77 +331,71 @@ public class RRTAlgorithm implements LightningGenerator {
         branchY += Math.sin(branchAngle + Math.PI / 2) * jag;
       }
 
-      double branchIntensity = parentNode.intensity * (0.8 + Math.random() * 0.2);
-      RRTNode branchNode = new RRTNode(branchX, branchY, parentNode, branchIntensity,
-          parentNode.depth + 1, true);
+      double branchIntensity = tree.intensity[parentNode] * (0.8 + Math.random() * 0.2);
 
-      if (isValidNode(branchNode, params)) {
-        tree.add(branchNode);
-        parentNode.children.add(branchNode);
+      if (isValidNode(branchX, branchY, params) && !tree.isFull()) {
+        tree.add(branchX, branchY, parentNode, branchIntensity, tree.depth[parentNode] + 1, true);
       }
     }
   }
 
-  private static void convertTreeToSegments(List<RRTNode> tree, List<LightningSegment> segments) {
-    for (RRTNode node : tree) {
-      if (node.parent != null) {
+  private static void convertTreeToSegments(Tree tree, List<LightningSegment> segments) {
+    for (int i = 0; i < tree.size; ++i) {
+      final int parent = tree.parent[i];
+      if (parent >= 0) {
         segments.add(new LightningSegment(
-            node.parent.x, node.parent.y,
-            node.x, node.y,
-            node.isBranch,
-            node.intensity,
-            node.depth));
+            tree.x[parent], tree.y[parent],
+            tree.x[i], tree.y[i],
+            tree.isBranch[i],
+            tree.intensity[i],
+            tree.depth[i]));
       }
     }
   }
 
   @Override
-  public void render(Graphics2D graphics, List<LightningSegment> segments, double fadeAmount,
-      double intensityValue, double thicknessValue, double bleedingValue) {
-    renderStatic(graphics, segments, fadeAmount, intensityValue, thicknessValue, bleedingValue);
-  }
-  
-  public static void renderStatic(Graphics2D graphics, List<LightningSegment> segments, double fadeAmount,
-      double intensityValue, double thicknessValue, double bleedingValue) {
-    double alpha = fadeAmount * intensityValue;
-
+  public void renderLayers(Rasterizer core, Rasterizer glow, List<LightningSegment> segments,
+      double thicknessValue, double bleedingValue) {
     for (LightningSegment segment : segments) {
       // More controlled intensity boost for RRT - avoid over-brightening
-      double segmentAlpha = alpha * Math.max(0.9, segment.intensity * 1.1);
-
-      // Create sharp lightning color with high contrast
-      Color lightningColor = new Color(
-          (float) LXUtils.constrain(0.85 + 0.15 * segmentAlpha, 0, 1), // R - brighter core
-          (float) LXUtils.constrain(0.9 + 0.1 * segmentAlpha, 0, 1), // G
-          (float) LXUtils.constrain(1.0, 0, 1), // B
-          (float) LXUtils.constrain(segmentAlpha, 0, 1) // A
-      );
+      double segmentAlpha = Math.max(0.9, segment.intensity * 1.1);
 
       // Draw main lightning bolt with proper thickness scaling
       float strokeWidth = (float) (thicknessValue *
           (segment.isBranch ? 0.7 : 1.0) * Math.max(0.5, 1.0 - segment.depth * 0.1));
-      graphics.setColor(lightningColor);
-      graphics.setStroke(new BasicStroke(strokeWidth, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+      core.setColor(1, 1, 1, (float) LXUtils.constrain(segmentAlpha, 0, 1));
+      core.setStrokeWidth(strokeWidth);
 
-      Path2D path = new Path2D.Double();
-      path.moveTo(segment.x1, segment.y1);
-      path.lineTo(segment.x2, segment.y2);
-      graphics.draw(path);
+      core.drawLine(segment.x1, segment.y1, segment.x2, segment.y2);
 
       // Add much more subtle glow effect only when bleeding is enabled
       if (segmentAlpha > 0.4 && bleedingValue > 0.1) {
-        Color glowColor = new Color(
-            (float) LXUtils.constrain(0.6 + 0.4 * segmentAlpha, 0, 1),
-            (float) LXUtils.constrain(0.75 + 0.25 * segmentAlpha, 0, 1),
-            (float) LXUtils.constrain(1.0, 0, 1),
-            (float) LXUtils.constrain(segmentAlpha * 0.2 * bleedingValue, 0, 1)); // Much less glow opacity
-        graphics.setColor(glowColor);
-        
+        glow.setColor(1, 1, 1, (float) LXUtils.constrain(segmentAlpha * 0.2 * bleedingValue, 0, 1)); // Much less glow opacity
+
         // Reduced glow thickness - only slightly wider than main stroke
         float glowWidth = (float) (strokeWidth * (1.0 + bleedingValue * 0.5));
-        graphics.setStroke(new BasicStroke(glowWidth, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-        graphics.draw(path);
+        glow.setStrokeWidth(glowWidth);
+        glow.drawLine(segment.x1, segment.y1, segment.x2, segment.y2);
       }
     }
   }
+
+  @Override
+  public int coreColor(double alpha) {
+    // Sharp lightning color with high contrast
+    return Rasterizer.argb(
+        (float) LXUtils.constrain(0.85 + 0.15 * alpha, 0, 1), // R - brighter core
+        (float) LXUtils.constrain(0.9 + 0.1 * alpha, 0, 1), // G
+        1, // B
+        1);
+  }
+
+  @Override
+  public int glowColor(double alpha) {
+    return Rasterizer.argb(
+        (float) LXUtils.constrain(0.6 + 0.4 * alpha, 0, 1),
+        (float) LXUtils.constrain(0.75 + 0.25 * alpha, 0, 1),
+        1,
+        1);
+  }
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package apotheneum.doved.patterns;
 
 import apotheneum.Apotheneum;
 import apotheneum.ApotheneumPattern;
+import apotheneum.ParticleSystem;
+import apotheneum.RingCanvas;
 import heronarts.lx.LX;
 import heronarts.lx.LXCategory;
 import heronarts.lx.LXComponentName;
@@ -29,6 +31,10 @@ public class Ants extends ApotheneumPattern implements UIDeviceControls<Ants> {
     return shape.getValuei() == 0 ? Apotheneum.Cube.Ring.LENGTH : Apotheneum.Cylinder.Ring.LENGTH;
   }
 
+  // Offscreen canvases for the exterior and interior of the current shape
+  private RingCanvas exteriorCanvas = null;
+  private RingCanvas interiorCanvas = null;
+
   private boolean needsInitialAnt = true; // Flag to spawn first ant immediately
   private SeekerAnt seekerAnt; // Single seeker ant
   private boolean pathFound = false; // Has ant found the path?
@@ -114,36 +120,51 @@ public class Ants extends ApotheneumPattern implements UIDeviceControls<Ants> {
     }
   }
 
-  private static class MovingAnt {
-    float position; // 0.0 to 2.0 (0-1 = going to target, 1-2 = returning to start)
-    int color; // Fixed color for entire journey
-    int pathIndex; // Which path this ant is following (0 = main path)
-    float speedMultiplier; // Individual speed variation for this ant
-
-    // Wandering behavior
-    boolean isWandering = false;
-    float wanderX = 0, wanderY = 0; // Current wandering position offset
-    float wanderDirection = 0; // Direction of wandering movement
-    double wanderStartTime = 0; // When wandering began
-    double wanderDuration = 0; // How long to wander
-
-    MovingAnt(float position, int color, int pathIndex, float speedMultiplier) {
-      this.position = position;
-      this.color = color;
-      this.pathIndex = pathIndex;
-      this.speedMultiplier = speedMultiplier;
-      this.wanderDirection = (float) (Math.random() * 2 * Math.PI);
-    }
+  private static final int MAX_ANTS = 400; // Upper bound of the Max Ants knob
 
-    boolean isGoingToTarget() {
-      return position <= 1.0f;
-    }
+  // Ants moving along paths, stored in parallel arrays
+  private static class Colony extends ParticleSystem {
+    final float[] position = new float[this.capacity]; // 0.0 to 2.0 (0-1 = going to target, 1-2 = returning to start)
+    final int[] color = new int[this.capacity]; // Fixed color for entire journey
+    final int[] pathIndex = new int[this.capacity]; // Which path this ant is following (0 = main path)
+    final float[] speedMultiplier = new float[this.capacity]; // Individual speed variation for this ant
 
-    float getPathPosition() {
-      if (isGoingToTarget()) {
-        return position; // 0.0 to 1.0 going forward
+    // Wandering behavior
+    final boolean[] isWandering = new boolean[this.capacity];
+    final float[] wanderX = new float[this.capacity]; // Current wandering position offset
+    final float[] wanderY = new float[this.capacity];
+    final float[] wanderDirection = new float[this.capacity]; // Direction of wandering movement
+    final double[] wanderStartTime = new double[this.capacity]; // When wandering began
+    final float[] wanderDuration = new float[this.capacity]; // How long to wander
+
+    Colony() {
+      super(MAX_ANTS);
+    }
+
+    @Override
+    protected void move(int from, int to) {
+      super.move(from, to);
+      this.position[to] = this.position[from];
+      this.color[to] = this.color[from];
+      this.pathIndex[to] = this.pathIndex[from];
+      this.speedMultiplier[to] = this.speedMultiplier[from];
+      this.isWandering[to] = this.isWandering[from];
+      this.wanderX[to] = this.wanderX[from];
+      this.wanderY[to] = this.wanderY[from];
+      this.wanderDirection[to] = this.wanderDirection[from];
+      this.wanderStartTime[to] = this.wanderStartTime[from];
+      this.wanderDuration[to] = this.wanderDuration[from];
+    }
+
+    boolean isGoingToTarget(int i) {
+      return this.position[i] <= 1.0f;
+    }
+
+    float getPathPosition(int i) {
+      if (isGoingToTarget(i)) {
+        return this.position[i]; // 0.0 to 1.0 going forward
       } else {
-        return 2.0f - position; // 2.0->1.0 becomes 0.0->1.0 going backward
+        return 2.0f - this.position[i]; // 2.0->1.0 becomes 0.0->1.0 going backward
       }
     }
   }
@@ -181,22 +202,35 @@ public class Ants extends ApotheneumPattern implements UIDeviceControls<Ants> {
   }
 
   private final List<List<AntSegment>> discoveredPaths = new ArrayList<>(); // Multiple discovered paths
-  private final List<MovingAnt> movingAnts = new ArrayList<>(); // Ants moving along paths
+  private final Colony movingAnts = new Colony(); // Ants moving along paths
+
+  // Delayed spawn system, age counts up to lifespan (the delay) in ms
+  private static class DelayedSpawns extends ParticleSystem {
+    final int[] pathIndex = new int[this.capacity];
+    final int[] quantity = new int[this.capacity];
 
-  // Delayed spawn system
-  private static class DelayedSpawn {
-    public final double spawnTime; // When to spawn (in milliseconds)
-    public final int pathIndex;
-    public final int quantity;
+    DelayedSpawns() {
+      super(MAX_ANTS);
+    }
 
-    public DelayedSpawn(double spawnTime, int pathIndex, int quantity) {
-      this.spawnTime = spawnTime;
-      this.pathIndex = pathIndex;
-      this.quantity = quantity;
+    void add(double delay, int pathIndex, int quantity) {
+      final int i = spawn();
+      if (i >= 0) {
+        this.lifespan[i] = (float) delay;
+        this.pathIndex[i] = pathIndex;
+        this.quantity[i] = quantity;
+      }
+    }
+
+    @Override
+    protected void move(int from, int to) {
+      super.move(from, to);
+      this.pathIndex[to] = this.pathIndex[from];
+      this.quantity[to] = this.quantity[from];
     }
   }
 
-  private final List<DelayedSpawn> delayedSpawns = new ArrayList<>();
+  private final DelayedSpawns delayedSpawns = new DelayedSpawns();
   private double currentTime = 0; // Track current time for delay system
 
   public Ants(LX lx) {
@@ -256,13 +290,21 @@ public class Ants extends ApotheneumPattern implements UIDeviceControls<Ants> {
       return;
     }
 
-    setApotheneumColor(0); // Clear all
+    final RingCanvas.Shape canvasShape = RingCanvas.Shape.values()[shape.getValuei()];
+    if (exteriorCanvas == null || exteriorCanvas.shape != canvasShape) {
+      // Only the current shape is drawn, clear everything when switching
+      exteriorCanvas = new RingCanvas(canvasShape);
+      interiorCanvas = new RingCanvas(canvasShape);
+      setApotheneumColor(0);
+    }
+    exteriorCanvas.clear();
+    interiorCanvas.clear();
 
     // Update current time for delay system
     currentTime += deltaMs;
 
     // Process delayed spawns
-    processDelayedSpawns();
+    processDelayedSpawns(deltaMs);
 
     updateSnake(deltaMs);
     renderTrail();
@@ -274,17 +316,20 @@ public class Ants extends ApotheneumPattern implements UIDeviceControls<Ants> {
     if (debugStart.isOn()) {
       renderDebugStart();
     }
+
+    final Apotheneum.Component component = canvasShape.component();
+    exteriorCanvas.blit(colors, component.exterior());
+    interiorCanvas.blit(colors, component.interior());
   }
 
-  private void processDelayedSpawns() {
+  private void processDelayedSpawns(double deltaMs) {
+    delayedSpawns.advanceAge((float) deltaMs);
     for (int i = delayedSpawns.size() - 1; i >= 0; i--) {
-      DelayedSpawn spawn = delayedSpawns.get(i);
-
-      if (currentTime >= spawn.spawnTime) {
+      if (delayedSpawns.age[i] >= delayedSpawns.lifespan[i]) {
         // Time to spawn the ants, but respect max ant limit
         int maxAntsAllowed = (int) maxAnts.getValue();
-        for (int j = 0; j < spawn.quantity && movingAnts.size() < maxAntsAllowed; j++) {
-          movingAnts.add(createAnt(spawn.pathIndex, spawn.quantity));
+        for (int j = 0; j < delayedSpawns.quantity[i] && movingAnts.size() < maxAntsAllowed; j++) {
+          createAnt(delayedSpawns.pathIndex[i], delayedSpawns.quantity[i]);
         }
 
         // Remove the processed spawn
@@ -334,7 +379,7 @@ public class Ants extends ApotheneumPattern implements UIDeviceControls<Ants> {
       int pathIndex = choosePathForNewAnt(isExplorer);
 
       // For initial seeding, spawn just one ant (return-home will handle quantity)
-      movingAnts.add(createAnt(pathIndex, 1));
+      createAnt(pathIndex, 1);
     }
   }
 
@@ -398,27 +443,24 @@ public class Ants extends ApotheneumPattern implements UIDeviceControls<Ants> {
     float baseMoveSpeed = (float) (speed.getValue() * deltaMs * 0.0002);
 
     for (int i = movingAnts.size() - 1; i >= 0; i--) {
-      MovingAnt ant = movingAnts.get(i);
-
       // Update wandering behavior
-      updateAntWandering(ant, deltaMs);
+      updateAntWandering(i, deltaMs);
 
       // Apply individual speed variation to this ant
-      float antMoveSpeed = baseMoveSpeed * ant.speedMultiplier;
+      float antMoveSpeed = baseMoveSpeed * movingAnts.speedMultiplier[i];
 
       // Update ant position - always move, collision avoidance only affects rendering
-      ant.position += antMoveSpeed;
+      movingAnts.position[i] += antMoveSpeed;
 
-      if (ant.position >= 2.0f) {
+      if (movingAnts.position[i] >= 2.0f) {
         // Ant completed round trip - schedule delayed spawn
         int numAntsToSpawn = Math.max(1, (int) Math.round(quantity.getValue()));
 
         // Random delay between 0 and 2000ms (2 seconds)
         double spawnDelay = Math.random() * 2000.0;
-        double spawnTime = currentTime + spawnDelay;
 
         // Add to delayed spawn queue
-        delayedSpawns.add(new DelayedSpawn(spawnTime, ant.pathIndex, numAntsToSpawn));
+        delayedSpawns.add(spawnDelay, movingAnts.pathIndex[i], numAntsToSpawn);
 
         // Remove the completed ant
         movingAnts.remove(i);
@@ -545,43 +587,43 @@ public class Ants extends ApotheneumPattern implements UIDeviceControls<Ants> {
   }
 
   private void renderMovingAnts(float baseSize) {
-    for (MovingAnt ant : movingAnts) {
-      float pathPos = ant.getPathPosition();
-      float[] position = getPositionAlongPath(pathPos, ant.pathIndex);
-      if (position != null) {
-        // Apply lane separation
-        float[] adjustedPos = applyLaneSeparation(position, ant);
-        // Apply wandering behavior
-        float[] wanderPos = applyWandering(adjustedPos, ant);
-        drawAntAtPositionWithDirection(wanderPos[0], wanderPos[1], ant.color, baseSize, ant.isGoingToTarget());
-      }
+    for (int i = 0; i < movingAnts.size(); i++) {
+      getPositionAlongPath(movingAnts.getPathPosition(i), movingAnts.pathIndex[i], pathPosition);
+      // Apply lane separation
+      float laneOffset = getLaneOffset(i);
+      // Apply wandering behavior
+      float x = pathPosition[0] + movingAnts.wanderX[i];
+      float y = pathPosition[1] + laneOffset + movingAnts.wanderY[i];
+      drawAntAtPositionWithDirection(x, y, movingAnts.color[i], baseSize, movingAnts.isGoingToTarget(i));
     }
   }
 
-  private void updateAntWandering(MovingAnt ant, double deltaMs) {
+  private void updateAntWandering(int i, double deltaMs) {
+    final Colony ants = movingAnts;
+
     // Check if ant should start wandering
-    if (!ant.isWandering && Math.random() < wanderChance.getValue()) {
-      ant.isWandering = true;
-      ant.wanderStartTime = currentTime;
-      ant.wanderDuration = 500 + Math.random() * 1000; // Wander for 0.5-1.5 seconds
-      ant.wanderDirection = (float) (Math.random() * 2 * Math.PI);
-      ant.wanderX = 0;
-      ant.wanderY = 0;
+    if (!ants.isWandering[i] && Math.random() < wanderChance.getValue()) {
+      ants.isWandering[i] = true;
+      ants.wanderStartTime[i] = currentTime;
+      ants.wanderDuration[i] = 500 + (float) (Math.random() * 1000); // Wander for 0.5-1.5 seconds
+      ants.wanderDirection[i] = (float) (Math.random() * 2 * Math.PI);
+      ants.wanderX[i] = 0;
+      ants.wanderY[i] = 0;
     }
 
-    if (ant.isWandering) {
+    if (ants.isWandering[i]) {
       // Check if wandering period is over
-      if (currentTime - ant.wanderStartTime > ant.wanderDuration) {
+      if (currentTime - ants.wanderStartTime[i] > ants.wanderDuration[i]) {
         // Return to path gradually
         float returnSpeed = (float) (deltaMs * 0.002);
-        ant.wanderX *= (1.0f - returnSpeed);
-        ant.wanderY *= (1.0f - returnSpeed);
+        ants.wanderX[i] *= (1.0f - returnSpeed);
+        ants.wanderY[i] *= (1.0f - returnSpeed);
 
         // Stop wandering when close enough to path
-        if (Math.abs(ant.wanderX) < 0.1f && Math.abs(ant.wanderY) < 0.1f) {
-          ant.isWandering = false;
-          ant.wanderX = 0;
-          ant.wanderY = 0;
+        if (Math.abs(ants.wanderX[i]) < 0.1f && Math.abs(ants.wanderY[i]) < 0.1f) {
+          ants.isWandering[i] = false;
+          ants.wanderX[i] = 0;
+          ants.wanderY[i] = 0;
         }
       } else {
         // Continue wandering
@@ -589,54 +631,43 @@ public class Ants extends ApotheneumPattern implements UIDeviceControls<Ants> {
         float maxDistance = (float) wanderDistance.getValue();
 
         // Add some randomness to direction
-        ant.wanderDirection += (Math.random() - 0.5) * 0.3;
+        ants.wanderDirection[i] += (Math.random() - 0.5) * 0.3;
 
         // Move in wander direction
-        float newWanderX = ant.wanderX + (float) Math.cos(ant.wanderDirection) * wanderSpeed;
-        float newWanderY = ant.wanderY + (float) Math.sin(ant.wanderDirection) * wanderSpeed;
+        float newWanderX = ants.wanderX[i] + (float) Math.cos(ants.wanderDirection[i]) * wanderSpeed;
+        float newWanderY = ants.wanderY[i] + (float) Math.sin(ants.wanderDirection[i]) * wanderSpeed;
 
         // Limit wandering distance and check for doors
         float wanderDist = (float) Math.sqrt(newWanderX * newWanderX + newWanderY * newWanderY);
         if (wanderDist <= maxDistance) {
           // Check if the new wandering position would be in a door area
-          float[] currentPos = getPositionAlongPath(ant.getPathPosition(), ant.pathIndex);
-          if (currentPos != null) {
-            float testX = currentPos[0] + newWanderX;
-            float testY = currentPos[1] + newWanderY;
-
-            if (!isInDoorArea(testX, testY)) {
-              ant.wanderX = newWanderX;
-              ant.wanderY = newWanderY;
-            } else {
-              // Redirect away from door area
-              ant.wanderDirection += (float) Math.PI; // Turn around
-            }
+          getPositionAlongPath(ants.getPathPosition(i), ants.pathIndex[i], pathPosition);
+          float testX = pathPosition[0] + newWanderX;
+          float testY = pathPosition[1] + newWanderY;
+
+          if (!isInDoorArea(testX, testY)) {
+            ants.wanderX[i] = newWanderX;
+            ants.wanderY[i] = newWanderY;
           } else {
-            ant.wanderX = newWanderX;
-            ant.wanderY = newWanderY;
+            // Redirect away from door area
+            ants.wanderDirection[i] += (float) Math.PI; // Turn around
           }
         } else {
           // Redirect toward center when hitting wander limit
-          ant.wanderDirection = (float) Math.atan2(-ant.wanderY, -ant.wanderX);
+          ants.wanderDirection[i] = (float) Math.atan2(-ants.wanderY[i], -ants.wanderX[i]);
         }
       }
     }
   }
 
-  private float[] applyWandering(float[] position, MovingAnt ant) {
-    return new float[] { position[0] + ant.wanderX, position[1] + ant.wanderY };
-  }
-
-  private float[] applyLaneSeparation(float[] position, MovingAnt ant) {
+  private float getLaneOffset(int i) {
     if (!laneSeparation.isOn()) {
-      return position; // No lane separation
+      return 0; // No lane separation
     }
 
-    // Offset ants based on direction to create lanes
-    float laneOffset = ant.isGoingToTarget() ? -(float) laneDistance.getValue() : (float) laneDistance.getValue();
-
-    // Apply offset perpendicular to path direction (simplified as Y offset)
-    return new float[] { position[0], position[1] + laneOffset };
+    // Offset ants based on direction to create lanes, applied perpendicular
+    // to path direction (simplified as Y offset)
+    return movingAnts.isGoingToTarget(i) ? -(float) laneDistance.getValue() : (float) laneDistance.getValue();
   }
 
   private void drawAntAtPosition(float x, float y, int color, float size) {
@@ -683,106 +714,37 @@ public class Ants extends ApotheneumPattern implements UIDeviceControls<Ants> {
 
   private void setPixelOnShape(float ringX, float ringY, int color) {
     // Convert ring coordinates to actual pixels - render on both surfaces
-    int ringIndex = (int) Math.round(ringY);
-    int pointIndex = (int) Math.round(ringX);
-
-    if (shape.getValuei() == 0) {
-      // Cube rendering
-      if (ringIndex >= 0 && ringIndex < Apotheneum.GRID_HEIGHT) {
-        setPixelOnRing(Apotheneum.cube.exterior.ring(ringIndex), pointIndex, color);
-        setPixelOnRing(Apotheneum.cube.interior.ring(ringIndex), pointIndex, color);
-      }
-    } else {
-      // Cylinder rendering
-      if (ringIndex >= 0 && ringIndex < Apotheneum.CYLINDER_HEIGHT) {
-        setPixelOnRing(Apotheneum.cylinder.exterior.ring(ringIndex), pointIndex, color);
-        setPixelOnRing(Apotheneum.cylinder.interior.ring(ringIndex), pointIndex, color);
-      }
-    }
+    int ringIndex = Math.round(ringY);
+    int pointIndex = Math.round(ringX);
+    exteriorCanvas.set(pointIndex, ringIndex, color);
+    interiorCanvas.set(pointIndex, ringIndex, color);
   }
 
   private void setPixelOnShapeWithDirection(float ringX, float ringY, int color, boolean isGoingToTarget) {
     // Convert ring coordinates to actual pixels with direction-based rendering
-    int ringIndex = (int) Math.round(ringY);
-    int pointIndex = (int) Math.round(ringX);
+    int ringIndex = Math.round(ringY);
+    int pointIndex = Math.round(ringX);
 
     DiscreteParameter renderParam = isGoingToTarget ? forwardRender : returnRender;
     int renderMode = renderParam.getValuei();
 
-    if (shape.getValuei() == 0) {
-      // Cube rendering
-      if (ringIndex >= 0 && ringIndex < Apotheneum.GRID_HEIGHT) {
-        // 0=Exterior, 1=Interior, 2=Both
-        if (renderMode == 0 || renderMode == 2) {
-          setPixelOnRing(Apotheneum.cube.exterior.ring(ringIndex), pointIndex, color);
-        }
-        if (renderMode == 1 || renderMode == 2) {
-          setPixelOnRing(Apotheneum.cube.interior.ring(ringIndex), pointIndex, color);
-        }
-      }
-    } else {
-      // Cylinder rendering
-      if (ringIndex >= 0 && ringIndex < Apotheneum.CYLINDER_HEIGHT) {
-        // 0=Exterior, 1=Interior, 2=Both
-        if (renderMode == 0 || renderMode == 2) {
-          setPixelOnRing(Apotheneum.cylinder.exterior.ring(ringIndex), pointIndex, color);
-        }
-        if (renderMode == 1 || renderMode == 2) {
-          setPixelOnRing(Apotheneum.cylinder.interior.ring(ringIndex), pointIndex, color);
-        }
-      }
+    // 0=Exterior, 1=Interior, 2=Both
+    if (renderMode == 0 || renderMode == 2) {
+      exteriorCanvas.set(pointIndex, ringIndex, color);
     }
-  }
-
-  private void setPixelOnRing(Apotheneum.Ring ring, int pointIndex, int color) {
-    // Set pixel on ring, wrapping around if necessary
-    if (ring != null && ring.points.length > 0) {
-      int wrappedIndex = ((pointIndex % ring.points.length) + ring.points.length) % ring.points.length;
-      colors[ring.points[wrappedIndex].index] = color;
+    if (renderMode == 1 || renderMode == 2) {
+      interiorCanvas.set(pointIndex, ringIndex, color);
     }
   }
 
   private boolean isInDoorArea(float ringX, float ringY) {
-    // Check if position is in a door area where pixels are blocked
-    int ringIndex = (int) Math.round(ringY);
-    int ringHeight = getRingHeight();
-    int ringLength = getRingLength();
-
-    if (ringIndex < 0 || ringIndex >= ringHeight) {
+    if (!Apotheneum.exists) {
       return false;
     }
-
-    // Check if the ring position is at the bottom (where doors are)
-    if (ringIndex >= ringHeight - Apotheneum.DOOR_HEIGHT) {
-      // Check if X position is in door area
-      int ringPos = (int) Math.round(ringX);
-      int wrappedPos = ((ringPos % ringLength) + ringLength) % ringLength;
-
-      if (shape.getValuei() == 0) {
-        // Cube door detection - check each face for door positions
-        for (int face = 0; face < 4; face++) {
-          int faceStart = face * Apotheneum.GRID_WIDTH; // Each face is 50 pixels wide
-          int doorStart = faceStart + Apotheneum.Cube.DOOR_START_COLUMN; // Door starts at column 20 on each face
-          int doorEnd = doorStart + Apotheneum.DOOR_WIDTH - 1;
-
-          if (wrappedPos >= doorStart && wrappedPos <= doorEnd) {
-            return true;
-          }
-        }
-      } else {
-        // Cylinder door detection - doors repeat every 30 pixels
-        int doorStart = Apotheneum.Cylinder.DOOR_START_COLUMN; // Door starts at column 10
-        int doorEnd = doorStart + Apotheneum.DOOR_WIDTH - 1;
-
-        // Check if we're in a door area (doors repeat every 30 pixels around cylinder)
-        int posInCycle = wrappedPos % 30;
-        if (posInCycle >= doorStart && posInCycle <= doorEnd) {
-          return true;
-        }
-      }
-    }
-
-    return false;
+    int ringLength = getRingLength();
+    int wrappedPos = ((Math.round(ringX) % ringLength) + ringLength) % ringLength;
+    Apotheneum.Orientation orientation = (shape.getValuei() == 0) ? Apotheneum.cube.exterior : Apotheneum.cylinder.exterior;
+    return orientation.isDoor(wrappedPos, Math.round(ringY));
   }
 
   private void clearAllAnts() {
@@ -848,10 +810,21 @@ public class Ants extends ApotheneumPattern implements UIDeviceControls<Ants> {
     needsInitialAnt = true;
   }
 
-  private MovingAnt createAnt(int pathIndex, int quantity) {
-    int antColor = 0xFFFFFFFF; // White for all ants
-    float speedVar = 1.0f + ((float) (Math.random() - 0.5) * 2.0f * (float) speedVariation.getValue());
-    return new MovingAnt(0.0f, antColor, pathIndex, speedVar);
+  private void createAnt(int pathIndex, int quantity) {
+    final int i = movingAnts.spawn();
+    if (i < 0) {
+      return;
+    }
+    movingAnts.position[i] = 0.0f;
+    movingAnts.color[i] = 0xFFFFFFFF; // White for all ants
+    movingAnts.pathIndex[i] = pathIndex;
+    movingAnts.speedMultiplier[i] = 1.0f + ((float) (Math.random() - 0.5) * 2.0f * (float) speedVariation.getValue());
+    movingAnts.isWandering[i] = false;
+    movingAnts.wanderX[i] = 0;
+    movingAnts.wanderY[i] = 0;
+    movingAnts.wanderDirection[i] = (float) (Math.random() * 2 * Math.PI);
+    movingAnts.wanderStartTime[i] = 0;
+    movingAnts.wanderDuration[i] = 0;
   }
 
   public final CompoundParameter wanderChance = new CompoundParameter("Wander", 0.02, 0, 0.1)
@@ -860,7 +833,10 @@ public class Ants extends ApotheneumPattern implements UIDeviceControls<Ants> {
   public final CompoundParameter wanderDistance = new CompoundParameter("Wander Dist", 3.0, 0.5, 8.0)
       .setDescription("How far ants wander from their path");
 
-  private float[] getPositionAlongPath(float t, int pathIndex) {
+  // Reusable output of getPositionAlongPath
+  private final float[] pathPosition = new float[2];
+
+  private void getPositionAlongPath(float t, int pathIndex, float[] position) {
     // Ensure we have at least one path
     if (discoveredPaths.isEmpty()) {
       discoveredPaths.add(new ArrayList<>());
@@ -873,18 +849,17 @@ public class Ants extends ApotheneumPattern implements UIDeviceControls<Ants> {
     List<AntSegment> path = discoveredPaths.get(pathIndex);
     if (path.size() == 0) {
       // No path yet, show ant at start position
-      float startPosX = (float) (startX.getValue() * (getRingLength() - 1));
-      float startPosY = (float) (startY.getValue() * (getRingHeight() - 1));
-      return new float[] { startPosX, startPosY };
+      position[0] = (float) (startX.getValue() * (getRingLength() - 1));
+      position[1] = (float) (startY.getValue() * (getRingHeight() - 1));
+      return;
     } else if (path.size() == 1) {
       // Only one segment, interpolate between start and first segment
       float startPosX = (float) (startX.getValue() * (getRingLength() - 1));
       float startPosY = (float) (startY.getValue() * (getRingHeight() - 1));
       AntSegment first = path.get(0);
-      return new float[] {
-          startPosX + (first.x - startPosX) * t,
-          startPosY + (first.y - startPosY) * t
-      };
+      position[0] = startPosX + (first.x - startPosX) * t;
+      position[1] = startPosY + (first.y - startPosY) * t;
+      return;
     }
 
     float totalIndex = t * (path.size() - 1);
@@ -893,16 +868,16 @@ public class Ants extends ApotheneumPattern implements UIDeviceControls<Ants> {
 
     if (index >= path.size() - 1) {
       AntSegment last = path.get(path.size() - 1);
-      return new float[] { last.x, last.y };
+      position[0] = last.x;
+      position[1] = last.y;
+      return;
     }
 
     AntSegment current = path.get(index);
     AntSegment next = path.get(index + 1);
 
-    float x = current.x + (next.x - current.x) * fraction;
-    float y = current.y + (next.y - current.y) * fraction;
-
-    return new float[] { x, y };
+    position[0] = current.x + (next.x - current.x) * fraction;
+    position[1] = current.y + (next.y - current.y) * fraction;
   }
 
   @Override
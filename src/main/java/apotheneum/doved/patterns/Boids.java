@@ -20,6 +20,8 @@ package apotheneum.doved.patterns;
 
 import apotheneum.Apotheneum;
 import apotheneum.ApotheneumPattern;
+import apotheneum.ParticleSystem;
+import apotheneum.RingCanvas;
 import heronarts.lx.LX;
 import heronarts.lx.LXCategory;
 import heronarts.lx.LXComponentName;
@@ -32,10 +34,7 @@ import heronarts.lx.studio.ui.device.UIDevice;
 import heronarts.lx.studio.ui.device.UIDeviceControls;
 import heronarts.lx.utils.LXUtils;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.Arrays;
 
 @LXCategory("Apotheneum/doved")
 @LXComponentName("Boids")
@@ -58,7 +57,7 @@ public class Boids extends ApotheneumPattern implements UIDeviceControls<Boids>
 
   // Parameters - optimized for tight flocking behavior with higher capacity
   public final CompoundDiscreteParameter maxFlock =
-    new CompoundDiscreteParameter("Max Flock", 100, 5, 300)
+    new CompoundDiscreteParameter("Max Flock", 100, 5, MAX_FLOCK)
     .setDescription("Maximum number of boids that can exist in the flock");
   
   public final CompoundParameter flockDensity =
@@ -102,367 +101,116 @@ public class Boids extends ApotheneumPattern implements UIDeviceControls<Boids>
     .setDescription("Which shape to render on");
 
 
-  // Simple 2D Boid class
-  private class Boid {
-    float x, y;              // Position in ring coordinates
-    float velocityX, velocityY;  // Velocity
-    float maxSpeed = 15.0f;
-    float maxForce = 0.8f;
-    
+  // Upper bound of the Max Flock parameter, boid storage is allocated up front
+  private static final int MAX_FLOCK = 4000;
+
+  private static final float MAX_SPEED = 15.0f;
+  private static final float MAX_FORCE = 0.8f;
+
+  // Boids closer than this push each other apart
+  private static final float SEPARATION_DISTANCE = 6.0f;
+
+  // Boid storage, one entry per array index
+  private static class Flock extends ParticleSystem {
+
     // Individual speed variation for more organic movement
-    float currentSpeedMultiplier = 1.0f;  // Current speed multiplier (0.7 to 1.3)
-    float targetSpeedMultiplier = 1.0f;   // Target speed to interpolate towards
-    double lastSpeedTargetUpdate = 0;      // Time when we last picked a new target speed
-    float speedInterpolationRate = 0.5f;  // How quickly we interpolate to target (0-1, higher = faster)
-    
-    
-    Boid() {
-      // Random initial position across the extended logical space
-      x = (float)Math.random() * getRingLength();
-      y = LXUtils.randomf(0, getRingHeight()); // Use full extended height
-      
-      // Random initial velocity for natural movement
-      float initAngle = (float)(Math.random() * 2 * Math.PI);
-      velocityX = (float)Math.cos(initAngle) * LXUtils.randomf(0.5f, 2.0f);
-      velocityY = (float)Math.sin(initAngle) * LXUtils.randomf(0.5f, 2.0f);
-      
-      // Initialize individual speed variation for organic movement
-      currentSpeedMultiplier = LXUtils.randomf(0.85f, 1.15f);
-      targetSpeedMultiplier = currentSpeedMultiplier;
-      lastSpeedTargetUpdate = 0;
-    }
-    
-    void updateWithSpatialGrid(double deltaMs, SpatialGrid spatialGrid) {
-      // Update individual speed variation
-      updateSpeedVariation(Boids.this.currentTime);
-      
-      float accelerationX = 0;
-      float accelerationY = 0;
-      
-      // Get nearby boids from spatial grid instead of checking all boids
-      float searchRadius = neighborRadius.getValuef() * 2.0f;
-      List<Boid> nearbyBoids = spatialGrid.getNearbyBoids(x, y, searchRadius);
-      
-      // Classic Boids: Apply the three fundamental forces to all boids
-      float[] sep = separateFromNearby(nearbyBoids);
-      float[] ali = alignWithNearby(nearbyBoids);
-      float[] coh = cohesionWithNearby(nearbyBoids);
-      
-      accelerationX += sep[0] * separation.getValuef();
-      accelerationY += sep[1] * separation.getValuef();
-      accelerationX += ali[0] * alignment.getValuef();
-      accelerationY += ali[1] * alignment.getValuef();
-      accelerationX += coh[0] * cohesion.getValuef();
-      accelerationY += coh[1] * cohesion.getValuef();
-      
-      // Add turbulence with extra vertical bias
-      if (turbulence.getValuef() > 0) {
-        accelerationX += (Math.random() - 0.5) * turbulence.getValuef() * 1.5f;
-        accelerationY += (Math.random() - 0.5) * turbulence.getValuef() * 2.0f; // More vertical turbulence
-      }
-      
-      // Door avoidance as acceleration force (before velocity update)
-      if (isInDoorArea(x, y)) {
-        accelerationY += maxForce * 0.5f; // Apply upward force to avoid doors
-      }
-      
-      // Clamp total acceleration to prevent jittery movement at extreme parameter settings
-      float totalAcceleration = (float)Math.sqrt(accelerationX * accelerationX + accelerationY * accelerationY);
-      float maxAcceleration = maxForce * 3.0f; // Allow up to 3x maxForce for total acceleration
-      if (totalAcceleration > maxAcceleration) {
-        accelerationX = (accelerationX / totalAcceleration) * maxAcceleration;
-        accelerationY = (accelerationY / totalAcceleration) * maxAcceleration;
-      }
-      
-      // Update velocity
-      velocityX += accelerationX;
-      velocityY += accelerationY;
-      
-      // Limit speed (use base maxSpeed for consistent behavior)
-      float speed = (float)Math.sqrt(velocityX * velocityX + velocityY * velocityY);
-      if (speed > maxSpeed) {
-        velocityX = (velocityX / speed) * maxSpeed;
-        velocityY = (velocityY / speed) * maxSpeed;
-      }
-      
-      // Update position (apply both global speed parameter and individual speed variation)
-      float deltaSeconds = (float)(deltaMs * 0.001);
-      float speedMultiplier = Boids.this.speed.getValuef() * currentSpeedMultiplier;
-      x += velocityX * deltaSeconds * speedMultiplier;
-      y += velocityY * deltaSeconds * speedMultiplier;
-      
-      // Handle boundaries - wrap X, keep Y within extended bounds
-      x = (x + getRingLength()) % getRingLength();
-      
-      // Keep Y within extended bounds with gentle redirection
-      if (y < 0) {
-        y = 0;
-        velocityY = Math.abs(velocityY) * 0.5f;
-      }
-      if (y >= getRingHeight()) {
-        y = getRingHeight() - 1;
-        velocityY = -Math.abs(velocityY) * 0.5f;
-      }
-    }
-    
-    void updateSpeedVariation(double currentTime) {
-      // Pick a new target speed every 2-5 seconds
-      double timeSinceLastTarget = currentTime - lastSpeedTargetUpdate;
-      if (timeSinceLastTarget > LXUtils.randomf(2000, 5000)) {
-        // Choose a new target speed within range [0.7, 1.3]
-        targetSpeedMultiplier = LXUtils.randomf(0.7f, 1.3f);
-        lastSpeedTargetUpdate = currentTime;
-        
-        // Vary the interpolation rate for different boids (some change speed faster than others)
-        speedInterpolationRate = LXUtils.randomf(0.3f, 0.8f);
-      }
-      
-      // Smoothly interpolate current speed towards target
-      float speedDiff = targetSpeedMultiplier - currentSpeedMultiplier;
-      float maxChange = speedInterpolationRate * 0.01f; // Small increments for smooth transitions
-      
-      if (Math.abs(speedDiff) > maxChange) {
-        // Move towards target by maxChange amount
-        currentSpeedMultiplier += Math.signum(speedDiff) * maxChange;
-      } else {
-        // Close enough to target, snap to it
-        currentSpeedMultiplier = targetSpeedMultiplier;
-      }
-      
-      // Ensure we stay within bounds
-      currentSpeedMultiplier = Math.max(0.7f, Math.min(1.3f, currentSpeedMultiplier));
-    }
-    
-    // Helper method for proper wrap-around distance calculation
-    float[] getWrappedOffset(float x1, float y1, float x2, float y2) {
-      float dx = x1 - x2;
-      float dy = y1 - y2;
-      
-      // Handle X wrapping for ring topology - choose shortest path
-      if (Math.abs(dx) > getRingLength() / 2.0f) {
-        if (dx > 0) {
-          dx = dx - getRingLength();
-        } else {
-          dx = dx + getRingLength();
-        }
-      }
-      
-      // Y axis is linear with extended bounds - no wrapping
-      
-      return new float[]{dx, dy};
-    }
-    
-    float[] separateFromNearby(List<Boid> nearbyBoids) {
-      float desiredSeparation = 6.0f; // Increased separation to prevent clustering
-      float steerX = 0, steerY = 0;
-      int count = 0;
-      
-      for (Boid other : nearbyBoids) {
-        if (other == this) continue;
-        
-        float[] offset = getWrappedOffset(x, y, other.x, other.y);
-        float dx = offset[0];
-        float dy = offset[1];
-        
-        float distance = (float)Math.sqrt(dx * dx + dy * dy);
-        if (distance > 0 && distance < desiredSeparation) {
-          dx /= distance;
-          dy /= distance;
-          dx /= distance; // Weight by distance
-          dy /= distance;
-          steerX += dx;
-          steerY += dy;
-          count++;
-        }
-      }
-      
-      if (count > 0) {
-        steerX /= count;
-        steerY /= count;
-        
-        float mag = (float)Math.sqrt(steerX * steerX + steerY * steerY);
-        if (mag > 0) {
-          steerX = (steerX / mag) * maxSpeed - velocityX;
-          steerY = (steerY / mag) * maxSpeed - velocityY;
-          
-          float steerMag = (float)Math.sqrt(steerX * steerX + steerY * steerY);
-          if (steerMag > maxForce) {
-            steerX = (steerX / steerMag) * maxForce;
-            steerY = (steerY / steerMag) * maxForce;
-          }
-        }
-      }
-      
-      return new float[]{steerX, steerY};
-    }
-    
-    float[] alignWithNearby(List<Boid> nearbyBoids) {
-      float neighborDist = neighborRadius.getValuef();
-      float sumX = 0, sumY = 0;
-      int count = 0;
-      
-      for (Boid other : nearbyBoids) {
-        if (other == this) continue;
-        
-        float[] offset = getWrappedOffset(x, y, other.x, other.y);
-        float dx = offset[0];
-        float dy = offset[1];
-        
-        float distance = (float)Math.sqrt(dx * dx + dy * dy);
-        if (distance > 0 && distance < neighborDist) {
-          sumX += other.velocityX;
-          sumY += other.velocityY;
-          count++;
-        }
-      }
-      
-      if (count > 0) {
-        sumX /= count;
-        sumY /= count;
-        
-        float mag = (float)Math.sqrt(sumX * sumX + sumY * sumY);
-        if (mag > 0) {
-          sumX = (sumX / mag) * maxSpeed;
-          sumY = (sumY / mag) * maxSpeed;
-          
-          float steerX = sumX - velocityX;
-          float steerY = sumY - velocityY;
-          
-          float steerMag = (float)Math.sqrt(steerX * steerX + steerY * steerY);
-          if (steerMag > maxForce) {
-            steerX = (steerX / steerMag) * maxForce;
-            steerY = (steerY / steerMag) * maxForce;
-          }
-          
-          return new float[]{steerX, steerY};
-        }
-      }
-      
-      return new float[]{0, 0};
-    }
-    
-    float[] cohesionWithNearby(List<Boid> nearbyBoids) {
-      float neighborDist = neighborRadius.getValuef();
-      float sumX = 0, sumY = 0;
-      int count = 0;
-      
-      for (Boid other : nearbyBoids) {
-        if (other == this) continue;
-        
-        float[] offset = getWrappedOffset(x, y, other.x, other.y);
-        float distance = (float)Math.sqrt(offset[0] * offset[0] + offset[1] * offset[1]);
-        
-        if (distance > 0 && distance < neighborDist) {
-          sumX += other.x;
-          sumY += other.y;
-          count++;
-        }
-      }
-      
-      if (count > 0) {
-        sumX /= count;
-        sumY /= count;
-        
-        return seek(sumX, sumY);
-      }
-      
-      return new float[]{0, 0};
+    final float[] currentSpeedMultiplier;  // Current speed multiplier (0.7 to 1.3)
+    final float[] targetSpeedMultiplier;   // Target speed to interpolate towards
+    final double[] lastSpeedTargetUpdate;  // Time when we last picked a new target speed
+    final float[] speedInterpolationRate;  // How quickly we interpolate to target (0-1, higher = faster)
+
+    Flock(int capacity) {
+      super(capacity);
+      this.currentSpeedMultiplier = new float[capacity];
+      this.targetSpeedMultiplier = new float[capacity];
+      this.lastSpeedTargetUpdate = new double[capacity];
+      this.speedInterpolationRate = new float[capacity];
     }
-    
-    
-    float[] seek(float targetX, float targetY) {
-      float[] offset = getWrappedOffset(targetX, targetY, x, y);
-      float dx = offset[0];
-      float dy = offset[1];
-      
-      float distance = (float)Math.sqrt(dx * dx + dy * dy);
-      if (distance > 0) {
-        dx = (dx / distance) * maxSpeed;
-        dy = (dy / distance) * maxSpeed;
-        
-        float steerX = dx - velocityX;
-        float steerY = dy - velocityY;
-        
-        float steerMag = (float)Math.sqrt(steerX * steerX + steerY * steerY);
-        if (steerMag > maxForce) {
-          steerX = (steerX / steerMag) * maxForce;
-          steerY = (steerY / steerMag) * maxForce;
-        }
-        
-        return new float[]{steerX, steerY};
-      }
-      
-      return new float[]{0, 0};
+
+    @Override
+    protected void move(int from, int to) {
+      super.move(from, to);
+      this.currentSpeedMultiplier[to] = this.currentSpeedMultiplier[from];
+      this.targetSpeedMultiplier[to] = this.targetSpeedMultiplier[from];
+      this.lastSpeedTargetUpdate[to] = this.lastSpeedTargetUpdate[from];
+      this.speedInterpolationRate[to] = this.speedInterpolationRate[from];
     }
   }
 
-  // Spatial grid for performance optimization
-  private class SpatialGrid {
-    private final float cellSize;
+  // Uniform grid over the ring, rebuilt every frame by counting sort. Boid
+  // indices are stored sorted by cell in cellBoids, with cell c occupying
+  // [cellStart[c], cellStart[c+1]). Columns divide the ring length evenly
+  // so that neighbor lookups wrap exactly in X.
+  private static class SpatialGrid {
     private final int gridWidth;
     private final int gridHeight;
-    private final Map<Long, List<Boid>> grid;
-    
-    public SpatialGrid(float cellSize) {
-      this.cellSize = cellSize;
-      this.gridWidth = (int) Math.ceil(getRingLength() / cellSize);
-      this.gridHeight = (int) Math.ceil(getRingHeight() / cellSize);
-      this.grid = new HashMap<>();
+    private final float cellWidth;
+    private final float cellHeight;
+    private final int[] cellStart;
+    private final int[] cellCursor;
+    private final int[] cellBoids;
+    private final int[] boidCell;
+
+    SpatialGrid(float cellSize, int ringLength, int ringHeight, int capacity) {
+      this.gridWidth = Math.max(1, (int) (ringLength / cellSize));
+      this.gridHeight = Math.max(1, (int) Math.ceil(ringHeight / cellSize));
+      this.cellWidth = ringLength / (float) this.gridWidth;
+      this.cellHeight = cellSize;
+      this.cellStart = new int[this.gridWidth * this.gridHeight + 1];
+      this.cellCursor = new int[this.gridWidth * this.gridHeight];
+      this.cellBoids = new int[capacity];
+      this.boidCell = new int[capacity];
     }
-    
-    public void clear() {
-      for (List<Boid> cell : grid.values()) {
-        cell.clear();
-      }
+
+    int column(float x) {
+      int gx = (int) Math.floor(x / this.cellWidth) % this.gridWidth;
+      return (gx < 0) ? gx + this.gridWidth : gx;
     }
-    
-    public void addBoid(Boid boid) {
-      long key = getCellKey(boid.x, boid.y);
-      List<Boid> cell = grid.computeIfAbsent(key, k -> new ArrayList<>());
-      cell.add(boid);
+
+    int row(float y) {
+      int gy = (int) Math.floor(y / this.cellHeight);
+      return (gy < 0) ? 0 : (gy >= this.gridHeight) ? this.gridHeight - 1 : gy;
     }
-    
-    public List<Boid> getNearbyBoids(float x, float y, float radius) {
-      List<Boid> nearbyBoids = new ArrayList<>();
-      
-      int minGridX = (int) Math.floor((x - radius) / cellSize);
-      int maxGridX = (int) Math.ceil((x + radius) / cellSize);
-      int minGridY = Math.max(0, (int) Math.floor((y - radius) / cellSize));
-      int maxGridY = Math.min(gridHeight - 1, (int) Math.ceil((y + radius) / cellSize));
-      
-      for (int gx = minGridX; gx <= maxGridX; gx++) {
-        for (int gy = minGridY; gy <= maxGridY; gy++) {
-          // Handle X-axis wrapping for ring coordinates
-          int wrappedGx = ((gx % gridWidth) + gridWidth) % gridWidth;
-          long key = getKey(wrappedGx, gy);
-          
-          List<Boid> cell = grid.get(key);
-          if (cell != null) {
-            nearbyBoids.addAll(cell);
-          }
-        }
+
+    void build(ParticleSystem boids, int count) {
+      final int numCells = this.cellCursor.length;
+      Arrays.fill(this.cellStart, 0);
+      for (int i = 0; i < count; ++i) {
+        final int cell = row(boids.y[i]) * this.gridWidth + column(boids.x[i]);
+        this.boidCell[i] = cell;
+        ++this.cellStart[cell + 1];
+      }
+      for (int c = 0; c < numCells; ++c) {
+        this.cellStart[c + 1] += this.cellStart[c];
+        this.cellCursor[c] = this.cellStart[c];
+      }
+      for (int i = 0; i < count; ++i) {
+        this.cellBoids[this.cellCursor[this.boidCell[i]]++] = i;
       }
-      
-      return nearbyBoids;
-    }
-    
-    private long getCellKey(float x, float y) {
-      int gx = ((int) Math.floor(x / cellSize) % gridWidth + gridWidth) % gridWidth;
-      int gy = Math.max(0, Math.min(gridHeight - 1, (int) Math.floor(y / cellSize)));
-      return getKey(gx, gy);
-    }
-    
-    private long getKey(int gx, int gy) {
-      return ((long) gx << 32) | (gy & 0xffffffffL);
     }
   }
 
   // Boid management
-  private List<Boid> boids = new ArrayList<>();
+  private final Flock flock = new Flock(MAX_FLOCK);
   private int activeBoidCount = 0;  // Number of boids currently active based on density
   private double currentTime = 0;
   private SpatialGrid spatialGrid;
 
+  // Offscreen canvas for the current shape, decayed each frame for motion blur
+  private RingCanvas canvas = null;
+
+  // Steering output of steer(), avoids returning arrays from the force math
+  private float steerX, steerY;
+
+  // Snapshot slots of the parameters read for every boid
+  private final int speedSlot;
+  private final int separationSlot;
+  private final int alignmentSlot;
+  private final int cohesionSlot;
+  private final int neighborRadiusSlot;
+  private final int turbulenceSlot;
+  private final int brightnessSlot;
+
   public Boids(LX lx) {
     super(lx);
     addParameter("maxFlock", this.maxFlock);
@@ -476,41 +224,72 @@ public class Boids extends ApotheneumPattern implements UIDeviceControls<Boids>
     addParameter("blur", this.blur);
     addParameter("brightness", this.brightness);
     addParameter("shape", this.shape);
-    
+
+    this.speedSlot = this.snapshot.slot(this.speed);
+    this.separationSlot = this.snapshot.slot(this.separation);
+    this.alignmentSlot = this.snapshot.slot(this.alignment);
+    this.cohesionSlot = this.snapshot.slot(this.cohesion);
+    this.neighborRadiusSlot = this.snapshot.slot(this.neighborRadius);
+    this.turbulenceSlot = this.snapshot.slot(this.turbulence);
+    this.brightnessSlot = this.snapshot.slot(this.brightness);
+
     // Initialize spatial grid with cell size based on neighbor radius
     // Use the initial neighborRadius value to set up grid
     initializeSpatialGrid();
     updateBoidCount();
     updateActiveBoidCount();
   }
-  
+
   private void initializeSpatialGrid() {
-    // Use smaller cell size to ensure better spatial resolution for leader detection
-    float cellSize = Math.max(4.0f, neighborRadius.getValuef() * 0.75f);
-    spatialGrid = new SpatialGrid(cellSize);
+    // Cells at least as large as the interaction radius, so every neighbor
+    // lies within the 3x3 block of cells around a boid
+    float cellSize = Math.max(SEPARATION_DISTANCE, neighborRadius.getValuef());
+    spatialGrid = new SpatialGrid(cellSize, getRingLength(), getRingHeight(), MAX_FLOCK);
   }
-  
+
+  private void spawnBoid() {
+    final int i = flock.spawn();
+    if (i < 0) {
+      return;
+    }
+
+    // Random initial position across the extended logical space
+    flock.x[i] = (float) Math.random() * getRingLength();
+    flock.y[i] = LXUtils.randomf(0, getRingHeight()); // Use full extended height
+
+    // Random initial velocity for natural movement
+    float initAngle = (float) (Math.random() * 2 * Math.PI);
+    flock.vx[i] = (float) Math.cos(initAngle) * LXUtils.randomf(0.5f, 2.0f);
+    flock.vy[i] = (float) Math.sin(initAngle) * LXUtils.randomf(0.5f, 2.0f);
+
+    // Initialize individual speed variation for organic movement
+    flock.currentSpeedMultiplier[i] = LXUtils.randomf(0.85f, 1.15f);
+    flock.targetSpeedMultiplier[i] = flock.currentSpeedMultiplier[i];
+    flock.lastSpeedTargetUpdate[i] = 0;
+    flock.speedInterpolationRate[i] = 0.5f;
+  }
+
   private void updateBoidCount() {
     int targetCount = maxFlock.getValuei();
-    while (boids.size() < targetCount) {
-      boids.add(new Boid());
+    while (flock.size() < targetCount) {
+      spawnBoid();
     }
-    while (boids.size() > targetCount) {
-      boids.remove(boids.size() - 1);
+    while (flock.size() > targetCount) {
+      flock.remove(flock.size() - 1);
     }
     // After updating max count, also update active count
     updateActiveBoidCount();
   }
-  
+
   private void updateActiveBoidCount() {
     // Calculate how many boids should be active based on density percentage
     float densityPercent = flockDensity.getValuef() / 100.0f;
     activeBoidCount = Math.round(maxFlock.getValuei() * densityPercent);
-    // Ensure we don't exceed actual boid list size
-    activeBoidCount = Math.min(activeBoidCount, boids.size());
+    // Ensure we don't exceed actual boid count
+    activeBoidCount = Math.min(activeBoidCount, flock.size());
   }
-  
-  
+
+
   @Override
   public void onParameterChanged(heronarts.lx.parameter.LXParameter p) {
     super.onParameterChanged(p);
@@ -520,12 +299,13 @@ public class Boids extends ApotheneumPattern implements UIDeviceControls<Boids>
       // Reinitialize spatial grid when neighbor radius changes
       initializeSpatialGrid();
     } else if (p == shape) {
-      // Regenerate boids when switching shapes for immediate visual feedback
-      for (Boid boid : boids) {
-        boid.x = boid.x * getRingLength() / (shape.getValuei() == 0 ? Apotheneum.Cylinder.Ring.LENGTH : Apotheneum.Cube.Ring.LENGTH);
-        // Scale Y position maintaining the extended space proportion
-        float oldExtendedHeight = (shape.getValuei() == 0 ? Apotheneum.CYLINDER_HEIGHT : Apotheneum.GRID_HEIGHT) + 20;
-        boid.y = boid.y * getRingHeight() / oldExtendedHeight;
+      // Rescale boids when switching shapes for immediate visual feedback
+      float oldRingLength = (shape.getValuei() == 0 ? Apotheneum.Cylinder.Ring.LENGTH : Apotheneum.Cube.Ring.LENGTH);
+      // Scale Y position maintaining the extended space proportion
+      float oldExtendedHeight = (shape.getValuei() == 0 ? Apotheneum.CYLINDER_HEIGHT : Apotheneum.GRID_HEIGHT) + 20;
+      for (int i = 0; i < flock.size(); ++i) {
+        flock.x[i] = flock.x[i] * getRingLength() / oldRingLength;
+        flock.y[i] = flock.y[i] * getRingHeight() / oldExtendedHeight;
       }
       // Also reinitialize grid for new dimensions
       initializeSpatialGrid();
@@ -538,76 +318,274 @@ public class Boids extends ApotheneumPattern implements UIDeviceControls<Boids>
     // Apply motion blur decay based on blur parameter
     // When blur is 0, clear completely. When blur is 0.99, retain 99% of previous frame
     float blurAmount = blur.getValuef();
-    
-    // Debug: Print blur value occasionally
-    if ((int)(currentTime / 1000) % 5 == 0 && (int)(currentTime % 1000) < 50) {
-      System.out.println("Blur amount: " + blurAmount);
+
+    final RingCanvas.Shape canvasShape = RingCanvas.Shape.values()[shape.getValuei()];
+    if (canvas == null || canvas.shape != canvasShape) {
+      // Only the current shape is drawn, clear everything when switching
+      canvas = new RingCanvas(canvasShape).clear(LXColor.BLACK);
+      setApotheneumColor(LXColor.BLACK);
     }
-    
+
     if (blurAmount > 0.01f) {
       // Apply decay to create motion blur
-      for (int i = 0; i < colors.length; i++) {
-        int oldColor = colors[i];
-        colors[i] = LXColor.scaleBrightness(colors[i], blurAmount);
-        // Debug: Check if scaling is working on first few pixels
-        if (i < 3 && oldColor != colors[i] && oldColor != LXColor.BLACK) {
-          System.out.println("Pixel " + i + " scaled from " + Integer.toHexString(oldColor) + " to " + Integer.toHexString(colors[i]));
-        }
-      }
+      canvas.decay(blurAmount);
     } else {
       // No blur - clear the frame completely
-      setApotheneumColor(LXColor.BLACK);
+      canvas.clear(LXColor.BLACK);
     }
-    
+
     currentTime += deltaMs;
-    
+
     // Recalculate active boid count every frame to respond to density changes immediately
     updateActiveBoidCount();
-    
-    // Clear and populate spatial grid with only active boid positions
-    spatialGrid.clear();
-    for (int i = 0; i < activeBoidCount; i++) {
-      spatialGrid.addBoid(boids.get(i));
-    }
-    
+
+    // Sort active boid positions into the spatial grid
+    final SpatialGrid grid = this.spatialGrid;
+    grid.build(flock, activeBoidCount);
+
     // Update only active boids using spatial grid for neighbor finding
     for (int i = 0; i < activeBoidCount; i++) {
-      boids.get(i).updateWithSpatialGrid(deltaMs, spatialGrid);
+      updateBoid(i, deltaMs, grid);
     }
-    
+
     // Render only active boids
     for (int i = 0; i < activeBoidCount; i++) {
-      renderBoid(boids.get(i));
+      renderBoid(i);
     }
+
+    canvas.blit(colors);
   }
-  
-  private void renderBoid(Boid boid) {
+
+  private void updateBoid(int i, double deltaMs, SpatialGrid grid) {
+    // Update individual speed variation
+    updateSpeedVariation(i, currentTime);
+
+    final int ringLength = getRingLength();
+    final int ringHeight = getRingHeight();
+    final float halfLength = ringLength * .5f;
+    final float x = flock.x[i];
+    final float y = flock.y[i];
+    final float radius = this.snapshot.getf(this.neighborRadiusSlot);
+    final float radiusSq = radius * radius;
+    final float separationSq = SEPARATION_DISTANCE * SEPARATION_DISTANCE;
+
+    // Classic Boids: accumulate all three forces in a single pass over the
+    // 3x3 block of grid cells around this boid
+    float sepX = 0, sepY = 0;
+    int sepCount = 0;
+    float aliX = 0, aliY = 0;
+    float cohX = 0, cohY = 0;
+    int count = 0;
+
+    final int column = grid.column(x);
+    final int row = grid.row(y);
+    final int minRow = (row > 0) ? row - 1 : 0;
+    final int maxRow = (row < grid.gridHeight - 1) ? row + 1 : grid.gridHeight - 1;
+    final int numColumns = Math.min(3, grid.gridWidth);
+    for (int c = 0; c < numColumns; ++c) {
+      // Handle X-axis wrapping for ring coordinates
+      int gx = column - 1 + c;
+      if (gx < 0) {
+        gx += grid.gridWidth;
+      } else if (gx >= grid.gridWidth) {
+        gx -= grid.gridWidth;
+      }
+      for (int gy = minRow; gy <= maxRow; ++gy) {
+        final int cell = gy * grid.gridWidth + gx;
+        final int end = grid.cellStart[cell + 1];
+        for (int k = grid.cellStart[cell]; k < end; ++k) {
+          final int j = grid.cellBoids[k];
+          if (j == i) continue;
+
+          // Wrapped offset from the other boid, choosing the shortest path around the ring
+          float dx = x - flock.x[j];
+          if (dx > halfLength) {
+            dx -= ringLength;
+          } else if (dx < -halfLength) {
+            dx += ringLength;
+          }
+          final float dy = y - flock.y[j];
+          final float distanceSq = dx * dx + dy * dy;
+          if (distanceSq <= 0) continue;
+
+          if (distanceSq < separationSq) {
+            // Unit vector away from the other boid, weighted by inverse distance
+            sepX += dx / distanceSq;
+            sepY += dy / distanceSq;
+            sepCount++;
+          }
+          if (distanceSq < radiusSq) {
+            aliX += flock.vx[j];
+            aliY += flock.vy[j];
+            cohX -= dx;
+            cohY -= dy;
+            count++;
+          }
+        }
+      }
+    }
+
+    float accelerationX = 0;
+    float accelerationY = 0;
+
+    if (sepCount > 0 && steer(i, sepX, sepY)) {
+      final float separation = this.snapshot.getf(this.separationSlot);
+      accelerationX += steerX * separation;
+      accelerationY += steerY * separation;
+    }
+    if (count > 0) {
+      // Match the average heading of neighbors
+      if (steer(i, aliX, aliY)) {
+        final float alignment = this.snapshot.getf(this.alignmentSlot);
+        accelerationX += steerX * alignment;
+        accelerationY += steerY * alignment;
+      }
+      // Seek the average position of neighbors
+      if (steer(i, cohX, cohY)) {
+        final float cohesion = this.snapshot.getf(this.cohesionSlot);
+        accelerationX += steerX * cohesion;
+        accelerationY += steerY * cohesion;
+      }
+    }
+
+    // Add turbulence with extra vertical bias
+    final float turbulence = this.snapshot.getf(this.turbulenceSlot);
+    if (turbulence > 0) {
+      accelerationX += (Math.random() - 0.5) * turbulence * 1.5f;
+      accelerationY += (Math.random() - 0.5) * turbulence * 2.0f; // More vertical turbulence
+    }
+
+    // Door avoidance as acceleration force (before velocity update)
+    if (isInDoorArea(x, y)) {
+      accelerationY += MAX_FORCE * 0.5f; // Apply upward force to avoid doors
+    }
+
+    // Clamp total acceleration to prevent jittery movement at extreme parameter settings
+    float totalAcceleration = (float) Math.sqrt(accelerationX * accelerationX + accelerationY * accelerationY);
+    float maxAcceleration = MAX_FORCE * 3.0f; // Allow up to 3x maxForce for total acceleration
+    if (totalAcceleration > maxAcceleration) {
+      accelerationX = (accelerationX / totalAcceleration) * maxAcceleration;
+      accelerationY = (accelerationY / totalAcceleration) * maxAcceleration;
+    }
+
+    // Update velocity
+    float velocityX = flock.vx[i] + accelerationX;
+    float velocityY = flock.vy[i] + accelerationY;
+
+    // Limit speed (use base maxSpeed for consistent behavior)
+    float speed = (float) Math.sqrt(velocityX * velocityX + velocityY * velocityY);
+    if (speed > MAX_SPEED) {
+      velocityX = (velocityX / speed) * MAX_SPEED;
+      velocityY = (velocityY / speed) * MAX_SPEED;
+    }
+
+    // Update position (apply both global speed parameter and individual speed variation)
+    float deltaSeconds = (float) (deltaMs * 0.001);
+    float speedMultiplier = this.snapshot.getf(this.speedSlot) * flock.currentSpeedMultiplier[i];
+    float newX = x + velocityX * deltaSeconds * speedMultiplier;
+    float newY = y + velocityY * deltaSeconds * speedMultiplier;
+
+    // Handle boundaries - wrap X, keep Y within extended bounds
+    newX = (newX + ringLength) % ringLength;
+
+    // Keep Y within extended bounds with gentle redirection
+    if (newY < 0) {
+      newY = 0;
+      velocityY = Math.abs(velocityY) * 0.5f;
+    }
+    if (newY >= ringHeight) {
+      newY = ringHeight - 1;
+      velocityY = -Math.abs(velocityY) * 0.5f;
+    }
+
+    flock.x[i] = newX;
+    flock.y[i] = newY;
+    flock.vx[i] = velocityX;
+    flock.vy[i] = velocityY;
+  }
+
+  /**
+   * Computes the steering force toward a desired direction at full speed,
+   * limited to the maximum force. The result is left in steerX and steerY.
+   *
+   * @return false if the desired direction has no magnitude
+   */
+  private boolean steer(int i, float desiredX, float desiredY) {
+    float mag = (float) Math.sqrt(desiredX * desiredX + desiredY * desiredY);
+    if (mag <= 0) {
+      return false;
+    }
+    float sx = (desiredX / mag) * MAX_SPEED - flock.vx[i];
+    float sy = (desiredY / mag) * MAX_SPEED - flock.vy[i];
+
+    float steerMag = (float) Math.sqrt(sx * sx + sy * sy);
+    if (steerMag > MAX_FORCE) {
+      sx = (sx / steerMag) * MAX_FORCE;
+      sy = (sy / steerMag) * MAX_FORCE;
+    }
+    this.steerX = sx;
+    this.steerY = sy;
+    return true;
+  }
+
+  private void updateSpeedVariation(int i, double currentTime) {
+    // Pick a new target speed every 2-5 seconds
+    double timeSinceLastTarget = currentTime - flock.lastSpeedTargetUpdate[i];
+    if (timeSinceLastTarget > LXUtils.randomf(2000, 5000)) {
+      // Choose a new target speed within range [0.7, 1.3]
+      flock.targetSpeedMultiplier[i] = LXUtils.randomf(0.7f, 1.3f);
+      flock.lastSpeedTargetUpdate[i] = currentTime;
+
+      // Vary the interpolation rate for different boids (some change speed faster than others)
+      flock.speedInterpolationRate[i] = LXUtils.randomf(0.3f, 0.8f);
+    }
+
+    // Smoothly interpolate current speed towards target
+    float current = flock.currentSpeedMultiplier[i];
+    float speedDiff = flock.targetSpeedMultiplier[i] - current;
+    float maxChange = flock.speedInterpolationRate[i] * 0.01f; // Small increments for smooth transitions
+
+    if (Math.abs(speedDiff) > maxChange) {
+      // Move towards target by maxChange amount
+      current += Math.signum(speedDiff) * maxChange;
+    } else {
+      // Close enough to target, snap to it
+      current = flock.targetSpeedMultiplier[i];
+    }
+
+    // Ensure we stay within bounds
+    flock.currentSpeedMultiplier[i] = Math.max(0.7f, Math.min(1.3f, current));
+  }
+
+  private void renderBoid(int i) {
     // Render with anti-aliasing across neighboring pixels
     // This reduces the jittery appearance by distributing the boid across multiple pixels
-    int baseX = (int) Math.floor(boid.x);
-    int baseY = (int) Math.floor(boid.y);
-    
+    final float x = flock.x[i];
+    final float y = flock.y[i];
+    int baseX = (int) Math.floor(x);
+    int baseY = (int) Math.floor(y);
+
     // Get fractional parts for interpolation
-    float fracX = boid.x - baseX;
-    float fracY = boid.y - baseY;
-    
+    float fracX = x - baseX;
+    float fracY = y - baseY;
+
     // Calculate brightness for each of the 4 neighboring pixels using bilinear interpolation
     // Top-left pixel
     float brightness00 = (1 - fracX) * (1 - fracY);
-    // Top-right pixel  
+    // Top-right pixel
     float brightness10 = fracX * (1 - fracY);
     // Bottom-left pixel
     float brightness01 = (1 - fracX) * fracY;
     // Bottom-right pixel
     float brightness11 = fracX * fracY;
-    
+
     // Render to 4 neighboring pixels with interpolated brightness (all white, varying intensity)
     setPixelOnShapeWithBrightness(baseX, baseY, brightness00);
     setPixelOnShapeWithBrightness(baseX + 1, baseY, brightness10);
     setPixelOnShapeWithBrightness(baseX, baseY + 1, brightness01);
     setPixelOnShapeWithBrightness(baseX + 1, baseY + 1, brightness11);
   }
-  
+
   private void setPixelOnShapeWithBrightness(int ringX, int ringY, float brightness) {
     // Skip if brightness is too low to be visible
     if (brightness < 0.01f) return;
@@ -618,103 +596,22 @@ public class Boids extends ApotheneumPattern implements UIDeviceControls<Boids>
     }
     
     // Apply brightness multiplier from parameter
-    float adjustedBrightness = brightness * this.brightness.getValuef();
+    float adjustedBrightness = brightness * this.snapshot.getf(this.brightnessSlot);
     
     // Create white color with scaled brightness (clamped to 100)
     int color = LXColor.gray(Math.min(100f, adjustedBrightness * 100));
     
-    if (shape.getValuei() == 0) {
-      // Cube rendering
-      setPixelOnRingAdditive(Apotheneum.cube.exterior.ring(ringY), ringX, color);
-      setPixelOnRingAdditive(Apotheneum.cube.interior.ring(ringY), ringX, color);
-    } else {
-      // Cylinder rendering
-      setPixelOnRingAdditive(Apotheneum.cylinder.exterior.ring(ringY), ringX, color);
-      setPixelOnRingAdditive(Apotheneum.cylinder.interior.ring(ringY), ringX, color);
-    }
+    canvas.add(ringX, ringY, color);
   }
-  
-  private void setPixelOnShape(float ringX, float ringY, int color) {
-    int ringIndex = (int) Math.round(ringY);
-    int pointIndex = (int) Math.round(ringX);
-    
-    if (shape.getValuei() == 0) {
-      // Cube rendering
-      if (ringIndex >= 0 && ringIndex < Apotheneum.GRID_HEIGHT) {
-        setPixelOnRing(Apotheneum.cube.exterior.ring(ringIndex), pointIndex, color);
-        setPixelOnRing(Apotheneum.cube.interior.ring(ringIndex), pointIndex, color);
-      }
-    } else {
-      // Cylinder rendering
-      if (ringIndex >= 0 && ringIndex < Apotheneum.CYLINDER_HEIGHT) {
-        setPixelOnRing(Apotheneum.cylinder.exterior.ring(ringIndex), pointIndex, color);
-        setPixelOnRing(Apotheneum.cylinder.interior.ring(ringIndex), pointIndex, color);
-      }
-    }
-  }
-  
-  private void setPixelOnRing(Apotheneum.Ring ring, int pointIndex, int color) {
-    if (ring != null && ring.points.length > 0) {
-      int wrappedIndex = ((pointIndex % ring.points.length) + ring.points.length) % ring.points.length;
-      colors[ring.points[wrappedIndex].index] = color;
-    }
-  }
-  
-  private void setPixelOnRingAdditive(Apotheneum.Ring ring, int pointIndex, int color) {
-    if (ring != null && ring.points.length > 0) {
-      int wrappedIndex = ((pointIndex % ring.points.length) + ring.points.length) % ring.points.length;
-      int pixelIndex = ring.points[wrappedIndex].index;
-      
-      // Additively blend the new color with existing color
-      int existingColor = colors[pixelIndex];
-      float existingBrightness = LXColor.luminosity(existingColor);
-      float newBrightness = LXColor.luminosity(color);
-      
-      // Add brightnesses and clamp to 100
-      float combinedBrightness = Math.min(100f, existingBrightness + newBrightness);
-      
-      // Set as white with combined brightness
-      colors[pixelIndex] = LXColor.gray(combinedBrightness);
-    }
-  }
-  
+
   private boolean isInDoorArea(float ringX, float ringY) {
-    int ringIndex = (int) Math.round(ringY);
-    int physicalHeight = getPhysicalRingHeight();
-    int ringLength = getRingLength();
-    
-    if (ringIndex < 0 || ringIndex >= physicalHeight) {
+    if (!Apotheneum.exists) {
       return false;
     }
-    
-    // Check if at bottom where doors are
-    if (ringIndex >= physicalHeight - Apotheneum.DOOR_HEIGHT) {
-      int ringPos = (int) Math.round(ringX);
-      int wrappedPos = ((ringPos % ringLength) + ringLength) % ringLength;
-      
-      if (shape.getValuei() == 0) {
-        // Cube door detection
-        for (int face = 0; face < 4; face++) {
-          int faceStart = face * Apotheneum.GRID_WIDTH;
-          int doorStart = faceStart + Apotheneum.Cube.DOOR_START_COLUMN;
-          int doorEnd = doorStart + Apotheneum.DOOR_WIDTH - 1;
-          
-          if (wrappedPos >= doorStart && wrappedPos <= doorEnd) {
-            return true;
-          }
-        }
-      } else {
-        // Cylinder door detection
-        int doorStart = Apotheneum.Cylinder.DOOR_START_COLUMN;
-        int doorEnd = doorStart + Apotheneum.DOOR_WIDTH - 1;
-        int posInCycle = wrappedPos % (Apotheneum.Cylinder.Ring.LENGTH / 4);
-        if (posInCycle >= doorStart && posInCycle <= doorEnd) {
-          return true;
-        }
-      }
-    }
-    
-    return false;
+    int ringLength = getRingLength();
+    int wrappedPos = ((Math.round(ringX) % ringLength) + ringLength) % ringLength;
+    Apotheneum.Orientation orientation = (shape.getValuei() == 0) ? Apotheneum.cube.exterior : Apotheneum.cylinder.exterior;
+    return orientation.isDoor(wrappedPos, Math.round(ringY));
   }
 
   @Override
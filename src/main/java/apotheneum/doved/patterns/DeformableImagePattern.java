@@ -37,7 +37,7 @@ public class DeformableImagePattern extends LXPattern {
   }
 
   protected void run(double deltaMs) {
-    this.image.animateGif(deltaMs);
+    this.image.advance(deltaMs);
     this.image.render(this.model, this.colors);
   }
 
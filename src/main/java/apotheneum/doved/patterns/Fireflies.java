@@ -2,6 +2,8 @@ package apotheneum.doved.patterns;
 
 import apotheneum.Apotheneum;
 import apotheneum.ApotheneumPattern;
+import apotheneum.ParticleSystem;
+import apotheneum.RingCanvas;
 import heronarts.lx.LX;
 import heronarts.lx.LXCategory;
 import heronarts.lx.LXComponentName;
@@ -11,9 +13,6 @@ import heronarts.lx.studio.ui.device.UIDeviceControls;
 import heronarts.lx.parameter.CompoundParameter;
 import heronarts.lx.parameter.DiscreteParameter;
 import heronarts.lx.parameter.TriggerParameter;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
 
 @LXCategory("Apotheneum/doved")
 @LXComponentName("Fireflies")
@@ -40,162 +39,177 @@ public class Fireflies extends ApotheneumPattern implements UIDeviceControls<Fir
   private static final float PULSE_DEPTH = 0.8f; // Deeper oscillation
   private static final float WANDER_STRENGTH = 0.7f;
   private static final int SHAPE_BOTH = 2; // Both cube and cylinder
-  private static final int SURFACE_BOTH = 2; // Both exterior and interior
+  private static final int MAX_FIREFLIES = 200; // Upper bound of the Quantity knob
 
   public final TriggerParameter clearAll = new TriggerParameter("Clear", this::clearAllFireflies)
       .setDescription("Clear all fireflies");
 
   // Internal state
-  private final List<Firefly> fireflies = new ArrayList<>();
-  private double currentTime = 0;
+  private final Swarm fireflies = new Swarm();
 
-  // Firefly inner class
-  private class Firefly {
-    // Position in ring coordinates
-    float ringX, ringY;
+  // Offscreen canvases for each shape, blitted to both surfaces
+  private final RingCanvas cubeCanvas = new RingCanvas(RingCanvas.Shape.CUBE);
+  private final RingCanvas cylinderCanvas = new RingCanvas(RingCanvas.Shape.CYLINDER);
 
-    // Movement
-    float direction;
-    float speed;
+  // Firefly state, x/y are ring coordinates and age/lifespan are in ms
+  private static class Swarm extends ParticleSystem {
 
-    // Lifecycle
-    double birthTime;
-    double lifespan;
+    // Movement
+    final float[] direction = new float[this.capacity];
+    final float[] speed = new float[this.capacity];
 
     // Glow animation
-    double glowPhase;
-    float glowSpeed;
-    float baseIntensity; // Individual firefly brightness
+    final float[] glowPhase = new float[this.capacity];
+    final float[] glowSpeed = new float[this.capacity];
+    final float[] baseIntensity = new float[this.capacity]; // Individual firefly brightness
 
     // Which shape this firefly is on (0=cube, 1=cylinder)
-    int shapeType;
-
-    Firefly(double currentTime) {
-      this.birthTime = currentTime;
-
-      // Lifespan is now calculated above based on speed
-
-      // Choose shape based on current setting
-      // Always use both shapes
-      this.shapeType = Math.random() < 0.5 ? 0 : 1; // Randomly choose cube or cylinder
-
-      // Get dimensions for chosen shape
-      int ringLength = (shapeType == 0) ? Apotheneum.Cube.Ring.LENGTH : Apotheneum.Cylinder.Ring.LENGTH;
-      int ringHeight = (shapeType == 0) ? Apotheneum.GRID_HEIGHT : Apotheneum.CYLINDER_HEIGHT;
-
-      // Random starting position, avoiding door areas
-      do {
-        this.ringX = (float) (Math.random() * ringLength);
-        this.ringY = (float) (Math.random() * ringHeight);
-      } while (isInDoorArea(ringX, ringY, shapeType));
-
-      // Random initial direction - favor horizontal movement
-      // Bias toward horizontal angles (±30 degrees from horizontal)
-      float baseAngle = (Math.random() < 0.5) ? 0 : (float) Math.PI; // Left or right
-      this.direction = baseAngle + (float) ((Math.random() - 0.5) * Math.PI / 3); // ±30 degrees
-
-      // Speed with individual variation - slower max speeds
-      // Use exponential distribution for more interesting speed variety
-      float speedMultiplier = (float) Math.pow(Math.random(), 0.5); // Bias toward slower speeds
-      speedMultiplier = speedMultiplier * SPEED_VARIATION + 0.3f; // Range: 0.3 to 1.3x base speed
-      this.speed = MOVE_SPEED * speedMultiplier;
-      
-      // Faster fireflies live shorter lives (more realistic)
-      float speedLifespanFactor = 1.5f - speedMultiplier; // Faster = shorter life
-      double minLife = LIFESPAN_MIN * 1000 * speedLifespanFactor; // Convert to ms
-      double maxLife = LIFESPAN_MAX * 1000 * speedLifespanFactor;
-      this.lifespan = minLife + Math.random() * (maxLife - minLife);
-
-      // Random glow phase and speed
-      this.glowPhase = Math.random() * 2 * Math.PI;
-      this.glowSpeed = 0.5f + (float) (Math.random() * 2.5); // 50-300% of base rate for rapid flash changes
-
-      // Individual brightness variation (40-100% of base intensity)
-      this.baseIntensity = 0.4f + (float) (Math.random() * 0.6);
-    }
+    final int[] shapeType = new int[this.capacity];
 
-    void update(double deltaMs) {
-      // Update glow phase
-      glowPhase += deltaMs * 0.001 * PULSE_RATE * glowSpeed;
+    Swarm() {
+      super(MAX_FIREFLIES);
+    }
 
-      // Update position with wandering movement - realistic speed for 40ft cube
-      float moveAmount = (float) (speed * deltaMs * 0.025); // Faster, more dynamic movement
+    @Override
+    protected void move(int from, int to) {
+      super.move(from, to);
+      this.direction[to] = this.direction[from];
+      this.speed[to] = this.speed[from];
+      this.glowPhase[to] = this.glowPhase[from];
+      this.glowSpeed[to] = this.glowSpeed[from];
+      this.baseIntensity[to] = this.baseIntensity[from];
+      this.shapeType[to] = this.shapeType[from];
+    }
+  }
 
-      // Add random wandering to direction - keep horizontal bias
-      float wander = (float) (WANDER_STRENGTH * (Math.random() - 0.5) * 0.3);
-      direction += wander;
+  private void spawnFirefly() {
+    final Swarm f = this.fireflies;
+    final int i = f.spawn();
+    if (i < 0) {
+      return;
+    }
 
-      // Gently bias back toward horizontal if getting too vertical
-      float verticalComponent = (float) Math.sin(direction);
-      if (Math.abs(verticalComponent) > 0.6f) { // If angle is more than ~35 degrees from horizontal
-        // Nudge back toward horizontal
-        float horizontalBias = -verticalComponent * 0.02f;
-        direction += horizontalBias;
-      }
+    // Choose shape based on current setting
+    // Always use both shapes
+    f.shapeType[i] = Math.random() < 0.5 ? 0 : 1; // Randomly choose cube or cylinder
+
+    // Get dimensions for chosen shape
+    int ringLength = (f.shapeType[i] == 0) ? Apotheneum.Cube.Ring.LENGTH : Apotheneum.Cylinder.Ring.LENGTH;
+    int ringHeight = (f.shapeType[i] == 0) ? Apotheneum.GRID_HEIGHT : Apotheneum.CYLINDER_HEIGHT;
+
+    // Random starting position, avoiding door areas
+    do {
+      f.x[i] = (float) (Math.random() * ringLength);
+      f.y[i] = (float) (Math.random() * ringHeight);
+    } while (isInDoorArea(f.x[i], f.y[i], f.shapeType[i]));
+
+    // Random initial direction - favor horizontal movement
+    // Bias toward horizontal angles (±30 degrees from horizontal)
+    float baseAngle = (Math.random() < 0.5) ? 0 : (float) Math.PI; // Left or right
+    f.direction[i] = baseAngle + (float) ((Math.random() - 0.5) * Math.PI / 3); // ±30 degrees
+
+    // Speed with individual variation - slower max speeds
+    // Use exponential distribution for more interesting speed variety
+    float speedMultiplier = (float) Math.pow(Math.random(), 0.5); // Bias toward slower speeds
+    speedMultiplier = speedMultiplier * SPEED_VARIATION + 0.3f; // Range: 0.3 to 1.3x base speed
+    f.speed[i] = MOVE_SPEED * speedMultiplier;
+
+    // Faster fireflies live shorter lives (more realistic)
+    float speedLifespanFactor = 1.5f - speedMultiplier; // Faster = shorter life
+    double minLife = LIFESPAN_MIN * 1000 * speedLifespanFactor; // Convert to ms
+    double maxLife = LIFESPAN_MAX * 1000 * speedLifespanFactor;
+    f.lifespan[i] = (float) (minLife + Math.random() * (maxLife - minLife));
+
+    // Random glow phase and speed
+    f.glowPhase[i] = (float) (Math.random() * 2 * Math.PI);
+    f.glowSpeed[i] = 0.5f + (float) (Math.random() * 2.5); // 50-300% of base rate for rapid flash changes
+
+    // Individual brightness variation (40-100% of base intensity)
+    f.baseIntensity[i] = 0.4f + (float) (Math.random() * 0.6);
+  }
 
-      // Calculate new position
-      float newX = ringX + (float) Math.cos(direction) * moveAmount;
-      float newY = ringY + (float) Math.sin(direction) * moveAmount;
+  private void updateFirefly(int i, double deltaMs) {
+    final Swarm f = this.fireflies;
 
-      // Get dimensions for this firefly's shape
-      int ringLength = (shapeType == 0) ? Apotheneum.Cube.Ring.LENGTH : Apotheneum.Cylinder.Ring.LENGTH;
-      int ringHeight = (shapeType == 0) ? Apotheneum.GRID_HEIGHT : Apotheneum.CYLINDER_HEIGHT;
+    // Update glow phase
+    f.glowPhase[i] += deltaMs * 0.001 * PULSE_RATE * f.glowSpeed[i];
 
-      // Wrap X coordinate around ring
-      newX = (newX + ringLength) % ringLength;
+    // Update position with wandering movement - realistic speed for 40ft cube
+    float moveAmount = (float) (f.speed[i] * deltaMs * 0.025); // Faster, more dynamic movement
 
-      // Bounce Y at boundaries
-      if (newY < 0 || newY >= ringHeight) {
-        direction = -direction; // Reverse vertical component
-        newY = Math.max(0, Math.min(ringHeight - 1, newY));
-      }
+    // Add random wandering to direction - keep horizontal bias
+    float wander = (float) (WANDER_STRENGTH * (Math.random() - 0.5) * 0.3);
+    f.direction[i] += wander;
 
-      // Check for door collision and redirect if needed
-      if (isInDoorArea(newX, newY, shapeType)) {
-        // Redirect upward to avoid door
-        direction = (float) (-Math.PI / 2 + (Math.random() - 0.5) * 0.5);
-      } else {
-        // Update position if valid
-        ringX = newX;
-        ringY = newY;
-      }
+    // Gently bias back toward horizontal if getting too vertical
+    float verticalComponent = (float) Math.sin(f.direction[i]);
+    if (Math.abs(verticalComponent) > 0.6f) { // If angle is more than ~35 degrees from horizontal
+      // Nudge back toward horizontal
+      float horizontalBias = -verticalComponent * 0.02f;
+      f.direction[i] += horizontalBias;
     }
 
-    float getBrightness() {
-      // Calculate age-based fade
-      double age = currentTime - birthTime;
-      float ageFade;
-
-      if (age < 1000) {
-        // Fade in during first second
-        ageFade = (float) (age / 1000.0);
-      } else if (age > lifespan - 2000) {
-        // Fade out during last 2 seconds
-        ageFade = (float) ((lifespan - age) / 2000.0);
-        ageFade = Math.max(0, ageFade);
-      } else {
-        // Full brightness in between
-        ageFade = 1.0f;
-      }
+    // Calculate new position
+    float newX = f.x[i] + (float) Math.cos(f.direction[i]) * moveAmount;
+    float newY = f.y[i] + (float) Math.sin(f.direction[i]) * moveAmount;
 
-      // Calculate pulse with more dramatic oscillation (oscillates between 0 and 1)
-      float pulseValue = (float) (0.5 + 0.5 * Math.sin(glowPhase));
+    // Get dimensions for this firefly's shape
+    int ringLength = (f.shapeType[i] == 0) ? Apotheneum.Cube.Ring.LENGTH : Apotheneum.Cylinder.Ring.LENGTH;
+    int ringHeight = (f.shapeType[i] == 0) ? Apotheneum.GRID_HEIGHT : Apotheneum.CYLINDER_HEIGHT;
 
-      // Add secondary slower oscillation for more organic feel
-      float slowPulse = (float) (0.5 + 0.5 * Math.sin(glowPhase * 0.3));
-      float combinedPulse = (pulseValue + slowPulse) * 0.5f;
+    // Wrap X coordinate around ring
+    newX = (newX + ringLength) % ringLength;
 
-      // Apply pulse depth (0 = no pulse, 1 = full pulse) - now with combined
-      // oscillation
-      float pulsedBrightness = 1.0f - PULSE_DEPTH + PULSE_DEPTH * combinedPulse;
+    // Bounce Y at boundaries
+    if (newY < 0 || newY >= ringHeight) {
+      f.direction[i] = -f.direction[i]; // Reverse vertical component
+      newY = Math.max(0, Math.min(ringHeight - 1, newY));
+    }
 
-      // Combine age fade, pulse, base intensity, and global intensity
-      return ageFade * pulsedBrightness * baseIntensity * GLOW_INTENSITY;
+    // Check for door collision and redirect if needed
+    if (isInDoorArea(newX, newY, f.shapeType[i])) {
+      // Redirect upward to avoid door
+      f.direction[i] = (float) (-Math.PI / 2 + (Math.random() - 0.5) * 0.5);
+    } else {
+      // Update position if valid
+      f.x[i] = newX;
+      f.y[i] = newY;
     }
+  }
 
-    boolean isDead() {
-      return (currentTime - birthTime) > lifespan;
+  private float getBrightness(int i) {
+    final Swarm f = this.fireflies;
+
+    // Calculate age-based fade
+    double age = f.age[i];
+    double lifespan = f.lifespan[i];
+    float ageFade;
+
+    if (age < 1000) {
+      // Fade in during first second
+      ageFade = (float) (age / 1000.0);
+    } else if (age > lifespan - 2000) {
+      // Fade out during last 2 seconds
+      ageFade = (float) ((lifespan - age) / 2000.0);
+      ageFade = Math.max(0, ageFade);
+    } else {
+      // Full brightness in between
+      ageFade = 1.0f;
     }
+
+    // Calculate pulse with more dramatic oscillation (oscillates between 0 and 1)
+    float pulseValue = (float) (0.5 + 0.5 * Math.sin(f.glowPhase[i]));
+
+    // Add secondary slower oscillation for more organic feel
+    float slowPulse = (float) (0.5 + 0.5 * Math.sin(f.glowPhase[i] * 0.3));
+    float combinedPulse = (pulseValue + slowPulse) * 0.5f;
+
+    // Apply pulse depth (0 = no pulse, 1 = full pulse) - now with combined
+    // oscillation
+    float pulsedBrightness = 1.0f - PULSE_DEPTH + PULSE_DEPTH * combinedPulse;
+
+    // Combine age fade, pulse, base intensity, and global intensity
+    return ageFade * pulsedBrightness * f.baseIntensity[i] * GLOW_INTENSITY;
   }
 
   public Fireflies(LX lx) {
@@ -214,16 +228,20 @@ public class Fireflies extends ApotheneumPattern implements UIDeviceControls<Fir
     }
 
     // Clear the display
-    setApotheneumColor(0);
+    cubeCanvas.clear();
+    cylinderCanvas.clear();
 
-    // Update time
-    currentTime += deltaMs;
+    // Age existing fireflies
+    fireflies.advanceAge((float) deltaMs);
 
     // Spawn new fireflies
     spawnFireflies();
 
     // Update and render fireflies
     updateAndRenderFireflies(deltaMs);
+
+    cubeCanvas.blit(colors);
+    cylinderCanvas.blit(colors);
   }
 
   private void spawnFireflies() {
@@ -240,34 +258,31 @@ public class Fireflies extends ApotheneumPattern implements UIDeviceControls<Fir
 
       for (int i = 0; i < spawnAttempts && fireflies.size() < targetCount; i++) {
         if (Math.random() < 0.8) { // 80% chance per attempt to actually spawn
-          fireflies.add(new Firefly(currentTime));
+          spawnFirefly();
         }
       }
     }
   }
 
   private void updateAndRenderFireflies(double deltaMs) {
-    // Use iterator for safe removal while iterating
-    Iterator<Firefly> it = fireflies.iterator();
-    while (it.hasNext()) {
-      Firefly firefly = it.next();
-
+    // Iterate backwards, removal swaps the last firefly into this slot
+    for (int i = fireflies.size() - 1; i >= 0; i--) {
       // Remove dead fireflies
-      if (firefly.isDead()) {
-        it.remove();
+      if (fireflies.isExpired(i)) {
+        fireflies.remove(i);
         continue;
       }
 
       // Update firefly
-      firefly.update(deltaMs);
+      updateFirefly(i, deltaMs);
 
       // Render firefly
-      renderFirefly(firefly);
+      renderFirefly(i);
     }
   }
 
-  private void renderFirefly(Firefly firefly) {
-    float brightness = firefly.getBrightness();
+  private void renderFirefly(int i) {
+    float brightness = getBrightness(i);
     if (brightness <= 0)
       return;
 
@@ -278,7 +293,7 @@ public class Fireflies extends ApotheneumPattern implements UIDeviceControls<Fir
 
     // Render the glow
     float radius = (float) glowRadius.getValue();
-    renderGlow(firefly.ringX, firefly.ringY, color, radius, firefly.shapeType);
+    renderGlow(fireflies.x[i], fireflies.y[i], color, radius, fireflies.shapeType[i]);
   }
 
   private void renderGlow(float centerX, float centerY, int centerColor, float radius, int shapeType) {
@@ -317,102 +332,22 @@ public class Fireflies extends ApotheneumPattern implements UIDeviceControls<Fir
   }
 
   private void setPixelOnShape(float ringX, float ringY, int color, int shapeType) {
-    int ringIndex = (int) Math.round(ringY);
-    int pointIndex = (int) Math.round(ringX);
-
-    int surfaceMode = SURFACE_BOTH; // Always render on both surfaces
+    int ringIndex = Math.round(ringY);
+    int pointIndex = Math.round(ringX);
 
-    if (shapeType == 0) {
-      // Cube rendering
-      if (ringIndex >= 0 && ringIndex < Apotheneum.GRID_HEIGHT) {
-        // 0=Exterior, 1=Interior, 2=Both
-        if (surfaceMode == 0 || surfaceMode == 2) {
-          setPixelOnRing(Apotheneum.cube.exterior.ring(ringIndex), pointIndex, color);
-        }
-        if (surfaceMode == 1 || surfaceMode == 2) {
-          setPixelOnRing(Apotheneum.cube.interior.ring(ringIndex), pointIndex, color);
-        }
-      }
-    } else {
-      // Cylinder rendering
-      if (ringIndex >= 0 && ringIndex < Apotheneum.CYLINDER_HEIGHT) {
-        // 0=Exterior, 1=Interior, 2=Both
-        if (surfaceMode == 0 || surfaceMode == 2) {
-          setPixelOnRing(Apotheneum.cylinder.exterior.ring(ringIndex), pointIndex, color);
-        }
-        if (surfaceMode == 1 || surfaceMode == 2) {
-          setPixelOnRing(Apotheneum.cylinder.interior.ring(ringIndex), pointIndex, color);
-        }
-      }
-    }
-  }
-
-  private void setPixelOnRing(Apotheneum.Ring ring, int pointIndex, int color) {
-    if (ring != null && ring.points.length > 0) {
-      int wrappedIndex = ((pointIndex % ring.points.length) + ring.points.length) % ring.points.length;
-      // Use additive blending for overlapping glows
-      int existingColor = colors[ring.points[wrappedIndex].index];
-      colors[ring.points[wrappedIndex].index] = blendColors(existingColor, color);
-    }
-  }
-
-  private int blendColors(int existing, int newColor) {
-    // Extract components
-    int existingR = (existing >> 16) & 0xFF;
-    int existingG = (existing >> 8) & 0xFF;
-    int existingB = existing & 0xFF;
-
-    int newR = (newColor >> 16) & 0xFF;
-    int newG = (newColor >> 8) & 0xFF;
-    int newB = newColor & 0xFF;
-
-    // Additive blend with clamping
-    int blendedR = Math.min(255, existingR + newR);
-    int blendedG = Math.min(255, existingG + newG);
-    int blendedB = Math.min(255, existingB + newB);
-
-    return 0xFF000000 | (blendedR << 16) | (blendedG << 8) | blendedB;
+    // Use additive blending for overlapping glows
+    RingCanvas canvas = (shapeType == 0) ? cubeCanvas : cylinderCanvas;
+    canvas.add(pointIndex, ringIndex, color);
   }
 
   private boolean isInDoorArea(float ringX, float ringY, int shapeType) {
-    int ringIndex = (int) Math.round(ringY);
-    int ringHeight = (shapeType == 0) ? Apotheneum.GRID_HEIGHT : Apotheneum.CYLINDER_HEIGHT;
-    int ringLength = (shapeType == 0) ? Apotheneum.Cube.Ring.LENGTH : Apotheneum.Cylinder.Ring.LENGTH;
-
-    if (ringIndex < 0 || ringIndex >= ringHeight) {
+    if (!Apotheneum.exists) {
       return false;
     }
-
-    // Check if at the bottom where doors are
-    if (ringIndex >= ringHeight - Apotheneum.DOOR_HEIGHT) {
-      int ringPos = (int) Math.round(ringX);
-      int wrappedPos = ((ringPos % ringLength) + ringLength) % ringLength;
-
-      if (shapeType == 0) {
-        // Cube door detection
-        for (int face = 0; face < 4; face++) {
-          int faceStart = face * Apotheneum.GRID_WIDTH;
-          int doorStart = faceStart + Apotheneum.Cube.DOOR_START_COLUMN;
-          int doorEnd = doorStart + Apotheneum.DOOR_WIDTH - 1;
-
-          if (wrappedPos >= doorStart && wrappedPos <= doorEnd) {
-            return true;
-          }
-        }
-      } else {
-        // Cylinder door detection
-        int doorStart = Apotheneum.Cylinder.DOOR_START_COLUMN;
-        int doorEnd = doorStart + Apotheneum.DOOR_WIDTH - 1;
-
-        // Doors repeat every 30 pixels
-        int posInCycle = wrappedPos % 30;
-        if (posInCycle >= doorStart && posInCycle <= doorEnd) {
-          return true;
-        }
-      }
-    }
-
-    return false;
+    int ringLength = (shapeType == 0) ? Apotheneum.Cube.Ring.LENGTH : Apotheneum.Cylinder.Ring.LENGTH;
+    int wrappedPos = ((Math.round(ringX) % ringLength) + ringLength) % ringLength;
+    Apotheneum.Orientation orientation = (shapeType == 0) ? Apotheneum.cube.exterior : Apotheneum.cylinder.exterior;
+    return orientation.isDoor(wrappedPos, Math.round(ringY));
   }
 
   private void clearAllFireflies() {
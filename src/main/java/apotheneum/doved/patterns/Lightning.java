@@ -1,6 +1,11 @@
 package apotheneum.doved.patterns;
 
 import apotheneum.ApotheneumRasterPattern;
+import apotheneum.ApotheneumSoftwareRasterPattern;
+import apotheneum.Rasterizer;
+import apotheneum.doved.lightning.BoltPool;
+import apotheneum.doved.lightning.BoltSprite;
+import apotheneum.doved.lightning.DielectricBreakdownAlgorithm;
 import apotheneum.doved.lightning.LightningSegment;
 import apotheneum.doved.lightning.MidpointDisplacementAlgorithm;
 import apotheneum.doved.lightning.LSystemAlgorithm;
@@ -14,41 +19,51 @@ import heronarts.lx.LXComponentName;
 import heronarts.lx.midi.MidiNoteOn;
 import heronarts.lx.parameter.CompoundParameter;
 import heronarts.lx.parameter.DiscreteParameter;
+import heronarts.lx.parameter.LXNormalizedParameter;
+import heronarts.lx.parameter.LXParameter;
 import heronarts.lx.parameter.TriggerParameter;
 import heronarts.lx.studio.LXStudio.UI;
 import heronarts.lx.studio.ui.device.UIDevice;
 import heronarts.lx.studio.ui.device.UIDeviceControls;
 import heronarts.glx.ui.UI2dContainer;
 import heronarts.glx.ui.UI2dComponent;
-import java.awt.Graphics2D;
 import java.util.ArrayList;
 import java.util.List;
 
 @LXCategory("Apotheneum/doved")
 @LXComponentName("Lightning")
 @LXComponent.Description("Lightning strikes using multiple algorithms")
-public class Lightning extends ApotheneumRasterPattern
+public class Lightning extends ApotheneumSoftwareRasterPattern
     implements ApotheneumRasterPattern.Midi, UIDeviceControls<Lightning> {
 
   public final TriggerParameter trig = new TriggerParameter("Trig", this::trig)
       .setDescription("Trigger a lightning strike");
 
   public enum Algorithm {
-    MIDPOINT("Midpoint"),
-    L_SYSTEM("L-System"),
-    RRT("RRT"),
-    PHYSICAL("Physical");
+    MIDPOINT("Midpoint", new MidpointDisplacementAlgorithm()),
+    L_SYSTEM("L-System", new LSystemAlgorithm()),
+    RRT("RRT", new RRTAlgorithm()),
+    PHYSICAL("Physical", new PhysicallyBasedAlgorithm()),
+    DIELECTRIC("Dielectric", new DielectricBreakdownAlgorithm());
 
     private final String displayName;
 
-    Algorithm(String displayName) {
+    // Generators are stateless, so one instance is shared by all patterns
+    private final LightningGenerator generator;
+
+    Algorithm(String displayName, LightningGenerator generator) {
       this.displayName = displayName;
+      this.generator = generator;
     }
 
     public String getDisplayName() {
       return displayName;
     }
 
+    public LightningGenerator getGenerator() {
+      return generator;
+    }
+
     public static String[] getDisplayNames() {
       Algorithm[] values = values();
       String[] names = new String[values.length];
@@ -102,7 +117,7 @@ public class Lightning extends ApotheneumRasterPattern
       .setDescription("How much branches can deviate from the main bolt direction");
 
   // L-System specific parameters
-  public final CompoundParameter lsIterations = new CompoundParameter("LS Iterations", 4, 2, 8)
+  public final CompoundParameter lsIterations = new CompoundParameter("LS Iterations", 4, 2, 16)
       .setDescription("Number of L-system iterations");
 
   public final CompoundParameter lsSegmentLength = new CompoundParameter("LS Segment Len", 8, 2, 20)
@@ -130,7 +145,7 @@ public class Lightning extends ApotheneumRasterPattern
       .setUnits(CompoundParameter.Units.PERCENT_NORMALIZED)
       .setDescription("Probability of sampling from goal region");
 
-  public final CompoundParameter rrtMaxIterations = new CompoundParameter("RRT Max Iter", 150, 50, 300)
+  public final CompoundParameter rrtMaxIterations = new CompoundParameter("RRT Max Iter", 150, 50, 3000)
       .setDescription("Maximum number of RRT tree extensions");
 
   public final CompoundParameter rrtJaggedness = new CompoundParameter("RRT Jaggedness", 0.3, 0, 1)
@@ -166,15 +181,62 @@ public class Lightning extends ApotheneumRasterPattern
   public final CompoundParameter chargeDecay = new CompoundParameter("Charge Decay", 0.02, 0, 0.1)
       .setDescription("Rate of charge decay along stepped leader");
 
+  // Dielectric breakdown parameters
+  public final CompoundParameter dbmEta = new CompoundParameter("DBM Eta", 2, 0.5, 5)
+      .setDescription("Field exponent for channel growth, lower values branch more");
+
+  public final CompoundParameter dbmMaxSteps = new CompoundParameter("DBM Max Steps", 600, 100, 2000)
+      .setDescription("Maximum number of channel growth steps");
+
+  public final CompoundParameter dbmRelaxation = new CompoundParameter("DBM Relax", 6, 1, 20)
+      .setDescription("Field relaxation sweeps after each growth step");
+
   private static class LightningBolt {
-    public final List<LightningSegment> segments = new ArrayList<>();
+    public final List<LightningSegment> segments;
 
-    public LightningBolt() {
+    public LightningBolt(List<LightningSegment> segments) {
       // Lightning bolts are now controlled by external envelope, no internal timing
+      this.segments = segments;
     }
   }
 
-  private final List<LightningBolt> bolts = new ArrayList<>();
+  // Number of bolts generated ahead of time for instant triggering
+  private static final int BOLT_POOL_SIZE = 4;
+
+  // Single bolt controlled by the fade envelope, replaced on each trigger
+  private volatile LightningBolt bolt = null;
+
+  // Current bolt rasterized once, re-rendered only when its look changes
+  private final BoltSprite sprite = new BoltSprite(RASTER_WIDTH, RASTER_HEIGHT);
+
+  // Bolts generated in the background from the current parameter values
+  private final BoltPool boltPool = new BoltPool(BOLT_POOL_SIZE);
+
+  // Continuous parameters that shape generated bolts, ready bolts are kept
+  // while these stay within CONTINUOUS_TOLERANCE of the values they were
+  // made from, as a fraction of each parameter's range
+  private final LXNormalizedParameter[] continuousGenerationParameters = {
+    this.branchProbability, this.displacement,
+    this.startX, this.startSpread, this.endSpread, this.branchDistance, this.branchAngle,
+    this.lsSegmentLength, this.lsAngleVariation, this.lsLengthVariation, this.lsBranchAngle,
+    this.rrtStepSize, this.rrtGoalBias, this.rrtJaggedness, this.rrtGoalRadius, this.rrtElectricalField,
+    this.electricPotential, this.stepLength, this.physicalBranching, this.stepAngleVariation, this.chargeDecay,
+    this.dbmEta
+  };
+
+  private static final double CONTINUOUS_TOLERANCE = 0.05;
+
+  // Parameters that generators read as integers, such as iteration counts.
+  // Any change to their integer value discards ready bolts.
+  private final LXParameter[] integerGenerationParameters = {
+    this.algorithm, this.recursionDepth, this.lsIterations, this.rrtMaxIterations,
+    this.maxSteps, this.dbmMaxSteps, this.dbmRelaxation
+  };
+
+  // Values when the pool was last emptied
+  private final double[] continuousGenerationValues = new double[this.continuousGenerationParameters.length];
+  private final int[] integerGenerationValues = new int[this.integerGenerationParameters.length];
+  private boolean hasGenerationValues = false;
 
   public Lightning(LX lx) {
     super(lx);
@@ -209,56 +271,86 @@ public class Lightning extends ApotheneumRasterPattern
     addParameter("physicalBranching", this.physicalBranching);
     addParameter("stepAngleVariation", this.stepAngleVariation);
     addParameter("chargeDecay", this.chargeDecay);
+    addParameter("dbmEta", this.dbmEta);
+    addParameter("dbmMaxSteps", this.dbmMaxSteps);
+    addParameter("dbmRelaxation", this.dbmRelaxation);
   }
 
   private void trig() {
-    // Clear existing bolts and create new one (single bolt controlled by envelope)
-    bolts.clear();
-    LightningBolt bolt = new LightningBolt();
-
-    // Generate lightning using the interface
-    LightningGenerator generator = getLightningGenerator();
-    Object params = getAlgorithmParameters();
-    generator.generateLightning(bolt.segments, params);
+    // Replace the existing bolt with a new one (single bolt controlled by envelope),
+    // using a pre-generated bolt when one is ready and was made from values
+    // close enough to the current ones
+    List<LightningSegment> segments = null;
+    if (!updateBoltPool()) {
+      segments = boltPool.poll(getLightningGenerator());
+    }
+    if (segments == null) {
+      // Generate lightning using the interface
+      segments = new ArrayList<>();
+      LightningGenerator generator = getLightningGenerator();
+      Object params = getAlgorithmParameters();
+      generator.generateLightning(segments, params);
+    }
+    this.bolt = new LightningBolt(segments);
+  }
 
-    bolts.add(bolt);
+  /**
+   * Points the bolt pool at the current generation parameter values. This
+   * happens on trigger rather than every frame, so that modulated parameters
+   * don't keep emptying the pool. Ready bolts made from nearby values are
+   * kept and used slightly stale, they are only discarded when a parameter
+   * has moved far enough to visibly change the bolts.
+   *
+   * @return Whether ready bolts were discarded
+   */
+  private boolean updateBoltPool() {
+    boolean discard = !this.hasGenerationValues;
+    for (int i = 0; !discard && i < this.continuousGenerationParameters.length; ++i) {
+      discard = Math.abs(this.continuousGenerationParameters[i].getNormalized() - this.continuousGenerationValues[i]) > CONTINUOUS_TOLERANCE;
+    }
+    for (int i = 0; !discard && i < this.integerGenerationParameters.length; ++i) {
+      discard = (int) this.integerGenerationParameters[i].getValue() != this.integerGenerationValues[i];
+    }
+    if (discard) {
+      for (int i = 0; i < this.continuousGenerationParameters.length; ++i) {
+        this.continuousGenerationValues[i] = this.continuousGenerationParameters[i].getNormalized();
+      }
+      for (int i = 0; i < this.integerGenerationParameters.length; ++i) {
+        this.integerGenerationValues[i] = (int) this.integerGenerationParameters[i].getValue();
+      }
+      this.hasGenerationValues = true;
+    }
+    boltPool.setSource(getLightningGenerator(), getAlgorithmParameters(), discard);
+    return discard;
   }
 
   @Override
-  protected void render(double deltaMs, Graphics2D graphics) {
+  protected void render(double deltaMs, Rasterizer rasterizer) {
+    // Start filling the pool before the first trigger
+    if (!this.hasGenerationValues) {
+      updateBoltPool();
+    }
     clear();
 
-    // Use fade envelope value directly
-    double fadeAmount = fade.getValue();
-
-    for (LightningBolt bolt : bolts) {
-      renderBolt(graphics, bolt, fadeAmount);
+    final LightningBolt bolt = this.bolt;
+    if (bolt == null) {
+      return;
     }
-  }
 
-  private void renderBolt(Graphics2D graphics, LightningBolt bolt, double fadeAmount) {
-    double intensityValue = intensity.getValue();
+    // Stroke the bolt only when it or its look has changed
+    LightningGenerator generator = getLightningGenerator();
     double thicknessValue = thickness.getValue();
     double bleedingValue = bleeding.getValue();
+    if (!sprite.isRendered(bolt.segments, generator, thicknessValue, bleedingValue)) {
+      sprite.render(bolt.segments, generator, thicknessValue, bleedingValue);
+    }
 
-    LightningGenerator generator = getLightningGenerator();
-    generator.render(graphics, bolt.segments, fadeAmount, intensityValue, thicknessValue, bleedingValue);
+    // Use fade envelope value directly
+    sprite.composite(rasterizer, fade.getValue() * intensity.getValue());
   }
 
   private LightningGenerator getLightningGenerator() {
-    Algorithm selectedAlgorithm = Algorithm.values()[algorithm.getValuei()];
-    switch (selectedAlgorithm) {
-      case MIDPOINT:
-        return new MidpointDisplacementAlgorithm();
-      case L_SYSTEM:
-        return new LSystemAlgorithm();
-      case RRT:
-        return new RRTAlgorithm();
-      case PHYSICAL:
-        return new PhysicallyBasedAlgorithm();
-      default:
-        return new MidpointDisplacementAlgorithm();
-    }
+    return Algorithm.values()[algorithm.getValuei()].getGenerator();
   }
 
   private Object getAlgorithmParameters() {
@@ -310,6 +402,14 @@ public class Lightning extends ApotheneumRasterPattern
             startX.getValue(),
             RASTER_WIDTH,
             RASTER_HEIGHT);
+      case DIELECTRIC:
+        return new DielectricBreakdownAlgorithm.Parameters(
+            dbmEta.getValue(),
+            (int) dbmMaxSteps.getValue(),
+            (int) dbmRelaxation.getValue(),
+            startX.getValue(),
+            RASTER_WIDTH,
+            RASTER_HEIGHT);
       default:
         return new MidpointDisplacementAlgorithm.Parameters(
             displacement.getValue(),
@@ -330,6 +430,12 @@ public class Lightning extends ApotheneumRasterPattern
     trig();
   }
 
+  @Override
+  public void dispose() {
+    boltPool.dispose();
+    super.dispose();
+  }
+
   @Override
   public void buildDeviceControls(UI ui, UIDevice uiDevice, Lightning lightning) {
     uiDevice.setLayout(UIDevice.Layout.HORIZONTAL, 6);
@@ -402,6 +508,12 @@ public class Lightning extends ApotheneumRasterPattern
         newKnob(lightning.stepAngleVariation),
         newKnob(lightning.chargeDecay)).setChildSpacing(6);
 
+    final UI2dComponent dielectricBreak1 = addVerticalBreak(ui, uiDevice);
+    final UI2dContainer dielectricCol1 = addColumn(uiDevice, "Dielectric",
+        newKnob(lightning.dbmEta),
+        newKnob(lightning.dbmMaxSteps),
+        newKnob(lightning.dbmRelaxation)).setChildSpacing(6);
+
     // Always show visual and face controls
     addColumn(uiDevice, "Visual",
         newKnob(lightning.bleeding)).setChildSpacing(6);
@@ -444,6 +556,11 @@ public class Lightning extends ApotheneumRasterPattern
       physicalCol1.setVisible(showPhysical);
       physicalBreak2.setVisible(showPhysical);
       physicalCol2.setVisible(showPhysical);
+
+      // Dielectric breakdown controls
+      boolean showDielectric = (selectedAlgorithm == Algorithm.DIELECTRIC);
+      dielectricBreak1.setVisible(showDielectric);
+      dielectricCol1.setVisible(showDielectric);
     }, true);
   }
 
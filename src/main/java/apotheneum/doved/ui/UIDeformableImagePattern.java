@@ -47,7 +47,7 @@ public class UIDeformableImagePattern implements UIDeviceControls<DeformableImag
 
       ReplaceImage(DeformableImage image, String relativePath) {
         this.image = new ComponentReference<DeformableImage>(image);
-        this.oldPath = image.fileName.getString();
+        this.oldPath = image.fileRelativePath.getString();
         this.oldLabel = image.label.getString();
         this.newPath = relativePath;
       }
@@ -64,7 +64,7 @@ public class UIDeformableImagePattern implements UIDeviceControls<DeformableImag
 
       @Override
       public void undo(LX lx) throws InvalidCommandException {
-        this.image.get().fileName.setValue(this.oldPath);
+        this.image.get().fileRelativePath.setValue(this.oldPath);
         this.image.get().label.setValue(this.oldLabel);
       }
 
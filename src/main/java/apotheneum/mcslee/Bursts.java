@@ -18,13 +18,11 @@
 
 package apotheneum.mcslee;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import org.joml.Matrix2f;
 
 import apotheneum.Apotheneum;
 import apotheneum.ApotheneumPattern;
+import apotheneum.VoicePool;
 import heronarts.lx.LX;
 import heronarts.lx.color.LXColor;
 import heronarts.lx.midi.MidiNoteOn;
@@ -32,6 +30,7 @@ import heronarts.lx.model.LXModel;
 import heronarts.lx.model.LXPoint;
 import heronarts.lx.parameter.CompoundDiscreteParameter;
 import heronarts.lx.parameter.CompoundParameter;
+import heronarts.lx.parameter.DiscreteParameter;
 import heronarts.lx.parameter.EnumParameter;
 import heronarts.lx.parameter.TriggerParameter;
 import heronarts.lx.utils.LXUtils;
@@ -43,16 +42,24 @@ public abstract class Bursts extends ApotheneumPattern implements ApotheneumPatt
   }
 
   public enum Shape {
-    CIRCLE("Circle", (xd, yd) -> { return (float) Math.sqrt(xd*xd + yd*yd); }),
-    SQUARE("Square", (xd, yd) -> { return LXUtils.maxf(Math.abs(xd), Math.abs(yd)); }),
-    DIAMOND("Diamond", (xd, yd) -> { return .5f * Math.abs(xd) + .5f * Math.abs(yd); }),
-    CROSS("Cross", (xd, yd) -> { return LXUtils.minf(Math.abs(xd), Math.abs(yd)); });
+    CIRCLE("Circle", 1, (xd, yd) -> { return (float) Math.sqrt(xd*xd + yd*yd); }),
+    SQUARE("Square", (float) Math.sqrt(.5), (xd, yd) -> { return LXUtils.maxf(Math.abs(xd), Math.abs(yd)); }),
+    DIAMOND("Diamond", .5f, (xd, yd) -> { return .5f * Math.abs(xd) + .5f * Math.abs(yd); }),
+    CROSS("Cross", 0, (xd, yd) -> { return LXUtils.minf(Math.abs(xd), Math.abs(yd)); });
 
     public final String label;
+
+    /**
+     * Lower bound on the distance as a fraction of the euclidean distance,
+     * zero if the shape is unbounded
+     */
+    public final float bound;
+
     public final DistanceFunction distance;
 
-    private Shape(String label, DistanceFunction distance) {
+    private Shape(String label, float bound, DistanceFunction distance) {
       this.label = label;
+      this.bound = bound;
       this.distance = distance;
     }
 
@@ -129,6 +136,19 @@ public abstract class Bursts extends ApotheneumPattern implements ApotheneumPatt
     .setUnits(CompoundParameter.Units.PERCENT_NORMALIZED)
     .setDescription("Randomize per-burst spin");
 
+  // CubeBursts can start a burst on each of 4 faces per trigger, ~240 alive at
+  // one trigger per frame and default settings. Voices are only stolen once
+  // Voices is lowered.
+  private static final int MAX_BURSTS = 1024;
+
+  public final DiscreteParameter polyphony =
+    new DiscreteParameter("Voices", MAX_BURSTS, 1, MAX_BURSTS + 1)
+    .setDescription("Maximum number of bursts at once");
+
+  public final EnumParameter<VoicePool.Steal> steal =
+    new EnumParameter<VoicePool.Steal>("Steal", VoicePool.Steal.OLDEST)
+    .setDescription("Which burst is replaced when all voices are in use");
+
   public Bursts(LX lx) {
     super(lx);
     addParameter("burst", this.burst);
@@ -145,6 +165,8 @@ public abstract class Bursts extends ApotheneumPattern implements ApotheneumPatt
     addParameter("burstExp", this.burstExp);
     addParameter("burstAttack", this.burstAttack);
     addParameter("burstSpread", this.burstSpread);
+    addParameter("polyphony", this.polyphony);
+    addParameter("steal", this.steal);
   }
 
   @Override
@@ -152,37 +174,47 @@ public abstract class Bursts extends ApotheneumPattern implements ApotheneumPatt
     this.bursts.clear();
   }
 
-  private final List<Burst> bursts = new ArrayList<>();
+  private final VoicePool<Burst> bursts = new VoicePool<Burst>(MAX_BURSTS, Burst::new);
 
-  protected void addBurst(Burst burst) {
-    this.bursts.add(burst);
+  protected Burst addBurst(Apotheneum.Cube.Face face) {
+    return addBurst(face.columns, null);
   }
 
-  protected class Burst {
+  protected Burst addBurst(Apotheneum.Cube.Face face, Burst copy) {
+    return addBurst(face.columns, copy);
+  }
 
-    private final LXModel[] columns;
-    private float basis;
-    private final float xn;
-    private final float yn;
-    private final float shapeRnd;
+  protected Burst addBurst(Apotheneum.Orientation orientation) {
+    return addBurst(orientation.columns(), null);
+  }
 
-    private final Matrix2f spinRandomMatrix = new Matrix2f();
-    private final Matrix2f spinCompositeMatrix = new Matrix2f();
+  /**
+   * Starts a burst, stealing one if all voices are in use
+   *
+   * @param columns Columns the burst is rendered onto
+   * @param copy Burst to copy position, shape and spin from, or null to randomize
+   * @return Burst that was started
+   */
+  protected Burst addBurst(LXModel[] columns, Burst copy) {
+    final Burst burst = this.bursts.trigger();
+    burst.start(columns, copy);
+    return burst;
+  }
 
-    protected Burst(Apotheneum.Cube.Face face) {
-      this(face.columns, null);
-    }
+  protected class Burst implements VoicePool.Voice {
 
-    protected Burst(Apotheneum.Cube.Face face, Burst copy) {
-      this(face.columns, copy);
-    }
+    private LXModel[] columns;
+    private float basis;
+    private float xn;
+    private float yn;
+    private float shapeRnd;
 
-    protected Burst(Apotheneum.Orientation orientation) {
-      this(orientation.columns(), null);
-    }
+    private final Matrix2f spinRandomMatrix = new Matrix2f();
+    private final Matrix2f spinCompositeMatrix = new Matrix2f();
 
-    protected Burst(LXModel[] columns, Burst copy) {
+    private void start(LXModel[] columns, Burst copy) {
       this.columns = columns;
+      this.basis = 0;
 
       if (copy != null) {
 
@@ -214,9 +246,16 @@ public abstract class Bursts extends ApotheneumPattern implements ApotheneumPatt
       }
     }
 
+    @Override
+    public float level() {
+      return 1 - this.basis;
+    }
+
     protected void render(double deltaMs) {
-      final DistanceFunction distance1 = shape1.getEnum().distance;
-      final DistanceFunction distance2 = shape2.getEnum().distance;
+      final Shape s1 = shape1.getEnum();
+      final Shape s2 = shape2.getEnum();
+      final DistanceFunction distance1 = s1.distance;
+      final DistanceFunction distance2 = s2.distance;
       final float sLerp = LXUtils.clampf(this.shapeRnd + shapeLerp.getValuef(), 0, 1);
 
       this.spinCompositeMatrix.set(this.spinRandomMatrix);
@@ -232,14 +271,43 @@ public abstract class Bursts extends ApotheneumPattern implements ApotheneumPatt
 
         final boolean wrap = canBurstsWrap();
         final float wrapOffset = wrap ? 0 : 1;
+        final int numCols = this.columns.length;
+
+        // Points are only lit within level / falloff of the radius. The spin is
+        // a rotation, so the shape's bound limits how far away those can be.
+        final float bound = LXUtils.lerpf(s1.bound, s2.bound, sLerp);
+        final float reach = (bound > 0) ? (radius + level / falloff) / bound : Float.POSITIVE_INFINITY;
+
+        int xMin = 0, xMax = numCols - 1;
+        if (wrap) {
+          final float xReach = reach / 3f;
+          if (xReach < .5f) {
+            xMin = (int) Math.floor((this.xn - xReach) * numCols);
+            xMax = (int) Math.ceil((this.xn + xReach) * numCols);
+            if (xMax - xMin >= numCols) {
+              xMin = 0;
+              xMax = numCols - 1;
+            }
+          }
+        } else if (reach < 1) {
+          xMin = LXUtils.max(xMin, (int) Math.floor((this.xn - reach) * (numCols - 1)));
+          xMax = LXUtils.min(xMax, (int) Math.ceil((this.xn + reach) * (numCols - 1)));
+        }
 
-        int x = 0;
-        for (LXModel column : this.columns) {
-          int y = 0;
-          for (LXPoint p : column.points) {
-            float pxn = x / (this.columns.length - wrapOffset);
-            float pyn = y / (column.points.length - 1f);
-            float dx = wrap ? 3f * wrapdiff(this.xn, pxn) : this.xn - pxn;
+        for (int xi = xMin; xi <= xMax; ++xi) {
+          final int x = (xi + numCols) % numCols;
+          final LXPoint[] points = this.columns[x].points;
+          final float yRange = points.length - 1f;
+          int yMin = 0, yMax = points.length - 1;
+          if (reach < 1) {
+            yMin = LXUtils.max(yMin, (int) Math.floor((this.yn - reach) * yRange));
+            yMax = LXUtils.min(yMax, (int) Math.ceil((this.yn + reach) * yRange));
+          }
+          final float pxn = x / (numCols - wrapOffset);
+          final float dx = wrap ? 3f * wrapdiff(this.xn, pxn) : this.xn - pxn;
+          for (int y = yMin; y <= yMax; ++y) {
+            final LXPoint p = points[y];
+            float pyn = y / yRange;
             float dy = this.yn - pyn;
             float xd = this.spinCompositeMatrix.m00 * dx + this.spinCompositeMatrix.m10 * dy;
             float yd = this.spinCompositeMatrix.m01 * dx + this.spinCompositeMatrix.m11 * dy;
@@ -253,9 +321,7 @@ public abstract class Bursts extends ApotheneumPattern implements ApotheneumPatt
             if (b > 0) {
               colors[p.index] = LXColor.lightest(colors[p.index], LXColor.gray(b));
             }
-            ++y;
           }
-          ++x;
         }
       }
     }
@@ -280,12 +346,13 @@ public abstract class Bursts extends ApotheneumPattern implements ApotheneumPatt
   private void onBurst() {
     if (Apotheneum.exists) {
       final int num = this.perTrig.getValuei();
+      this.bursts
+        .setPolyphony(this.polyphony.getValuei())
+        .setSteal(this.steal.getEnum());
       generateBursts(num);
     }
   }
 
-  private final List<Burst> finished = new ArrayList<>();
-
   private final Matrix2f spinMatrix = new Matrix2f();
 
   @Override
@@ -293,17 +360,13 @@ public abstract class Bursts extends ApotheneumPattern implements ApotheneumPatt
     setApotheneumColor(LXColor.BLACK);
     spinMatrix.rotation((float) Math.toRadians(spin.getValuef()));
 
-    this.finished.clear();
-    for (Burst burst : this.bursts) {
+    for (int i = this.bursts.size() - 1; i >= 0; --i) {
+      final Burst burst = this.bursts.get(i);
       burst.render(deltaMs);
       if (burst.basis >= 1) {
-        this.finished.add(burst);
+        this.bursts.release(i);
       }
     }
-    if (!this.finished.isEmpty()) {
-      this.bursts.removeAll(this.finished);
-      this.finished.clear();
-    }
 
     afterRender();
   }
@@ -42,10 +42,13 @@ import heronarts.lx.studio.ui.device.UIDeviceControls;
 public class Crawlers extends ApotheneumPattern implements UIDeviceControls<Crawlers> {
 
   public static double bias(LXParameter p1, LXParameter p2, LXParameter bias, double rnd) {
-    final double b = bias.getValue();
+    return bias(p1.getValue(), p2.getValue(), bias.getValue(), rnd);
+  }
+
+  public static double bias(double v1, double v2, double b, double rnd) {
     return LXUtils.lerp(
-      p1.getValue(),
-      p2.getValue(),
+      v1,
+      v2,
       (b < 0.5) ?
         Math.pow(rnd, LXUtils.lerp(4, 1, 2*b)) :
         1 - Math.pow(1-rnd, LXUtils.lerp(1, 4, 2 * (b-.5f)))
@@ -120,6 +123,17 @@ public class Crawlers extends ApotheneumPattern implements UIDeviceControls<Craw
   private final Crawler[] cylinderCrawlers = new Crawler[MAX_CRAWLERS];
   private final Crawler[] allCrawlers = new Crawler[2*MAX_CRAWLERS];
 
+  // Snapshot slots of the parameters read for every crawler
+  private final int minLengthSlot;
+  private final int maxLengthSlot;
+  private final int biasLengthSlot;
+  private final int minSpeedSlot;
+  private final int maxSpeedSlot;
+  private final int biasSpeedSlot;
+  private final int turnProbabilitySlot;
+  private final int fadeHeadSlot;
+  private final int fadeTailSlot;
+
   public Crawlers(LX lx) {
     super(lx);
     addParameter("numCube", this.numCube);
@@ -137,6 +151,16 @@ public class Crawlers extends ApotheneumPattern implements UIDeviceControls<Craw
     addParameter("fadeHead", this.fadeHead);
     addParameter("fadeTail", this.fadeTail);
 
+    this.minLengthSlot = this.snapshot.slot(this.minLength);
+    this.maxLengthSlot = this.snapshot.slot(this.maxLength);
+    this.biasLengthSlot = this.snapshot.slot(this.biasLength);
+    this.minSpeedSlot = this.snapshot.slot(this.minSpeed);
+    this.maxSpeedSlot = this.snapshot.slot(this.maxSpeed);
+    this.biasSpeedSlot = this.snapshot.slot(this.biasSpeed);
+    this.turnProbabilitySlot = this.snapshot.slot(this.turnProbability);
+    this.fadeHeadSlot = this.snapshot.slot(this.fadeHead);
+    this.fadeTailSlot = this.snapshot.slot(this.fadeTail);
+
     for (int i = 0; i < MAX_CRAWLERS; ++i) {
       this.cubeCrawlers[i] = new Crawler(Apotheneum.cube.exterior, i, this.numCube);
       this.cylinderCrawlers[i] = new Crawler(Apotheneum.cylinder.exterior, i, this.numCylinder);
@@ -245,7 +269,7 @@ public class Crawlers extends ApotheneumPattern implements UIDeviceControls<Craw
           this.direction = (Math.random() < .5) ? Direction.UP : Direction.DOWN;
         }
         this.flagTurn = 0;
-      } else if ((this.turnCount >= turnGate.getValuei()) && Math.random() < turnProbability.getValue()) {
+      } else if ((this.turnCount >= turnGate.getValuei()) && Math.random() < snapshot.get(turnProbabilitySlot)) {
         this.turnCount = 0;
         if (this.direction.x == 0) {
           this.direction = (Math.random() < .5) ? Direction.LEFT : Direction.RIGHT;
@@ -265,7 +289,7 @@ public class Crawlers extends ApotheneumPattern implements UIDeviceControls<Craw
       final boolean active = this.index < this.num.getValuei();
       this.level = LXUtils.constrain(this.level + (active ? 1 : -1) * deltaMs / 1000, 0, 1);
 
-      this.basis += deltaMs * bias(minSpeed, maxSpeed, biasSpeed, this.rnd) / 1000;
+      this.basis += deltaMs * bias(snapshot.get(minSpeedSlot), snapshot.get(maxSpeedSlot), snapshot.get(biasSpeedSlot), this.rnd) / 1000;
       if (this.basis > 1.) {
         step();
         this.basis = this.basis % 1.;
@@ -275,10 +299,10 @@ public class Crawlers extends ApotheneumPattern implements UIDeviceControls<Craw
         return;
       }
 
-      final double length = bias(minLength, maxLength, biasLength, this.rnd);
+      final double length = bias(snapshot.get(minLengthSlot), snapshot.get(maxLengthSlot), snapshot.get(biasLengthSlot), this.rnd);
       final float limit = (int) LXUtils.min(length, this.length);
-      final double head = fadeHead.getValue();
-      final double tail = LXUtils.min(length - head - 1, fadeTail.getValue());
+      final double head = snapshot.get(fadeHeadSlot);
+      final double tail = LXUtils.min(length - head - 1, snapshot.get(fadeTailSlot));
 
       for (int i = 0; i < limit; ++i) {
         final Coord coord = getCoord(-i);
@@ -10,13 +10,13 @@ import heronarts.lx.LXCategory;
 import heronarts.lx.LXComponent;
 import heronarts.lx.LXComponentName;
 import heronarts.lx.LXDeviceComponent;
-import heronarts.lx.LXLayer;
 import heronarts.lx.color.LXColor;
 import heronarts.lx.midi.MidiNoteOn;
-import heronarts.lx.model.LXModel;
 import heronarts.lx.model.LXPoint;
 import heronarts.lx.parameter.BooleanParameter;
 import heronarts.lx.parameter.CompoundParameter;
+import heronarts.lx.parameter.DiscreteParameter;
+import heronarts.lx.parameter.EnumParameter;
 import heronarts.lx.parameter.TriggerParameter;
 import heronarts.lx.studio.LXStudio.UI;
 import heronarts.lx.studio.ui.device.UIDevice;
@@ -28,74 +28,118 @@ import java.util.List;
 
 import apotheneum.Apotheneum;
 import apotheneum.ApotheneumPattern;
+import apotheneum.VoicePool;
 
 @LXCategory("Apotheneum/mcslee")
 @LXComponentName("Cube Blinks")
 @LXComponent.Description("MIDI-Triggered ")
 public class CubeBlinks extends ApotheneumPattern implements LXDeviceComponent.Midi, UIDeviceControls<CubeBlinks> {
 
-  private class Blink extends LXLayer {
+  private class Blink implements VoicePool.Voice {
 
-    private final double releaseMs;
-    private final double peak;
-    private final double releaseShape;
-    private final double posShape;
-    private final Algo algo;
-    private final Apotheneum.Cube.Face face;
-    private double basis = 0;
+    private double releaseMs;
+    private double peak;
+    private double releaseShape;
+    private double posShape;
+    private Algo algo;
+    private Apotheneum.Cube.Face face;
+    private double basis;
+    private double releaseLevel;
 
-    protected Blink(LX lx, Algo algo, Apotheneum.Cube.Face face) {
-      super(lx);
+    private void start(Algo algo, Apotheneum.Cube.Face face) {
       this.algo = algo;
       this.face = face;
       this.releaseMs = LXUtils.lerp(1, triggerVelocity, velocityRelease.getValue()) * CubeBlinks.this.releaseMs.getValue();
       this.releaseShape = CubeBlinks.this.releaseShape.getValue();
       this.posShape = CubeBlinks.this.posShape.getValue();
       this.peak = LXUtils.lerp(1, triggerVelocity, velocityPeak.getValue()) * CubeBlinks.this.peak.getValue();
+      this.basis = 0;
+      this.releaseLevel = 1;
     }
 
     @Override
-    public void run(double deltaMs) {
+    public float level() {
+      return (float) (this.peak * this.releaseLevel);
+    }
+
+    /**
+     * Advances and draws the blink
+     *
+     * @return Whether the blink is still running
+     */
+    private boolean render(double deltaMs) {
 
       this.basis += deltaMs / this.releaseMs;
       if (this.basis >= 1) {
-        remove();
-        return;
+        return false;
       }
 
       final double position = this.algo.getPosition(Math.pow(this.basis, this.posShape));
       final double contrast = CubeBlinks.this.contrast.getValue();
-      final double releaseLevel = LXUtils.lerp(1, 0, Math.pow(this.basis, this.releaseShape));
+      final double releaseLevel = this.releaseLevel = LXUtils.lerp(1, 0, Math.pow(this.basis, this.releaseShape));
+
+      // Points are only lit within this distance, skip rows and columns the
+      // algorithm says are entirely beyond it
+      final double reach = (1 - this.basis) / contrast;
+      int numRows = 0;
+      for (int pi = 0; pi < Apotheneum.GRID_HEIGHT; ++pi) {
+        final float yn = 1 - pi / (Apotheneum.GRID_HEIGHT-1f);
+        if (this.algo.inRangeY(this.basis, position, yn, reach)) {
+          blinkRows[numRows++] = pi;
+        }
+      }
+      if (numRows == 0) {
+        return true;
+      }
 
-      int ci = 0;
-      for (LXModel column : this.face.columns) {
+      for (int ci = 0; ci < this.face.columns.length; ++ci) {
         final float xn = ci / (Apotheneum.GRID_WIDTH-1f);
-        int pi = 0;
-        for (LXPoint p : column.points) {
+        if (!this.algo.inRangeX(this.basis, position, xn, reach)) {
+          continue;
+        }
+        final LXPoint[] points = this.face.columns[ci].points;
+        for (int r = 0; r < numRows; ++r) {
+          final int pi = blinkRows[r];
           final float yn = 1 - pi / (Apotheneum.GRID_HEIGHT-1f);
           double b = 1 - this.basis - contrast * this.algo.getDistance(this.basis, position, xn, yn);
           if (b > 0) {
-            addColor(p.index, LXColor.grayn(this.peak * releaseLevel * LXUtils.min(1, b)));
+            addColor(points[pi].index, LXColor.grayn(this.peak * releaseLevel * LXUtils.min(1, b)));
           }
-          ++pi;
         }
-        ++ci;
       }
+      return true;
     }
 
   }
 
+  // A trigger can start a blink on each of 8 faces, which at one trigger per
+  // frame and the default release keeps ~480 alive, well below this limit
+  private static final int MAX_BLINKS = 2048;
+
+  // Rows of the blink being rendered that may be lit
+  private final int[] blinkRows = new int[Apotheneum.GRID_HEIGHT];
+
+  private final VoicePool<Blink> voices = new VoicePool<Blink>(MAX_BLINKS, Blink::new);
+
+  private void startBlink(Algo algo, Apotheneum.Cube.Face face) {
+    this.voices
+      .setPolyphony(this.polyphony.getValuei())
+      .setSteal(this.steal.getEnum())
+      .trigger()
+      .start(algo, face);
+  }
+
   private class BlinkTrigger extends TriggerParameter {
 
     private final String label;
 
-    private BlinkTrigger(LX lx, Algo algo, String label, Apotheneum.Cube.Face ... faces) {
+    private BlinkTrigger(Algo algo, String label, Apotheneum.Cube.Face ... faces) {
       super(algo.getClass().getSimpleName() + "-" + label, () -> {
         if (algo instanceof RandomEach) {
           for (Apotheneum.Cube.Face face : faces) {
             Algo algo2 = randomAlgo();
             if (algo2 != null) {
-              addLayer(new Blink(lx, algo2, face));
+              startBlink(algo2, face);
             }
           }
         } else {
@@ -105,7 +149,7 @@ public class CubeBlinks extends ApotheneumPattern implements LXDeviceComponent.M
           }
           if (algo2 != null) {
             for (Apotheneum.Cube.Face face : faces) {
-              addLayer(new Blink(lx, algo2, face));
+              startBlink(algo2, face);
             }
           }
         }
@@ -193,6 +237,14 @@ public class CubeBlinks extends ApotheneumPattern implements LXDeviceComponent.M
     new BooleanParameter("Midi>A", false)
     .setDescription("Whether MIDI notes always trigger all faces");
 
+  public final DiscreteParameter polyphony =
+    new DiscreteParameter("Voices", MAX_BLINKS, 1, MAX_BLINKS + 1)
+    .setDescription("Maximum number of blinks at once");
+
+  public final EnumParameter<VoicePool.Steal> steal =
+    new EnumParameter<VoicePool.Steal>("Steal", VoicePool.Steal.OLDEST)
+    .setDescription("Which blink is replaced when all voices are in use");
+
   public CubeBlinks(LX lx) {
     super(lx);
     addParameter("contrast", this.contrast);
@@ -203,13 +255,15 @@ public class CubeBlinks extends ApotheneumPattern implements LXDeviceComponent.M
     addParameter("velocityPeak", this.velocityPeak);
     addParameter("velocityRelease", this.velocityRelease);
     addParameter("midiAllFaces", this.midiAllFaces);
+    addParameter("polyphony", this.polyphony);
+    addParameter("steal", this.steal);
     for (Algo algo : this.algos) {
       String prefix = algo.getClass().getSimpleName().toLowerCase() + "-";
-      addBlink(lx, prefix + "front", algo, "F", Apotheneum.cube.exterior.front);
-      addBlink(lx, prefix + "right", algo, "R", Apotheneum.cube.exterior.right);
-      addBlink(lx, prefix + "back", algo, "B", Apotheneum.cube.exterior.back);
-      addBlink(lx, prefix + "left", algo, "L", Apotheneum.cube.exterior.left);
-      addBlink(lx, prefix + "all", algo, "A", Apotheneum.cube.exterior.left, Apotheneum.cube.exterior.right, Apotheneum.cube.exterior.front, Apotheneum.cube.exterior.back);
+      addBlink(prefix + "front", algo, "F", Apotheneum.cube.exterior.front);
+      addBlink(prefix + "right", algo, "R", Apotheneum.cube.exterior.right);
+      addBlink(prefix + "back", algo, "B", Apotheneum.cube.exterior.back);
+      addBlink(prefix + "left", algo, "L", Apotheneum.cube.exterior.left);
+      addBlink(prefix + "all", algo, "A", Apotheneum.cube.exterior.left, Apotheneum.cube.exterior.right, Apotheneum.cube.exterior.front, Apotheneum.cube.exterior.back);
 
       final BooleanParameter random =
         new BooleanParameter(algo.getClass().getSimpleName() + " Random", true)
@@ -220,8 +274,8 @@ public class CubeBlinks extends ApotheneumPattern implements LXDeviceComponent.M
     }
   }
 
-  private void addBlink(LX lx, String name, Algo algo, String label, Apotheneum.Cube.Face ... faces) {
-    final BlinkTrigger blink = new BlinkTrigger(lx, algo, label, faces);
+  private void addBlink(String name, Algo algo, String label, Apotheneum.Cube.Face ... faces) {
+    final BlinkTrigger blink = new BlinkTrigger(algo, label, faces);
     this.blinks.add(blink);
     addParameter(name, blink);
   }
@@ -232,6 +286,22 @@ public class CubeBlinks extends ApotheneumPattern implements LXDeviceComponent.M
     }
     double getPosition(double basis);
     double getDistance(double basis, double pos, float xn, float yn);
+
+    /**
+     * Whether any point in the column at xn may be within a distance, false
+     * only if getDistance exceeds it for every yn
+     */
+    default boolean inRangeX(double basis, double pos, float xn, double distance) {
+      return true;
+    }
+
+    /**
+     * Whether any point in the row at yn may be within a distance, false
+     * only if getDistance exceeds it for every xn
+     */
+    default boolean inRangeY(double basis, double pos, float yn, double distance) {
+      return true;
+    }
   }
 
   private class RandomEach implements Algo {
@@ -306,6 +376,16 @@ public class CubeBlinks extends ApotheneumPattern implements LXDeviceComponent.M
       return basis * inv * LXUtils.max(Math.abs(xn - .5f), Math.abs(yn - .5f));
     }
 
+    @Override
+    public boolean inRangeX(double basis, double pos, float xn, double distance) {
+      return basis * inv * Math.abs(xn - .5f) <= distance;
+    }
+
+    @Override
+    public boolean inRangeY(double basis, double pos, float yn, double distance) {
+      return basis * inv * Math.abs(yn - .5f) <= distance;
+    }
+
   }
 
   private class HorizOut implements Algo {
@@ -322,6 +402,11 @@ public class CubeBlinks extends ApotheneumPattern implements LXDeviceComponent.M
       double distFromCenter = Math.abs(xn - .5);
       return Math.abs(distFromCenter - pos);
     }
+
+    @Override
+    public boolean inRangeX(double basis, double pos, float xn, double distance) {
+      return getDistance(basis, pos, xn, 0) <= distance;
+    }
   }
 
   private class HorizIn implements Algo {
@@ -338,6 +423,11 @@ public class CubeBlinks extends ApotheneumPattern implements LXDeviceComponent.M
       double distFromCenter = Math.abs(xn - .5);
       return Math.abs(distFromCenter - pos);
     }
+
+    @Override
+    public boolean inRangeX(double basis, double pos, float xn, double distance) {
+      return getDistance(basis, pos, xn, 0) <= distance;
+    }
   }
 
   private class VertOut implements Algo {
@@ -354,6 +444,11 @@ public class CubeBlinks extends ApotheneumPattern implements LXDeviceComponent.M
       double distFromCenter = Math.abs(yn - .5);
       return Math.abs(distFromCenter - pos);
     }
+
+    @Override
+    public boolean inRangeY(double basis, double pos, float yn, double distance) {
+      return getDistance(basis, pos, 0, yn) <= distance;
+    }
   }
 
   private class VertIn implements Algo {
@@ -370,12 +465,22 @@ public class CubeBlinks extends ApotheneumPattern implements LXDeviceComponent.M
       double distFromCenter = Math.abs(yn - .5);
       return Math.abs(distFromCenter - pos);
     }
+
+    @Override
+    public boolean inRangeY(double basis, double pos, float yn, double distance) {
+      return getDistance(basis, pos, 0, yn) <= distance;
+    }
   }
 
   private abstract class WipeX implements Algo {
     public double getDistance(double basis, double pos, float xn, float yn) {
       return Math.abs(xn - pos);
     }
+
+    @Override
+    public boolean inRangeX(double basis, double pos, float xn, double distance) {
+      return Math.abs(xn - pos) <= distance;
+    }
   }
 
   private class WipeRight extends WipeX {
@@ -406,6 +511,11 @@ public class CubeBlinks extends ApotheneumPattern implements LXDeviceComponent.M
     public double getDistance(double basis, double pos, float xn, float yn) {
       return Math.abs(yn - pos);
     }
+
+    @Override
+    public boolean inRangeY(double basis, double pos, float yn, double distance) {
+      return Math.abs(yn - pos) <= distance;
+    }
   }
 
   private class WipeUp extends WipeY {
@@ -470,6 +580,17 @@ public class CubeBlinks extends ApotheneumPattern implements LXDeviceComponent.M
       double radius = LXUtils.dist(xn, yn, .5, .5);
       return Math.abs(radius - pos);
     }
+
+    // The radius is at least the offset on either axis
+    @Override
+    public boolean inRangeX(double basis, double pos, float xn, double distance) {
+      return Math.abs(xn - .5) <= pos + distance;
+    }
+
+    @Override
+    public boolean inRangeY(double basis, double pos, float yn, double distance) {
+      return Math.abs(yn - .5) <= pos + distance;
+    }
   }
 
   private class RingOut extends Ring {
@@ -498,10 +619,11 @@ public class CubeBlinks extends ApotheneumPattern implements LXDeviceComponent.M
   public void render(double deltaMs) {
     setColors(LXColor.BLACK);
     setColor(Apotheneum.cube.exterior, LXColor.BLACK);
-  }
-
-  @Override
-  protected void afterLayers(double deltaMs) {
+    for (int i = this.voices.size() - 1; i >= 0; --i) {
+      if (!this.voices.get(i).render(deltaMs)) {
+        this.voices.release(i);
+      }
+    }
     copyCubeExterior();
   }
 
@@ -544,6 +666,12 @@ public class CubeBlinks extends ApotheneumPattern implements LXDeviceComponent.M
     ).setChildSpacing(6);
     addVerticalBreak(ui, uiDevice);
 
+    addColumn(uiDevice, "Voices",
+      newKnob(blinks.polyphony),
+      newDropMenu(blinks.steal)
+    ).setChildSpacing(6);
+    addVerticalBreak(ui, uiDevice);
+
     final int BLINKS_PER_ALGO = 5;
     for (int i = 0; i < this.blinks.size(); i += BLINKS_PER_ALGO) {
       final int algoIndex = i/BLINKS_PER_ALGO;
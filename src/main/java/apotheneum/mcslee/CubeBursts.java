@@ -65,13 +65,13 @@ public class CubeBursts extends Bursts implements ApotheneumPattern.Midi, UIDevi
         Burst b = null;
         for (Apotheneum.Cube.Face face : Apotheneum.cube.exterior.faces) {
           if (allFacesSymmetry && b != null) {
-            addBurst(new Burst(face, b));
+            addBurst(face, b);
           } else {
-            addBurst(b = new Burst(face));
+            b = addBurst(face);
           }
         }
       } else {
-        addBurst(new Burst(Apotheneum.cube.exterior.faces[LXUtils.randomi(0, 3)]));
+        addBurst(Apotheneum.cube.exterior.faces[LXUtils.randomi(0, 3)]);
       }
     }
   }
@@ -127,6 +127,14 @@ public class CubeBursts extends Bursts implements ApotheneumPattern.Midi, UIDevi
       newKnob(cubeBursts.burstAttack, 0),
       newKnob(cubeBursts.burstExp, 0)
     ).setChildSpacing(6);
+
+    addVerticalBreak(ui, uiDevice);
+
+    addColumn(uiDevice,
+      "Voices",
+      newKnob(cubeBursts.polyphony),
+      newDropMenu(cubeBursts.steal)
+    ).setChildSpacing(6);
   }
 
 }
@@ -18,11 +18,9 @@
 
 package apotheneum.mcslee;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import apotheneum.Apotheneum;
 import apotheneum.ApotheneumPattern;
+import apotheneum.VoicePool;
 import heronarts.lx.LX;
 import heronarts.lx.LXCategory;
 import heronarts.lx.LXComponent;
@@ -34,6 +32,7 @@ import heronarts.lx.model.LXPoint;
 import heronarts.lx.parameter.BooleanParameter;
 import heronarts.lx.parameter.CompoundDiscreteParameter;
 import heronarts.lx.parameter.CompoundParameter;
+import heronarts.lx.parameter.DiscreteParameter;
 import heronarts.lx.parameter.EnumParameter;
 import heronarts.lx.parameter.TriggerParameter;
 import heronarts.lx.utils.LXUtils;
@@ -106,6 +105,19 @@ public class CubeSparkles extends ApotheneumPattern implements ApotheneumPattern
     new EnumParameter<Shape>("Shape", Shape.ABS)
     .setDescription("Sparkle Shape");
 
+  // Default settings add 4 sparkles per trigger lasting a second, ~240 at one
+  // trigger per frame. The limit sits well above that so sparkles are only
+  // stolen once Voices is lowered or Per Trigger and Time are raised a lot.
+  private static final int MAX_SPARKLES = 4096;
+
+  public final DiscreteParameter polyphony =
+    new DiscreteParameter("Voices", MAX_SPARKLES, 1, MAX_SPARKLES + 1)
+    .setDescription("Maximum number of sparkles at once");
+
+  public final EnumParameter<VoicePool.Steal> steal =
+    new EnumParameter<VoicePool.Steal>("Steal", VoicePool.Steal.OLDEST)
+    .setDescription("Which sparkle is replaced when all voices are in use");
+
   public CubeSparkles(LX lx) {
     super(lx);
     addParameter("sparkle", this.sparkle);
@@ -117,6 +129,8 @@ public class CubeSparkles extends ApotheneumPattern implements ApotheneumPattern
     addParameter("sparkleDistance", this.sparkleDistance);
     addParameter("sparkleExp", this.sparkleExp);
     addParameter("shape", this.shape);
+    addParameter("polyphony", this.polyphony);
+    addParameter("steal", this.steal);
   }
 
   @Override
@@ -124,29 +138,63 @@ public class CubeSparkles extends ApotheneumPattern implements ApotheneumPattern
     this.sparkles.clear();
   }
 
-  private final List<Sparkle> sparkles = new ArrayList<>();
-
-  private class Sparkle {
+  private class Sparkle implements VoicePool.Voice {
 
-    private final LXModel column;
-    private final float basePos;
+    private LXModel column;
+    private float basePos;
     private float basis;
 
-    private Sparkle(LXModel[] columns) {
+    private void start(LXModel[] columns) {
       this.column = columns[LXUtils.randomi(columns.length-1)];
       this.basePos = LXUtils.randomf(maxHeight.getValuef());
+      this.basis = 0;
+    }
+
+    @Override
+    public float level() {
+      return 1 - this.basis;
     }
 
     protected void render(double deltaMs) {
       this.basis += deltaMs / (1000f * sparkleTime.getValuef());
       if (this.basis < 1) {
-        final DistanceFunction distance = shape.getEnum().distance;
+        final Shape shape = CubeSparkles.this.shape.getEnum();
+        final DistanceFunction distance = shape.distance;
 
         float dist = (float) (sparkleDistance.getValue() * Math.pow(this.basis, sparkleExp.getValuef()));
         float level = LXUtils.lerpf(100, 0, this.basis);
         float length = LXUtils.lerpf(1, 10, this.basis);
         float falloff = 4500f / length;
-        for (LXPoint p : this.column.points) {
+
+        // Points are only lit within level / falloff of the sparkle distance
+        final float spread = level / falloff;
+        float yMin = this.basePos - dist - spread;
+        float yMax = this.basePos + dist + spread;
+        switch (shape) {
+          case Up -> yMin = this.basePos + dist - spread;
+          case Down -> yMax = this.basePos - dist + spread;
+          default -> {}
+        }
+
+        // Binary search for the first point in range, columns are ordered by yn
+        final LXPoint[] points = this.column.points;
+        final boolean descending = points[0].yn > points[points.length - 1].yn;
+        int i = 0, j = points.length;
+        while (i < j) {
+          final int mid = (i + j) >>> 1;
+          final float yn = points[mid].yn;
+          if (descending ? (yn > yMax) : (yn < yMin)) {
+            i = mid + 1;
+          } else {
+            j = mid;
+          }
+        }
+
+        for (; i < points.length; ++i) {
+          final LXPoint p = points[i];
+          if (descending ? (p.yn < yMin) : (p.yn > yMax)) {
+            break;
+          }
           float b = level - falloff * Math.abs(distance.getDistance(p.yn - this.basePos) - dist);
           if (b > 0) {
             addColor(p.index, LXColor.gray(LXUtils.minf(100f, b)));
@@ -157,41 +205,40 @@ public class CubeSparkles extends ApotheneumPattern implements ApotheneumPattern
     }
   }
 
+  private final VoicePool<Sparkle> sparkles = new VoicePool<Sparkle>(MAX_SPARKLES, Sparkle::new);
+
   private void onSparkle() {
     if (Apotheneum.exists) {
+      this.sparkles
+        .setPolyphony(this.polyphony.getValuei())
+        .setSteal(this.steal.getEnum());
       int num = this.perTrig.getValuei();
       if (this.cube.isOn()) {
         for (int i = 0; i < num; ++i) {
           for (Apotheneum.Cube.Face face : Apotheneum.cube.exterior.faces) {
-            this.sparkles.add(new Sparkle(face.columns));
+            this.sparkles.trigger().start(face.columns);
           }
         }
       }
       if (this.cylinder.isOn()) {
         for (int i = 0; i < num; ++i) {
-          this.sparkles.add(new Sparkle(Apotheneum.cylinder.exterior.columns));
+          this.sparkles.trigger().start(Apotheneum.cylinder.exterior.columns);
         }
       }
     }
   }
 
-  private final List<Sparkle> finished = new ArrayList<>();
-
   @Override
   protected void render(double deltaMs) {
     setColors(LXColor.BLACK);
     setApotheneumColor(LXColor.BLACK);
-    this.finished.clear();
-    for (Sparkle sparkle : this.sparkles) {
+    for (int i = this.sparkles.size() - 1; i >= 0; --i) {
+      final Sparkle sparkle = this.sparkles.get(i);
       sparkle.render(deltaMs);
       if (sparkle.basis >= 1) {
-        this.finished.add(sparkle);
+        this.sparkles.release(i);
       }
     }
-    if (!this.finished.isEmpty()) {
-      this.sparkles.removeAll(this.finished);
-      this.finished.clear();
-    }
     copyExterior();
   }
 
@@ -46,7 +46,7 @@ public class CylinderBursts extends Bursts implements UIDeviceControls<CylinderB
   @Override
   protected void generateBursts(int num) {
     for (int i = 0; i < num; ++i) {
-      addBurst(new Burst(Apotheneum.cylinder.exterior));
+      addBurst(Apotheneum.cylinder.exterior);
     }
   }
 
@@ -99,6 +99,14 @@ public class CylinderBursts extends Bursts implements UIDeviceControls<CylinderB
       newKnob(cubeBursts.burstAttack, 0),
       newKnob(cubeBursts.burstExp, 0)
     ).setChildSpacing(6);
+
+    addVerticalBreak(ui, uiDevice);
+
+    addColumn(uiDevice,
+      "Voices",
+      newKnob(cubeBursts.polyphony),
+      newDropMenu(cubeBursts.steal)
+    ).setChildSpacing(6);
   }
 
 }
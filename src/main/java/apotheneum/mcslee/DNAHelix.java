@@ -25,7 +25,6 @@ import heronarts.lx.LXCategory;
 import heronarts.lx.LXComponent;
 import heronarts.lx.LXComponentName;
 import heronarts.lx.color.LXColor;
-import heronarts.lx.model.LXPoint;
 import heronarts.lx.modulator.SawLFO;
 import heronarts.lx.parameter.BooleanParameter;
 import heronarts.lx.parameter.CompoundParameter;
@@ -143,11 +142,10 @@ public class DNAHelix extends ApotheneumPattern {
           (twist + ri * coeff) +
           noise * noiseDepth * LXUtils.noise(noiseX, 0, -noiseY + (ni * noiseScale));
         float pos = Apotheneum.Cylinder.Ring.LENGTH * (basis % 1f);
-        int pi = 0;
-        for (LXPoint p : ring.points) {
-          float dist = LXUtils.wrapdistf((2 * pi) % ring.points.length, pos, ring.points.length);
-          ++pi;
-          colors[p.index] = LXColor.gray(LXUtils.max(0, 100 - falloff * dist));
+        final int[] indices = ring.indices;
+        for (int pi = 0; pi < indices.length; ++pi) {
+          float dist = LXUtils.wrapdistf((2 * pi) % indices.length, pos, indices.length);
+          colors[indices[pi]] = LXColor.gray(LXUtils.max(0, 100 - falloff * dist));
         }
         ++ri;
         ++ni;
@@ -167,11 +165,10 @@ public class DNAHelix extends ApotheneumPattern {
             noise * noiseDepth * LXUtils.noise(noiseX, 0, -noiseY + (ni * noiseScale))
           );
         float pos = Apotheneum.Cube.Ring.LENGTH * (basis % 1f);
-        int pi = 0;
-        for (LXPoint p : ring.points) {
-          float dist = LXUtils.wrapdistf((2 * pi) % ring.points.length, pos, ring.points.length);
-          ++pi;
-          colors[p.index] = LXColor.gray(LXUtils.max(0, 100 - falloff * dist));
+        final int[] indices = ring.indices;
+        for (int pi = 0; pi < indices.length; ++pi) {
+          float dist = LXUtils.wrapdistf((2 * pi) % indices.length, pos, indices.length);
+          colors[indices[pi]] = LXColor.gray(LXUtils.max(0, 100 - falloff * dist));
         }
         ++ri;
         ++ni;
@@ -24,12 +24,9 @@ import heronarts.lx.LX;
 import heronarts.lx.LXCategory;
 import heronarts.lx.LXComponent;
 import heronarts.lx.LXComponentName;
-import heronarts.lx.LXLayer;
 import heronarts.lx.color.LXColor;
 import heronarts.lx.model.LXModel;
 import heronarts.lx.model.LXPoint;
-import heronarts.lx.osc.OscInt;
-import heronarts.lx.osc.OscMessage;
 import heronarts.lx.parameter.BooleanParameter;
 import heronarts.lx.parameter.CompoundParameter;
 import heronarts.lx.studio.LXStudio.UI;
@@ -42,7 +39,7 @@ import heronarts.lx.utils.LXUtils;
 @LXComponent.Description("Objects moving under gravitational forces")
 public class Gravity extends ApotheneumPattern implements UIDeviceControls<Gravity> {
 
-  private class Orb extends LXLayer {
+  private class Orb {
 
     private final int numCols;
     private final LXModel[] columns;
@@ -55,8 +52,7 @@ public class Gravity extends ApotheneumPattern implements UIDeviceControls<Gravi
     private final float vxd;
     private final boolean box;
 
-    private Orb(LX lx, LXModel[] columns, boolean box) {
-      super(lx);
+    private Orb(LXModel[] columns, boolean box) {
       this.columns = columns;
       this.numCols = columns.length;
       this.yMax = columns[0].size;
@@ -71,8 +67,7 @@ public class Gravity extends ApotheneumPattern implements UIDeviceControls<Gravi
     private static final float PUSH_RANGE = 40;
     private static final float OSC_THRESHOLD = 4f;
 
-    @Override
-    public void run(double deltaMs) {
+    private void render(double deltaMs) {
       boolean active =
         (this.box && cubeOn.isOn()) ||
         (!this.box && cylinderOn.isOn());
@@ -247,37 +242,42 @@ public class Gravity extends ApotheneumPattern implements UIDeviceControls<Gravi
 
     private static final double RETRIG_LIMIT_MS = 60;
 
-    private final OscMessage message;
+    private final String address;
     private boolean flag = false;
-    private final OscInt velocity;
+    private int velocity = 1;
     private double reset = 0;
 
-    private OscTrigger(String message) {
-      this.message = new OscMessage(message).add(this.velocity = new OscInt());
+    private OscTrigger(String address) {
+      this.address = address;
     }
 
     private void pre(double deltaMs) {
       this.flag = false;
-      this.velocity.setValue(1);
+      this.velocity = 1;
       this.reset += deltaMs;
     }
 
     private void flag(double v) {
       double abs = .25f * Math.abs(v);
-      this.velocity.setValue(LXUtils.max(this.velocity.getValue(), LXUtils.min(127, (int) (abs * abs))));
+      this.velocity = LXUtils.max(this.velocity, LXUtils.min(127, (int) (abs * abs)));
       this.flag = true;
     }
 
     private void post() {
       if (this.flag && (this.reset > RETRIG_LIMIT_MS)) {
         if (output.isOn()) {
-          Apotheneum.osc2Ableton(this.message);
+          Apotheneum.osc2Ableton(this.address, this.velocity);
         }
         this.reset = 0;
       }
     }
   }
 
+  private static final int NUM_CUBE_ORBS = 20;
+  private static final int NUM_CYLINDER_ORBS = 10;
+
+  private final Orb[] orbs = new Orb[NUM_CUBE_ORBS + NUM_CYLINDER_ORBS];
+
   public Gravity(LX lx) {
     super(lx);
     addParameter("gravity", this.gravity);
@@ -295,12 +295,19 @@ public class Gravity extends ApotheneumPattern implements UIDeviceControls<Gravi
     addParameter("cubeOn", this.cubeOn);
     addParameter("cylinderOn", this.cylinderOn);
 
-    for (int i = 0; i < 20; ++i) {
-      addLayer(new Orb(lx, Apotheneum.cube.exterior.faces[i % 4].columns, true));
+    for (int i = 0; i < NUM_CUBE_ORBS; ++i) {
+      this.orbs[i] = new Orb(Apotheneum.cube.exterior.faces[i % 4].columns, true);
     }
-    for (int i = 0; i < 10; ++i) {
-      addLayer(new Orb(lx, Apotheneum.cylinder.exterior.columns, false));
+    for (int i = NUM_CUBE_ORBS; i < this.orbs.length; ++i) {
+      this.orbs[i] = new Orb(Apotheneum.cylinder.exterior.columns, false);
     }
+    Apotheneum.acquireOscSender();
+  }
+
+  @Override
+  public void dispose() {
+    Apotheneum.releaseOscSender();
+    super.dispose();
   }
 
   @Override
@@ -309,10 +316,9 @@ public class Gravity extends ApotheneumPattern implements UIDeviceControls<Gravi
     this.oscWall.pre(deltaMs);
     this.oscPeak.pre(deltaMs);
     this.oscFloor.pre(deltaMs);
-  }
-
-  @Override
-  protected void afterLayers(double deltaMs) {
+    for (Orb orb : this.orbs) {
+      orb.render(deltaMs);
+    }
     copyExterior();
     this.oscWall.post();
     this.oscPeak.post();
@@ -26,7 +26,6 @@ import heronarts.lx.LXComponent;
 import heronarts.lx.color.LXColor;
 import heronarts.lx.model.LXModel;
 import heronarts.lx.model.LXPoint;
-import heronarts.lx.osc.OscMessage;
 import heronarts.lx.parameter.BooleanParameter;
 import heronarts.lx.parameter.CompoundParameter;
 import heronarts.lx.parameter.TriggerParameter;
@@ -65,8 +64,8 @@ public class Overtones extends ApotheneumPattern {
   public final TriggerParameter floor =
     new TriggerParameter("Floor", this::floor);
 
-  private final OscMessage oscPeak = new OscMessage("/overtones/peak");
-  private final OscMessage oscFloor = new OscMessage("/overtones/floor");
+  private static final String OSC_PEAK = "/overtones/peak";
+  private static final String OSC_FLOOR = "/overtones/floor";
 
   public Overtones(LX lx) {
     super(lx);
@@ -77,6 +76,7 @@ public class Overtones extends ApotheneumPattern {
     addParameter("peak", this.peak);
     addParameter("floor", this.floor);
     addParameter("outputTriggers", this.outputTriggers);
+    Apotheneum.acquireOscSender();
   }
 
   private static final int NUM_TONES = 30;
@@ -139,11 +139,17 @@ public class Overtones extends ApotheneumPattern {
   }
 
   private void peak() {
-    Apotheneum.osc2Ableton(this.oscPeak);
+    Apotheneum.osc2Ableton(OSC_PEAK);
   }
 
   private void floor() {
-    Apotheneum.osc2Ableton(this.oscFloor);
+    Apotheneum.osc2Ableton(OSC_FLOOR);
+  }
+
+  @Override
+  public void dispose() {
+    Apotheneum.releaseOscSender();
+    super.dispose();
   }
 
 }
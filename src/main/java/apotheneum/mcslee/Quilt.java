@@ -102,10 +102,10 @@ public class Quilt extends ApotheneumPattern implements UIDeviceControls<Quilt>
     protected abstract int getStripeColor(double b);
 
     protected void render(double deltaMs) {
-      final double spd = Crawlers.bias(minSpeed, maxSpeed, biasSpeed, this.rnd);
+      final double spd = Crawlers.bias(snapshot.get(minSpeedSlot), snapshot.get(maxSpeedSlot), snapshot.get(biasSpeedSlot), this.rnd);
       this.basis = (this.basis + deltaMs * spd / 5000) % 1.;
 
-      final double length = Crawlers.bias(minLength, maxLength, biasLength, this.rnd);
+      final double length = Crawlers.bias(snapshot.get(minLengthSlot), snapshot.get(maxLengthSlot), snapshot.get(biasLengthSlot), this.rnd);
       final double falloff = 100 / length;
 
       final double tb = ((this.index % 2) == 0) ? this.basis : 1-this.basis;
@@ -158,6 +158,14 @@ public class Quilt extends ApotheneumPattern implements UIDeviceControls<Quilt>
   private final List<VStripe> vStripes = new ArrayList<>();
   private final List<HStripe> hStripes = new ArrayList<>();
 
+  // Snapshot slots of the parameters read for every stripe
+  private final int minLengthSlot;
+  private final int maxLengthSlot;
+  private final int biasLengthSlot;
+  private final int minSpeedSlot;
+  private final int maxSpeedSlot;
+  private final int biasSpeedSlot;
+
   public Quilt(LX lx) {
     super(lx);
     addParameter("minLength", this.minLength);
@@ -169,6 +177,13 @@ public class Quilt extends ApotheneumPattern implements UIDeviceControls<Quilt>
     addParameter("hColor", this.hColor);
     addParameter("vColor", this.vColor);
 
+    this.minLengthSlot = this.snapshot.slot(this.minLength);
+    this.maxLengthSlot = this.snapshot.slot(this.maxLength);
+    this.biasLengthSlot = this.snapshot.slot(this.biasLength);
+    this.minSpeedSlot = this.snapshot.slot(this.minSpeed);
+    this.maxSpeedSlot = this.snapshot.slot(this.maxSpeed);
+    this.biasSpeedSlot = this.snapshot.slot(this.biasSpeed);
+
     for (int i = 0; i < Apotheneum.cube.exterior.columns.length; ++i) {
       this.vStripes.add(new VStripe(Apotheneum.cube, i));
     }
@@ -20,20 +20,21 @@ package apotheneum.mcslee;
 
 import apotheneum.Apotheneum;
 import apotheneum.ApotheneumPattern;
+import apotheneum.VoicePool;
 import heronarts.lx.LX;
 import heronarts.lx.LXCategory;
 import heronarts.lx.LXComponent;
 import heronarts.lx.LXComponentName;
-import heronarts.lx.LXLayer;
 import heronarts.lx.color.LXColor;
 import heronarts.lx.midi.MidiNoteOn;
 import heronarts.lx.mixer.LXChannel;
 import heronarts.lx.model.LXModel;
 import heronarts.lx.model.LXPoint;
-import heronarts.lx.osc.OscMessage;
 import heronarts.lx.parameter.BooleanParameter;
 import heronarts.lx.parameter.CompoundDiscreteParameter;
 import heronarts.lx.parameter.CompoundParameter;
+import heronarts.lx.parameter.DiscreteParameter;
+import heronarts.lx.parameter.EnumParameter;
 import heronarts.lx.parameter.TriggerParameter;
 import heronarts.lx.pattern.LXPattern;
 import heronarts.lx.studio.LXStudio.UI;
@@ -102,21 +103,33 @@ public class Raindrops extends ApotheneumPattern implements ApotheneumPattern.Mi
     new BooleanParameter("Splash", true)
     .setDescription("Whether to do splash effect at the end");
 
-  private final OscMessage oscSplash = new OscMessage("/raindrops/splash");
+  // Drops live about 3 seconds at default settings, so even one trigger per
+  // frame stays well below this and drops are only stolen once Voices is lowered
+  private static final int MAX_DROPS = 1024;
 
-  private class Drop extends LXLayer {
+  public final DiscreteParameter polyphony =
+    new DiscreteParameter("Voices", MAX_DROPS, 1, MAX_DROPS + 1)
+    .setDescription("Maximum number of drops falling at once");
 
-    private final Apotheneum.Orientation orientation;
-    private final LXModel column;
-    private final int ringIndex;
+  public final EnumParameter<VoicePool.Steal> steal =
+    new EnumParameter<VoicePool.Steal>("Steal", VoicePool.Steal.OLDEST)
+    .setDescription("Which drop is replaced when all voices are in use");
+
+  private static final String OSC_SPLASH = "/raindrops/splash";
+
+  private class Drop implements VoicePool.Voice {
+
+    private Apotheneum.Orientation orientation;
+    private LXModel column;
+    private int ringIndex;
     private double pos;
-    private double velocity = 0;
-    private boolean hasSplashed = false;
+    private double velocity;
+    private boolean hasSplashed;
     private int splashPoint;
     private LXPoint[] ring;
+    private float level;
 
-    private Drop(LX lx) {
-      super(lx);
+    private void start() {
       this.orientation =
         (Math.random() < position.getValue()) ?
           Apotheneum.cube.exterior :
@@ -129,6 +142,8 @@ public class Raindrops extends ApotheneumPattern implements ApotheneumPattern.Mi
       );
       this.ring = this.orientation.ring(this.splashPoint).points;
       this.velocity = LXUtils.lerp(initVelocityMin.getValue(), initVelocityMax.getValue(), Math.random());
+      this.hasSplashed = false;
+      this.level = 1;
 
       // Initialize position based on startHeight parameter
       // startHeight: 1 = top (pos=0), 0 = bottom (pos=splashPoint)
@@ -136,7 +151,16 @@ public class Raindrops extends ApotheneumPattern implements ApotheneumPattern.Mi
     }
 
     @Override
-    public void run(double deltaMs) {
+    public float level() {
+      return this.level;
+    }
+
+    /**
+     * Advances and draws the drop
+     *
+     * @return Whether the drop is still visible
+     */
+    private boolean render(double deltaMs) {
       final double acc = gravity.getValue() * 385.826 / 9.375;
       final double t = deltaMs * .001;
       this.pos += .5 * acc * t * t + this.velocity * t;
@@ -176,16 +200,17 @@ public class Raindrops extends ApotheneumPattern implements ApotheneumPattern.Mi
       if (splash > 0) {
         if (!this.hasSplashed) {
           if (sendSplash.isOn()) {
-            Apotheneum.osc2Ableton(oscSplash);
+            Apotheneum.osc2Ableton(OSC_SPLASH);
           }
           this.hasSplashed = true;
         }
+        final double splashLerp = Math.sqrt(.5 * splash);
+        this.level = (float) LXUtils.lerp(1, 0, splashLerp * .15);
         if (renderSplash) {
-          final double splashLerp = Math.sqrt(.5 * splash);
           int ri = 0;
           for (LXPoint p : this.ring) {
             double b =
-              LXUtils.lerp(1, 0, splashLerp * .15) -
+              this.level -
               .25 * Math.abs(LXUtils.wrapdistf(this.ringIndex, ri, this.ring.length) - splashLerp);
             if (b > 0) {
               colors[p.index] = LXColor.lightest(colors[p.index], LXColor.grayn(b));
@@ -196,12 +221,11 @@ public class Raindrops extends ApotheneumPattern implements ApotheneumPattern.Mi
         }
       }
 
-      if (done) {
-        remove();
-      }
+      return !done;
     }
   }
 
+  private final VoicePool<Drop> drops = new VoicePool<Drop>(MAX_DROPS, Drop::new);
 
   public Raindrops(LX lx) {
     super(lx);
@@ -218,15 +242,32 @@ public class Raindrops extends ApotheneumPattern implements ApotheneumPattern.Mi
     addParameter("splash", this.splash);
     addParameter("sendSplash", this.sendSplash);
     addParameter("linkFloor", this.linkFloor);
+    addParameter("polyphony", this.polyphony);
+    addParameter("steal", this.steal);
+    Apotheneum.acquireOscSender();
   }
 
   private void trig() {
     final int perTrig = this.perTrig.getValuei();
+    this.drops
+      .setPolyphony(this.polyphony.getValuei())
+      .setSteal(this.steal.getEnum());
     for (int i = 0; i < perTrig; ++i) {
-      addLayer(new Drop(this.lx));
+      this.drops.trigger().start();
     }
   }
 
+  @Override
+  protected void onModelChanged(LXModel model) {
+    this.drops.clear();
+  }
+
+  @Override
+  public void dispose() {
+    Apotheneum.releaseOscSender();
+    super.dispose();
+  }
+
   private Surfacing surface = null;
 
   @Override
@@ -244,10 +285,11 @@ public class Raindrops extends ApotheneumPattern implements ApotheneumPattern.Mi
         }
       }
     }
-  }
-
-  @Override
-  protected void afterLayers(double deltaMs) {
+    for (int i = this.drops.size() - 1; i >= 0; --i) {
+      if (!this.drops.get(i).render(deltaMs)) {
+        this.drops.release(i);
+      }
+    }
     copyExterior();
   }
 
@@ -290,6 +332,13 @@ public class Raindrops extends ApotheneumPattern implements ApotheneumPattern.Mi
       sectionLabel("OSC"),
       newButton(raindrops.sendSplash)
     ).setChildSpacing(6);
+
+    addVerticalBreak(ui, uiDevice);
+
+    addColumn(uiDevice, "Voices",
+      newKnob(raindrops.polyphony),
+      newDropMenu(raindrops.steal)
+    ).setChildSpacing(6);
   }
 
 }
@@ -23,7 +23,6 @@ import apotheneum.ApotheneumEffect;
 import heronarts.lx.LX;
 import heronarts.lx.LXCategory;
 import heronarts.lx.LXComponent;
-import heronarts.lx.model.LXPoint;
 import heronarts.lx.parameter.BooleanParameter;
 import heronarts.lx.parameter.CompoundParameter;
 import heronarts.lx.parameter.EnumParameter;
@@ -33,6 +32,7 @@ import heronarts.lx.studio.ui.device.UIDevice;
 import heronarts.lx.studio.ui.device.UIDeviceControls;
 import heronarts.lx.utils.LXUtils;
 import heronarts.glx.ui.component.UIDropMenu;
+import java.util.Arrays;
 
 @LXCategory("Apotheneum/mcslee")
 @LXComponent.Description("Implements radial and mirroring symmetry on the cube and cylinder")
@@ -124,42 +124,139 @@ public class Symmetry extends ApotheneumEffect implements UIDeviceControls<Symme
     setDamping(false);
   }
 
+  /**
+   * Flat list of copies into the colors array, in the order they must be
+   * performed. Copies between consecutive indices are merged into a single
+   * run which is performed with System.arraycopy.
+   */
+  private static class CopyPlan {
+
+    private int[] src = new int[256];
+    private int[] dst = new int[256];
+    private int[] length = new int[256];
+    private int size = 0;
+
+    // Runs may not extend across passes, later passes read what earlier ones wrote
+    private boolean canExtend = false;
+
+    private void clear() {
+      this.size = 0;
+      this.canExtend = false;
+    }
+
+    private void endPass() {
+      this.canExtend = false;
+    }
+
+    private void add(int from, int to) {
+      if (this.canExtend) {
+        final int last = this.size - 1;
+        final int len = this.length[last];
+        if ((this.src[last] + len == from) && (this.dst[last] + len == to)) {
+          ++this.length[last];
+          return;
+        }
+      }
+      if (this.size == this.src.length) {
+        this.src = Arrays.copyOf(this.src, this.size * 2);
+        this.dst = Arrays.copyOf(this.dst, this.size * 2);
+        this.length = Arrays.copyOf(this.length, this.size * 2);
+      }
+      this.src[this.size] = from;
+      this.dst[this.size] = to;
+      this.length[this.size] = 1;
+      ++this.size;
+      this.canExtend = true;
+    }
+
+    private void apply(int[] colors) {
+      for (int i = 0; i < this.size; ++i) {
+        final int len = this.length[i];
+        if (len == 1) {
+          colors[this.dst[i]] = colors[this.src[i]];
+        } else {
+          System.arraycopy(colors, this.src[i], colors, this.dst[i], len);
+        }
+      }
+    }
+  }
+
+  private final CopyPlan plan = new CopyPlan();
+
+  // Model and resolved settings the plan was built from
+  private Apotheneum.Cube planCube = null;
+  private Apotheneum.Cylinder planCylinder = null;
+  private final int[] planKey = new int[8];
+  private final int[] planKeyNext = new int[8];
+
   @Override
   protected void render(double deltaMs, double enabledAmount) {
     if (enabledAmount <= 0) {
       return;
     }
+    updatePlan();
+    this.plan.apply(colors);
+  }
 
-
+  /**
+   * Rebuilds the copy plan if the model or the settings it resolves to have changed. The
+   * key holds the resolved start columns and horizon ring rather than raw
+   * parameter values, so small angle changes don't force a rebuild.
+   */
+  private void updatePlan() {
     final int segmentsCylinder = this.cylinderSegments.getObject();
+    final int segmentsCube = this.cubeSegments.getObject();
     final boolean mirror = this.cubeMode.getEnum() == ReflectionMode.MIRROR;
+    final int[] key = this.planKeyNext;
+    key[0] = segmentsCylinder;
+    key[1] = (segmentsCylinder > 1) ? fromCol(Apotheneum.cylinder.exterior, 0, this.cylinderAngle.getNormalizedf()) : -1;
+    key[2] = segmentsCube;
+    key[3] = (segmentsCube > 1) ? fromCol(Apotheneum.cube.exterior, Apotheneum.GRID_WIDTH/2, this.cubeAngle.getNormalizedf()) : -1;
+    key[4] = mirror ? 1 : 0;
+    key[5] = this.horizonCube.isOn() ? horizonRing(Apotheneum.cube.exterior) : -1;
+    key[6] = this.horizonCylinder.isOn() ? horizonRing(Apotheneum.cylinder.exterior) : -1;
+    key[7] = this.invertHorizon.isOn() ? 1 : 0;
+    if ((this.planCube == Apotheneum.cube) && (this.planCylinder == Apotheneum.cylinder) && Arrays.equals(key, this.planKey)) {
+      return;
+    }
+    System.arraycopy(key, 0, this.planKey, 0, key.length);
+    this.planCube = Apotheneum.cube;
+    this.planCylinder = Apotheneum.cylinder;
+
+    this.plan.clear();
     if (segmentsCylinder > 1) {
-      final float angle = this.cylinderAngle.getNormalizedf();
-      copyCols(Apotheneum.cylinder.exterior, segmentsCylinder, 0, angle, mirror);
-      copyCols(Apotheneum.cylinder.interior, segmentsCylinder, 0, angle, mirror);
+      copyCols(Apotheneum.cylinder.exterior, segmentsCylinder, key[1], mirror);
+      copyCols(Apotheneum.cylinder.interior, segmentsCylinder, key[1], mirror);
     }
-    final int segmentsCube = this.cubeSegments.getObject();
     if (segmentsCube > 1) {
-      final float angle = this.cubeAngle.getNormalizedf();
-      copyCols(Apotheneum.cube.exterior, segmentsCube, Apotheneum.GRID_WIDTH/2, angle, mirror);
-      copyCols(Apotheneum.cube.interior, segmentsCube, Apotheneum.GRID_WIDTH/2, angle, mirror);
+      copyCols(Apotheneum.cube.exterior, segmentsCube, key[3], mirror);
+      copyCols(Apotheneum.cube.interior, segmentsCube, key[3], mirror);
     }
+    this.plan.endPass();
 
-    final float horizonPosition = this.horizonPosition.getValuef();
-    final boolean invertHorizon = this.invertHorizon.isOn();
-    if (this.horizonCube.isOn()) {
-      mirrorRings(Apotheneum.cube.exterior, horizonPosition, invertHorizon);
-      mirrorRings(Apotheneum.cube.interior, horizonPosition, invertHorizon);
+    final boolean invertHorizon = key[7] == 1;
+    if (key[5] >= 0) {
+      mirrorRings(Apotheneum.cube.exterior, key[5], invertHorizon);
+      mirrorRings(Apotheneum.cube.interior, key[5], invertHorizon);
     }
-    if (this.horizonCylinder.isOn()) {
-      mirrorRings(Apotheneum.cylinder.exterior, horizonPosition, invertHorizon);
-      mirrorRings(Apotheneum.cylinder.interior, horizonPosition, invertHorizon);
+    if (key[6] >= 0) {
+      mirrorRings(Apotheneum.cylinder.exterior, key[6], invertHorizon);
+      mirrorRings(Apotheneum.cylinder.interior, key[6], invertHorizon);
     }
   }
 
-  private void copyCols(Apotheneum.Orientation orientation, int numSegments, int offset, float angle, boolean mirror) {
+  private int fromCol(Apotheneum.Orientation orientation, int offset, float angle) {
+    final int numCols = orientation.columns().length;
+    return (LXUtils.lerpi(0, numCols, angle) + offset) % numCols;
+  }
+
+  private int horizonRing(Apotheneum.Orientation orientation) {
+    final int numRings = orientation.rings().length;
+    return LXUtils.lerpi(numRings-1, 0, this.horizonPosition.getValuef());
+  }
+
+  private void copyCols(Apotheneum.Orientation orientation, int numSegments, int fromCol, boolean mirror) {
     final int numCols = orientation.columns().length;
-    final int fromCol = (LXUtils.lerpi(0, numCols, angle) + offset) % numCols;
     final int segmentCols = numCols / numSegments;
     for (int s = 1; s < numSegments; ++s) {
       final int toCol = fromCol + segmentCols * s;
@@ -167,17 +264,13 @@ public class Symmetry extends ApotheneumEffect implements UIDeviceControls<Symme
         int fromIndex = (mirror && ((s % 2) == 1)) ?
           (fromCol + segmentCols - 1 - i) :
           (fromCol + i);
-        copyPoints(
-          orientation.column(fromIndex % numCols).points,
-          orientation.column((toCol + i) % numCols).points
-        );
+        copyColumn(orientation, fromIndex % numCols, (toCol + i) % numCols);
       }
     }
   }
 
-  private void mirrorRings(Apotheneum.Orientation orientation, float horizonPosition, boolean invertHorizon) {
+  private void mirrorRings(Apotheneum.Orientation orientation, int center, boolean invertHorizon) {
     final int numRings = orientation.rings().length;
-    final int center = LXUtils.lerpi(numRings-1, 0, horizonPosition);
     if (!invertHorizon) {
       // Copy bottom to top
       final int avail = numRings - center;
@@ -189,10 +282,7 @@ public class Symmetry extends ApotheneumEffect implements UIDeviceControls<Symme
         } else {
           fromIndex = center + (offset % avail);
         }
-        copyPoints(
-          orientation.ring(fromIndex).points,
-          orientation.ring(center - offset).points
-        );
+        copyRing(orientation, fromIndex, center - offset);
       }
     } else {
       // Copy top to bottom
@@ -205,18 +295,24 @@ public class Symmetry extends ApotheneumEffect implements UIDeviceControls<Symme
         } else {
           fromIndex = center - (offset % avail);
         }
-        copyPoints(
-          orientation.ring(fromIndex).points,
-          orientation.ring(center + offset).points
-        );
+        copyRing(orientation, fromIndex, center + offset);
       }
     }
   }
 
-  private void copyPoints(LXPoint[] from, LXPoint[] to) {
-    int pi = 0;
-    for (LXPoint p : from) {
-      colors[to[pi++].index] = colors[p.index];
+  private void copyColumn(Apotheneum.Orientation orientation, int fromCol, int toCol) {
+    final int[] columnMajor = orientation.columnMajor();
+    final int height = orientation.height();
+    for (int y = 0; y < height; ++y) {
+      this.plan.add(columnMajor[fromCol * height + y], columnMajor[toCol * height + y]);
+    }
+  }
+
+  private void copyRing(Apotheneum.Orientation orientation, int fromRing, int toRing) {
+    final int[] rowMajor = orientation.rowMajor();
+    final int width = orientation.width();
+    for (int x = 0; x < width; ++x) {
+      this.plan.add(rowMajor[fromRing * width + x], rowMajor[toRing * width + x]);
     }
   }
 
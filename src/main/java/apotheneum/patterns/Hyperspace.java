@@ -4,6 +4,7 @@ import heronarts.lx.LX;
 import heronarts.lx.LXCategory;
 import heronarts.lx.LXComponentName;
 import heronarts.lx.color.LXColor;
+import heronarts.lx.model.LXModel;
 import heronarts.lx.model.LXPoint;
 import heronarts.lx.parameter.CompoundParameter;
 import heronarts.lx.parameter.BooleanParameter;
@@ -11,6 +12,7 @@ import heronarts.lx.pattern.LXPattern;
 import heronarts.lx.studio.LXStudio.UI;
 import heronarts.lx.studio.ui.device.UIDevice;
 import heronarts.lx.studio.ui.device.UIDeviceControls;
+import apotheneum.PointGrid;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -171,6 +173,7 @@ public class Hyperspace extends LXPattern implements UIDeviceControls<Hyperspace
     .setDescription("Motion direction: -1=Negative, +1=Positive");
   
   private double pulsePhase = 0;
+  private PointGrid pointGrid;
   
   public Hyperspace(LX lx) {
     super(lx);
@@ -211,8 +214,19 @@ public class Hyperspace extends LXPattern implements UIDeviceControls<Hyperspace
     super.onParameterChanged(parameter);
   }
   
+  @Override
+  protected void onModelChanged(LXModel model) {
+    // Looked up again on the next frame, once the shared grids are reset
+    pointGrid = null;
+  }
+  
   @Override
   protected void run(double deltaMs) {
+    // Shared spatial index over the current model
+    if (pointGrid == null) {
+      pointGrid = PointGrid.get(lx, model);
+    }
+
     // Update pulse phase
     if (pulse.isOn()) {
       pulsePhase += deltaMs * 0.003;
@@ -281,26 +295,13 @@ public class Hyperspace extends LXPattern implements UIDeviceControls<Hyperspace
     }
   }
   
-  // Efficient star rendering - finds closest LED without O(n²) complexity
+  // Efficient star rendering - finds closest LED via the spatial grid
   private void renderStarAtPoint(float x, float y, float z, int color, float brightness) {
     // Quick bounds check
     if (x < 0 || x > 1 || y < 0 || y > 1 || z < 0 || z > 1) return;
     
-    float minDistanceSquared = Float.MAX_VALUE;
-    int closestIndex = -1;
-    
-    // Single pass to find closest LED - O(n) instead of O(n²)
-    for (LXPoint p : model.points) {
-      float dx = p.xn - x;
-      float dy = p.yn - y;
-      float dz = p.zn - z;
-      float distanceSquared = dx*dx + dy*dy + dz*dz; // No sqrt needed!
-      
-      if (distanceSquared < minDistanceSquared) {
-        minDistanceSquared = distanceSquared;
-        closestIndex = p.index;
-      }
-    }
+    // Only the cells around the star are searched, not every point
+    int closestIndex = pointGrid.nearest(x, y, z);
     
     // Render to closest LED only - much faster than interpolation
     if (closestIndex >= 0) {
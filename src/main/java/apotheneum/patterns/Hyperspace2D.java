@@ -2,6 +2,8 @@ package apotheneum.patterns;
 
 import apotheneum.Apotheneum;
 import apotheneum.ApotheneumPattern;
+import apotheneum.ParticleSystem;
+import apotheneum.RingCanvas;
 import heronarts.lx.LX;
 import heronarts.lx.LXCategory;
 import heronarts.lx.LXComponentName;
@@ -12,123 +14,148 @@ import heronarts.lx.parameter.DiscreteParameter;
 import heronarts.lx.studio.LXStudio.UI;
 import heronarts.lx.studio.ui.device.UIDevice;
 import heronarts.lx.studio.ui.device.UIDeviceControls;
-import java.util.ArrayList;
-import java.util.List;
 
 @LXCategory("Apotheneum")
 @LXComponentName("Hyperspace2D")
 public class Hyperspace2D extends ApotheneumPattern implements UIDeviceControls<Hyperspace2D> {
 
-  // Star particle moving in 2D face space
-  private static class Star {
-    float x, y;           // Position on face (0-1 normalized)
-    float vx, vy;         // Velocity (NEVER changes after creation)
-    float speed;          // Individual speed multiplier
-    int color;            // Star color
-    double age;           // Current age in milliseconds
-    double lifespan;      // Total lifespan in milliseconds
-    
-    // Trail history for longer trails
-    private static final int TRAIL_HISTORY = 20; // Store last 20 positions for longer trails
-    float[] trailX = new float[TRAIL_HISTORY];
-    float[] trailY = new float[TRAIL_HISTORY];
-    int trailIndex = 0; // Current position in circular buffer
-    int currentFace;      // Which face the star is currently on
-    int facesVisited;     // How many different faces this star has been on
-    float twinklePhase;   // Random phase offset for twinkle oscillation
-    float twinkleFreq;    // Individual twinkle frequency multiplier
-    
-    Star(float sourceX, float sourceY, float spreadRadius, double maxLifespan) {
+  private static final int MAX_STARS = 1024;
+
+  // Trail history for longer trails
+  private static final int TRAIL_HISTORY = 20; // Store last 20 positions for longer trails
+
+  // Star particles moving in 2D face space. Position is normalized 0-1 on the
+  // face, velocity NEVER changes after creation, age and lifespan are in ms.
+  private static class Stars extends ParticleSystem {
+
+    final float[] speed = new float[this.capacity]; // Individual speed multiplier
+    final int[] color = new int[this.capacity]; // Star color
+
+    // Circular buffers of past positions, TRAIL_HISTORY per star
+    final float[] trailX = new float[this.capacity * TRAIL_HISTORY];
+    final float[] trailY = new float[this.capacity * TRAIL_HISTORY];
+    final int[] trailIndex = new int[this.capacity]; // Current position in circular buffer
+
+    final int[] currentFace = new int[this.capacity]; // Which face the star is currently on
+    final int[] facesVisited = new int[this.capacity]; // How many different faces this star has been on
+    final float[] twinklePhase = new float[this.capacity]; // Random phase offset for twinkle oscillation
+    final float[] twinkleFreq = new float[this.capacity]; // Individual twinkle frequency multiplier
+
+    Stars() {
+      super(MAX_STARS);
+    }
+
+    void spawn(float sourceX, float sourceY, float spreadRadius, double maxLifespan) {
+      final int i = spawn();
+      if (i < 0) {
+        return;
+      }
+
       // Pick a random direction first
       float angle = (float)(Math.random() * 2 * Math.PI);
-      this.vx = (float)Math.cos(angle);
-      this.vy = (float)Math.sin(angle);
-      
+      this.vx[i] = (float)Math.cos(angle);
+      this.vy[i] = (float)Math.sin(angle);
+
       // Start at random distance from source point IN THE SAME DIRECTION as movement
       float spreadDistance = (float)Math.random() * spreadRadius;
-      
-      this.x = sourceX + this.vx * spreadDistance;
-      this.y = sourceY + this.vy * spreadDistance;
-      
+
+      this.x[i] = sourceX + this.vx[i] * spreadDistance;
+      this.y[i] = sourceY + this.vy[i] * spreadDistance;
+
       // Initialize trail history to current position
-      for (int i = 0; i < TRAIL_HISTORY; i++) {
-        trailX[i] = this.x;
-        trailY[i] = this.y;
+      final int trailStart = i * TRAIL_HISTORY;
+      for (int t = 0; t < TRAIL_HISTORY; t++) {
+        this.trailX[trailStart + t] = this.x[i];
+        this.trailY[trailStart + t] = this.y[i];
       }
-      trailIndex = 0;
-      
+      this.trailIndex[i] = 0;
+
       // Initialize face tracking
-      this.currentFace = getCurrentFace(this.x, this.y);
-      this.facesVisited = 1; // Starting on first face
-      
+      this.currentFace[i] = getCurrentFace(this.x[i], this.y[i]);
+      this.facesVisited[i] = 1; // Starting on first face
+
       // Direction is already set and guaranteed to point away from source
-      
-      this.speed = 0.8f + (float)Math.random() * 0.4f; // 0.8-1.2x speed
-      this.age = 0;
-      this.lifespan = Math.random() * maxLifespan + maxLifespan * 0.5; // 50%-150% of max
-      
+
+      this.speed[i] = 0.8f + (float)Math.random() * 0.4f; // 0.8-1.2x speed
+      this.lifespan[i] = (float) (Math.random() * maxLifespan + maxLifespan * 0.5); // 50%-150% of max
+
       // Pure white stars
       float brightness = 0.8f + (float)Math.random() * 0.2f;
-      this.color = LXColor.rgb(
+      this.color[i] = LXColor.rgb(
         (int)(brightness * 255),
         (int)(brightness * 255),
         (int)(brightness * 255)
       );
-      
+
       // Initialize twinkle properties
-      this.twinklePhase = (float)(Math.random() * Math.PI * 2); // Random phase
-      this.twinkleFreq = 0.5f + (float)Math.random() * 1.0f;   // 0.5x to 1.5x base speed
+      this.twinklePhase[i] = (float)(Math.random() * Math.PI * 2); // Random phase
+      this.twinkleFreq[i] = 0.5f + (float)Math.random() * 1.0f;   // 0.5x to 1.5x base speed
     }
-    
-    void update(double deltaMs, float baseSpeed) {
-      age += deltaMs;
-      
+
+    @Override
+    protected void move(int from, int to) {
+      super.move(from, to);
+      this.speed[to] = this.speed[from];
+      this.color[to] = this.color[from];
+      System.arraycopy(this.trailX, from * TRAIL_HISTORY, this.trailX, to * TRAIL_HISTORY, TRAIL_HISTORY);
+      System.arraycopy(this.trailY, from * TRAIL_HISTORY, this.trailY, to * TRAIL_HISTORY, TRAIL_HISTORY);
+      this.trailIndex[to] = this.trailIndex[from];
+      this.currentFace[to] = this.currentFace[from];
+      this.facesVisited[to] = this.facesVisited[from];
+      this.twinklePhase[to] = this.twinklePhase[from];
+      this.twinkleFreq[to] = this.twinkleFreq[from];
+    }
+
+    void update(int i, double deltaMs, float baseSpeed) {
+      this.age[i] += deltaMs;
+
       // Store current position in trail history before moving
-      trailX[trailIndex] = x;
-      trailY[trailIndex] = y;
-      trailIndex = (trailIndex + 1) % TRAIL_HISTORY;
-      
+      this.trailX[i * TRAIL_HISTORY + this.trailIndex[i]] = this.x[i];
+      this.trailY[i * TRAIL_HISTORY + this.trailIndex[i]] = this.y[i];
+      this.trailIndex[i] = (this.trailIndex[i] + 1) % TRAIL_HISTORY;
+
       // Move in straight line - velocity NEVER changes
-      float currentSpeed = baseSpeed * speed;
-      x += vx * currentSpeed;
-      y += vy * currentSpeed;
-      
+      float currentSpeed = baseSpeed * this.speed[i];
+      this.x[i] += this.vx[i] * currentSpeed;
+      this.y[i] += this.vy[i] * currentSpeed;
+
       // Check if we've moved to a new face
-      int newFace = getCurrentFace(x, y);
-      if (newFace != currentFace && newFace != -1) {
-        currentFace = newFace;
-        facesVisited++;
+      int newFace = getCurrentFace(this.x[i], this.y[i]);
+      if (newFace != this.currentFace[i] && newFace != -1) {
+        this.currentFace[i] = newFace;
+        this.facesVisited[i]++;
       }
     }
-    
-    boolean isAlive() {
+
+    boolean isAlive(int i) {
       // Stars disappear when they reach the 3rd face (after visiting 1st and 2nd)
       // Also disappear if they go too far from the main face area
+      final float x = this.x[i], y = this.y[i];
       boolean withinReasonableBounds = x > -1.5f && x < 2.5f && y > -1.5f && y < 2.5f;
-      return age < lifespan && facesVisited <= 2 && withinReasonableBounds;
+      return this.age[i] < this.lifespan[i] && this.facesVisited[i] <= 2 && withinReasonableBounds;
     }
-    
+
     // Determine which face a star is on based on its coordinates
-    int getCurrentFace(float x, float y) {
+    static int getCurrentFace(float x, float y) {
       // Convert coordinates to face indices
       // For cube: 4 faces around, for cylinder: wraps around
       // This is a simplified face detection - you might need to adjust based on your geometry
-      
+
       if (x < 0 || x > 1 || y < 0 || y > 1) {
         // Outside main face area - could be on adjacent faces
         // Simple mapping: negative X = face -1, > 1 X = face +1, etc.
         if (x < 0) return -1; // Left adjacent face
-        if (x > 1) return 1;  // Right adjacent face  
+        if (x > 1) return 1;  // Right adjacent face
         if (y < 0) return -2; // Top adjacent face
         if (y > 1) return 2;  // Bottom adjacent face
       }
-      
+
       return 0; // Main starting face
     }
-    
-    float getBrightness() {
+
+    float getBrightness(int i) {
       // Fade in/out based on age
-      double lifeFraction = age / lifespan;
+      double lifeFraction = this.age[i] / this.lifespan[i];
       float baseBrightness;
       if (lifeFraction < 0.1) {
         baseBrightness = (float)(lifeFraction / 0.1);
@@ -139,27 +166,30 @@ public class Hyperspace2D extends ApotheneumPattern implements UIDeviceControls<
       }
       return baseBrightness;
     }
-    
-    float getTwinkleBrightness(double currentTime, float twinkleIntensity, float twinkleSpeed) {
+
+    float getTwinkleBrightness(int i, double currentTime, float twinkleIntensity, float twinkleSpeed) {
       if (twinkleIntensity < 0.01f) {
-        return getBrightness(); // No twinkle
+        return getBrightness(i); // No twinkle
       }
-      
+
       // Calculate oscillating twinkle multiplier
-      float twinkleTime = (float)(currentTime * 0.001 * twinkleSpeed * twinkleFreq);
-      float twinkleOscillation = (float)Math.sin(twinkleTime + twinklePhase);
-      
+      float twinkleTime = (float)(currentTime * 0.001 * twinkleSpeed * this.twinkleFreq[i]);
+      float twinkleOscillation = (float)Math.sin(twinkleTime + this.twinklePhase[i]);
+
       // Convert from -1,1 to a brightness multiplier
       float twinkleMultiplier = 1.0f + (twinkleOscillation * twinkleIntensity * 0.8f);
       twinkleMultiplier = Math.max(0.2f, twinkleMultiplier); // Don't go completely dark
-      
-      return getBrightness() * twinkleMultiplier;
+
+      return getBrightness(i) * twinkleMultiplier;
     }
   }
-  
-  private final List<Star> stars = new ArrayList<>();
+
+  private final Stars stars = new Stars();
   private double currentTime = 0; // Track time for twinkle animation
-  
+
+  // Offscreen canvas for the current shape, faded each frame for trails
+  private RingCanvas canvas = null;
+
   // Parameters
   public final CompoundParameter sourceX = new CompoundParameter("Source X", 0.5, 0, 1)
     .setDescription("X position of star source (0=left, 1=right)");
@@ -231,17 +261,18 @@ public class Hyperspace2D extends ApotheneumPattern implements UIDeviceControls<
     
     // Apply feedback effect for trails instead of clearing all
     float trailAmount = (float)trailLength.getValue();
+    final RingCanvas.Shape canvasShape = RingCanvas.Shape.values()[shape.getValuei()];
+    if (canvas == null || canvas.shape != canvasShape) {
+      // Only the current shape is drawn, clear everything when switching
+      canvas = new RingCanvas(canvasShape);
+      setApotheneumColor(0);
+    }
     if (trailAmount > 0.01f) {
       // Hard trail with quick falloff - aggressive fade
       float fadeAmount = 0.5f; // Very fast fade for sharp trail cutoff
-      
-      for (int i = 0; i < colors.length; i++) {
-        if (colors[i] != 0) {
-          colors[i] = LXColor.scaleBrightness(colors[i], fadeAmount);
-        }
-      }
+      canvas.decay(fadeAmount);
     } else {
-      setApotheneumColor(0); // Clear all if no trails
+      canvas.clear(); // Clear all if no trails
     }
     
     updateStars(deltaMs);
@@ -251,6 +282,8 @@ public class Hyperspace2D extends ApotheneumPattern implements UIDeviceControls<
     if (debugSource.isOn()) {
       renderDebugSource();
     }
+
+    canvas.blit(colors);
   }
   
   private void updateStars(double deltaMs) {
@@ -263,15 +296,14 @@ public class Hyperspace2D extends ApotheneumPattern implements UIDeviceControls<
       float srcX = (float)sourceX.getValue();
       float srcY = (float)sourceY.getValue();
       float spread = (float)spreadRadius.getValue();
-      stars.add(new Star(srcX, srcY, spread, maxLifespan));
+      stars.spawn(srcX, srcY, spread, maxLifespan);
     }
     
     // Update existing stars and remove dead ones
     for (int i = stars.size() - 1; i >= 0; i--) {
-      Star star = stars.get(i);
-      star.update(deltaMs, baseSpeed);
+      stars.update(i, deltaMs, baseSpeed);
       
-      if (!star.isAlive()) {
+      if (!stars.isAlive(i)) {
         stars.remove(i);
       }
     }
@@ -285,31 +317,32 @@ public class Hyperspace2D extends ApotheneumPattern implements UIDeviceControls<
     int ringLength = getRingLength();
     int ringHeight = getRingHeight();
     
-    for (Star star : stars) {
+    for (int s = 0; s < stars.size(); s++) {
       // Render current star position
-      int faceX = (int)(star.x * (ringLength - 1));
-      int faceY = (int)(star.y * (ringHeight - 1));
+      int faceX = (int)(stars.x[s] * (ringLength - 1));
+      int faceY = (int)(stars.y[s] * (ringHeight - 1));
       
       // Only render if within bounds AND hasn't reached the back wall (third face)
-      if (faceX >= 0 && faceX < ringLength && faceY >= 0 && faceY < ringHeight && star.facesVisited <= 2) {
+      if (faceX >= 0 && faceX < ringLength && faceY >= 0 && faceY < ringHeight && stars.facesVisited[s] <= 2) {
         // Use twinkle brightness instead of regular brightness
-        float starBrightness = star.getTwinkleBrightness(currentTime, twinkleIntensityVal, twinkleSpeedVal) * brightnessMult;
-        int starColor = LXColor.scaleBrightness(star.color, starBrightness);
+        float starBrightness = stars.getTwinkleBrightness(s, currentTime, twinkleIntensityVal, twinkleSpeedVal) * brightnessMult;
+        int starColor = LXColor.scaleBrightness(stars.color[s], starBrightness);
         
         drawStarAtPosition(faceX, faceY, starColor, 0.5f);
         
         // If trails enabled, draw historical positions using trail history
         if (trailAmount > 0.01f) {
           // Calculate number of trail points to render based on parameter (0-50 maps to 0-20 trail points)
-          int maxTrailPoints = (int)(trailAmount * Star.TRAIL_HISTORY / 50.0f);
-          maxTrailPoints = Math.min(maxTrailPoints, Star.TRAIL_HISTORY);
+          int maxTrailPoints = (int)(trailAmount * TRAIL_HISTORY / 50.0f);
+          maxTrailPoints = Math.min(maxTrailPoints, TRAIL_HISTORY);
+          final int trailStart = s * TRAIL_HISTORY;
           
           // Render each historical position as part of the trail
           for (int i = 1; i <= maxTrailPoints; i++) {
             // Get position from trail history (going backwards in time)
-            int historyIndex = (star.trailIndex - i + Star.TRAIL_HISTORY) % Star.TRAIL_HISTORY;
-            float histX = star.trailX[historyIndex];
-            float histY = star.trailY[historyIndex];
+            int historyIndex = (stars.trailIndex[s] - i + TRAIL_HISTORY) % TRAIL_HISTORY;
+            float histX = stars.trailX[trailStart + historyIndex];
+            float histY = stars.trailY[trailStart + historyIndex];
             
             // Convert to pixel coordinates
             int trailX = (int)(histX * (ringLength - 1));
@@ -318,8 +351,8 @@ public class Hyperspace2D extends ApotheneumPattern implements UIDeviceControls<
             if (trailX >= 0 && trailX < ringLength && trailY >= 0 && trailY < ringHeight) {
               // Trail uses base brightness (no twinkle on trails) with new brightness control
               float fade = 1.0f - ((float)i / maxTrailPoints); // Fade based on age
-              float trailBright = star.getBrightness() * brightnessMult * fade * (float)trailBrightness.getValue();
-              int trailColor = LXColor.scaleBrightness(star.color, trailBright);
+              float trailBright = stars.getBrightness(s) * brightnessMult * fade * (float)trailBrightness.getValue();
+              int trailColor = LXColor.scaleBrightness(stars.color[s], trailBright);
               drawStarAtPosition(trailX, trailY, trailColor, 0.5f);
             }
           }
@@ -347,33 +380,11 @@ public class Hyperspace2D extends ApotheneumPattern implements UIDeviceControls<
   }
   
   private void setPixelOnShape(int ringX, int ringY, int color) {
-    // Use exact integer positions to eliminate blur
-    int ringIndex = ringY;
-    int pointIndex = ringX;
-    
-    if (shape.getValuei() == 0) {
-      // Cube rendering
-      if (ringIndex >= 0 && ringIndex < Apotheneum.GRID_HEIGHT) {
-        setPixelOnRing(Apotheneum.cube.exterior.ring(ringIndex), pointIndex, color);
-        setPixelOnRing(Apotheneum.cube.interior.ring(ringIndex), pointIndex, color);
-      }
-    } else {
-      // Cylinder rendering
-      if (ringIndex >= 0 && ringIndex < Apotheneum.CYLINDER_HEIGHT) {
-        setPixelOnRing(Apotheneum.cylinder.exterior.ring(ringIndex), pointIndex, color);
-        setPixelOnRing(Apotheneum.cylinder.interior.ring(ringIndex), pointIndex, color);
-      }
-    }
-  }
-  
-  private void setPixelOnRing(Apotheneum.Ring ring, int pointIndex, int color) {
-    if (ring != null && ring.points.length > 0) {
-      // Don't wrap around - only render if within the actual ring bounds
-      if (pointIndex >= 0 && pointIndex < ring.points.length) {
-        // Replace color instead of blending to avoid accumulated brightness
-        colors[ring.points[pointIndex].index] = color;
-      }
-      // If pointIndex is outside bounds, don't render (star is on different face)
+    // Don't wrap around - only render if within the actual ring bounds,
+    // otherwise the star is on a different face
+    if (ringX >= 0 && ringX < canvas.width) {
+      // Replace color instead of blending to avoid accumulated brightness
+      canvas.set(ringX, ringY, color);
     }
   }
   
@@ -1,16 +1,14 @@
 package apotheneum.thesilveresa;
 
 import apotheneum.ApotheneumPattern;
+import apotheneum.FastMath;
 import apotheneum.Apotheneum;
-import apotheneum.Apotheneum.Cube;
 import apotheneum.Apotheneum.Cube.Face;
-import apotheneum.Apotheneum.Cube.Row;
 import apotheneum.Apotheneum.Cylinder;
 import apotheneum.Apotheneum.Cylinder.Ring;
 import heronarts.lx.LX;
 import heronarts.lx.LXCategory;
 import heronarts.lx.LXComponentName;
-import heronarts.lx.color.LXColor;
 import heronarts.lx.model.LXPoint;
 import heronarts.lx.parameter.CompoundParameter;
 
@@ -34,21 +32,6 @@ public class BreathingField extends ApotheneumPattern {
     .setDescription("Base hue");
 
   private float time = 0f;
-  private int[] exteriorCache;
-  private int[] interiorCache;
-  
-  // Pre-computed lookup tables for performance
-  private static final int LOOKUP_SIZE = 1024;
-  private static final float[] SIN_LOOKUP = new float[LOOKUP_SIZE];
-  private static final float[] COS_LOOKUP = new float[LOOKUP_SIZE];
-  
-  static {
-    for (int i = 0; i < LOOKUP_SIZE; i++) {
-      float angle = (float)(2.0 * Math.PI * i / LOOKUP_SIZE);
-      SIN_LOOKUP[i] = (float)Math.sin(angle);
-      COS_LOOKUP[i] = (float)Math.cos(angle);
-    }
-  }
   
   // Soft breathing colors - peaceful transition palette
   private static final float[] BREATH_HUES = { 200f, 220f, 240f, 180f, 160f };
@@ -68,26 +51,8 @@ public class BreathingField extends ApotheneumPattern {
   protected void render(double deltaMs) {
     time += (float)(deltaMs / 1000.0) * breathRate.getValuef();
     
-    // Render cube with caching optimization
-    Cube cube = Apotheneum.cube;
-    if (cube != null) {
-      // Compute exterior pattern once
-      Face referenceFace = cube.exterior.faces[0];
-      computeExteriorPattern(referenceFace);
-      
-      // Copy to all exterior faces
-      for (Face face : cube.exterior.faces) {
-        copyFromExteriorCache(face);
-      }
-      
-      // Interior uses same pattern with phase shift
-      if (cube.interior != null) {
-        computeInteriorPattern(cube.interior.faces[0]);
-        for (Face face : cube.interior.faces) {
-          copyFromInteriorCache(face);
-        }
-      }
-    }
+    // Exterior faces are identical, interior breathes in counter-phase
+    renderCubeFaces(FaceSymmetry.PER_ORIENTATION, this.faceRenderer);
     
     Cylinder cylinder = Apotheneum.cylinder;
     if (cylinder != null) {
@@ -95,30 +60,9 @@ public class BreathingField extends ApotheneumPattern {
     }
   }
 
-  private void computeExteriorPattern(Face face) {
-    int cols = face.columns.length;
-    int rows = face.rows.length;
-    
-    if (exteriorCache == null || exteriorCache.length != cols * rows) {
-      exteriorCache = new int[cols * rows];
-    }
-    
-    computeFacePattern(face, exteriorCache, 0f);
-  }
-  
-  private void computeInteriorPattern(Face face) {
-    int cols = face.columns.length;
-    int rows = face.rows.length;
-    
-    if (interiorCache == null || interiorCache.length != cols * rows) {
-      interiorCache = new int[cols * rows];
-    }
-    
-    // Interior breathes in counter-phase
-    computeFacePattern(face, interiorCache, (float)Math.PI);
-  }
+  private final FaceRenderer faceRenderer = this::renderFace;
 
-  private void computeFacePattern(Face face, int[] cache, float phaseOffset) {
+  private void renderFace(Face face, boolean isInterior, int[] buffer) {
     int cols = face.columns.length;
     int rows = face.rows.length;
     float invCols = 1.0f / Math.max(1, cols - 1);
@@ -129,40 +73,17 @@ public class BreathingField extends ApotheneumPattern {
     float spread = waveSpread.getValuef();
     float amp = amplitude.getValuef();
     
-    // Global breath phase
-    float globalBreath = fastSin(time + phaseOffset) * amp;
+    // Global breath phase, interior breathes in counter-phase
+    float phaseOffset = isInterior ? (float)Math.PI : 0f;
+    float globalBreath = FastMath.sin(time + phaseOffset) * amp;
     
-    int cacheIndex = 0;
-    for (int rowIdx = 0; rowIdx < rows; rowIdx++) {
-      for (int colIdx = 0; colIdx < cols; colIdx++) {
-        float u = colIdx * invCols - 0.5f;
+    int bufferIndex = 0;
+    for (int colIdx = 0; colIdx < cols; colIdx++) {
+      float u = colIdx * invCols - 0.5f;
+      for (int rowIdx = 0; rowIdx < rows; rowIdx++) {
         float v = rowIdx * invRows - 0.5f;
         
-        cache[cacheIndex++] = calculateBreathingColor(u - cx, v - cy, spread, globalBreath);
-      }
-    }
-  }
-  
-  private void copyFromExteriorCache(Face face) {
-    int cols = face.columns.length;
-    int cacheIndex = 0;
-    
-    for (Row row : face.rows) {
-      for (int cx = 0; cx < cols; cx++) {
-        LXPoint p = row.points[cx];
-        colors[p.index] = exteriorCache[cacheIndex++];
-      }
-    }
-  }
-  
-  private void copyFromInteriorCache(Face face) {
-    int cols = face.columns.length;
-    int cacheIndex = 0;
-    
-    for (Row row : face.rows) {
-      for (int cx = 0; cx < cols; cx++) {
-        LXPoint p = row.points[cx];
-        colors[p.index] = interiorCache[cacheIndex++];
+        buffer[bufferIndex++] = calculateBreathingColor(u - cx, v - cy, spread, globalBreath);
       }
     }
   }
@@ -185,7 +106,7 @@ public class BreathingField extends ApotheneumPattern {
     float spread = waveSpread.getValuef();
     float amp = amplitude.getValuef();
     
-    float globalBreath = fastSin(time + phaseOffset) * amp;
+    float globalBreath = FastMath.sin(time + phaseOffset) * amp;
 
     for (int ringIndex = 0; ringIndex < numRings; ringIndex++) {
       Ring ring = rings[ringIndex];
@@ -211,9 +132,9 @@ public class BreathingField extends ApotheneumPattern {
     float wavePhase = r * spread - time * 2f;
     
     // Multiple harmonic layers for richer breathing field
-    float breath1 = fastSin(wavePhase) * (0.6f + 0.4f * globalBreath);
-    float breath2 = fastSin(wavePhase * 0.7f + time * 0.5f) * (0.3f + 0.2f * globalBreath);
-    float breath3 = fastSin(wavePhase * 1.3f - time * 0.3f) * (0.2f + 0.1f * globalBreath);
+    float breath1 = FastMath.sin(wavePhase) * (0.6f + 0.4f * globalBreath);
+    float breath2 = FastMath.sin(wavePhase * 0.7f + time * 0.5f) * (0.3f + 0.2f * globalBreath);
+    float breath3 = FastMath.sin(wavePhase * 1.3f - time * 0.3f) * (0.2f + 0.1f * globalBreath);
     
     // Combine harmonics
     float combinedBreath = breath1 + breath2 * 0.6f + breath3 * 0.4f;
@@ -243,25 +164,6 @@ public class BreathingField extends ApotheneumPattern {
     // Brightness pulses gently with breathing
     float finalBrightness = Math.min(intensity * brightness.getValuef() * (0.7f + 0.3f * (globalBreath + 1f) * 0.5f), 100f);
     
-    return LXColor.hsb(breathingHue, saturation, finalBrightness);
-  }
-  
-  // Fast lookup table trigonometry
-  private float fastSin(float angle) {
-    // Normalize angle to [0, 2π) range
-    while (angle < 0) angle += (float)(2.0 * Math.PI);
-    while (angle >= (float)(2.0 * Math.PI)) angle -= (float)(2.0 * Math.PI);
-    
-    int index = (int)(angle / (2.0 * Math.PI) * LOOKUP_SIZE);
-    return SIN_LOOKUP[index % LOOKUP_SIZE];
-  }
-  
-  private float fastCos(float angle) {
-    // Normalize angle to [0, 2π) range
-    while (angle < 0) angle += (float)(2.0 * Math.PI);
-    while (angle >= (float)(2.0 * Math.PI)) angle -= (float)(2.0 * Math.PI);
-    
-    int index = (int)(angle / (2.0 * Math.PI) * LOOKUP_SIZE);
-    return COS_LOOKUP[index % LOOKUP_SIZE];
+    return FastMath.hsb(breathingHue, saturation, finalBrightness);
   }
 }
@@ -1,6 +1,7 @@
 package apotheneum.thesilveresa;
 
 import apotheneum.ApotheneumPattern;
+import apotheneum.FastMath;
 import apotheneum.Apotheneum;
 import apotheneum.Apotheneum.Cube;
 import apotheneum.Apotheneum.Cube.Face;
@@ -41,10 +42,6 @@ public class CrystallineLife extends ApotheneumPattern {
   private static final float PI_5 = (float)Math.PI / 5f;
   private static final float TWO_PI_5 = 2f * (float)Math.PI / 5f;
   
-  // Optimized lookup tables
-  private static final int LOOKUP_SIZE = 720; // 0.5 degree resolution
-  private float[] sinLookup;
-  private float[] cosLookup;
   private float[] phiPowers; // Powers of phi for efficient computation
   
   private float time = 0f;
@@ -66,20 +63,11 @@ public class CrystallineLife extends ApotheneumPattern {
     addParameter("Hue", this.hueShift);
     addParameter("Sat", this.sat);
     
-    initializeLookupTables();
+    initializePhiPowers();
   }
   
-  private void initializeLookupTables() {
-    sinLookup = new float[LOOKUP_SIZE];
-    cosLookup = new float[LOOKUP_SIZE];
+  private void initializePhiPowers() {
     phiPowers = new float[10]; // Sufficient for complexity levels
-    
-    for (int i = 0; i < LOOKUP_SIZE; i++) {
-      float angle = (float)i * 2f * (float)Math.PI / LOOKUP_SIZE;
-      sinLookup[i] = (float)Math.sin(angle);
-      cosLookup[i] = (float)Math.cos(angle);
-    }
-    
     phiPowers[0] = 1f;
     for (int i = 1; i < phiPowers.length; i++) {
       phiPowers[i] = phiPowers[i-1] * PHI;
@@ -157,7 +145,7 @@ public class CrystallineLife extends ApotheneumPattern {
           h += variation * 20f; // Slight hue shift
           b *= (1f + variation * 0.1f); // Slight brightness variation
           
-          colors[p.index] = LXColor.hsb(h, s, Math.min(b, 100f));
+          colors[p.index] = FastMath.hsb(h, s, Math.min(b, 100f));
         } else {
           colors[p.index] = baseColor;
         }
@@ -203,7 +191,7 @@ public class CrystallineLife extends ApotheneumPattern {
     
     // Breathing animation
     float breathScale = breathe.getValueb() ?
-      (1f + 0.3f * fastSin(time * 1.5f)) : 1f;
+      (1f + 0.3f * FastMath.sin(time * 1.5f)) : 1f;
     
     // Calculate distance to nearest seed point for organic growth
     float minSeedDist = Float.MAX_VALUE;
@@ -215,7 +203,7 @@ public class CrystallineLife extends ApotheneumPattern {
     }
     
     // Organic growth wave from seeds
-    float seedWave = life * (1f - minSeedDist) * fastSin(time * 2f - minSeedDist * 3f);
+    float seedWave = life * (1f - minSeedDist) * FastMath.sin(time * 2f - minSeedDist * 3f);
     organicFactor = Math.max(0f, seedWave);
     
     // 5-fold crystalline patterns at multiple scales
@@ -226,7 +214,7 @@ public class CrystallineLife extends ApotheneumPattern {
       
       // Convert to polar coordinates
       float r = (float)Math.sqrt(scaledX*scaledX + scaledY*scaledY);
-      float theta = fastAtan2(scaledY, scaledX) + variation;
+      float theta = FastMath.atan2(scaledY, scaledX) + variation;
       
       // 5-fold symmetry with golden ratio spacing
       float pentagonalPattern = 0f;
@@ -238,10 +226,10 @@ public class CrystallineLife extends ApotheneumPattern {
         float radialComponent = 1f - (r % (1f / phiPowers[Math.min(level-1, phiPowers.length-1)]));
         
         // Angular component
-        float angularComponent = fastCos(symAngle * 5f);
+        float angularComponent = FastMath.cos(symAngle * 5f);
         
         // Symmetry breaking for organic feel
-        float breakage = breakFactor * fastSin(theta * 7f + time + i);
+        float breakage = breakFactor * FastMath.sin(theta * 7f + time + i);
         angularComponent += breakage;
         
         pentagonalPattern += radialComponent * angularComponent;
@@ -256,7 +244,7 @@ public class CrystallineLife extends ApotheneumPattern {
     
     // Complex hue calculation based on position and growth
     float baseHue = hueShift.getValuef();
-    float positionHue = (fastAtan2(y, x) * 180f / (float)Math.PI + 180f) * 0.5f;
+    float positionHue = (FastMath.atan2(y, x) * 180f / (float)Math.PI + 180f) * 0.5f;
     float organicHue = organicFactor * 60f; // Green-blue for life
     float crystalHue = intensity * 40f; // Crystalline colors
     
@@ -264,38 +252,12 @@ public class CrystallineLife extends ApotheneumPattern {
     
     // Brightness combines crystal structure and organic pulses
     float crystalBrightness = Math.min(intensity * 60f, 80f);
-    float organicPulse = organicFactor * 40f * fastSin(time * 3f);
+    float organicPulse = organicFactor * 40f * FastMath.sin(time * 3f);
     float finalBrightness = Math.min(crystalBrightness + organicPulse, 100f);
     
     // Saturation varies with complexity
     float complexSat = sat.getValuef() * (0.7f + 0.3f * intensity);
     
-    return LXColor.hsb(finalHue, complexSat, finalBrightness);
-  }
-  
-  // Fast lookup-based trig functions
-  private float fastSin(float angle) {
-    int index = (int)((angle / (2f * (float)Math.PI) + 1f) * LOOKUP_SIZE) % LOOKUP_SIZE;
-    if (index < 0) index += LOOKUP_SIZE;
-    return sinLookup[index];
-  }
-  
-  private float fastCos(float angle) {
-    int index = (int)((angle / (2f * (float)Math.PI) + 1f) * LOOKUP_SIZE) % LOOKUP_SIZE;
-    if (index < 0) index += LOOKUP_SIZE;
-    return cosLookup[index];
-  }
-  
-  private float fastAtan2(float y, float x) {
-    if (x == 0f) return (y > 0f) ? (float)Math.PI / 2f : -(float)Math.PI / 2f;
-    
-    float atan = y / x;
-    float result = atan / (1f + 0.28f * atan * atan);
-    
-    if (x < 0f) {
-      result += (y >= 0f) ? (float)Math.PI : -(float)Math.PI;
-    }
-    
-    return result;
+    return FastMath.hsb(finalHue, complexSat, finalBrightness);
   }
 }
@@ -1,17 +1,14 @@
 package apotheneum.thesilveresa;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 import apotheneum.ApotheneumPattern;
-import apotheneum.Apotheneum;
-import apotheneum.Apotheneum.Cube;
-import apotheneum.Apotheneum.Cube.Face;
-import apotheneum.Apotheneum.Cube.Row;
-import apotheneum.Apotheneum.Cylinder;
-import apotheneum.Apotheneum.Cylinder.Ring;
+import apotheneum.FastMath;
+import apotheneum.TileRenderer;
 import heronarts.lx.LX;
 import heronarts.lx.LXCategory;
 import heronarts.lx.LXComponentName;
 import heronarts.lx.color.LXColor;
-import heronarts.lx.model.LXPoint;
 import heronarts.lx.parameter.BooleanParameter;
 import heronarts.lx.parameter.CompoundParameter;
 
@@ -138,28 +135,40 @@ public class DustPulse extends ApotheneumPattern {
     
     updateParticleSystem(dt);
     
-    // Enhanced rendering with geometry dissolution effect
-    Cube cube = Apotheneum.cube;
-    if (cube != null) {
-      for (Face face : cube.exterior.faces) {
-        processFaceWithDissolution(face);
-      }
-      
-      if (cube.interior != null) {
-        for (Face face : cube.interior.faces) {
-          processFaceWithDissolution(face);
-        }
-      }
-    }
-    
-    // Enhanced cylinder rendering
-    Cylinder cylinder = Apotheneum.cylinder;
-    if (cylinder != null) {
-      processCylinderWithDissolution(cylinder.exterior);
-      if (cylinder.interior != null) {
-        processCylinderWithDissolution(cylinder.interior);
-      }
+    // Snapshot frame values for the tile shader
+    this.frameScatter = scatter.getValuef();
+    this.frameIntensity = intensity.getValuef();
+    this.frameDispersion = dispersion.getValuef();
+    this.frameHueShift = hueShift.getValuef();
+    this.dissolutionWave = (float)(0.5 + 0.5 * Math.sin(geometryPhase * 0.7));
+
+    // Enhanced rendering with geometry dissolution effect, across worker tiles
+    renderTiles(this.shader);
+  }
+
+  private float frameScatter, frameIntensity, frameDispersion, frameHueShift;
+  private float dissolutionWave;
+
+  private final TileRenderer.Shader shader = this::shade;
+
+  private int shade(TileRenderer.Surface surface, int x, int y) {
+    final float u, v;
+    if (surface.isCube) {
+      u = x * (1.0f / Math.max(1, surface.width - 1));
+      v = y * (1.0f / Math.max(1, surface.height - 1));
+    } else {
+      u = (float)x / surface.width;
+      v = (float)y / (surface.height - 1);
     }
+
+    // Calculate geometry brightness (starts dense, fades out)
+    float geometryBrightness = calculateGeometryBrightness(u, v, this.dissolutionWave);
+
+    // Calculate particle contribution
+    int particleColor = calculateEnhancedParticleColor(u, v);
+
+    // Blend geometry and particles
+    return blendGeometryAndParticles(geometryBrightness, particleColor, u, v);
   }
   
   private void updateParticleSystem(float dt) {
@@ -214,80 +223,25 @@ public class DustPulse extends ApotheneumPattern {
     }
   }
 
-  private void processFaceWithDissolution(Face face) {
-    int cols = face.columns.length;
-    int rows = face.rows.length;
-    float invCols = 1.0f / Math.max(1, cols - 1);
-    float invRows = 1.0f / Math.max(1, rows - 1);
-    
-    // Calculate geometry dissolution factor
-    float dissolutionWave = (float)(0.5 + 0.5 * Math.sin(geometryPhase * 0.7));
-    
-    for (Row row : face.rows) {
-      for (int cx = 0; cx < cols; cx++) {
-        LXPoint p = row.points[cx];
-        float u = cx * invCols;
-        float v = row.index * invRows;
-        
-        // Calculate geometry brightness (starts dense, fades out)
-        float geometryBrightness = calculateGeometryBrightness(u, v, dissolutionWave);
-        
-        // Calculate particle contribution
-        int particleColor = calculateEnhancedParticleColor(u, v);
-        
-        // Blend geometry and particles
-        int finalColor = blendGeometryAndParticles(geometryBrightness, particleColor, u, v);
-        colors[p.index] = finalColor;
-      }
-    }
-  }
-  
-  private void processCylinderWithDissolution(Cylinder.Orientation orientation) {
-    Ring[] rings = orientation.rings;
-    int numRings = rings.length;
-    
-    float dissolutionWave = (float)(0.5 + 0.5 * Math.sin(geometryPhase * 0.7));
-
-    for (int ringIndex = 0; ringIndex < numRings; ringIndex++) {
-      Ring ring = rings[ringIndex];
-      int pointsPerRing = ring.points.length;
-
-      for (int pointIndex = 0; pointIndex < pointsPerRing; pointIndex++) {
-        LXPoint p = ring.points[pointIndex];
-        float u = (float)pointIndex / pointsPerRing;
-        float v = (float)ringIndex / (numRings - 1);
-        
-        // Calculate geometry and particle contributions
-        float geometryBrightness = calculateGeometryBrightness(u, v, dissolutionWave);
-        int particleColor = calculateEnhancedParticleColor(u, v);
-        
-        // Blend geometry and particles
-        int finalColor = blendGeometryAndParticles(geometryBrightness, particleColor, u, v);
-        colors[p.index] = finalColor;
-      }
-    }
-  }
-  
   private float calculateGeometryBrightness(float u, float v, float dissolutionWave) {
     // Create geometric patterns that fade over time
-    float geometricPattern = (float)(
-      0.7 * Math.sin(u * Math.PI * 8 + time * 2) * Math.cos(v * Math.PI * 6 + time * 1.5) +
-      0.3 * Math.sin(u * Math.PI * 16 + time * 3) * Math.cos(v * Math.PI * 12 + time * 2.5)
-    );
+    float geometricPattern =
+      0.7f * FastMath.sin(u * FastMath.PI * 8 + time * 2) * FastMath.cos(v * FastMath.PI * 6 + time * 1.5f) +
+      0.3f * FastMath.sin(u * FastMath.PI * 16 + time * 3) * FastMath.cos(v * FastMath.PI * 12 + time * 2.5f);
     
     // Apply wave-based dissolution
     int waveIdx = Math.abs((int)((u + v + geometryPhase * 0.5f) * WAVE_TABLE_SIZE)) % WAVE_TABLE_SIZE;
     float dissolutionFactor = waveTable[waveIdx];
     
     // Geometry starts bright and fades as particles take over
-    float geometryStrength = (1f - dispersion.getValuef() * dissolutionWave * dissolutionFactor);
+    float geometryStrength = (1f - this.frameDispersion * dissolutionWave * dissolutionFactor);
     
     return Math.max(0, geometricPattern * geometryStrength * 0.6f);
   }
   
   private int calculateEnhancedParticleColor(float u, float v) {
-    float sctr = scatter.getValuef();
-    float intensityMult = intensity.getValuef();
+    float sctr = this.frameScatter;
+    float intensityMult = this.frameIntensity;
     
     float maxBrightness = 0f;
     float bestHue = 0f;
@@ -333,21 +287,21 @@ public class DustPulse extends ApotheneumPattern {
       // Enhanced pulse calculation with particle type variations
       float phase = particlePhases[hash];
       if (particleType[hash] == 2) {
-        phase += (float)Math.sin(time * 3 + hash * 0.1) * 0.2f; // Wobbly particles
+        phase += FastMath.sin(time * 3 + hash * 0.1f) * 0.2f; // Wobbly particles
       }
       
       int pulseIdx = Math.abs((int)(phase * (PULSE_TABLE_SIZE - 1))) % PULSE_TABLE_SIZE;
       float pulseBright = pulseTable[pulseIdx];
       
       // Distance falloff with softer edges
-      float falloff = (float)(1f - Math.pow(dist / maxDist, 0.8));
+      float falloff = 1f - FastMath.pow(dist / maxDist, 0.8f);
       float brightness = particleBrightness[hash] * pulseBright * falloff * intensityMult;
       
       if (brightness > maxBrightness) {
         maxBrightness = brightness;
         
         // Enhanced color calculation
-        float baseHue = (hueShift.getValuef() + hash * 11.7f) % 360f;
+        float baseHue = (this.frameHueShift + hash * 11.7f) % 360f;
         
         // Color variations by particle type
         switch (particleType[hash]) {
@@ -369,7 +323,7 @@ public class DustPulse extends ApotheneumPattern {
     
     if (maxBrightness < 0.05f) return 0;
     
-    return LXColor.hsb(bestHue, bestSat, Math.min(100f, maxBrightness * 120f));
+    return FastMath.hsb(bestHue, bestSat, Math.min(100f, maxBrightness * 120f));
   }
   
   private int blendGeometryAndParticles(float geometryBrightness, int particleColor, float u, float v) {
@@ -379,11 +333,11 @@ public class DustPulse extends ApotheneumPattern {
     float particleSat = LXColor.s(particleColor);
     
     // Geometry color - starts with structured patterns
-    float geometryHue = (hueShift.getValuef() + u * 120f + v * 80f + time * 10f) % 360f;
-    float geometrySat = 60f + 30f * (float)Math.sin(time * 0.5f + u * Math.PI * 4);
+    float geometryHue = (this.frameHueShift + u * 120f + v * 80f + time * 10f) % 360f;
+    float geometrySat = 60f + 30f * FastMath.sin(time * 0.5f + u * FastMath.PI * 4);
     
     // Blend based on which is brighter and dispersion setting
-    float disp = dispersion.getValuef();
+    float disp = this.frameDispersion;
     float totalBrightness = Math.max(geometryBrightness, particleBrightness);
     
     if (totalBrightness < 0.02f) return 0;
@@ -395,14 +349,14 @@ public class DustPulse extends ApotheneumPattern {
     // Color blending
     float finalHue = particleWeight * particleHue + geometryWeight * geometryHue;
     float finalSat = particleWeight * particleSat + geometryWeight * geometrySat;
-    float finalBrightness = totalBrightness * intensity.getValuef();
+    float finalBrightness = totalBrightness * this.frameIntensity;
     
     // Add some sparkle effect for high-intensity particles
-    if (particleBrightness > 0.8f && Math.random() < 0.1) {
+    if (particleBrightness > 0.8f && ThreadLocalRandom.current().nextFloat() < 0.1f) {
       finalBrightness *= 1.5f;
       finalSat = Math.min(100f, finalSat * 1.2f);
     }
     
-    return LXColor.hsb(finalHue % 360f, Math.min(100f, finalSat), Math.min(100f, finalBrightness * 100f));
+    return FastMath.hsb(finalHue, Math.min(100f, finalSat), Math.min(100f, finalBrightness * 100f));
   }
 }
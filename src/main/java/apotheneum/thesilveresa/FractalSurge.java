@@ -2,9 +2,7 @@ package apotheneum.thesilveresa;
 
 import apotheneum.ApotheneumPattern;
 import apotheneum.Apotheneum;
-import apotheneum.Apotheneum.Cube;
 import apotheneum.Apotheneum.Cube.Face;
-import apotheneum.Apotheneum.Cube.Row;
 import apotheneum.Apotheneum.Cylinder;
 import apotheneum.Apotheneum.Cylinder.Ring;
 import heronarts.lx.LX;
@@ -37,9 +35,6 @@ public class FractalSurge extends ApotheneumPattern {
     .setDescription("Color saturation");
 
   private float time = 0f;
-  private int[] exteriorCache;
-  private int[] interiorCache;
-  private boolean cacheValid = false;
   
   // Pre-computed palette for performance
   private static final float[] SURGE_HUES = { 220f, 280f, 320f, 20f, 60f, 180f };
@@ -60,28 +55,9 @@ public class FractalSurge extends ApotheneumPattern {
   @Override
   protected void render(double deltaMs) {
     time += (float)(deltaMs / 1000.0) * speed.getValuef();
-    cacheValid = false; // Invalidate cache each frame for animation
-    
-    // Render geometries with face copying optimization
-    Cube cube = Apotheneum.cube;
-    if (cube != null) {
-      // Compute exterior pattern
-      Face referenceFace = cube.exterior.faces[0];
-      computeExteriorPattern(referenceFace);
-      
-      // Copy to all exterior faces
-      for (Face face : cube.exterior.faces) {
-        copyFromExteriorCache(face);
-      }
-      
-      // Compute interior if different, otherwise copy
-      if (cube.interior != null) {
-        computeInteriorPattern(cube.interior.faces[0]);
-        for (Face face : cube.interior.faces) {
-          copyFromInteriorCache(face);
-        }
-      }
-    }
+    
+    // Exterior faces are identical, interior gets inverted perspective
+    renderCubeFaces(FaceSymmetry.PER_ORIENTATION, this.faceRenderer);
     
     Cylinder cylinder = Apotheneum.cylinder;
     if (cylinder != null) {
@@ -89,29 +65,9 @@ public class FractalSurge extends ApotheneumPattern {
     }
   }
 
-  private void computeExteriorPattern(Face face) {
-    int cols = face.columns.length;
-    int rows = face.rows.length;
-    
-    if (exteriorCache == null || exteriorCache.length != cols * rows) {
-      exteriorCache = new int[cols * rows];
-    }
-    
-    computeFacePattern(face, exteriorCache, false);
-  }
-  
-  private void computeInteriorPattern(Face face) {
-    int cols = face.columns.length;
-    int rows = face.rows.length;
-    
-    if (interiorCache == null || interiorCache.length != cols * rows) {
-      interiorCache = new int[cols * rows];
-    }
-    
-    computeFacePattern(face, interiorCache, true);
-  }
-  
-  private void computeFacePattern(Face face, int[] cache, boolean isInterior) {
+  private final FaceRenderer faceRenderer = this::renderFace;
+
+  private void renderFace(Face face, boolean isInterior, int[] buffer) {
     int cols = face.columns.length;
     int rows = face.rows.length;
     float invCols = 1.0f / Math.max(1, cols - 1);
@@ -125,38 +81,14 @@ public class FractalSurge extends ApotheneumPattern {
     // Interior gets inverted perspective
     float perspective = isInterior ? -1.2f : 1.0f;
     
-    int cacheIndex = 0;
-    for (int rowIdx = 0; rowIdx < rows; rowIdx++) {
-      for (int colIdx = 0; colIdx < cols; colIdx++) {
-        // Map to complex plane
-        float u = (colIdx * invCols - 0.5f) * perspective / zoomLevel + cx;
+    int bufferIndex = 0;
+    for (int colIdx = 0; colIdx < cols; colIdx++) {
+      // Map to complex plane
+      float u = (colIdx * invCols - 0.5f) * perspective / zoomLevel + cx;
+      for (int rowIdx = 0; rowIdx < rows; rowIdx++) {
         float v = (rowIdx * invRows - 0.5f) * perspective / zoomLevel + cy;
         
-        cache[cacheIndex++] = calculateFractalColor(u, v, maxIter);
-      }
-    }
-  }
-  
-  private void copyFromExteriorCache(Face face) {
-    int cols = face.columns.length;
-    int cacheIndex = 0;
-    
-    for (Row row : face.rows) {
-      for (int cx = 0; cx < cols; cx++) {
-        LXPoint p = row.points[cx];
-        colors[p.index] = exteriorCache[cacheIndex++];
-      }
-    }
-  }
-  
-  private void copyFromInteriorCache(Face face) {
-    int cols = face.columns.length;
-    int cacheIndex = 0;
-    
-    for (Row row : face.rows) {
-      for (int cx = 0; cx < cols; cx++) {
-        LXPoint p = row.points[cx];
-        colors[p.index] = interiorCache[cacheIndex++];
+        buffer[bufferIndex++] = calculateFractalColor(u, v, maxIter);
       }
     }
   }
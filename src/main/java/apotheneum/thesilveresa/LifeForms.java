@@ -1,6 +1,7 @@
 package apotheneum.thesilveresa;
 
 import apotheneum.ApotheneumPattern;
+import apotheneum.FastMath;
 import apotheneum.Apotheneum;
 import apotheneum.Apotheneum.Cube;
 import apotheneum.Apotheneum.Cube.Face;
@@ -121,12 +122,16 @@ public class LifeForms extends ApotheneumPattern {
           float ux0 = u0 - dx[k], vy0 = v0 - dy[k];
           float u = ux0 * cosR - vy0 * sinR;
           float v = ux0 * sinR + vy0 * cosR;
-          float dist = (float)Math.hypot(u, v);
-          float ang = (float)Math.atan2(v, u);
-          int idx = (int)((ang % (2f*(float)Math.PI)) / (2f*(float)Math.PI) * LUT_SIZE);
-          if (idx < 0) idx += LUT_SIZE;
-          float boundary = pentLUT[idx] * (1f - mVal) + starLUT[idx] * mVal;
-          if (dist <= boundary) { lit = true; break; }
+          float distSq = u*u + v*v;
+          float t = FastMath.atan2(v, u) * (LUT_SIZE / FastMath.TWO_PI);
+          if (t < 0) t += LUT_SIZE;
+          int idx = Math.min((int)t, LUT_SIZE - 1);
+          int next = (idx + 1) % LUT_SIZE;
+          float frac = t - idx;
+          float pent = pentLUT[idx] + (pentLUT[next] - pentLUT[idx]) * frac;
+          float star = starLUT[idx] + (starLUT[next] - starLUT[idx]) * frac;
+          float boundary = pent * (1f - mVal) + star * mVal;
+          if (distSq <= boundary * boundary) { lit = true; break; }
         }
         colors[p.index] = lit ? LXColor.rgb(255,255,255) : 0;
       }
@@ -135,8 +140,8 @@ public class LifeForms extends ApotheneumPattern {
 
   private float superFormula(float theta, float m,
                              float n1, float n2, float n3) {
-    float p1 = (float)Math.pow(Math.abs((float)Math.cos(m*theta/4f)), n2);
-    float p2 = (float)Math.pow(Math.abs((float)Math.sin(m*theta/4f)), n3);
-    return (float)Math.pow(p1 + p2, -1f/n1);
+    float p1 = FastMath.pow(Math.abs(FastMath.cos(m*theta/4f)), n2);
+    float p2 = FastMath.pow(Math.abs(FastMath.sin(m*theta/4f)), n3);
+    return FastMath.pow(p1 + p2, -1f/n1);
   }
 }
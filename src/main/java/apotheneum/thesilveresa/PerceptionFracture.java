@@ -1,17 +1,11 @@
 package apotheneum.thesilveresa;
 
 import apotheneum.ApotheneumPattern;
-import apotheneum.Apotheneum;
-import apotheneum.Apotheneum.Cube;
-import apotheneum.Apotheneum.Cube.Face;
-import apotheneum.Apotheneum.Cube.Row;
-import apotheneum.Apotheneum.Cylinder;
-import apotheneum.Apotheneum.Cylinder.Ring;
+import apotheneum.FastMath;
+import apotheneum.TileRenderer;
 import heronarts.lx.LX;
 import heronarts.lx.LXCategory;
 import heronarts.lx.LXComponentName;
-import heronarts.lx.color.LXColor;
-import heronarts.lx.model.LXPoint;
 import heronarts.lx.parameter.BooleanParameter;
 import heronarts.lx.parameter.CompoundParameter;
 import heronarts.lx.parameter.DiscreteParameter;
@@ -63,91 +57,53 @@ public class PerceptionFracture extends ApotheneumPattern {
   protected void render(double deltaMs) {
     timeAccum += speed.getValuef() * (float)(deltaMs / 1000.0);
     
-    int geoMode = 2; // Both geometries
-    
-    // Render cube if enabled
-    if (geoMode == 0 || geoMode == 2) {
-      Cube cube = Apotheneum.cube;
-      if (cube != null) {
-        for (Face face : cube.exterior.faces) {
-          processFace(face);
-        }
-        if (cube.interior != null) {
-          for (Face face : cube.interior.faces) {
-            processFace(face);
-          }
-        }
-      }
-    }
-    
-    // Render cylinder if enabled
-    if (geoMode == 1 || geoMode == 2) {
-      Cylinder cylinder = Apotheneum.cylinder;
-      if (cylinder != null) {
-        processCylinder(cylinder);
-      }
-    }
-  }
+    // Snapshot parameter values for the tile shader
+    this.numLayers = (int)layers.getValuef();
+    this.gridFreq = gridSize.getValuef();
+    this.parallaxAmount = parallax.getValuef();
+    this.perspectiveAmount = perspective.getValuef();
+    this.fractureAmount = fracture.getValuef();
+    this.convergenceStrength = convergence.getValuef();
+    this.flickerAmount = flicker.getValuef();
+    this.depthAmount = depth.getValuef();
+    this.invert = invertDepth.getValueb();
 
-  private void processFace(Face face) {
-    int cols = face.columns.length;
-    int rows = face.rows.length;
-    float invCols = 1.0f / Math.max(1, cols - 1);
-    float invRows = 1.0f / Math.max(1, rows - 1);
-    
-    for (Row row : face.rows) {
-      for (int cx = 0; cx < cols; cx++) {
-        LXPoint p = row.points[cx];
-        float u = cx * invCols - 0.5f;
-        float v = row.index * invRows - 0.5f;
-        
-        float depthValue = calculateDepthIllusion(u, v);
-        colors[p.index] = generateDepthColor(depthValue, u, v);
-      }
-    }
+    // Render both geometries across worker tiles
+    renderTiles(this.shader);
   }
-  
-  private void processCylinder(Cylinder cylinder) {
-    final float stretchFactor = 0.4f;
-    
-    Cylinder.Orientation[] faces = (cylinder.interior != null)
-      ? new Cylinder.Orientation[]{ cylinder.exterior, cylinder.interior }
-      : new Cylinder.Orientation[]{ cylinder.exterior };
-
-    for (Cylinder.Orientation face : faces) {
-      Ring[] rings = face.rings;
-      int numRings = rings.length;
-
-      for (int ringIndex = 0; ringIndex < numRings; ringIndex++) {
-        Ring ring = rings[ringIndex];
-        int pointsPerRing = ring.points.length;
-
-        for (int pointIndex = 0; pointIndex < pointsPerRing; pointIndex++) {
-          LXPoint p = ring.points[pointIndex];
 
-          float theta = (float)(2 * Math.PI * pointIndex / pointsPerRing);
-          float zNorm = (float)ringIndex / (numRings - 1);
-          zNorm = Math.min(zNorm * stretchFactor, 1.0f);
+  private int numLayers;
+  private float gridFreq, parallaxAmount, perspectiveAmount, fractureAmount;
+  private float convergenceStrength, flickerAmount, depthAmount;
+  private boolean invert;
 
-          float u = theta / (2 * (float)Math.PI) - 0.5f;
-          float v = zNorm - 0.5f;
+  private final TileRenderer.Shader shader = this::shade;
 
-          float depthValue = calculateDepthIllusion(u, v);
-          colors[p.index] = generateDepthColor(depthValue, u, v);
-        }
-      }
+  private int shade(TileRenderer.Surface surface, int x, int y) {
+    final float u, v;
+    if (surface.isCube) {
+      u = x * (1.0f / Math.max(1, surface.width - 1)) - 0.5f;
+      v = y * (1.0f / Math.max(1, surface.height - 1)) - 0.5f;
+    } else {
+      final float stretchFactor = 0.4f;
+      float zNorm = (float)y / (surface.height - 1);
+      zNorm = Math.min(zNorm * stretchFactor, 1.0f);
+      u = (float)x / surface.width - 0.5f;
+      v = zNorm - 0.5f;
     }
+    float depthValue = calculateDepthIllusion(u, v);
+    return generateDepthColor(depthValue, u, v);
   }
 
   private float calculateDepthIllusion(float u, float v) {
-    int numLayers = (int)layers.getValuef();
-    float gridFreq = gridSize.getValuef();
-    float parallaxAmount = parallax.getValuef();
-    float perspectiveAmount = perspective.getValuef();
-    float fractureAmount = fracture.getValuef();
+    final int numLayers = this.numLayers;
+    final float gridFreq = this.gridFreq;
+    final float parallaxAmount = this.parallaxAmount;
+    final float perspectiveAmount = this.perspectiveAmount;
+    final float fractureAmount = this.fractureAmount;
     
     // Calculate convergence point
-    float convergenceStrength = convergence.getValuef();
+    final float convergenceStrength = this.convergenceStrength;
     float centerU = 0f;
     float centerV = 0f;
     float distFromCenter = (float)Math.sqrt((u - centerU) * (u - centerU) + (v - centerV) * (v - centerV));
@@ -165,17 +121,17 @@ public class PerceptionFracture extends ApotheneumPattern {
       float layerSpeed = 1.0f - layerDepth * 0.5f; // Farther layers move slower
       
       // Calculate parallax offset
-      float parallaxU = perspU + layerDepth * parallaxAmount * (float)Math.sin(timeAccum * layerSpeed);
-      float parallaxV = perspV + layerDepth * parallaxAmount * (float)Math.cos(timeAccum * layerSpeed);
+      float parallaxU = perspU + layerDepth * parallaxAmount * FastMath.sin(timeAccum * layerSpeed);
+      float parallaxV = perspV + layerDepth * parallaxAmount * FastMath.cos(timeAccum * layerSpeed);
       
       // Create grid pattern for this layer
       float layerFreq = gridFreq * (1.0f + layerDepth * 0.3f);
-      float gridValue = (float)Math.sin(parallaxU * layerFreq * 2 * Math.PI) *
-                       (float)Math.sin(parallaxV * layerFreq * 2 * Math.PI);
+      float gridValue = FastMath.sin(parallaxU * layerFreq * 2 * FastMath.PI) *
+                       FastMath.sin(parallaxV * layerFreq * 2 * FastMath.PI);
       
       // Apply fracturing
       float fracturePhase = timeAccum * layerSpeed + layerDepth * (float)Math.PI;
-      float fractureValue = (float)Math.sin(fracturePhase) * fractureAmount;
+      float fractureValue = FastMath.sin(fracturePhase) * fractureAmount;
       gridValue *= (1.0f + fractureValue);
       
       // Weight by depth and convergence
@@ -189,15 +145,15 @@ public class PerceptionFracture extends ApotheneumPattern {
     float depthValue = totalWeight > 0 ? totalDepth / totalWeight : 0f;
     
     // Apply flicker for depth enhancement
-    float flickerValue = (float)Math.sin(timeAccum * 8 + u * 10 + v * 7) * flicker.getValuef();
+    float flickerValue = FastMath.sin(timeAccum * 8 + u * 10 + v * 7) * this.flickerAmount;
     depthValue += flickerValue * 0.2f;
     
     // Apply motion amplification
-    float motionAmplifier = 1.0f + depth.getValuef() * (float)Math.sin(timeAccum * 2);
+    float motionAmplifier = 1.0f + this.depthAmount * FastMath.sin(timeAccum * 2);
     depthValue *= motionAmplifier;
     
     // Invert if needed
-    if (invertDepth.getValueb()) {
+    if (this.invert) {
       depthValue = -depthValue;
     }
     
@@ -214,17 +170,17 @@ public class PerceptionFracture extends ApotheneumPattern {
     float hue = HUES[hueIndex];
     
     // Add fracture-based hue distortion
-    float fractureShift = (float)Math.sin(u * 5 + v * 3 + timeAccum * 3) * fracture.getValuef() * 20f;
+    float fractureShift = FastMath.sin(u * 5 + v * 3 + timeAccum * 3) * this.fractureAmount * 20f;
     hue = (hue + fractureShift + 360f) % 360f;
     
     // Saturation varies with depth perception
     float saturation = 40f + 60f * Math.abs(depthValue);
     
     // Add flicker to brightness for depth illusion
-    float flickerBrightness = (float)Math.sin(timeAccum * 12 + u * 8 + v * 6) * flicker.getValuef() * 20f;
+    float flickerBrightness = FastMath.sin(timeAccum * 12 + u * 8 + v * 6) * this.flickerAmount * 20f;
     brightness += flickerBrightness;
     brightness = Math.max(10f, Math.min(100f, brightness));
     
-    return LXColor.hsb(hue, saturation, brightness);
+    return FastMath.hsb(hue, saturation, brightness);
   }
 }
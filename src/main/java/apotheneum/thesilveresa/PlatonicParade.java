@@ -1,17 +1,11 @@
 package apotheneum.thesilveresa;
 
 import apotheneum.ApotheneumPattern;
-import apotheneum.Apotheneum;
-import apotheneum.Apotheneum.Cube;
-import apotheneum.Apotheneum.Cube.Face;
-import apotheneum.Apotheneum.Cube.Row;
-import apotheneum.Apotheneum.Cylinder;
-import apotheneum.Apotheneum.Cylinder.Ring;
+import apotheneum.FastMath;
+import apotheneum.TileRenderer;
 import heronarts.lx.LX;
 import heronarts.lx.LXCategory;
 import heronarts.lx.LXComponentName;
-import heronarts.lx.color.LXColor;
-import heronarts.lx.model.LXPoint;
 import heronarts.lx.parameter.BooleanParameter;
 import heronarts.lx.parameter.CompoundParameter;
 import heronarts.lx.parameter.DiscreteParameter;
@@ -185,160 +179,127 @@ public class PlatonicParade extends ApotheneumPattern {
     int idx = (int)Math.floor(segF);
     float fSeg = segF - idx;
 
-    int geoMode = 2;
-    
-    // Render cube if enabled
-    if (geoMode == 0 || geoMode == 2) {
-      Cube cube = Apotheneum.cube;
-      if (cube != null) {
-        for (Face face : cube.exterior.faces) {
-          processFace(face, idx, fSeg);
-        }
-        if (cube.interior != null) {
-          for (Face face : cube.interior.faces) {
-            processFace(face, idx, fSeg);
-          }
-        }
-      }
-    }
-    
-    // Render cylinder if enabled
-    if (geoMode == 1 || geoMode == 2) {
-      Cylinder cylinder = Apotheneum.cylinder;
-      if (cylinder != null) {
-        processCylinder(cylinder, idx, fSeg);
-      }
-    }
+    // Snapshot frame values for the tile shader
+    this.frameIdx = (fSeg <= 0.5f) ? idx : (idx + 1) % 3;
+    this.frameTime = (lx.engine.nowMillis % 60000) / 1000.0f;
+    this.frameSize = size.getValuef();
+    this.frameTrace = edgeTrace.getValueb();
+    this.frameSat = sat.getValuef();
+    this.frameEdgeSpeed = edgeSpeed.getValuef();
+    this.frameEdgeBrightness = edgeBrightness.getValuef();
+    this.framePulseAmount = pulseDepth.getValuef() / 100.0f;
+    this.frameWaveFreq = waveLength.getValuef();
+    this.frameMode = (int)animMode.getValuef();
+    this.frameRepeats = (int)repeatCount.getValuef();
+    this.frameChaseWidth = chaseWidth.getValuef();
+
+    // Render cube and cylinder across worker tiles
+    renderTiles(this.shader);
   }
 
-  private void processFace(Face face, int idx, float fSeg) {
-    float t = (lx.engine.nowMillis % 60000) / 1000.0f;
-    int cols = face.columns.length;
-    int rows = face.rows.length;
+  private int frameIdx, frameMode, frameRepeats;
+  private float frameTime, frameSize, frameSat;
+  private float frameEdgeSpeed, frameEdgeBrightness, framePulseAmount, frameWaveFreq, frameChaseWidth;
+  private boolean frameTrace;
+
+  private final TileRenderer.Shader shader = (surface, x, y) -> {
+    return surface.isCube ? shadeFace(surface, x, y) : shadeCylinder(surface, x, y);
+  };
+
+  private int shadeFace(TileRenderer.Surface surface, int cx, int rowIndex) {
+    final float t = this.frameTime;
+    final float sz = this.frameSize;
+    final int currIdx = this.frameIdx;
+    int cols = surface.width;
+    int rows = surface.height;
     float invCols = 1.0f / Math.max(1, cols - 1);
     float invRows = 1.0f / Math.max(1, rows - 1);
-    float sz = size.getValuef();
-    
-    for (Row row : face.rows) {
-      for (int cx = 0; cx < cols; cx++) {
-        LXPoint p = row.points[cx];
-        float u = cx * invCols - 0.5f;
-        float v = row.index * invRows - 0.5f;
-
-        int currIdx = fSeg <= 0.5f ? idx : (idx + 1) % 3;
-        boolean lit = shapeTest(currIdx, u, v, sz);
-
-        if (edgeTrace.getValueb()) {
-          boolean isEdge = false;
-          if (lit) {
-            boolean rightNeighbor = (cx + 1 < cols) ? shapeTest(currIdx, (cx + 1) * invCols - 0.5f, v, sz) : false;
-            boolean leftNeighbor = (cx - 1 >= 0) ? shapeTest(currIdx, (cx - 1) * invCols - 0.5f, v, sz) : false;
-            boolean upNeighbor = (row.index + 1 < rows) ? shapeTest(currIdx, u, (row.index + 1) * invRows - 0.5f, sz) : false;
-            boolean downNeighbor = (row.index - 1 >= 0) ? shapeTest(currIdx, u, (row.index - 1) * invRows - 0.5f, sz) : false;
-            
-            isEdge = !rightNeighbor || !leftNeighbor || !upNeighbor || !downNeighbor;
-          }
-          
-          if (isEdge) {
-            float brightness = calculateEdgeBrightness(u, v, t, currIdx, cols, rows, sz);
-            colors[p.index] = LXColor.hsb(HUES[currIdx], sat.getValuef(), brightness);
-          } else {
-            colors[p.index] = 0;
-          }
-        } else {
-          colors[p.index] = lit
-            ? LXColor.hsb(HUES[currIdx], sat.getValuef(), 100f)
-            : 0;
-        }
+
+    float u = cx * invCols - 0.5f;
+    float v = rowIndex * invRows - 0.5f;
+
+    boolean lit = shapeTest(currIdx, u, v, sz);
+
+    if (this.frameTrace) {
+      boolean isEdge = false;
+      if (lit) {
+        boolean rightNeighbor = (cx + 1 < cols) ? shapeTest(currIdx, (cx + 1) * invCols - 0.5f, v, sz) : false;
+        boolean leftNeighbor = (cx - 1 >= 0) ? shapeTest(currIdx, (cx - 1) * invCols - 0.5f, v, sz) : false;
+        boolean upNeighbor = (rowIndex + 1 < rows) ? shapeTest(currIdx, u, (rowIndex + 1) * invRows - 0.5f, sz) : false;
+        boolean downNeighbor = (rowIndex - 1 >= 0) ? shapeTest(currIdx, u, (rowIndex - 1) * invRows - 0.5f, sz) : false;
+
+        isEdge = !rightNeighbor || !leftNeighbor || !upNeighbor || !downNeighbor;
+      }
+
+      if (isEdge) {
+        float brightness = calculateEdgeBrightness(u, v, t, currIdx, cols, rows, sz);
+        return FastMath.hsb(HUES[currIdx], this.frameSat, brightness);
       }
+      return 0;
     }
+    return lit ? FastMath.hsb(HUES[currIdx], this.frameSat, 100f) : 0;
   }
-  
-  private void processCylinder(Cylinder cylinder, int idx, float fSeg) {
-    float t = (lx.engine.nowMillis % 60000) / 1000.0f;
-    float sz = size.getValuef();
+
+  private int shadeCylinder(TileRenderer.Surface surface, int pointIndex, int ringIndex) {
+    final float t = this.frameTime;
+    final float sz = this.frameSize;
+    final int currIdx = this.frameIdx;
     final float stretchFactor = 0.4f;
-      
-    // Build faces array
-    Cylinder.Orientation[] faces = (cylinder.interior != null)
-      ? new Cylinder.Orientation[]{ cylinder.exterior, cylinder.interior }
-      : new Cylinder.Orientation[]{ cylinder.exterior };
-
-    for (Cylinder.Orientation face : faces) {
-      Ring[] rings = face.rings;
-      int numRings = rings.length;
-
-      for (int ringIndex = 0; ringIndex < numRings; ringIndex++) {
-        Ring ring = rings[ringIndex];
-        int pointsPerRing = ring.points.length;
-
-        for (int pointIndex = 0; pointIndex < pointsPerRing; pointIndex++) {
-          LXPoint p = ring.points[pointIndex];
-
-          // Cylindrical coords
-          float theta = (float)(2 * Math.PI * pointIndex / pointsPerRing);
-          // Original normalized height
-          float zNorm = (float)ringIndex / (numRings - 1);
-          // Apply stretch and clamp
-          zNorm = Math.min(zNorm * stretchFactor, 1.0f);
-
-          // UV mapping for tiling
-          float u = theta / (2 * (float)Math.PI) - 0.5f;
-          float v = zNorm - 0.5f;
-
-          int currIdx = (fSeg <= 0.5f) ? idx : (idx + 1) % 3;
-          boolean lit = shapeTest(currIdx, u, v, sz);
-
-          if (edgeTrace.getValueb()) {
-            // Edge detection
-            boolean isEdge = false;
-            if (lit) {
-              // circum neighbors
-              int nextPt = (pointIndex + 1) % pointsPerRing;
-              int prevPt = (pointIndex - 1 + pointsPerRing) % pointsPerRing;
-              float nextU = (2 * (float)Math.PI * nextPt / pointsPerRing) / (2 * (float)Math.PI) - 0.5f;
-              float prevU = (2 * (float)Math.PI * prevPt / pointsPerRing) / (2 * (float)Math.PI) - 0.5f;
-              boolean c1 = shapeTest(currIdx, nextU, v, sz);
-              boolean c2 = shapeTest(currIdx, prevU, v, sz);
-
-              // height neighbors (stretch consistent)
-              boolean h1 = (ringIndex + 1 < numRings)
-                && shapeTest(currIdx, u, Math.min(((ringIndex + 1f)/(numRings-1)) * stretchFactor, 1.0f) - 0.5f, sz);
-              boolean h2 = (ringIndex - 1 >= 0)
-                && shapeTest(currIdx, u, Math.min(((ringIndex - 1f)/(numRings-1)) * stretchFactor, 1.0f) - 0.5f, sz);
-
-              isEdge = !(c1 && c2 && h1 && h2);
-          }
+    int numRings = surface.height;
+    int pointsPerRing = surface.width;
 
-          if (isEdge) {
-            float brightness = calculateCylinderEdgeBrightness(theta, zNorm, t, currIdx, numRings, pointsPerRing, sz);
-            colors[p.index] = LXColor.hsb(
-              HUES[currIdx],
-              sat.getValuef(),
-              brightness
-            );
-          } else {
-            colors[p.index] = 0;
-          }
+    // Cylindrical coords
+    float theta = (float)(2 * Math.PI * pointIndex / pointsPerRing);
+    // Original normalized height
+    float zNorm = (float)ringIndex / (numRings - 1);
+    // Apply stretch and clamp
+    zNorm = Math.min(zNorm * stretchFactor, 1.0f);
+
+    // UV mapping for tiling
+    float u = theta / (2 * (float)Math.PI) - 0.5f;
+    float v = zNorm - 0.5f;
+
+    boolean lit = shapeTest(currIdx, u, v, sz);
+
+    if (this.frameTrace) {
+      // Edge detection
+      boolean isEdge = false;
+      if (lit) {
+        // circum neighbors
+        int nextPt = (pointIndex + 1) % pointsPerRing;
+        int prevPt = (pointIndex - 1 + pointsPerRing) % pointsPerRing;
+        float nextU = (2 * (float)Math.PI * nextPt / pointsPerRing) / (2 * (float)Math.PI) - 0.5f;
+        float prevU = (2 * (float)Math.PI * prevPt / pointsPerRing) / (2 * (float)Math.PI) - 0.5f;
+        boolean c1 = shapeTest(currIdx, nextU, v, sz);
+        boolean c2 = shapeTest(currIdx, prevU, v, sz);
+
+        // height neighbors (stretch consistent)
+        boolean h1 = (ringIndex + 1 < numRings)
+          && shapeTest(currIdx, u, Math.min(((ringIndex + 1f)/(numRings-1)) * stretchFactor, 1.0f) - 0.5f, sz);
+        boolean h2 = (ringIndex - 1 >= 0)
+          && shapeTest(currIdx, u, Math.min(((ringIndex - 1f)/(numRings-1)) * stretchFactor, 1.0f) - 0.5f, sz);
 
-         } else {
-           // Filled
-           colors[p.index] = lit
-             ? LXColor.hsb(HUES[currIdx], sat.getValuef(), 100f)
-             : 0;
-         }
+        isEdge = !(c1 && c2 && h1 && h2);
       }
+
+      if (isEdge) {
+        float brightness = calculateCylinderEdgeBrightness(theta, zNorm, t, currIdx, numRings, pointsPerRing, sz);
+        return FastMath.hsb(HUES[currIdx], this.frameSat, brightness);
+      }
+      return 0;
     }
+
+    // Filled
+    return lit ? FastMath.hsb(HUES[currIdx], this.frameSat, 100f) : 0;
   }
-}
   
   // Calculate edge brightness for cube faces
   private float calculateEdgeBrightness(float u, float v, float t, int currIdx, int cols, int rows, float sz) {
-    float animSpeed = edgeSpeed.getValuef();
-    float baseBright = edgeBrightness.getValuef();
-    float pulseAmount = pulseDepth.getValuef() / 100.0f;
-    float waveFreq = waveLength.getValuef();
-    int mode = (int)animMode.getValuef();
+    float animSpeed = this.frameEdgeSpeed;
+    float baseBright = this.frameEdgeBrightness;
+    float pulseAmount = this.framePulseAmount;
+    float waveFreq = this.frameWaveFreq;
+    int mode = this.frameMode;
     
     float brightnessModulation = 0f;
     
@@ -351,7 +312,7 @@ public class PlatonicParade extends ApotheneumPattern {
           float facePerimPos = getPerimeterPosition(u, v, cols, rows);
           if (facePerimPos >= 0) {
             float chasePhase = (t * animSpeed) % 1.0f;
-            brightnessModulation = 0.2f + 0.8f * (float)Math.sin((facePerimPos + chasePhase) * Math.PI * 2);
+            brightnessModulation = 0.2f + 0.8f * FastMath.sin((facePerimPos + chasePhase) * FastMath.PI * 2);
           } else {
             brightnessModulation = 0.1f;
           }
@@ -361,17 +322,17 @@ public class PlatonicParade extends ApotheneumPattern {
       case 1: // Radial
         float dist = (float)Math.sqrt(u * u + v * v);
         float radialPhase = (t * animSpeed * 2.0f) - (dist * waveFreq);
-        brightnessModulation = 0.3f + 0.7f * (0.5f + 0.5f * (float)Math.sin(radialPhase));
+        brightnessModulation = 0.3f + 0.7f * (0.5f + 0.5f * FastMath.sin(radialPhase));
         break;
         
       case 2: // Serpentine
-        float serpentine = (float)Math.sin(t * animSpeed * 2.0f + (u + v) * waveFreq);
+        float serpentine = FastMath.sin(t * animSpeed * 2.0f + (u + v) * waveFreq);
         brightnessModulation = 0.2f + 0.8f * (0.5f + 0.5f * serpentine);
         break;
         
       case 3: // Simple pulse
       default:
-        float pulse = (float)Math.sin(t * animSpeed * 3.0f);
+        float pulse = FastMath.sin(t * animSpeed * 3.0f);
         brightnessModulation = 0.4f + 0.6f * (0.5f + 0.5f * pulse);
         break;
     }
@@ -386,11 +347,11 @@ public class PlatonicParade extends ApotheneumPattern {
   // Calculate edge brightness for cylinder
   private float calculateCylinderEdgeBrightness(float theta, float z, float t, int currIdx,
                                                int rings, int pointsPerRing, float sz) {
-    float animSpeed = edgeSpeed.getValuef();
-    float baseBright = edgeBrightness.getValuef();
-    float pulseAmount = pulseDepth.getValuef() / 100.0f;
-    float waveFreq = waveLength.getValuef();
-    int mode = (int)animMode.getValuef();
+    float animSpeed = this.frameEdgeSpeed;
+    float baseBright = this.frameEdgeBrightness;
+    float pulseAmount = this.framePulseAmount;
+    float waveFreq = this.frameWaveFreq;
+    int mode = this.frameMode;
     
     float brightnessModulation = 0f;
     
@@ -407,24 +368,24 @@ public class PlatonicParade extends ApotheneumPattern {
           // Fallback to circumferential chase
           float circumPos = theta / (2.0f * (float)Math.PI);
           float chasePhase = (t * animSpeed) % 1.0f;
-          brightnessModulation = 0.2f + 0.8f * (float)Math.sin((circumPos + chasePhase) * Math.PI * 4);
+          brightnessModulation = 0.2f + 0.8f * FastMath.sin((circumPos + chasePhase) * FastMath.PI * 4);
         }
         break;
         
       case 1: // Radial - from cylinder axis
         float radialDist = (float)Math.sqrt(u * u + v * v);
         float radialPhase = (t * animSpeed * 2.0f) - (radialDist * waveFreq);
-        brightnessModulation = 0.3f + 0.7f * (0.5f + 0.5f * (float)Math.sin(radialPhase));
+        brightnessModulation = 0.3f + 0.7f * (0.5f + 0.5f * FastMath.sin(radialPhase));
         break;
         
       case 2: // Serpentine - helical pattern
-        float helical = (float)Math.sin(t * animSpeed * 2.0f + theta * waveFreq + z * waveFreq * 2);
+        float helical = FastMath.sin(t * animSpeed * 2.0f + theta * waveFreq + z * waveFreq * 2);
         brightnessModulation = 0.2f + 0.8f * (0.5f + 0.5f * helical);
         break;
         
       case 3: // Simple pulse
       default:
-        float pulse = (float)Math.sin(t * animSpeed * 3.0f);
+        float pulse = FastMath.sin(t * animSpeed * 3.0f);
         brightnessModulation = 0.4f + 0.6f * (0.5f + 0.5f * pulse);
         break;
     }
@@ -439,8 +400,8 @@ public class PlatonicParade extends ApotheneumPattern {
   // Helper method for chase effect calculation
   private float calculateChaseEffect(float edgePosition, float t, float animSpeed) {
     float chasePhase = (t * animSpeed) % 1.0f;
-    int numRepeats = (int)repeatCount.getValuef();
-    float chaseWidthVal = chaseWidth.getValuef();
+    int numRepeats = this.frameRepeats;
+    float chaseWidthVal = this.frameChaseWidth;
     
     float brightnessModulation = 0.05f; // Dim background
     
@@ -466,7 +427,7 @@ public class PlatonicParade extends ApotheneumPattern {
             segmentProgress = (1.0f - segmentStart + edgePosition) / (1.0f - segmentStart + segmentEnd);
           }
         }
-        float segmentBrightness = (float)Math.sin(segmentProgress * Math.PI);
+        float segmentBrightness = FastMath.sin(segmentProgress * FastMath.PI);
         brightnessModulation = Math.max(brightnessModulation, 0.3f + 0.7f * segmentBrightness);
         break;
       }
@@ -499,8 +460,8 @@ public class PlatonicParade extends ApotheneumPattern {
 
   private boolean triangleTilingRot(float u, float v, float sz) {
     float angle = (float)(Math.PI / 3.0);
-    float cu = u * (float)Math.cos(angle) - v * (float)Math.sin(angle);
-    float cv = u * (float)Math.sin(angle) + v * (float)Math.cos(angle);
+    float cu = u * FastMath.cos(angle) - v * FastMath.sin(angle);
+    float cv = u * FastMath.sin(angle) + v * FastMath.cos(angle);
     return triangleTiling(cu, cv, sz);
   }
 
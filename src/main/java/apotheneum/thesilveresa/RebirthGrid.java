@@ -2,9 +2,7 @@ package apotheneum.thesilveresa;
 
 import apotheneum.ApotheneumPattern;
 import apotheneum.Apotheneum;
-import apotheneum.Apotheneum.Cube;
 import apotheneum.Apotheneum.Cube.Face;
-import apotheneum.Apotheneum.Cube.Row;
 import apotheneum.Apotheneum.Cylinder;
 import apotheneum.Apotheneum.Cylinder.Ring;
 import heronarts.lx.LX;
@@ -37,8 +35,6 @@ public class RebirthGrid extends ApotheneumPattern {
     .setDescription("Symmetric growth pattern");
 
   private float time = 0f;
-  private int[] exteriorCache;
-  private int[] interiorCache;
   
   // Pre-computed values for hybrid tiling patterns
   private static final float SQRT3 = 1.73205080757f;
@@ -67,26 +63,8 @@ public class RebirthGrid extends ApotheneumPattern {
   protected void render(double deltaMs) {
     time += (float)(deltaMs / 1000.0) * growthRate.getValuef();
     
-    // Render cube with dual-cache optimization
-    Cube cube = Apotheneum.cube;
-    if (cube != null) {
-      // Exterior shows the full evolution
-      Face referenceFace = cube.exterior.faces[0];
-      computeExteriorPattern(referenceFace);
-      
-      // Copy to all exterior faces
-      for (Face face : cube.exterior.faces) {
-        copyFromExteriorCache(face);
-      }
-      
-      // Interior shows inverse evolution phase
-      if (cube.interior != null) {
-        computeInteriorPattern(cube.interior.faces[0]);
-        for (Face face : cube.interior.faces) {
-          copyFromInteriorCache(face);
-        }
-      }
-    }
+    // Exterior faces are identical, interior shows inverse evolution phase
+    renderCubeFaces(FaceSymmetry.PER_ORIENTATION, this.faceRenderer);
     
     Cylinder cylinder = Apotheneum.cylinder;
     if (cylinder != null) {
@@ -94,29 +72,9 @@ public class RebirthGrid extends ApotheneumPattern {
     }
   }
 
-  private void computeExteriorPattern(Face face) {
-    int cols = face.columns.length;
-    int rows = face.rows.length;
-    
-    if (exteriorCache == null || exteriorCache.length != cols * rows) {
-      exteriorCache = new int[cols * rows];
-    }
-    
-    computeFacePattern(face, exteriorCache, false);
-  }
-  
-  private void computeInteriorPattern(Face face) {
-    int cols = face.columns.length;
-    int rows = face.rows.length;
-    
-    if (interiorCache == null || interiorCache.length != cols * rows) {
-      interiorCache = new int[cols * rows];
-    }
-    
-    computeFacePattern(face, interiorCache, true);
-  }
+  private final FaceRenderer faceRenderer = this::renderFace;
 
-  private void computeFacePattern(Face face, int[] cache, boolean isInterior) {
+  private void renderFace(Face face, boolean isInterior, int[] buffer) {
     int cols = face.columns.length;
     int rows = face.rows.length;
     float invCols = 1.0f / Math.max(1, cols - 1);
@@ -133,37 +91,13 @@ public class RebirthGrid extends ApotheneumPattern {
       evol = 1.0f - evol;
     }
     
-    int cacheIndex = 0;
-    for (int rowIdx = 0; rowIdx < rows; rowIdx++) {
-      for (int colIdx = 0; colIdx < cols; colIdx++) {
-        float u = colIdx * invCols - 0.5f;
+    int bufferIndex = 0;
+    for (int colIdx = 0; colIdx < cols; colIdx++) {
+      float u = colIdx * invCols - 0.5f;
+      for (int rowIdx = 0; rowIdx < rows; rowIdx++) {
         float v = rowIdx * invRows - 0.5f;
         
-        cache[cacheIndex++] = calculateHybridTileColor(u, v, grid, hybrid, organic, evol, symmetric, isInterior);
-      }
-    }
-  }
-  
-  private void copyFromExteriorCache(Face face) {
-    int cols = face.columns.length;
-    int cacheIndex = 0;
-    
-    for (Row row : face.rows) {
-      for (int cx = 0; cx < cols; cx++) {
-        LXPoint p = row.points[cx];
-        colors[p.index] = exteriorCache[cacheIndex++];
-      }
-    }
-  }
-  
-  private void copyFromInteriorCache(Face face) {
-    int cols = face.columns.length;
-    int cacheIndex = 0;
-    
-    for (Row row : face.rows) {
-      for (int cx = 0; cx < cols; cx++) {
-        LXPoint p = row.points[cx];
-        colors[p.index] = interiorCache[cacheIndex++];
+        buffer[bufferIndex++] = calculateHybridTileColor(u, v, grid, hybrid, organic, evol, symmetric, isInterior);
       }
     }
   }
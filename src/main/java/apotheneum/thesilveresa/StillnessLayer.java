@@ -1,16 +1,14 @@
 package apotheneum.thesilveresa;
 
 import apotheneum.ApotheneumPattern;
+import apotheneum.FastMath;
 import apotheneum.Apotheneum;
-import apotheneum.Apotheneum.Cube;
 import apotheneum.Apotheneum.Cube.Face;
-import apotheneum.Apotheneum.Cube.Row;
 import apotheneum.Apotheneum.Cylinder;
 import apotheneum.Apotheneum.Cylinder.Ring;
 import heronarts.lx.LX;
 import heronarts.lx.LXCategory;
 import heronarts.lx.LXComponentName;
-import heronarts.lx.color.LXColor;
 import heronarts.lx.model.LXPoint;
 import heronarts.lx.parameter.BooleanParameter;
 import heronarts.lx.parameter.CompoundParameter;
@@ -129,51 +127,8 @@ public class StillnessLayer extends ApotheneumPattern {
     // Update energy level based on state
     updateEnergyLevel(dt);
     
-    // Optimization: Render once and copy to all similar faces
-    Cube cube = Apotheneum.cube;
-    if (cube != null) {
-      if (cube.exterior.faces.length > 0) {
-        Face referenceFace = cube.exterior.faces[0];
-        processFace(referenceFace);
-        
-        // Copy to other exterior faces
-        for (int i = 1; i < cube.exterior.faces.length; i++) {
-          Face currentFace = cube.exterior.faces[i];
-          if (currentFace.rows.length == referenceFace.rows.length) {
-            for (int rowIndex = 0; rowIndex < currentFace.rows.length; rowIndex++) {
-              Row currentRow = currentFace.rows[rowIndex];
-              Row referenceRow = referenceFace.rows[rowIndex];
-              
-              int pointsToProcess = Math.min(currentRow.points.length, referenceRow.points.length);
-              for (int cx = 0; cx < pointsToProcess; cx++) {
-                colors[currentRow.points[cx].index] = colors[referenceRow.points[cx].index];
-              }
-            }
-          } else {
-            processFace(currentFace);
-          }
-        }
-        
-        // Copy to interior
-        if (cube.interior != null) {
-          for (Face interiorFace : cube.interior.faces) {
-            if (interiorFace.rows.length == referenceFace.rows.length) {
-              for (int rowIndex = 0; rowIndex < interiorFace.rows.length; rowIndex++) {
-                Row interiorRow = interiorFace.rows[rowIndex];
-                Row referenceRow = referenceFace.rows[rowIndex];
-                
-                int pointsToProcess = Math.min(interiorRow.points.length, referenceRow.points.length);
-                for (int cx = 0; cx < pointsToProcess; cx++) {
-                  colors[interiorRow.points[cx].index] = colors[referenceRow.points[cx].index];
-                }
-              }
-            } else {
-              processFace(interiorFace);
-            }
-          }
-        }
-      }
-    }
+    // Every cube face is identical, render once and copy to the rest
+    renderCubeFaces(FaceSymmetry.ALL_FACES, this.faceRenderer);
     
     // Cylinder processing
     Cylinder cylinder = Apotheneum.cylinder;
@@ -266,20 +221,21 @@ public class StillnessLayer extends ApotheneumPattern {
     }
   }
 
-  private void processFace(Face face) {
+  private final FaceRenderer faceRenderer = this::renderFace;
+
+  private void renderFace(Face face, boolean isInterior, int[] buffer) {
     int cols = face.columns.length;
     int rows = face.rows.length;
     float invCols = 1.0f / Math.max(1, cols - 1);
     float invRows = 1.0f / Math.max(1, rows - 1);
     
-    for (Row row : face.rows) {
-      for (int cx = 0; cx < cols; cx++) {
-        LXPoint p = row.points[cx];
-        float u = cx * invCols;
-        float v = row.index * invRows;
+    int bufferIndex = 0;
+    for (int cx = 0; cx < cols; cx++) {
+      float u = cx * invCols;
+      for (int cy = 0; cy < rows; cy++) {
+        float v = cy * invRows;
         
-        int color = calculateStillnessColor(u, v);
-        colors[p.index] = color;
+        buffer[bufferIndex++] = calculateStillnessColor(u, v);
       }
     }
   }
@@ -345,7 +301,7 @@ public class StillnessLayer extends ApotheneumPattern {
     // Enhanced breathing effect in stillness
     if (stillnessAccumulator > 1f) {
       float breatheFreq = 0.5f + stillnessAccumulator * 0.05f;
-      float breathe = 0.3f * (1f + (float)Math.sin(stillnessAccumulator * breatheFreq));
+      float breathe = 0.3f * (1f + FastMath.sin(stillnessAccumulator * breatheFreq));
       totalInterference += breathe * (1f - stillness.getValuef());
     }
     
@@ -395,12 +351,12 @@ public class StillnessLayer extends ApotheneumPattern {
       case PAUSED:
         brightness *= 0.6f;
         saturation *= 0.7f;
-        hue += 10f * (float)Math.sin(stateTransitionTime);
+        hue += 10f * FastMath.sin(stateTransitionTime);
         break;
       case EMERGING:
         brightness *= 1.8f; // Very bright during emergence
         saturation += 40f;
-        hue += 30f * (float)Math.sin(stateTransitionTime * 4f);
+        hue += 30f * FastMath.sin(stateTransitionTime * 4f);
         break;
     }
     
@@ -409,6 +365,6 @@ public class StillnessLayer extends ApotheneumPattern {
     saturation = Math.min(100f, Math.max(10f, saturation));
     hue = hue % 360f;
     
-    return LXColor.hsb(hue, saturation, brightness);
+    return FastMath.hsb(hue, saturation, brightness);
   }
 }
@@ -1,17 +1,12 @@
 package apotheneum.thesilveresa;
 
 import apotheneum.ApotheneumPattern;
-import apotheneum.Apotheneum;
-import apotheneum.Apotheneum.Cube;
-import apotheneum.Apotheneum.Cube.Face;
-import apotheneum.Apotheneum.Cube.Row;
-import apotheneum.Apotheneum.Cylinder;
-import apotheneum.Apotheneum.Cylinder.Ring;
+import apotheneum.FastMath;
+import apotheneum.TileRenderer;
 import heronarts.lx.LX;
 import heronarts.lx.LXCategory;
 import heronarts.lx.LXComponentName;
 import heronarts.lx.color.LXColor;
-import heronarts.lx.model.LXPoint;
 import heronarts.lx.parameter.BooleanParameter;
 import heronarts.lx.parameter.CompoundParameter;
 import heronarts.lx.parameter.DiscreteParameter;
@@ -23,6 +18,7 @@ public class Superformula1 extends ApotheneumPattern {
   // Precomputed constants
   private static final float INV_1_6 = 1.0f / 1.6f;
   private static final float TWO_PI = (float)(Math.PI * 2.0);
+  private static final float INV_TWO_PI = 1.0f / TWO_PI;
   private static final float INV_FOUR = 0.25f;
   private static final float HALF = 0.5f;
   private static final int ANGLE_STEPS = 360; // Lookup table resolution
@@ -172,23 +168,15 @@ public class Superformula1 extends ApotheneumPattern {
     for (int i = 0; i < ANGLE_STEPS; i++) {
       float angle = i * INV_ANGLE_STEPS * TWO_PI;
       float angleTerm = currentM * angle * INV_FOUR;
-      float cosComponent = Math.abs((float)Math.cos(angleTerm) / currentA);
-      float sinComponent = Math.abs((float)Math.sin(angleTerm) / currentB);
-      float term1 = fastPow(cosComponent, currentN2);
-      float term2 = fastPow(sinComponent, currentN3);
-      float result = fastPow(term1 + term2, -1.0f / currentN1);
+      float cosComponent = Math.abs(FastMath.cos(angleTerm) / currentA);
+      float sinComponent = Math.abs(FastMath.sin(angleTerm) / currentB);
+      float term1 = FastMath.pow(cosComponent, currentN2);
+      float term2 = FastMath.pow(sinComponent, currentN3);
+      float result = FastMath.pow(term1 + term2, -1.0f / currentN1);
       superformulaTable[i] = Float.isFinite(result) && result > 0 ? result : 0.001f;
     }
   }
   
-  // Fast approximation for pow(x, y) for small exponents
-  private float fastPow(float x, float y) {
-    if (Math.abs(y - 1.0f) < 0.01f) return x;
-    if (Math.abs(y - 2.0f) < 0.01f) return x * x;
-    if (Math.abs(y - 0.5f) < 0.01f) return (float)Math.sqrt(x);
-    return (float)Math.pow(x, y);
-  }
-  
   private void precomputeFrameValues(float time) {
     scaleVal = scale.getValuef();
     float rotVal = rotation.getValuef() * TWO_PI;
@@ -217,9 +205,10 @@ public class Superformula1 extends ApotheneumPattern {
   }
   
   private float superformula(float angle) {
-    int index = (int)((angle / TWO_PI) * ANGLE_STEPS);
-    index = Math.max(0, Math.min(ANGLE_STEPS - 1, index));
-    return superformulaTable[index];
+    float t = angle * INV_TWO_PI * ANGLE_STEPS;
+    int index = Math.max(0, Math.min(ANGLE_STEPS - 1, (int)t));
+    int next = (index + 1) % ANGLE_STEPS;
+    return superformulaTable[index] + (superformulaTable[next] - superformulaTable[index]) * (t - index);
   }
   
   private boolean isInsideShape(float u, float v) {
@@ -230,7 +219,7 @@ public class Superformula1 extends ApotheneumPattern {
     float rotY = x * sinRot + y * cosRot;
     
     float radius = (float)Math.sqrt(rotX * rotX + rotY * rotY);
-    float angle = (float)Math.atan2(rotY, rotX);
+    float angle = FastMath.atan2(rotY, rotX);
     if (angle < 0) angle += TWO_PI;
     
     float shapeRadius = superformula(angle) * scaleVal * 0.4f;
@@ -284,83 +273,36 @@ public class Superformula1 extends ApotheneumPattern {
     float baseBright = brightness.getValuef();
     boolean fillMode = filled.getValueb();
     
-    Cube cube = Apotheneum.cube;
-    if (cube != null) {
-      renderCubeGeometry(cube.exterior, hue, saturation, baseBright, fillMode);
-      copyCubeExterior();
-    }
-    
-    Cylinder cylinder = Apotheneum.cylinder;
-    if (cylinder != null) {
-      renderCylinderGeometry(cylinder.exterior, hue, saturation, baseBright, fillMode);
-      copyCylinderExterior();
-    }
-  }
-  
-  private void renderCubeGeometry(Cube.Orientation orientation, float hue, float saturation, float baseBright, boolean fillMode) {
     int mode = animMode.getValuei();
-    float brightness = baseBright * (mode == 1 ? brightnessFactor : 1.0f);
-    int color = fillMode ? LXColor.hsb(hue, saturation, brightness) : 0;
-    
-    for (Face face : orientation.faces) {
-      int cols = face.columns.length;
-      int rows = face.rows.length;
-      float invCols = 1.0f / Math.max(1, cols - 1);
-      float invRows = 1.0f / Math.max(1, rows - 1);
-      
-      for (Row row : face.rows) {
-        float v = row.index * invRows;
-        for (int cx = 0; cx < cols; cx++) {
-          LXPoint p = row.points[cx];
-          float u = cx * invCols;
-          
-          boolean inside = isInsideShape(u, v);
-          boolean onEdge = !fillMode && isOnEdge(u, v, invCols, invRows);
-          
-          if (fillMode && inside) {
-            colors[p.index] = color;
-          } else if (!fillMode && onEdge) {
-            colors[p.index] = LXColor.hsb(hue, saturation, brightness);
-          } else {
-            colors[p.index] = 0;
-          }
-        }
-      }
-    }
+    this.frameColor = LXColor.hsb(hue, saturation, baseBright * (mode == 1 ? brightnessFactor : 1.0f));
+    this.frameFill = fillMode;
+
+    // Render exterior surfaces across worker tiles, then mirror to interior
+    renderTiles(this.shader, TileRenderer.EXTERIOR);
+    copyExterior();
   }
-  
-  private void renderCylinderGeometry(Cylinder.Orientation orientation, float hue, float saturation, float baseBright, boolean fillMode) {
-    int mode = animMode.getValuei();
-    float brightness = baseBright * (mode == 1 ? brightnessFactor : 1.0f);
-    int color = fillMode ? LXColor.hsb(hue, saturation, brightness) : 0;
-    
-    Ring[] rings = orientation.rings;
-    int numRings = rings.length;
-    float invNumRings = 1.0f / Math.max(1, numRings - 1);
-    
-    for (int ringIndex = 0; ringIndex < numRings; ringIndex++) {
-      Ring ring = rings[ringIndex];
-      int pointsPerRing = ring.points.length;
-      float v = ringIndex * invNumRings;
-      
-      for (int pointIndex = 0; pointIndex < pointsPerRing; pointIndex++) {
-        LXPoint p = ring.points[pointIndex];
-        float u = (float)pointIndex / pointsPerRing;
-        
-        boolean inside = isInsideShape(u, v);
-        boolean onEdge = !fillMode && isCylinderEdge(u, v, pointIndex, ringIndex, pointsPerRing, numRings);
-        
-        if (fillMode && inside) {
-          colors[p.index] = color;
-        } else if (!fillMode && onEdge) {
-          colors[p.index] = LXColor.hsb(hue, saturation, brightness);
-        } else {
-          colors[p.index] = 0;
-        }
-      }
+
+  private int frameColor;
+  private boolean frameFill;
+
+  private final TileRenderer.Shader shader = this::shade;
+
+  private int shade(TileRenderer.Surface surface, int x, int y) {
+    final boolean lit;
+    if (surface.isCube) {
+      float invCols = 1.0f / Math.max(1, surface.width - 1);
+      float invRows = 1.0f / Math.max(1, surface.height - 1);
+      float u = x * invCols;
+      float v = y * invRows;
+      lit = this.frameFill ? isInsideShape(u, v) : isOnEdge(u, v, invCols, invRows);
+    } else {
+      float u = (float)x / surface.width;
+      float v = y * (1.0f / Math.max(1, surface.height - 1));
+      lit = this.frameFill ? isInsideShape(u, v) : isCylinderEdge(u, v, x, y, surface.width, surface.height);
     }
+    return lit ? this.frameColor : 0;
   }
-  
+
   private boolean isCylinderEdge(float u, float v, int pointIndex, int ringIndex, int pointsPerRing, int numRings) {
     if (!isInsideShape(u, v)) return false;
     
@@ -1,17 +1,11 @@
 package apotheneum.thesilveresa;
 
 import apotheneum.ApotheneumPattern;
-import apotheneum.Apotheneum;
-import apotheneum.Apotheneum.Cube;
-import apotheneum.Apotheneum.Cube.Face;
-import apotheneum.Apotheneum.Cube.Row;
-import apotheneum.Apotheneum.Cylinder;
-import apotheneum.Apotheneum.Cylinder.Ring;
+import apotheneum.FastMath;
+import apotheneum.TileRenderer;
 import heronarts.lx.LX;
 import heronarts.lx.LXCategory;
 import heronarts.lx.LXComponentName;
-import heronarts.lx.color.LXColor;
-import heronarts.lx.model.LXPoint;
 import heronarts.lx.parameter.BooleanParameter;
 import heronarts.lx.parameter.CompoundParameter;
 import heronarts.lx.parameter.DiscreteParameter;
@@ -108,13 +102,13 @@ public class Superformula2 extends ApotheneumPattern {
 
   private float distanceToPattern(float x, float y, PatternDef pat, float time, float scaleVal, float rotVal) {
     // Apply rotation
-    float cosR = (float)Math.cos(rotVal);
-    float sinR = (float)Math.sin(rotVal);
+    float cosR = FastMath.cos(rotVal);
+    float sinR = FastMath.sin(rotVal);
     float rx = x * cosR - y * sinR;
     float ry = x * sinR + y * cosR;
     
     float r = (float)Math.sqrt(rx * rx + ry * ry);
-    float theta = (float)Math.atan2(ry, rx);
+    float theta = FastMath.atan2(ry, rx);
     if (theta < 0) theta += 2f * (float)Math.PI;
     
     switch (pat.type) {
@@ -159,7 +153,7 @@ public class Superformula2 extends ApotheneumPattern {
   }
   
   private float distanceToPolarRose(float r, float theta, float scale, float k) {
-    float roseR = scale * (float)Math.abs(Math.cos(k * theta));
+    float roseR = scale * Math.abs(FastMath.cos(k * theta));
     return Math.abs(r - roseR) - 0.01f;
   }
   
@@ -173,7 +167,7 @@ public class Superformula2 extends ApotheneumPattern {
   }
   
   private float distanceToFlower(float r, float theta, float scale, float petals, float sharpness) {
-    float petalR = scale * (0.5f + 0.5f * (float)Math.cos(petals * theta));
+    float petalR = scale * (0.5f + 0.5f * FastMath.cos(petals * theta));
     return Math.abs(r - petalR) - 0.01f;
   }
   
@@ -209,7 +203,7 @@ public class Superformula2 extends ApotheneumPattern {
     float sides = 8f;
     float sideAngle = 2f * (float)Math.PI / sides;
     float modTheta = theta % sideAngle - sideAngle * 0.5f;
-    float octR = scale / (float)Math.cos(modTheta);
+    float octR = scale / FastMath.cos(modTheta);
     
     return Math.abs(r - octR) - 0.005f;
   }
@@ -242,100 +236,57 @@ public class Superformula2 extends ApotheneumPattern {
     // Add animation effects
     int mode = animMode.getValuei();
     if (mode == 1) { // Pulse
-      float pulse = 0.5f + 0.5f * (float)Math.sin(time * animRate.getValuef() * 2f);
+      float pulse = 0.5f + 0.5f * FastMath.sin(time * animRate.getValuef() * 2f);
       scaleVal *= (0.7f + 0.6f * pulse);
     } else if (mode == 2) { // Rotate
       rotVal += time * animRate.getValuef();
     } else if (mode == 3) { // Breathe
-      float breathe = 0.5f + 0.5f * (float)Math.sin(time * animRate.getValuef() * 0.5f);
+      float breathe = 0.5f + 0.5f * FastMath.sin(time * animRate.getValuef() * 0.5f);
       scaleVal *= (0.8f + 0.4f * breathe);
     }
     
-    // Render cube
-    Cube cube = Apotheneum.cube;
-    if (cube != null) {
-      renderCubeGeometry(cube.exterior, currentPattern, time, scaleVal, rotVal, lineWidthVal, saturation, baseBright);
-      if (cube.interior != null) {
-        renderCubeGeometry(cube.interior, currentPattern, time, scaleVal, rotVal, lineWidthVal, saturation, baseBright);
-      }
-    }
-    
-    // Render cylinder
-    Cylinder cylinder = Apotheneum.cylinder;
-    if (cylinder != null) {
-      renderCylinderGeometry(cylinder.exterior, currentPattern, time, scaleVal, rotVal, lineWidthVal, saturation, baseBright);
-      if (cylinder.interior != null) {
-        renderCylinderGeometry(cylinder.interior, currentPattern, time, scaleVal, rotVal, lineWidthVal, saturation, baseBright);
-      }
-    }
+    // Snapshot frame values for the tile shader
+    this.framePattern = currentPattern;
+    this.frameTime = time;
+    this.frameScale = scaleVal;
+    this.frameRotation = rotVal;
+    this.frameLineWidth = lineWidthVal;
+    this.frameSaturation = saturation;
+    this.frameBrightness = baseBright;
+
+    // Render cube and cylinder, exterior and interior, across worker tiles
+    renderTiles(this.shader);
   }
-  
-  private void renderCubeGeometry(Cube.Orientation orientation, PatternDef pat, float time,
-                                  float scaleVal, float rotVal, float lineWidthVal,
-                                  float saturation, float baseBright) {
-    for (Face face : orientation.faces) {
-      int cols = face.columns.length;
-      int rows = face.rows.length;
-      
-      for (Row row : face.rows) {
-        for (int cx = 0; cx < cols; cx++) {
-          LXPoint p = row.points[cx];
-          
-          // Convert to normalized coordinates centered at origin
-          float u = (float)cx / Math.max(1, cols - 1) - 0.5f;
-          float v = (float)row.index / Math.max(1, rows - 1) - 0.5f;
-          
-          float dist = distanceToPattern(u, v, pat, time, scaleVal, rotVal);
-          
-          if (dist <= lineWidthVal) {
-            float brightness = baseBright;
-            
-            // Distance-based brightness falloff for smoother lines
-            if (dist > 0) {
-              brightness *= Math.max(0.2f, 1.0f - (dist / lineWidthVal));
-            }
-            
-            colors[p.index] = LXColor.hsb(pat.hue, saturation, brightness);
-          } else {
-            colors[p.index] = 0;
-          }
-        }
-      }
+
+  private PatternDef framePattern;
+  private float frameTime, frameScale, frameRotation, frameLineWidth, frameSaturation, frameBrightness;
+
+  private final TileRenderer.Shader shader = this::shade;
+
+  private int shade(TileRenderer.Surface surface, int x, int y) {
+    final float u, v;
+    if (surface.isCube) {
+      // Convert to normalized coordinates centered at origin
+      u = (float)x / Math.max(1, surface.width - 1) - 0.5f;
+      v = (float)y / Math.max(1, surface.height - 1) - 0.5f;
+    } else {
+      // Cylindrical to UV mapping, centered at origin
+      u = (float)x / surface.width - 0.5f;
+      v = (float)y / Math.max(1, surface.height - 1) - 0.5f;
     }
-  }
-  
-  private void renderCylinderGeometry(Cylinder.Orientation orientation, PatternDef pat, float time,
-                                      float scaleVal, float rotVal, float lineWidthVal,
-                                      float saturation, float baseBright) {
-    Ring[] rings = orientation.rings;
-    int numRings = rings.length;
-    
-    for (int ringIndex = 0; ringIndex < numRings; ringIndex++) {
-      Ring ring = rings[ringIndex];
-      int pointsPerRing = ring.points.length;
-      
-      for (int pointIndex = 0; pointIndex < pointsPerRing; pointIndex++) {
-        LXPoint p = ring.points[pointIndex];
-        
-        // Cylindrical to UV mapping, centered at origin
-        float u = (float)pointIndex / pointsPerRing - 0.5f;
-        float v = (float)ringIndex / Math.max(1, numRings - 1) - 0.5f;
-        
-        float dist = distanceToPattern(u, v, pat, time, scaleVal, rotVal);
-        
-        if (dist <= lineWidthVal) {
-          float brightness = baseBright;
-          
-          // Distance-based brightness falloff
-          if (dist > 0) {
-            brightness *= Math.max(0.2f, 1.0f - (dist / lineWidthVal));
-          }
-          
-          colors[p.index] = LXColor.hsb(pat.hue, saturation, brightness);
-        } else {
-          colors[p.index] = 0;
-        }
+
+    float dist = distanceToPattern(u, v, this.framePattern, this.frameTime, this.frameScale, this.frameRotation);
+
+    if (dist <= this.frameLineWidth) {
+      float brightness = this.frameBrightness;
+
+      // Distance-based brightness falloff for smoother lines
+      if (dist > 0) {
+        brightness *= Math.max(0.2f, 1.0f - (dist / this.frameLineWidth));
       }
+
+      return FastMath.hsb(this.framePattern.hue, this.frameSaturation, brightness);
     }
+    return 0;
   }
 }
@@ -1,6 +1,7 @@
 package apotheneum.thesilveresa;
 
 import apotheneum.ApotheneumPattern;
+import apotheneum.FastMath;
 import apotheneum.Apotheneum;
 import apotheneum.Apotheneum.Cube;
 import apotheneum.Apotheneum.Cube.Face;
@@ -10,7 +11,6 @@ import apotheneum.Apotheneum.Cylinder.Ring;
 import heronarts.lx.LX;
 import heronarts.lx.LXCategory;
 import heronarts.lx.LXComponentName;
-import heronarts.lx.color.LXColor;
 import heronarts.lx.model.LXPoint;
 import heronarts.lx.parameter.CompoundParameter;
 
@@ -42,32 +42,6 @@ public class VanishingPoint extends ApotheneumPattern {
   private static final float[] CONVERGENCE_HUES = { 240f, 260f, 280f, 300f, 320f }; // Deep blues to purples
   private static final float SINGULARITY_HUE = 45f; // Golden singularity
   
-  // Pre-computed distance falloff curve
-  private static final int FALLOFF_TABLE_SIZE = 256;
-  private static final float[] DISTANCE_FALLOFF = new float[FALLOFF_TABLE_SIZE];
-  
-  // Angle lookup table to replace atan2
-  private static final int ANGLE_TABLE_SIZE = 128;
-  private static final float[] ANGLE_LOOKUP = new float[ANGLE_TABLE_SIZE * ANGLE_TABLE_SIZE];
-  
-  static {
-    // Initialize distance falloff table
-    for (int i = 0; i < FALLOFF_TABLE_SIZE; i++) {
-      float t = (float)i / (FALLOFF_TABLE_SIZE - 1);
-      DISTANCE_FALLOFF[i] = 1f - t * t * t;
-    }
-    
-    // Initialize angle lookup table
-    float scale = (ANGLE_TABLE_SIZE - 1) / 1.0f; // Map [-0.5, 0.5] to [0, ANGLE_TABLE_SIZE-1]
-    for (int yIdx = 0; yIdx < ANGLE_TABLE_SIZE; yIdx++) {
-      for (int xIdx = 0; xIdx < ANGLE_TABLE_SIZE; xIdx++) {
-        float x = (xIdx / scale) - 0.5f;
-        float y = (yIdx / scale) - 0.5f;
-        ANGLE_LOOKUP[yIdx * ANGLE_TABLE_SIZE + xIdx] = (float)Math.atan2(y, x);
-      }
-    }
-  }
-
   public VanishingPoint(LX lx) {
     super(lx);
     addParameter("Converge", this.convergence);
@@ -214,10 +188,9 @@ public class VanishingPoint extends ApotheneumPattern {
       return 0; // Beyond event horizon, nothing visible
     }
     
-    // Distance-based intensity using lookup table
-    int falloffIndex = (int)(compressedR / visibilityRadius * (FALLOFF_TABLE_SIZE - 1));
-    falloffIndex = Math.max(0, Math.min(falloffIndex, FALLOFF_TABLE_SIZE - 1));
-    float distanceIntensity = DISTANCE_FALLOFF[falloffIndex];
+    // Distance-based intensity, cubic falloff
+    float falloff = Math.max(0f, Math.min(compressedR / visibilityRadius, 1f));
+    float distanceIntensity = 1f - falloff * falloff * falloff;
     
     // Time-based shimmer effect using linear approximation
     float shimmer = 1f + 0.3f * fastTriangleWave(time * 8f + compressedR * 20f) * converge;
@@ -239,13 +212,9 @@ public class VanishingPoint extends ApotheneumPattern {
       // Near singularity - golden glow
       baseHue = SINGULARITY_HUE;
     } else {
-      // Distant points - convergence palette using angle lookup
-      int xIdx = (int)((x + 0.5f) * (ANGLE_TABLE_SIZE - 1));
-      int yIdx = (int)((y + 0.5f) * (ANGLE_TABLE_SIZE - 1));
-      xIdx = Math.max(0, Math.min(xIdx, ANGLE_TABLE_SIZE - 1));
-      yIdx = Math.max(0, Math.min(yIdx, ANGLE_TABLE_SIZE - 1));
-      float angle = ANGLE_LOOKUP[yIdx * ANGLE_TABLE_SIZE + xIdx];
-      int hueIndex = (int)((angle / (2f * (float)Math.PI) + 1f + time * 0.1f) * CONVERGENCE_HUES.length) % CONVERGENCE_HUES.length;
+      // Distant points - convergence palette by angle
+      float angle = FastMath.atan2(y, x);
+      int hueIndex = (int)((angle / FastMath.TWO_PI + 1f + time * 0.1f) * CONVERGENCE_HUES.length) % CONVERGENCE_HUES.length;
       if (hueIndex < 0) hueIndex += CONVERGENCE_HUES.length;
       baseHue = CONVERGENCE_HUES[hueIndex];
       
@@ -276,7 +245,7 @@ public class VanishingPoint extends ApotheneumPattern {
     
     brightness = Math.min(brightness, 100f);
     
-    return LXColor.hsb(baseHue, saturation, brightness);
+    return FastMath.hsb(baseHue, saturation, brightness);
   }
   
   // Fast triangle wave approximation using modulo
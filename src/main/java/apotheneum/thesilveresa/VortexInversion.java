@@ -1,17 +1,12 @@
 package apotheneum.thesilveresa;
 
 import apotheneum.ApotheneumPattern;
-import apotheneum.Apotheneum;
-import apotheneum.Apotheneum.Cube;
+import apotheneum.FastMath;
+import apotheneum.TileRenderer;
 import apotheneum.Apotheneum.Cube.Face;
-import apotheneum.Apotheneum.Cube.Row;
-import apotheneum.Apotheneum.Cylinder;
-import apotheneum.Apotheneum.Cylinder.Ring;
 import heronarts.lx.LX;
 import heronarts.lx.LXCategory;
 import heronarts.lx.LXComponentName;
-import heronarts.lx.color.LXColor;
-import heronarts.lx.model.LXPoint;
 import heronarts.lx.parameter.BooleanParameter;
 import heronarts.lx.parameter.CompoundParameter;
 
@@ -39,8 +34,6 @@ public class VortexInversion extends ApotheneumPattern {
     .setDescription("Color saturation");
 
   private float time = 0f;
-  private int[] exteriorCache;
-  private int[] interiorCache;
   
   // Pre-computed spiral constants for performance
   private static final float GOLDEN_ANGLE = 2.39996322972865332f; // 2π/φ²
@@ -66,145 +59,62 @@ public class VortexInversion extends ApotheneumPattern {
   @Override
   protected void render(double deltaMs) {
     time += (float)(deltaMs / 1000.0) * speed.getValuef();
-    
-    // Render cube with dual caching for exterior/interior
-    Cube cube = Apotheneum.cube;
-    if (cube != null) {
-      // Compute exterior pattern
-      Face referenceFace = cube.exterior.faces[0];
-      computeExteriorPattern(referenceFace);
-      
-      // Copy to all exterior faces
-      for (Face face : cube.exterior.faces) {
-        copyFromExteriorCache(face);
-      }
-      
-      // Interior gets inverted vortex
-      if (cube.interior != null) {
-        computeInteriorPattern(cube.interior.faces[0]);
-        for (Face face : cube.interior.faces) {
-          copyFromInteriorCache(face);
-        }
-      }
-    }
-    
-    Cylinder cylinder = Apotheneum.cylinder;
-    if (cylinder != null) {
-      processCylinder(cylinder);
-    }
-  }
 
-  private void computeExteriorPattern(Face face) {
-    int cols = face.columns.length;
-    int rows = face.rows.length;
-    
-    if (exteriorCache == null || exteriorCache.length != cols * rows) {
-      exteriorCache = new int[cols * rows];
-    }
-    
-    computeFacePattern(face, exteriorCache, false);
-  }
-  
-  private void computeInteriorPattern(Face face) {
-    int cols = face.columns.length;
-    int rows = face.rows.length;
-    
-    if (interiorCache == null || interiorCache.length != cols * rows) {
-      interiorCache = new int[cols * rows];
-    }
-    
-    computeFacePattern(face, interiorCache, true);
+    // Snapshot parameter values, the cylinder is shaded across worker tiles
+    this.frameCenterX = centerX.getValuef();
+    this.frameCenterY = centerY.getValuef();
+    this.frameGrid = gridScale.getValuef();
+    this.frameSingular = singularity.getValuef();
+    this.frameWarp = warpStrength.getValuef();
+    this.frameInvert = invert.getValueb();
+    this.frameBrightness = brightness.getValuef();
+    this.frameSaturation = sat.getValuef();
+    
+    // Exterior faces are identical, interior gets the opposite rotation
+    renderCubeFaces(FaceSymmetry.PER_ORIENTATION, this.faceRenderer);
+    
+    // Cylinder exterior and interior with different vortex parameters
+    renderTiles(this.cylinderShader, TileRenderer.CYLINDER);
   }
 
-  private void computeFacePattern(Face face, int[] cache, boolean isInterior) {
+  private final FaceRenderer faceRenderer = this::renderFace;
+
+  private void renderFace(Face face, boolean isInterior, int[] buffer) {
     int cols = face.columns.length;
     int rows = face.rows.length;
     float invCols = 1.0f / Math.max(1, cols - 1);
     float invRows = 1.0f / Math.max(1, rows - 1);
     
-    float cx = centerX.getValuef();
-    float cy = centerY.getValuef();
-    float grid = gridScale.getValuef();
-    float singular = singularity.getValuef();
-    float warp = warpStrength.getValuef();
-    boolean invertDir = invert.getValueb();
-    
     // Interior gets opposite rotation
     float timeMultiplier = isInterior ? -1.5f : 1.0f;
-    if (invertDir) timeMultiplier *= -1f;
+    if (this.frameInvert) timeMultiplier *= -1f;
     
-    int cacheIndex = 0;
-    for (int rowIdx = 0; rowIdx < rows; rowIdx++) {
-      for (int colIdx = 0; colIdx < cols; colIdx++) {
-        float u = colIdx * invCols - 0.5f;
+    int bufferIndex = 0;
+    for (int colIdx = 0; colIdx < cols; colIdx++) {
+      float u = colIdx * invCols - 0.5f;
+      for (int rowIdx = 0; rowIdx < rows; rowIdx++) {
         float v = rowIdx * invRows - 0.5f;
         
-        cache[cacheIndex++] = calculateVortexColor(u - cx, v - cy, grid, singular, warp, timeMultiplier, isInterior);
-      }
-    }
-  }
-  
-  private void copyFromExteriorCache(Face face) {
-    int cols = face.columns.length;
-    int cacheIndex = 0;
-    
-    for (Row row : face.rows) {
-      for (int cx = 0; cx < cols; cx++) {
-        LXPoint p = row.points[cx];
-        colors[p.index] = exteriorCache[cacheIndex++];
-      }
-    }
-  }
-  
-  private void copyFromInteriorCache(Face face) {
-    int cols = face.columns.length;
-    int cacheIndex = 0;
-    
-    for (Row row : face.rows) {
-      for (int cx = 0; cx < cols; cx++) {
-        LXPoint p = row.points[cx];
-        colors[p.index] = interiorCache[cacheIndex++];
+        buffer[bufferIndex++] = calculateVortexColor(u - this.frameCenterX, v - this.frameCenterY, this.frameGrid, this.frameSingular, this.frameWarp, timeMultiplier, isInterior);
       }
     }
   }
 
-  private void processCylinder(Cylinder cylinder) {
-    // Process exterior and interior with different vortex parameters
-    processCylinderOrientation(cylinder.exterior, false);
-    
-    if (cylinder.interior != null) {
-      processCylinderOrientation(cylinder.interior, true);
-    }
-  }
-  
-  private void processCylinderOrientation(Cylinder.Orientation orientation, boolean isInterior) {
-    Ring[] rings = orientation.rings;
-    int numRings = rings.length;
-    
-    float cx = centerX.getValuef();
-    float cy = centerY.getValuef();
-    float grid = gridScale.getValuef();
-    float singular = singularity.getValuef();
-    float warp = warpStrength.getValuef();
-    boolean invertDir = invert.getValueb();
-    
-    float timeMultiplier = isInterior ? -1.5f : 1.0f;
-    if (invertDir) timeMultiplier *= -1f;
+  private float frameCenterX, frameCenterY, frameGrid, frameSingular, frameWarp;
+  private float frameBrightness, frameSaturation;
+  private boolean frameInvert;
 
-    for (int ringIndex = 0; ringIndex < numRings; ringIndex++) {
-      Ring ring = rings[ringIndex];
-      int pointsPerRing = ring.points.length;
-      
-      float v = (float)ringIndex / Math.max(1, numRings - 1) - 0.5f;
+  private final TileRenderer.Shader cylinderShader = this::shadeCylinder;
 
-      for (int pointIndex = 0; pointIndex < pointsPerRing; pointIndex++) {
-        LXPoint p = ring.points[pointIndex];
-        float u = (float)pointIndex / pointsPerRing - 0.5f;
-        
-        int color = calculateVortexColor(u - cx, v - cy, grid, singular, warp, timeMultiplier, isInterior);
-        colors[p.index] = color;
-      }
-    }
+  private int shadeCylinder(TileRenderer.Surface surface, int x, int y) {
+    // Interior gets opposite rotation
+    float timeMultiplier = surface.isInterior ? -1.5f : 1.0f;
+    if (this.frameInvert) timeMultiplier *= -1f;
+
+    float v = (float)y / Math.max(1, surface.height - 1) - 0.5f;
+    float u = (float)x / surface.width - 0.5f;
+
+    return calculateVortexColor(u - this.frameCenterX, v - this.frameCenterY, this.frameGrid, this.frameSingular, this.frameWarp, timeMultiplier, surface.isInterior);
   }
   
   private int calculateVortexColor(float x, float y, float grid, float singular, float warp, float timeMult, boolean isInterior) {
@@ -213,7 +123,7 @@ public class VortexInversion extends ApotheneumPattern {
     if (r < 0.001f) r = 0.001f; // Avoid division by zero
     
     // Angle around vortex
-    float theta = (float)Math.atan2(y, x);
+    float theta = FastMath.atan2(y, x);
     
     // Vortex transformation: inward spiral with time
     float spiralAngle = theta + time * timeMult;
@@ -224,8 +134,8 @@ public class VortexInversion extends ApotheneumPattern {
     float warpedTheta = spiralAngle + inversionFactor * warp;
     
     // Transform back to Cartesian for grid calculation
-    float warpedX = warpedR * (float)Math.cos(warpedTheta);
-    float warpedY = warpedR * (float)Math.sin(warpedTheta);
+    float warpedX = warpedR * FastMath.cos(warpedTheta);
+    float warpedY = warpedR * FastMath.sin(warpedTheta);
     
     // Create grid pattern in warped space
     float gridU = warpedX * grid;
@@ -264,18 +174,18 @@ public class VortexInversion extends ApotheneumPattern {
     if (dopplerHue < 0) dopplerHue += 360f;
     
     // Intensity modulation near singularity
-    float singularityPulse = (float)Math.sin(time * 5f + inversionFactor * 10f) * 0.3f + 0.7f;
+    float singularityPulse = FastMath.sin(time * 5f + inversionFactor * 10f) * 0.3f + 0.7f;
     float finalIntensity = baseIntensity * singularityPulse;
     
     if (finalIntensity < 0.05f) return 0;
     
     // Brightness falls off with distance from singularity but spikes at grid intersections
     float brightnessFactor = onGrid ? 1.2f : (1f - horizonDistance * 0.7f);
-    float finalBrightness = Math.min(finalIntensity * brightness.getValuef() * brightnessFactor, 100f);
+    float finalBrightness = Math.min(finalIntensity * this.frameBrightness * brightnessFactor, 100f);
     
     // Saturation increases near singularity
-    float finalSaturation = sat.getValuef() * (0.5f + 0.5f * (1f - horizonDistance));
+    float finalSaturation = this.frameSaturation * (0.5f + 0.5f * (1f - horizonDistance));
     
-    return LXColor.hsb(dopplerHue, finalSaturation, finalBrightness);
+    return FastMath.hsb(dopplerHue, finalSaturation, finalBrightness);
   }
 }